@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.auditor;
+
+import com.io7m.jequality.validator.ValidatorResult;
+
+/**
+ * A receiver of audit results. Methods may be called concurrently from
+ * multiple threads, and so implementations must be thread-safe.
+ */
+
+public interface EqualityAuditListenerType
+{
+  /**
+   * A class was validated.
+   *
+   * @param name   The binary name of the class
+   * @param result The validation result
+   */
+
+  void onResult(
+    String name,
+    ValidatorResult result);
+
+  /**
+   * A class could not be validated, typically because the class file or one
+   * of its superclasses could not be read. Unchecked exceptions raised while
+   * validating a class, including those raised by {@link #onResult(String,
+   * ValidatorResult)}, are also reported here.
+   *
+   * @param name  The binary name of the class
+   * @param error The error
+   */
+
+  void onError(
+    String name,
+    Exception error);
+}
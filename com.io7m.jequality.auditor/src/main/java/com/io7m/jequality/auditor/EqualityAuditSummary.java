@@ -0,0 +1,44 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.auditor;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+/**
+ * The totals for an audit.
+ *
+ * @param classes The number of classes examined
+ * @param failed  The number of classes that failed validation
+ * @param errors  The number of classes that could not be validated
+ */
+
+@EqualityStructural
+public record EqualityAuditSummary(
+  long classes,
+  long failed,
+  long errors)
+{
+  /**
+   * @return {@code true} if every class examined was validated successfully
+   */
+
+  public boolean isSuccessful()
+  {
+    return this.failed == 0L && this.errors == 0L;
+  }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.auditor;
+
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.ClassFileSourceType;
+import com.io7m.jequality.validator.ClassFileValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * <p> An auditor that validates every class in a jar file or class
+ * directory. </p>
+ *
+ * <p> Class files are read with a {@link ClassFileValidator}, and so no
+ * audited class is ever loaded or initialized. Entries are streamed from the
+ * jar file or directory and validated on a fixed pool of threads. At most a
+ * small multiple of the thread count of class files are held in memory at any
+ * one time, and results are delivered to a listener rather than accumulated.
+ * The validator keeps a summary of each superclass that it reads for the
+ * duration of the audit, and so memory use grows with the number of distinct
+ * superclasses, but not with the number of audited classes. </p>
+ *
+ * <p> Superclasses are read first from the audited jar file or directory, and
+ * then from the given dependency source. {@code module-info}, {@code
+ * package-info}, and any classes under {@code META-INF} (such as the
+ * versioned classes of multi-release jar files) are not audited. </p>
+ */
+
+@EqualityReference
+public final class EqualityAuditor
+{
+  private EqualityAuditor()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Audit the given jar file or class directory.
+   *
+   * @param root           The jar file or class directory
+   * @param dependencies   The source of class files that are not in
+   *                       {@code root}
+   * @param requirement    The annotation requirements
+   * @param check_hashcode {@code true} if {@code hashCode} methods should be
+   *                       checked for consistency
+   * @param threads        The number of threads used to validate classes
+   * @param listener       The receiver of results
+   *
+   * @return The audit totals
+   *
+   * @throws IOException          On errors listing the jar file or directory
+   * @throws InterruptedException If the calling thread is interrupted
+   */
+
+  public static EqualityAuditSummary audit(
+    final Path root,
+    final ClassFileSourceType dependencies,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode,
+    final int threads,
+    final EqualityAuditListenerType listener)
+    throws IOException, InterruptedException
+  {
+    Objects.requireNonNull(root, "Root");
+    Objects.requireNonNull(dependencies, "Dependencies");
+    Objects.requireNonNull(requirement, "Requirement");
+    Objects.requireNonNull(listener, "Listener");
+
+    if (threads <= 0) {
+      throw new IllegalArgumentException(
+        String.format("Thread count %d must be positive", threads));
+    }
+
+    final Audit audit =
+      new Audit(requirement, check_hashcode, threads, listener);
+
+    if (Files.isDirectory(root)) {
+      return audit.run(root, dependencies);
+    }
+
+    try (FileSystem jar = FileSystems.newFileSystem(root)) {
+      return audit.run(jar.getPath("/"), dependencies);
+    }
+  }
+
+  private static boolean isAuditable(
+    final Path base,
+    final Path path)
+  {
+    final String file = String.valueOf(path.getFileName());
+    if (!file.endsWith(".class")) {
+      return false;
+    }
+    if ("module-info.class".equals(file) || "package-info.class".equals(file)) {
+      return false;
+    }
+    return !base.relativize(path).startsWith("META-INF")
+      && Files.isRegularFile(path);
+  }
+
+  private static String classNameOf(
+    final Path base,
+    final Path path)
+  {
+    final StringBuilder name = new StringBuilder(64);
+    final Iterator<Path> elements = base.relativize(path).iterator();
+    while (elements.hasNext()) {
+      name.append(elements.next());
+      if (elements.hasNext()) {
+        name.append('.');
+      }
+    }
+    name.setLength(name.length() - ".class".length());
+    return name.toString();
+  }
+
+  private static ClassFileSourceType sourceOf(
+    final Path base,
+    final ClassFileSourceType dependencies)
+  {
+    return name -> {
+      final Path file = base.resolve(name.replace('.', '/') + ".class");
+      if (Files.isRegularFile(file)) {
+        return Files.newInputStream(file);
+      }
+      return dependencies.open(name);
+    };
+  }
+
+  private static final class Audit
+  {
+    private final AnnotationRequirement requirement;
+    private final boolean check_hashcode;
+    private final int threads;
+    private final EqualityAuditListenerType listener;
+    private final AtomicLong classes;
+    private final AtomicLong failed;
+    private final AtomicLong errors;
+
+    Audit(
+      final AnnotationRequirement in_requirement,
+      final boolean in_check_hashcode,
+      final int in_threads,
+      final EqualityAuditListenerType in_listener)
+    {
+      this.requirement = in_requirement;
+      this.check_hashcode = in_check_hashcode;
+      this.threads = in_threads;
+      this.listener = in_listener;
+      this.classes = new AtomicLong();
+      this.failed = new AtomicLong();
+      this.errors = new AtomicLong();
+    }
+
+    EqualityAuditSummary run(
+      final Path base,
+      final ClassFileSourceType dependencies)
+      throws IOException, InterruptedException
+    {
+      final ClassFileValidator validator =
+        new ClassFileValidator(sourceOf(base, dependencies));
+      final Semaphore pending = new Semaphore(this.threads * 4);
+      final ExecutorService executor =
+        Executors.newFixedThreadPool(this.threads, runnable -> {
+          final Thread thread = new Thread(runnable);
+          thread.setName("com.io7m.jequality.auditor");
+          thread.setDaemon(true);
+          return thread;
+        });
+
+      try (Stream<Path> paths = Files.walk(base)) {
+        final Iterator<Path> iterator = paths.iterator();
+        while (iterator.hasNext()) {
+          final Path path = iterator.next();
+          if (!isAuditable(base, path)) {
+            continue;
+          }
+
+          pending.acquire();
+          executor.execute(() -> {
+            try {
+              this.validate(validator, base, path);
+            } finally {
+              pending.release();
+            }
+          });
+        }
+
+        executor.shutdown();
+        while (!executor.awaitTermination(1L, TimeUnit.SECONDS)) {
+          // Waiting for the remaining classes.
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+
+      return new EqualityAuditSummary(
+        this.classes.get(),
+        this.failed.get(),
+        this.errors.get());
+    }
+
+    private void validate(
+      final ClassFileValidator validator,
+      final Path base,
+      final Path path)
+    {
+      final String name = classNameOf(base, path);
+      this.classes.incrementAndGet();
+
+      try {
+        final ValidatorResult result =
+          validator.validateClassFile(
+            Files.readAllBytes(path),
+            this.requirement,
+            this.check_hashcode);
+
+        if (result != ValidatorResult.VALIDATION_OK) {
+          this.failed.incrementAndGet();
+        }
+        this.listener.onResult(name, result);
+      } catch (final IOException | RuntimeException e) {
+        this.errors.incrementAndGet();
+        this.listener.onError(name, e);
+      }
+    }
+  }
+}
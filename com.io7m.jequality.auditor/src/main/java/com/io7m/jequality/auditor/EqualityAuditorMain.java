@@ -0,0 +1,284 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.auditor;
+
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.ClassFileSourceType;
+import com.io7m.jequality.validator.ValidatorResult;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p> The command-line interface to the auditor. </p>
+ *
+ * <pre>
+ * usage: [options] (jar | directory) ...
+ *
+ *   --require-annotations    Classes without annotations fail validation
+ *   --no-check-hashcode      Do not check hashCode methods
+ *   --threads N              Validate classes on N threads
+ *   --class-path PATH        Read superclasses from PATH
+ *   --verbose                Report classes that pass validation
+ * </pre>
+ *
+ * <p> Classes that fail validation are reported on standard output, one per
+ * line, as the name of the {@link ValidatorResult} followed by the name of
+ * the class. The exit code is {@code 0} if every class passed, {@code 1} if
+ * any class failed or could not be validated, and {@code 2} on usage
+ * errors. </p>
+ */
+
+@EqualityReference
+public final class EqualityAuditorMain
+{
+  private EqualityAuditorMain()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * The main entry point.
+   *
+   * @param args The command-line arguments
+   */
+
+  public static void main(
+    final String[] args)
+  {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  /**
+   * Run the auditor.
+   *
+   * @param args The command-line arguments
+   * @param out  The stream to which results are written
+   * @param err  The stream to which errors and totals are written
+   *
+   * @return The exit code
+   */
+
+  public static int run(
+    final String[] args,
+    final PrintStream out,
+    final PrintStream err)
+  {
+    final Options options;
+    try {
+      options = Options.parse(args);
+    } catch (final IllegalArgumentException e) {
+      err.println("error: " + e.getMessage());
+      err.println(
+        "usage: [--require-annotations] [--no-check-hashcode] "
+          + "[--threads N] [--class-path PATH] [--verbose] "
+          + "(jar | directory) ...");
+      return 2;
+    }
+
+    final EqualityAuditListenerType listener =
+      new PrintingListener(out, err, options.verbose);
+
+    try (URLClassLoader loader = options.classLoader()) {
+      final ClassFileSourceType dependencies =
+        ClassFileSourceType.ofClassLoader(loader);
+
+      boolean successful = true;
+      for (final Path root : options.roots) {
+        final EqualityAuditSummary summary =
+          EqualityAuditor.audit(
+            root,
+            dependencies,
+            options.requirement,
+            options.check_hashcode,
+            options.threads,
+            listener);
+
+        err.printf(
+          "%s: %d classes, %d failed, %d errors%n",
+          root,
+          Long.valueOf(summary.classes()),
+          Long.valueOf(summary.failed()),
+          Long.valueOf(summary.errors()));
+        successful &= summary.isSuccessful();
+      }
+      return successful ? 0 : 1;
+    } catch (final IOException e) {
+      err.println("error: " + e.getMessage());
+      return 1;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      err.println("error: Interrupted");
+      return 1;
+    }
+  }
+
+  private static final class PrintingListener
+    implements EqualityAuditListenerType
+  {
+    private final PrintStream out;
+    private final PrintStream err;
+    private final boolean verbose;
+
+    PrintingListener(
+      final PrintStream in_out,
+      final PrintStream in_err,
+      final boolean in_verbose)
+    {
+      this.out = in_out;
+      this.err = in_err;
+      this.verbose = in_verbose;
+    }
+
+    @Override
+    public void onResult(
+      final String name,
+      final ValidatorResult result)
+    {
+      if (this.verbose || result != ValidatorResult.VALIDATION_OK) {
+        this.out.println(result + " " + name);
+      }
+    }
+
+    @Override
+    public void onError(
+      final String name,
+      final Exception error)
+    {
+      this.err.println("error: " + name + ": " + error.getMessage());
+    }
+  }
+
+  private static final class Options
+  {
+    private final List<Path> roots;
+    private final List<Path> class_path;
+    private AnnotationRequirement requirement;
+    private boolean check_hashcode;
+    private boolean verbose;
+    private int threads;
+
+    private Options()
+    {
+      this.roots = new ArrayList<>();
+      this.class_path = new ArrayList<>();
+      this.requirement = AnnotationRequirement.ANNOTATIONS_OPTIONAL;
+      this.check_hashcode = true;
+      this.verbose = false;
+      this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    static Options parse(
+      final String[] args)
+    {
+      final Options options = new Options();
+
+      int index = 0;
+      while (index < args.length) {
+        final String arg = args[index];
+        switch (arg) {
+          case "--require-annotations" -> {
+            options.requirement = AnnotationRequirement.ANNOTATIONS_REQUIRED;
+          }
+          case "--no-check-hashcode" -> {
+            options.check_hashcode = false;
+          }
+          case "--verbose" -> {
+            options.verbose = true;
+          }
+          case "--threads" -> {
+            options.threads = parseThreads(valueOf(args, index));
+            ++index;
+          }
+          case "--class-path" -> {
+            final String[] entries =
+              valueOf(args, index).split(File.pathSeparator);
+            for (final String entry : entries) {
+              if (!entry.isEmpty()) {
+                options.class_path.add(Paths.get(entry));
+              }
+            }
+            ++index;
+          }
+          default -> {
+            if (arg.startsWith("--")) {
+              throw new IllegalArgumentException(
+                String.format("Unrecognized option %s", arg));
+            }
+            options.roots.add(Paths.get(arg));
+          }
+        }
+        ++index;
+      }
+
+      if (options.roots.isEmpty()) {
+        throw new IllegalArgumentException(
+          "At least one jar file or directory is required");
+      }
+      return options;
+    }
+
+    private static String valueOf(
+      final String[] args,
+      final int index)
+    {
+      if (index + 1 >= args.length) {
+        throw new IllegalArgumentException(
+          String.format("Option %s requires a value", args[index]));
+      }
+      return args[index + 1];
+    }
+
+    private static int parseThreads(
+      final String text)
+    {
+      try {
+        final int threads = Integer.parseInt(text.trim());
+        if (threads > 0) {
+          return threads;
+        }
+      } catch (final NumberFormatException e) {
+        // Reported below.
+      }
+      throw new IllegalArgumentException(
+        String.format(
+          Locale.ROOT, "Thread count %s must be a positive integer", text));
+    }
+
+    URLClassLoader classLoader()
+      throws MalformedURLException
+    {
+      final URL[] urls = new URL[this.class_path.size()];
+      for (int index = 0; index < urls.length; ++index) {
+        urls[index] = this.class_path.get(index).toUri().toURL();
+      }
+      return new URLClassLoader(urls, ClassLoader.getPlatformClassLoader());
+    }
+  }
+}
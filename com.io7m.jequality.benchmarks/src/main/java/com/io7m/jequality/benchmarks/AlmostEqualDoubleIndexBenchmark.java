@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.benchmarks;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualDoubleIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing {@link AlmostEqualDoubleIndex} queries to linear
+ * scans.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AlmostEqualDoubleIndexBenchmark
+{
+  private static final ContextRelativeImmutable CONTEXT =
+    ContextRelativeImmutable.of(1.0e-6, 1.0e-5);
+
+  /**
+   * The number of stored values.
+   */
+
+  @Param({"1024", "1048576"})
+  public int size;
+
+  private double[] values;
+  private double[] queries;
+  private AlmostEqualDoubleIndex index;
+  private int query;
+
+  /**
+   * Generate the stored values and queries.
+   */
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random(0x5eedL);
+    this.values = new double[this.size];
+    for (int i = 0; i < this.size; ++i) {
+      this.values[i] = random.nextGaussian() * 1000.0;
+    }
+    this.queries = new double[1024];
+    for (int i = 0; i < this.queries.length; ++i) {
+      this.queries[i] = this.values[random.nextInt(this.size)];
+    }
+    this.index = AlmostEqualDoubleIndex.of(this.values);
+  }
+
+  private double nextQuery()
+  {
+    this.query = (this.query + 1) & (this.queries.length - 1);
+    return this.queries[this.query];
+  }
+
+  /**
+   * Count the matching values with the index.
+   *
+   * @return The number of matching values
+   */
+
+  @Benchmark
+  public int countIndex()
+  {
+    return this.index.count(CONTEXT, this.nextQuery());
+  }
+
+  /**
+   * Count the matching values with a linear scan.
+   *
+   * @return The number of matching values
+   */
+
+  @Benchmark
+  public int countScan()
+  {
+    final double x = this.nextQuery();
+    int count = 0;
+    for (final double y : this.values) {
+      if (AlmostEqualDouble.almostEqual(CONTEXT, x, y)) {
+        ++count;
+      }
+    }
+    return count;
+  }
+}
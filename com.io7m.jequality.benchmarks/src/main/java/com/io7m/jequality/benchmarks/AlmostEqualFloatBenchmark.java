@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.benchmarks;
+
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelative;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualReport;
+import com.io7m.jequality.vector.AlmostEqualFloatVector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing the scalar, bulk and vector comparisons of {@code
+ * float} arrays, for different distributions of values.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class AlmostEqualFloatBenchmark
+{
+  private static final ContextRelativeImmutable CONTEXT_IMMUTABLE =
+    ContextRelativeImmutable.of((float) 1.0e-6, (float) 1.0e-5);
+
+  /**
+   * The distribution of the compared values.
+   */
+
+  @Param({"UNIFORM", "DENORMALS", "INFINITIES", "MIXED_MAGNITUDES"})
+  public Distribution distribution;
+
+  /**
+   * The number of elements compared.
+   */
+
+  @Param({"1024", "1048576"})
+  public int size;
+
+  private ContextRelative context;
+  private float[] a;
+  private float[] b;
+  private AlmostEqualReport report;
+
+  /**
+   * Generate the compared arrays.
+   */
+
+  @Setup
+  public void setup()
+  {
+    this.context = new ContextRelative();
+    this.context.setMaxAbsoluteDifference((float) 1.0e-6);
+    this.context.setMaxRelativeDifference((float) 1.0e-5);
+
+    final double[][] values = this.distribution.generate(this.size);
+    this.a = new float[this.size];
+    this.b = new float[this.size];
+    for (int index = 0; index < this.size; ++index) {
+      this.a[index] = (float) values[0][index];
+      this.b[index] = (float) values[1][index];
+    }
+    this.report = new AlmostEqualReport(16);
+  }
+
+  /**
+   * Compare the arrays by calling the scalar comparison for each element.
+   *
+   * @return {@code true} if the arrays are almost equal
+   */
+
+  @Benchmark
+  public boolean scalarLoop()
+  {
+    final float[] xs = this.a;
+    final float[] ys = this.b;
+    for (int index = 0; index < xs.length; ++index) {
+      if (!AlmostEqualFloat.almostEqual(this.context, xs[index], ys[index])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Compare the arrays with the bulk comparison.
+   *
+   * @return {@code true} if the arrays are almost equal
+   */
+
+  @Benchmark
+  public boolean bulk()
+  {
+    return AlmostEqualFloat.almostEqualArrays(this.context, this.a, this.b);
+  }
+
+  /**
+   * Compare the arrays with the bulk comparison and a constant context.
+   *
+   * @return {@code true} if the arrays are almost equal
+   */
+
+  @Benchmark
+  public boolean bulkImmutable()
+  {
+    return AlmostEqualFloat.almostEqualArrays(
+      CONTEXT_IMMUTABLE, this.a, this.b);
+  }
+
+  /**
+   * Compare the arrays with the Vector API comparison.
+   *
+   * @return {@code true} if the arrays are almost equal
+   */
+
+  @Benchmark
+  public boolean vector()
+  {
+    return AlmostEqualFloatVector.almostEqualArrays(
+      this.context, this.a, this.b);
+  }
+
+  /**
+   * Compare the arrays and produce a mismatch report.
+   *
+   * @return The number of mismatches
+   */
+
+  @Benchmark
+  public long report()
+  {
+    this.report.reset();
+    AlmostEqualFloat.compareArrays(
+      CONTEXT_IMMUTABLE, this.a, this.b, this.report);
+    return this.report.getMismatchCount();
+  }
+}
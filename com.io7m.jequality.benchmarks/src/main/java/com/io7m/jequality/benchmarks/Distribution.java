@@ -0,0 +1,106 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Distributions of values used by the comparison benchmarks.
+ */
+
+public enum Distribution
+{
+  /**
+   * Values uniformly distributed in {@code [0, 1)}.
+   */
+
+  UNIFORM {
+    @Override
+    double next(final Random random)
+    {
+      return random.nextDouble();
+    }
+  },
+
+  /**
+   * Subnormal values.
+   */
+
+  DENORMALS {
+    @Override
+    double next(final Random random)
+    {
+      return random.nextDouble() * Double.MIN_NORMAL;
+    }
+  },
+
+  /**
+   * Values of which a quarter are infinite.
+   */
+
+  INFINITIES {
+    @Override
+    double next(final Random random)
+    {
+      return switch (random.nextInt(8)) {
+        case 0 -> Double.POSITIVE_INFINITY;
+        case 1 -> Double.NEGATIVE_INFINITY;
+        default -> random.nextDouble();
+      };
+    }
+  },
+
+  /**
+   * Values with magnitudes spread over most of the exponent range of a
+   * {@code float}.
+   */
+
+  MIXED_MAGNITUDES {
+    @Override
+    double next(final Random random)
+    {
+      final double sign = random.nextBoolean() ? 1.0 : -1.0;
+      final double scale = Math.pow(10.0, random.nextInt(70) - 35);
+      return sign * random.nextDouble() * scale;
+    }
+  };
+
+  abstract double next(Random random);
+
+  /**
+   * Generate an array of values, and a copy of the array in which every
+   * finite value has been perturbed by a relative error of about {@code
+   * 1.0e-7}.
+   *
+   * @param size The array size
+   *
+   * @return The left and right arrays
+   */
+
+  double[][] generate(
+    final int size)
+  {
+    final Random random = new Random(0x10e7L);
+    final double[] a = new double[size];
+    final double[] b = new double[size];
+    for (int index = 0; index < size; ++index) {
+      a[index] = this.next(random);
+      b[index] = a[index] * (1.0 + 1.0e-7);
+    }
+    return new double[][]{a, b};
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.benchmarks;
+
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the validator's method lookups, as a function of the number
+ * of public methods declared by the validated class.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EqualityValidatorBenchmark
+{
+  /**
+   * The number of public methods declared by the validated class.
+   */
+
+  @Param({"10", "100", "300"})
+  public int methods;
+
+  private Class<?> target;
+
+  /**
+   * Select the validated class.
+   */
+
+  @Setup
+  public void setup()
+  {
+    switch (this.methods) {
+      case 10 -> this.target = ManyMethods10.class;
+      case 100 -> this.target = ManyMethods100.class;
+      case 300 -> this.target = ManyMethods300.class;
+      default -> throw new IllegalArgumentException(
+        "Unsupported method count: " + this.methods);
+    }
+  }
+
+  /**
+   * The lookup used by the validator prior to 3.1.0: Scan every public
+   * method by name.
+   *
+   * @return The number of matching methods
+   */
+
+  @Benchmark
+  public int lookupScan()
+  {
+    int found = 0;
+    for (final Method m : this.target.getMethods()) {
+      if (Objects.equals("equals", m.getName())) {
+        if (!Objects.equals(m.getDeclaringClass(), Object.class)) {
+          ++found;
+        }
+      }
+      if (Objects.equals("hashCode", m.getName())) {
+        if (!Objects.equals(m.getDeclaringClass(), Object.class)) {
+          ++found;
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * The lookup used by the validator: Resolve {@code equals(Object)} and
+   * {@code hashCode()} directly.
+   *
+   * @return The number of matching methods
+   *
+   * @throws NoSuchMethodException On errors
+   */
+
+  @Benchmark
+  public int lookupTargeted()
+    throws NoSuchMethodException
+  {
+    int found = 0;
+    final Method e = this.target.getMethod("equals", Object.class);
+    if (!Objects.equals(e.getDeclaringClass(), Object.class)) {
+      ++found;
+    }
+    final Method h = this.target.getMethod("hashCode");
+    if (!Objects.equals(h.getDeclaringClass(), Object.class)) {
+      ++found;
+    }
+    return found;
+  }
+
+  /**
+   * Validate a class through the validator's cache.
+   *
+   * @return The validation result
+   */
+
+  @Benchmark
+  public ValidatorResult validateCached()
+  {
+    return EqualityValidator.validateClass(
+      this.target,
+      AnnotationRequirement.ANNOTATIONS_REQUIRED,
+      true);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.benchmarks;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+/**
+ * A structurally-compared class with 10 public methods.
+ */
+
+@EqualityStructural
+public final class ManyMethods10
+{
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    return this == other;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return 0;
+  }
+
+  public int method000()
+  {
+    return 0;
+  }
+
+  public int method001()
+  {
+    return 1;
+  }
+
+  public int method002()
+  {
+    return 2;
+  }
+
+  public int method003()
+  {
+    return 3;
+  }
+
+  public int method004()
+  {
+    return 4;
+  }
+
+  public int method005()
+  {
+    return 5;
+  }
+
+  public int method006()
+  {
+    return 6;
+  }
+
+  public int method007()
+  {
+    return 7;
+  }
+
+  public int method008()
+  {
+    return 8;
+  }
+
+  public int method009()
+  {
+    return 9;
+  }
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.benchmarks;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+/**
+ * A structurally-compared class with 100 public methods.
+ */
+
+@EqualityStructural
+public final class ManyMethods100
+{
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    return this == other;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return 0;
+  }
+
+  public int method000()
+  {
+    return 0;
+  }
+
+  public int method001()
+  {
+    return 1;
+  }
+
+  public int method002()
+  {
+    return 2;
+  }
+
+  public int method003()
+  {
+    return 3;
+  }
+
+  public int method004()
+  {
+    return 4;
+  }
+
+  public int method005()
+  {
+    return 5;
+  }
+
+  public int method006()
+  {
+    return 6;
+  }
+
+  public int method007()
+  {
+    return 7;
+  }
+
+  public int method008()
+  {
+    return 8;
+  }
+
+  public int method009()
+  {
+    return 9;
+  }
+
+  public int method010()
+  {
+    return 10;
+  }
+
+  public int method011()
+  {
+    return 11;
+  }
+
+  public int method012()
+  {
+    return 12;
+  }
+
+  public int method013()
+  {
+    return 13;
+  }
+
+  public int method014()
+  {
+    return 14;
+  }
+
+  public int method015()
+  {
+    return 15;
+  }
+
+  public int method016()
+  {
+    return 16;
+  }
+
+  public int method017()
+  {
+    return 17;
+  }
+
+  public int method018()
+  {
+    return 18;
+  }
+
+  public int method019()
+  {
+    return 19;
+  }
+
+  public int method020()
+  {
+    return 20;
+  }
+
+  public int method021()
+  {
+    return 21;
+  }
+
+  public int method022()
+  {
+    return 22;
+  }
+
+  public int method023()
+  {
+    return 23;
+  }
+
+  public int method024()
+  {
+    return 24;
+  }
+
+  public int method025()
+  {
+    return 25;
+  }
+
+  public int method026()
+  {
+    return 26;
+  }
+
+  public int method027()
+  {
+    return 27;
+  }
+
+  public int method028()
+  {
+    return 28;
+  }
+
+  public int method029()
+  {
+    return 29;
+  }
+
+  public int method030()
+  {
+    return 30;
+  }
+
+  public int method031()
+  {
+    return 31;
+  }
+
+  public int method032()
+  {
+    return 32;
+  }
+
+  public int method033()
+  {
+    return 33;
+  }
+
+  public int method034()
+  {
+    return 34;
+  }
+
+  public int method035()
+  {
+    return 35;
+  }
+
+  public int method036()
+  {
+    return 36;
+  }
+
+  public int method037()
+  {
+    return 37;
+  }
+
+  public int method038()
+  {
+    return 38;
+  }
+
+  public int method039()
+  {
+    return 39;
+  }
+
+  public int method040()
+  {
+    return 40;
+  }
+
+  public int method041()
+  {
+    return 41;
+  }
+
+  public int method042()
+  {
+    return 42;
+  }
+
+  public int method043()
+  {
+    return 43;
+  }
+
+  public int method044()
+  {
+    return 44;
+  }
+
+  public int method045()
+  {
+    return 45;
+  }
+
+  public int method046()
+  {
+    return 46;
+  }
+
+  public int method047()
+  {
+    return 47;
+  }
+
+  public int method048()
+  {
+    return 48;
+  }
+
+  public int method049()
+  {
+    return 49;
+  }
+
+  public int method050()
+  {
+    return 50;
+  }
+
+  public int method051()
+  {
+    return 51;
+  }
+
+  public int method052()
+  {
+    return 52;
+  }
+
+  public int method053()
+  {
+    return 53;
+  }
+
+  public int method054()
+  {
+    return 54;
+  }
+
+  public int method055()
+  {
+    return 55;
+  }
+
+  public int method056()
+  {
+    return 56;
+  }
+
+  public int method057()
+  {
+    return 57;
+  }
+
+  public int method058()
+  {
+    return 58;
+  }
+
+  public int method059()
+  {
+    return 59;
+  }
+
+  public int method060()
+  {
+    return 60;
+  }
+
+  public int method061()
+  {
+    return 61;
+  }
+
+  public int method062()
+  {
+    return 62;
+  }
+
+  public int method063()
+  {
+    return 63;
+  }
+
+  public int method064()
+  {
+    return 64;
+  }
+
+  public int method065()
+  {
+    return 65;
+  }
+
+  public int method066()
+  {
+    return 66;
+  }
+
+  public int method067()
+  {
+    return 67;
+  }
+
+  public int method068()
+  {
+    return 68;
+  }
+
+  public int method069()
+  {
+    return 69;
+  }
+
+  public int method070()
+  {
+    return 70;
+  }
+
+  public int method071()
+  {
+    return 71;
+  }
+
+  public int method072()
+  {
+    return 72;
+  }
+
+  public int method073()
+  {
+    return 73;
+  }
+
+  public int method074()
+  {
+    return 74;
+  }
+
+  public int method075()
+  {
+    return 75;
+  }
+
+  public int method076()
+  {
+    return 76;
+  }
+
+  public int method077()
+  {
+    return 77;
+  }
+
+  public int method078()
+  {
+    return 78;
+  }
+
+  public int method079()
+  {
+    return 79;
+  }
+
+  public int method080()
+  {
+    return 80;
+  }
+
+  public int method081()
+  {
+    return 81;
+  }
+
+  public int method082()
+  {
+    return 82;
+  }
+
+  public int method083()
+  {
+    return 83;
+  }
+
+  public int method084()
+  {
+    return 84;
+  }
+
+  public int method085()
+  {
+    return 85;
+  }
+
+  public int method086()
+  {
+    return 86;
+  }
+
+  public int method087()
+  {
+    return 87;
+  }
+
+  public int method088()
+  {
+    return 88;
+  }
+
+  public int method089()
+  {
+    return 89;
+  }
+
+  public int method090()
+  {
+    return 90;
+  }
+
+  public int method091()
+  {
+    return 91;
+  }
+
+  public int method092()
+  {
+    return 92;
+  }
+
+  public int method093()
+  {
+    return 93;
+  }
+
+  public int method094()
+  {
+    return 94;
+  }
+
+  public int method095()
+  {
+    return 95;
+  }
+
+  public int method096()
+  {
+    return 96;
+  }
+
+  public int method097()
+  {
+    return 97;
+  }
+
+  public int method098()
+  {
+    return 98;
+  }
+
+  public int method099()
+  {
+    return 99;
+  }
+}
@@ -0,0 +1,1540 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.benchmarks;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+/**
+ * A structurally-compared class with 300 public methods.
+ */
+
+@EqualityStructural
+public final class ManyMethods300
+{
+  @Override
+  public boolean equals(
+    final Object other)
+  {
+    return this == other;
+  }
+
+  @Override
+  public int hashCode()
+  {
+    return 0;
+  }
+
+  public int method000()
+  {
+    return 0;
+  }
+
+  public int method001()
+  {
+    return 1;
+  }
+
+  public int method002()
+  {
+    return 2;
+  }
+
+  public int method003()
+  {
+    return 3;
+  }
+
+  public int method004()
+  {
+    return 4;
+  }
+
+  public int method005()
+  {
+    return 5;
+  }
+
+  public int method006()
+  {
+    return 6;
+  }
+
+  public int method007()
+  {
+    return 7;
+  }
+
+  public int method008()
+  {
+    return 8;
+  }
+
+  public int method009()
+  {
+    return 9;
+  }
+
+  public int method010()
+  {
+    return 10;
+  }
+
+  public int method011()
+  {
+    return 11;
+  }
+
+  public int method012()
+  {
+    return 12;
+  }
+
+  public int method013()
+  {
+    return 13;
+  }
+
+  public int method014()
+  {
+    return 14;
+  }
+
+  public int method015()
+  {
+    return 15;
+  }
+
+  public int method016()
+  {
+    return 16;
+  }
+
+  public int method017()
+  {
+    return 17;
+  }
+
+  public int method018()
+  {
+    return 18;
+  }
+
+  public int method019()
+  {
+    return 19;
+  }
+
+  public int method020()
+  {
+    return 20;
+  }
+
+  public int method021()
+  {
+    return 21;
+  }
+
+  public int method022()
+  {
+    return 22;
+  }
+
+  public int method023()
+  {
+    return 23;
+  }
+
+  public int method024()
+  {
+    return 24;
+  }
+
+  public int method025()
+  {
+    return 25;
+  }
+
+  public int method026()
+  {
+    return 26;
+  }
+
+  public int method027()
+  {
+    return 27;
+  }
+
+  public int method028()
+  {
+    return 28;
+  }
+
+  public int method029()
+  {
+    return 29;
+  }
+
+  public int method030()
+  {
+    return 30;
+  }
+
+  public int method031()
+  {
+    return 31;
+  }
+
+  public int method032()
+  {
+    return 32;
+  }
+
+  public int method033()
+  {
+    return 33;
+  }
+
+  public int method034()
+  {
+    return 34;
+  }
+
+  public int method035()
+  {
+    return 35;
+  }
+
+  public int method036()
+  {
+    return 36;
+  }
+
+  public int method037()
+  {
+    return 37;
+  }
+
+  public int method038()
+  {
+    return 38;
+  }
+
+  public int method039()
+  {
+    return 39;
+  }
+
+  public int method040()
+  {
+    return 40;
+  }
+
+  public int method041()
+  {
+    return 41;
+  }
+
+  public int method042()
+  {
+    return 42;
+  }
+
+  public int method043()
+  {
+    return 43;
+  }
+
+  public int method044()
+  {
+    return 44;
+  }
+
+  public int method045()
+  {
+    return 45;
+  }
+
+  public int method046()
+  {
+    return 46;
+  }
+
+  public int method047()
+  {
+    return 47;
+  }
+
+  public int method048()
+  {
+    return 48;
+  }
+
+  public int method049()
+  {
+    return 49;
+  }
+
+  public int method050()
+  {
+    return 50;
+  }
+
+  public int method051()
+  {
+    return 51;
+  }
+
+  public int method052()
+  {
+    return 52;
+  }
+
+  public int method053()
+  {
+    return 53;
+  }
+
+  public int method054()
+  {
+    return 54;
+  }
+
+  public int method055()
+  {
+    return 55;
+  }
+
+  public int method056()
+  {
+    return 56;
+  }
+
+  public int method057()
+  {
+    return 57;
+  }
+
+  public int method058()
+  {
+    return 58;
+  }
+
+  public int method059()
+  {
+    return 59;
+  }
+
+  public int method060()
+  {
+    return 60;
+  }
+
+  public int method061()
+  {
+    return 61;
+  }
+
+  public int method062()
+  {
+    return 62;
+  }
+
+  public int method063()
+  {
+    return 63;
+  }
+
+  public int method064()
+  {
+    return 64;
+  }
+
+  public int method065()
+  {
+    return 65;
+  }
+
+  public int method066()
+  {
+    return 66;
+  }
+
+  public int method067()
+  {
+    return 67;
+  }
+
+  public int method068()
+  {
+    return 68;
+  }
+
+  public int method069()
+  {
+    return 69;
+  }
+
+  public int method070()
+  {
+    return 70;
+  }
+
+  public int method071()
+  {
+    return 71;
+  }
+
+  public int method072()
+  {
+    return 72;
+  }
+
+  public int method073()
+  {
+    return 73;
+  }
+
+  public int method074()
+  {
+    return 74;
+  }
+
+  public int method075()
+  {
+    return 75;
+  }
+
+  public int method076()
+  {
+    return 76;
+  }
+
+  public int method077()
+  {
+    return 77;
+  }
+
+  public int method078()
+  {
+    return 78;
+  }
+
+  public int method079()
+  {
+    return 79;
+  }
+
+  public int method080()
+  {
+    return 80;
+  }
+
+  public int method081()
+  {
+    return 81;
+  }
+
+  public int method082()
+  {
+    return 82;
+  }
+
+  public int method083()
+  {
+    return 83;
+  }
+
+  public int method084()
+  {
+    return 84;
+  }
+
+  public int method085()
+  {
+    return 85;
+  }
+
+  public int method086()
+  {
+    return 86;
+  }
+
+  public int method087()
+  {
+    return 87;
+  }
+
+  public int method088()
+  {
+    return 88;
+  }
+
+  public int method089()
+  {
+    return 89;
+  }
+
+  public int method090()
+  {
+    return 90;
+  }
+
+  public int method091()
+  {
+    return 91;
+  }
+
+  public int method092()
+  {
+    return 92;
+  }
+
+  public int method093()
+  {
+    return 93;
+  }
+
+  public int method094()
+  {
+    return 94;
+  }
+
+  public int method095()
+  {
+    return 95;
+  }
+
+  public int method096()
+  {
+    return 96;
+  }
+
+  public int method097()
+  {
+    return 97;
+  }
+
+  public int method098()
+  {
+    return 98;
+  }
+
+  public int method099()
+  {
+    return 99;
+  }
+
+  public int method100()
+  {
+    return 100;
+  }
+
+  public int method101()
+  {
+    return 101;
+  }
+
+  public int method102()
+  {
+    return 102;
+  }
+
+  public int method103()
+  {
+    return 103;
+  }
+
+  public int method104()
+  {
+    return 104;
+  }
+
+  public int method105()
+  {
+    return 105;
+  }
+
+  public int method106()
+  {
+    return 106;
+  }
+
+  public int method107()
+  {
+    return 107;
+  }
+
+  public int method108()
+  {
+    return 108;
+  }
+
+  public int method109()
+  {
+    return 109;
+  }
+
+  public int method110()
+  {
+    return 110;
+  }
+
+  public int method111()
+  {
+    return 111;
+  }
+
+  public int method112()
+  {
+    return 112;
+  }
+
+  public int method113()
+  {
+    return 113;
+  }
+
+  public int method114()
+  {
+    return 114;
+  }
+
+  public int method115()
+  {
+    return 115;
+  }
+
+  public int method116()
+  {
+    return 116;
+  }
+
+  public int method117()
+  {
+    return 117;
+  }
+
+  public int method118()
+  {
+    return 118;
+  }
+
+  public int method119()
+  {
+    return 119;
+  }
+
+  public int method120()
+  {
+    return 120;
+  }
+
+  public int method121()
+  {
+    return 121;
+  }
+
+  public int method122()
+  {
+    return 122;
+  }
+
+  public int method123()
+  {
+    return 123;
+  }
+
+  public int method124()
+  {
+    return 124;
+  }
+
+  public int method125()
+  {
+    return 125;
+  }
+
+  public int method126()
+  {
+    return 126;
+  }
+
+  public int method127()
+  {
+    return 127;
+  }
+
+  public int method128()
+  {
+    return 128;
+  }
+
+  public int method129()
+  {
+    return 129;
+  }
+
+  public int method130()
+  {
+    return 130;
+  }
+
+  public int method131()
+  {
+    return 131;
+  }
+
+  public int method132()
+  {
+    return 132;
+  }
+
+  public int method133()
+  {
+    return 133;
+  }
+
+  public int method134()
+  {
+    return 134;
+  }
+
+  public int method135()
+  {
+    return 135;
+  }
+
+  public int method136()
+  {
+    return 136;
+  }
+
+  public int method137()
+  {
+    return 137;
+  }
+
+  public int method138()
+  {
+    return 138;
+  }
+
+  public int method139()
+  {
+    return 139;
+  }
+
+  public int method140()
+  {
+    return 140;
+  }
+
+  public int method141()
+  {
+    return 141;
+  }
+
+  public int method142()
+  {
+    return 142;
+  }
+
+  public int method143()
+  {
+    return 143;
+  }
+
+  public int method144()
+  {
+    return 144;
+  }
+
+  public int method145()
+  {
+    return 145;
+  }
+
+  public int method146()
+  {
+    return 146;
+  }
+
+  public int method147()
+  {
+    return 147;
+  }
+
+  public int method148()
+  {
+    return 148;
+  }
+
+  public int method149()
+  {
+    return 149;
+  }
+
+  public int method150()
+  {
+    return 150;
+  }
+
+  public int method151()
+  {
+    return 151;
+  }
+
+  public int method152()
+  {
+    return 152;
+  }
+
+  public int method153()
+  {
+    return 153;
+  }
+
+  public int method154()
+  {
+    return 154;
+  }
+
+  public int method155()
+  {
+    return 155;
+  }
+
+  public int method156()
+  {
+    return 156;
+  }
+
+  public int method157()
+  {
+    return 157;
+  }
+
+  public int method158()
+  {
+    return 158;
+  }
+
+  public int method159()
+  {
+    return 159;
+  }
+
+  public int method160()
+  {
+    return 160;
+  }
+
+  public int method161()
+  {
+    return 161;
+  }
+
+  public int method162()
+  {
+    return 162;
+  }
+
+  public int method163()
+  {
+    return 163;
+  }
+
+  public int method164()
+  {
+    return 164;
+  }
+
+  public int method165()
+  {
+    return 165;
+  }
+
+  public int method166()
+  {
+    return 166;
+  }
+
+  public int method167()
+  {
+    return 167;
+  }
+
+  public int method168()
+  {
+    return 168;
+  }
+
+  public int method169()
+  {
+    return 169;
+  }
+
+  public int method170()
+  {
+    return 170;
+  }
+
+  public int method171()
+  {
+    return 171;
+  }
+
+  public int method172()
+  {
+    return 172;
+  }
+
+  public int method173()
+  {
+    return 173;
+  }
+
+  public int method174()
+  {
+    return 174;
+  }
+
+  public int method175()
+  {
+    return 175;
+  }
+
+  public int method176()
+  {
+    return 176;
+  }
+
+  public int method177()
+  {
+    return 177;
+  }
+
+  public int method178()
+  {
+    return 178;
+  }
+
+  public int method179()
+  {
+    return 179;
+  }
+
+  public int method180()
+  {
+    return 180;
+  }
+
+  public int method181()
+  {
+    return 181;
+  }
+
+  public int method182()
+  {
+    return 182;
+  }
+
+  public int method183()
+  {
+    return 183;
+  }
+
+  public int method184()
+  {
+    return 184;
+  }
+
+  public int method185()
+  {
+    return 185;
+  }
+
+  public int method186()
+  {
+    return 186;
+  }
+
+  public int method187()
+  {
+    return 187;
+  }
+
+  public int method188()
+  {
+    return 188;
+  }
+
+  public int method189()
+  {
+    return 189;
+  }
+
+  public int method190()
+  {
+    return 190;
+  }
+
+  public int method191()
+  {
+    return 191;
+  }
+
+  public int method192()
+  {
+    return 192;
+  }
+
+  public int method193()
+  {
+    return 193;
+  }
+
+  public int method194()
+  {
+    return 194;
+  }
+
+  public int method195()
+  {
+    return 195;
+  }
+
+  public int method196()
+  {
+    return 196;
+  }
+
+  public int method197()
+  {
+    return 197;
+  }
+
+  public int method198()
+  {
+    return 198;
+  }
+
+  public int method199()
+  {
+    return 199;
+  }
+
+  public int method200()
+  {
+    return 200;
+  }
+
+  public int method201()
+  {
+    return 201;
+  }
+
+  public int method202()
+  {
+    return 202;
+  }
+
+  public int method203()
+  {
+    return 203;
+  }
+
+  public int method204()
+  {
+    return 204;
+  }
+
+  public int method205()
+  {
+    return 205;
+  }
+
+  public int method206()
+  {
+    return 206;
+  }
+
+  public int method207()
+  {
+    return 207;
+  }
+
+  public int method208()
+  {
+    return 208;
+  }
+
+  public int method209()
+  {
+    return 209;
+  }
+
+  public int method210()
+  {
+    return 210;
+  }
+
+  public int method211()
+  {
+    return 211;
+  }
+
+  public int method212()
+  {
+    return 212;
+  }
+
+  public int method213()
+  {
+    return 213;
+  }
+
+  public int method214()
+  {
+    return 214;
+  }
+
+  public int method215()
+  {
+    return 215;
+  }
+
+  public int method216()
+  {
+    return 216;
+  }
+
+  public int method217()
+  {
+    return 217;
+  }
+
+  public int method218()
+  {
+    return 218;
+  }
+
+  public int method219()
+  {
+    return 219;
+  }
+
+  public int method220()
+  {
+    return 220;
+  }
+
+  public int method221()
+  {
+    return 221;
+  }
+
+  public int method222()
+  {
+    return 222;
+  }
+
+  public int method223()
+  {
+    return 223;
+  }
+
+  public int method224()
+  {
+    return 224;
+  }
+
+  public int method225()
+  {
+    return 225;
+  }
+
+  public int method226()
+  {
+    return 226;
+  }
+
+  public int method227()
+  {
+    return 227;
+  }
+
+  public int method228()
+  {
+    return 228;
+  }
+
+  public int method229()
+  {
+    return 229;
+  }
+
+  public int method230()
+  {
+    return 230;
+  }
+
+  public int method231()
+  {
+    return 231;
+  }
+
+  public int method232()
+  {
+    return 232;
+  }
+
+  public int method233()
+  {
+    return 233;
+  }
+
+  public int method234()
+  {
+    return 234;
+  }
+
+  public int method235()
+  {
+    return 235;
+  }
+
+  public int method236()
+  {
+    return 236;
+  }
+
+  public int method237()
+  {
+    return 237;
+  }
+
+  public int method238()
+  {
+    return 238;
+  }
+
+  public int method239()
+  {
+    return 239;
+  }
+
+  public int method240()
+  {
+    return 240;
+  }
+
+  public int method241()
+  {
+    return 241;
+  }
+
+  public int method242()
+  {
+    return 242;
+  }
+
+  public int method243()
+  {
+    return 243;
+  }
+
+  public int method244()
+  {
+    return 244;
+  }
+
+  public int method245()
+  {
+    return 245;
+  }
+
+  public int method246()
+  {
+    return 246;
+  }
+
+  public int method247()
+  {
+    return 247;
+  }
+
+  public int method248()
+  {
+    return 248;
+  }
+
+  public int method249()
+  {
+    return 249;
+  }
+
+  public int method250()
+  {
+    return 250;
+  }
+
+  public int method251()
+  {
+    return 251;
+  }
+
+  public int method252()
+  {
+    return 252;
+  }
+
+  public int method253()
+  {
+    return 253;
+  }
+
+  public int method254()
+  {
+    return 254;
+  }
+
+  public int method255()
+  {
+    return 255;
+  }
+
+  public int method256()
+  {
+    return 256;
+  }
+
+  public int method257()
+  {
+    return 257;
+  }
+
+  public int method258()
+  {
+    return 258;
+  }
+
+  public int method259()
+  {
+    return 259;
+  }
+
+  public int method260()
+  {
+    return 260;
+  }
+
+  public int method261()
+  {
+    return 261;
+  }
+
+  public int method262()
+  {
+    return 262;
+  }
+
+  public int method263()
+  {
+    return 263;
+  }
+
+  public int method264()
+  {
+    return 264;
+  }
+
+  public int method265()
+  {
+    return 265;
+  }
+
+  public int method266()
+  {
+    return 266;
+  }
+
+  public int method267()
+  {
+    return 267;
+  }
+
+  public int method268()
+  {
+    return 268;
+  }
+
+  public int method269()
+  {
+    return 269;
+  }
+
+  public int method270()
+  {
+    return 270;
+  }
+
+  public int method271()
+  {
+    return 271;
+  }
+
+  public int method272()
+  {
+    return 272;
+  }
+
+  public int method273()
+  {
+    return 273;
+  }
+
+  public int method274()
+  {
+    return 274;
+  }
+
+  public int method275()
+  {
+    return 275;
+  }
+
+  public int method276()
+  {
+    return 276;
+  }
+
+  public int method277()
+  {
+    return 277;
+  }
+
+  public int method278()
+  {
+    return 278;
+  }
+
+  public int method279()
+  {
+    return 279;
+  }
+
+  public int method280()
+  {
+    return 280;
+  }
+
+  public int method281()
+  {
+    return 281;
+  }
+
+  public int method282()
+  {
+    return 282;
+  }
+
+  public int method283()
+  {
+    return 283;
+  }
+
+  public int method284()
+  {
+    return 284;
+  }
+
+  public int method285()
+  {
+    return 285;
+  }
+
+  public int method286()
+  {
+    return 286;
+  }
+
+  public int method287()
+  {
+    return 287;
+  }
+
+  public int method288()
+  {
+    return 288;
+  }
+
+  public int method289()
+  {
+    return 289;
+  }
+
+  public int method290()
+  {
+    return 290;
+  }
+
+  public int method291()
+  {
+    return 291;
+  }
+
+  public int method292()
+  {
+    return 292;
+  }
+
+  public int method293()
+  {
+    return 293;
+  }
+
+  public int method294()
+  {
+    return 294;
+  }
+
+  public int method295()
+  {
+    return 295;
+  }
+
+  public int method296()
+  {
+    return 296;
+  }
+
+  public int method297()
+  {
+    return 297;
+  }
+
+  public int method298()
+  {
+    return 298;
+  }
+
+  public int method299()
+  {
+    return 299;
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.benchmarks;
+
+import com.io7m.jequality.StructuralEquality;
+import com.io7m.jequality.annotations.EqualityStructural;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing {@link StructuralEquality} to hand-written and
+ * reflective implementations of {@code equals} and {@code hashCode}.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StructuralEqualityBenchmark
+{
+  private final Value a = new Value(1, 2L, 3.0, "four");
+  private final Value b = new Value(1, 2L, 3.0, "four");
+
+  /**
+   * A hand-written comparison.
+   *
+   * @return The result of the comparison
+   */
+
+  @Benchmark
+  public boolean equalsHandwritten()
+  {
+    return this.a.equals(this.b);
+  }
+
+  /**
+   * A comparison that reads fields with core reflection on every call.
+   *
+   * @return The result of the comparison
+   *
+   * @throws IllegalAccessException On errors
+   */
+
+  @Benchmark
+  public boolean equalsReflective()
+    throws IllegalAccessException
+  {
+    for (final Field field : Value.class.getDeclaredFields()) {
+      if (!Objects.equals(field.get(this.a), field.get(this.b))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * A comparison with {@link StructuralEquality}.
+   *
+   * @return The result of the comparison
+   */
+
+  @Benchmark
+  public boolean equalsStructural()
+  {
+    return StructuralEquality.equals(this.a, this.b);
+  }
+
+  /**
+   * A hand-written hash code.
+   *
+   * @return The hash code
+   */
+
+  @Benchmark
+  public int hashCodeHandwritten()
+  {
+    return this.a.hashCode();
+  }
+
+  /**
+   * A hash code computed with {@link StructuralEquality}.
+   *
+   * @return The hash code
+   */
+
+  @Benchmark
+  public int hashCodeStructural()
+  {
+    return StructuralEquality.hashCode(this.a);
+  }
+
+  @EqualityStructural
+  static final class Value
+  {
+    private final int x;
+    private final long y;
+    private final double z;
+    private final String name;
+
+    Value(
+      final int in_x,
+      final long in_y,
+      final double in_z,
+      final String in_name)
+    {
+      this.x = in_x;
+      this.y = in_y;
+      this.z = in_z;
+      this.name = in_name;
+    }
+
+    @Override
+    public boolean equals(
+      final Object other)
+    {
+      if (this == other) {
+        return true;
+      }
+      if (other == null || this.getClass() != other.getClass()) {
+        return false;
+      }
+      final Value o = (Value) other;
+      return this.x == o.x
+        && this.y == o.y
+        && Double.doubleToLongBits(this.z) == Double.doubleToLongBits(o.z)
+        && Objects.equals(this.name, o.name);
+    }
+
+    @Override
+    public int hashCode()
+    {
+      int result = 1;
+      result = (31 * result) + Integer.hashCode(this.x);
+      result = (31 * result) + Long.hashCode(this.y);
+      result = (31 * result) + Double.hashCode(this.z);
+      result = (31 * result) + Objects.hashCode(this.name);
+      return result;
+    }
+  }
+}
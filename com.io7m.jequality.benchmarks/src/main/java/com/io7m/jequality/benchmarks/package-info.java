@@ -0,0 +1,33 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+/**
+ * <p> JMH benchmarks. </p>
+ *
+ * <p> The module produces an executable jar with the classifier {@code main}
+ * that runs the JMH harness. For example, to run the comparison benchmarks
+ * with allocation profiling: </p>
+ *
+ * <pre>
+ * $ java -jar com.io7m.jequality.benchmarks-*-main.jar AlmostEqual -prof gc
+ * </pre>
+ *
+ * <p> The {@code gc.alloc.rate.norm} column reports the number of bytes
+ * allocated per operation; the comparison functions are expected to report
+ * {@code 0} (or close to it) in every benchmark. </p>
+ */
+
+package com.io7m.jequality.benchmarks;
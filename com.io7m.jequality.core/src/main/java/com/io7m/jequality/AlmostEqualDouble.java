@@ -17,8 +17,14 @@
 package com.io7m.jequality;
 
 import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.jequality.annotations.EqualityStructural;
+import com.io7m.jequality.internal.Instrumentation;
+import com.io7m.jequality.metrics.AlmostEqualPath;
 import com.io7m.junreachable.UnreachableCodeException;
 
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+
 /**
  * <p> Better floating point comparisons. </p> <p> See <a href=
  * "http://randomascii.wordpress.com/2012/02/25/comparing-floating-point-numbers-2012-edition"
@@ -28,6 +34,18 @@ import com.io7m.junreachable.UnreachableCodeException;
 @EqualityReference
 public final class AlmostEqualDouble
 {
+  /**
+   * The number of elements compared between checks for mismatches in the
+   * bulk comparison functions. Each block is compared with a branch-free loop
+   * body, and the mismatch check is made once per block. C2 on JDK 21 does
+   * not vectorize this loop; it costs about as much per element as the scalar
+   * comparison, and more on denormal inputs, because every element pays for
+   * the relative test. The {@code com.io7m.jequality.vector} module provides
+   * explicitly vectorized comparisons.
+   */
+
+  private static final int BLOCK_SIZE = 64;
+
   private AlmostEqualDouble()
   {
     throw new UnreachableCodeException();
@@ -56,6 +74,85 @@ public final class AlmostEqualDouble
     final ContextRelative context,
     final double x,
     final double y)
+  {
+    final double max_abs = context.getMaxAbsoluteDifference();
+    final double max_rel = context.getMaxRelativeDifference();
+    if (Instrumentation.isAlmostEqualActive()) {
+      return almostEqualScalarInstrumented(max_abs, max_rel, x, y);
+    }
+    return almostEqualScalar(max_abs, max_rel, x, y);
+  }
+
+  /**
+   * <p> Compare the floating point numbers {@code x} and {@code y} using the
+   * immutable context {@code context}. </p>
+   *
+   * @param context The equality context
+   * @param x       The left parameter
+   * @param y       The right parameter
+   *
+   * @return {@code true} if {@code x} and {@code y} are almost equal
+   *
+   * @see #almostEqual(ContextRelative, double, double)
+   */
+
+  public static boolean almostEqual(
+    final ContextRelativeImmutable context,
+    final double x,
+    final double y)
+  {
+    final double max_abs = context.maxAbsoluteDifference();
+    final double max_rel = context.maxRelativeDifference();
+    if (Instrumentation.isAlmostEqualActive()) {
+      return almostEqualScalarInstrumented(max_abs, max_rel, x, y);
+    }
+    return almostEqualScalar(max_abs, max_rel, x, y);
+  }
+
+  /**
+   * <p> Compare the floating point numbers {@code x} and {@code y} using the
+   * ULP context {@code context}. </p>
+   *
+   * <p> The numbers are almost equal if the distance between them in units in
+   * the last place, as given by {@link #ulpDistance(double, double)}, is no greater
+   * than {@code context.maxULPDistance()}. {@code NaN} is never almost equal
+   * to anything. Note that values close to zero are separated by very large
+   * numbers of representable values, and so this kind of comparison is
+   * typically combined with an absolute comparison for values near zero.
+   * </p>
+   *
+   * @param context The equality context
+   * @param x       The left parameter
+   * @param y       The right parameter
+   *
+   * @return {@code true} if {@code x} and {@code y} are almost equal
+   */
+
+  public static boolean almostEqual(
+    final ContextULP context,
+    final double x,
+    final double y)
+  {
+    final boolean nan = Double.isNaN(x) | Double.isNaN(y);
+    final long d = ulpDistanceUnsigned(x, y);
+    final boolean result =
+      !nan & Long.compareUnsigned(d, context.maxULPDistance()) <= 0;
+    if (Instrumentation.isAlmostEqualActive()) {
+      Instrumentation.almostEqualDouble(
+        result
+          ? AlmostEqualPath.ALMOST_EQUAL_ULP
+          : AlmostEqualPath.NOT_ALMOST_EQUAL,
+        x,
+        y);
+    }
+    return result;
+  }
+
+  static boolean almostEqualScalar(
+    final double max_abs,
+    final double max_rel,
+    final double x,
+    final double y)
   {
     if (x == Double.POSITIVE_INFINITY) {
       if (y == Double.POSITIVE_INFINITY) {
@@ -69,14 +166,14 @@ public final class AlmostEqualDouble
     }
 
     final double diff = Math.abs(x - y);
-    if (diff <= context.getMaxAbsoluteDifference()) {
+    if (diff <= max_abs) {
       return true;
     }
 
     final double ax = Math.abs(x);
     final double ay = Math.abs(y);
     final double m = Math.max(ax, ay);
-    final double k = m * context.getMaxRelativeDifference();
+    final double k = m * max_rel;
 
     if (diff <= k) {
       return true;
@@ -85,6 +182,882 @@ public final class AlmostEqualDouble
     return false;
   }
 
+  /**
+   * The equivalent of {@link #almostEqualScalar(double, double, double,
+   * double)} that reports the path taken to {@link Instrumentation}. The two
+   * functions must be kept in agreement.
+   */
+
+  private static boolean almostEqualScalarInstrumented(
+    final double max_abs,
+    final double max_rel,
+    final double x,
+    final double y)
+  {
+    final AlmostEqualPath path;
+    if (Double.isInfinite(x) && x == y) {
+      path = AlmostEqualPath.ALMOST_EQUAL_INFINITY;
+    } else {
+      final double diff = Math.abs(x - y);
+      if (diff <= max_abs) {
+        path = AlmostEqualPath.ALMOST_EQUAL_ABSOLUTE;
+      } else if (diff <= Math.max(Math.abs(x), Math.abs(y)) * max_rel) {
+        path = AlmostEqualPath.ALMOST_EQUAL_RELATIVE;
+      } else {
+        path = AlmostEqualPath.NOT_ALMOST_EQUAL;
+      }
+    }
+
+    Instrumentation.almostEqualDouble(path, x, y);
+    return path != AlmostEqualPath.NOT_ALMOST_EQUAL;
+  }
+
+  /**
+   * <p> Compare the arrays {@code a} and {@code b} element-wise using the
+   * context {@code context}. The arrays are almost equal if they have the
+   * same length and each pair of elements is almost equal according to
+   * {@link #almostEqual(ContextRelative, double, double)}. </p>
+   *
+   * @param context The equality context
+   * @param a       The left array
+   * @param b       The right array
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   */
+
+  public static boolean almostEqualArrays(
+    final ContextRelative context,
+    final double[] a,
+    final double[] b)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+
+    if (a.length != b.length) {
+      return false;
+    }
+
+    return almostEqualRange(
+      context.getMaxAbsoluteDifference(),
+      context.getMaxRelativeDifference(),
+      a,
+      0,
+      b,
+      0,
+      a.length);
+  }
+
+  /**
+   * <p> Compare {@code length} elements of the arrays {@code a} and
+   * {@code b}, starting at {@code a_offset} and {@code b_offset}
+   * respectively, using the context {@code context}. Each pair of elements
+   * is compared according to {@link #almostEqual(ContextRelative, double,
+   * double)}. </p>
+   *
+   * <p> Comparison stops shortly after the first pair of elements that are
+   * not almost equal is encountered. </p>
+   *
+   * @param context  The equality context
+   * @param a        The left array
+   * @param a_offset The starting offset in {@code a}
+   * @param b        The right array
+   * @param b_offset The starting offset in {@code b}
+   * @param length   The number of elements to compare
+   *
+   * @return {@code true} if the given ranges are almost equal
+   *
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   */
+
+  public static boolean almostEqualArrays(
+    final ContextRelative context,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length)
+    throws IndexOutOfBoundsException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.checkFromIndexSize(a_offset, length, a.length);
+    Objects.checkFromIndexSize(b_offset, length, b.length);
+
+    return almostEqualRange(
+      context.getMaxAbsoluteDifference(),
+      context.getMaxRelativeDifference(),
+      a,
+      a_offset,
+      b,
+      b_offset,
+      length);
+  }
+
+  /**
+   * <p> Compare the arrays {@code a} and {@code b} element-wise using the
+   * immutable context {@code context}. </p>
+   *
+   * @param context The equality context
+   * @param a       The left array
+   * @param b       The right array
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   *
+   * @see #almostEqualArrays(ContextRelative, double[], double[])
+   */
+
+  public static boolean almostEqualArrays(
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final double[] b)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+
+    if (a.length != b.length) {
+      return false;
+    }
+
+    return almostEqualRange(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      a,
+      0,
+      b,
+      0,
+      a.length);
+  }
+
+  /**
+   * <p> Compare {@code length} elements of the arrays {@code a} and
+   * {@code b}, starting at {@code a_offset} and {@code b_offset}
+   * respectively, using the immutable context {@code context}. </p>
+   *
+   * @param context  The equality context
+   * @param a        The left array
+   * @param a_offset The starting offset in {@code a}
+   * @param b        The right array
+   * @param b_offset The starting offset in {@code b}
+   * @param length   The number of elements to compare
+   *
+   * @return {@code true} if the given ranges are almost equal
+   *
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   * @see #almostEqualArrays(ContextRelative, double[], int, double[], int, int)
+   */
+
+  public static boolean almostEqualArrays(
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length)
+    throws IndexOutOfBoundsException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.checkFromIndexSize(a_offset, length, a.length);
+    Objects.checkFromIndexSize(b_offset, length, b.length);
+
+    return almostEqualRange(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      a,
+      a_offset,
+      b,
+      b_offset,
+      length);
+  }
+
+  /**
+   * <p> Compare the remaining elements of the buffers {@code a} and {@code
+   * b} element-wise using the context {@code context}. The buffers are
+   * almost equal if they have the same number of remaining elements and each
+   * pair of elements is almost equal. </p>
+   *
+   * <p> The buffers are read using absolute indexing, and so the positions
+   * and limits of the buffers are not modified. The buffers may be direct
+   * buffers, including views of memory-mapped files, in which case no data
+   * is copied onto the heap. </p>
+   *
+   * @param context The equality context
+   * @param a       The left buffer
+   * @param b       The right buffer
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   *
+   * @see #almostEqual(ContextRelative, double, double)
+   */
+
+  public static boolean almostEqualBuffers(
+    final ContextRelative context,
+    final DoubleBuffer a,
+    final DoubleBuffer b)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+
+    if (a.remaining() != b.remaining()) {
+      return false;
+    }
+
+    return almostEqualBufferRange(
+      context.getMaxAbsoluteDifference(),
+      context.getMaxRelativeDifference(),
+      a,
+      a.position(),
+      b,
+      b.position(),
+      a.remaining());
+  }
+
+  /**
+   * <p> Compare {@code length} elements of the buffers {@code a} and
+   * {@code b}, starting at the absolute indices {@code a_offset} and
+   * {@code b_offset} respectively, using the context {@code context}. The
+   * positions of the buffers are not used or modified. </p>
+   *
+   * @param context  The equality context
+   * @param a        The left buffer
+   * @param a_offset The starting index in {@code a}
+   * @param b        The right buffer
+   * @param b_offset The starting index in {@code b}
+   * @param length   The number of elements to compare
+   *
+   * @return {@code true} if the given ranges are almost equal
+   *
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   * @see #almostEqual(ContextRelative, double, double)
+   */
+
+  public static boolean almostEqualBuffers(
+    final ContextRelative context,
+    final DoubleBuffer a,
+    final int a_offset,
+    final DoubleBuffer b,
+    final int b_offset,
+    final int length)
+    throws IndexOutOfBoundsException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.checkFromIndexSize(a_offset, length, a.limit());
+    Objects.checkFromIndexSize(b_offset, length, b.limit());
+
+    return almostEqualBufferRange(
+      context.getMaxAbsoluteDifference(),
+      context.getMaxRelativeDifference(),
+      a,
+      a_offset,
+      b,
+      b_offset,
+      length);
+  }
+
+  /**
+   * <p> Compare the remaining elements of the buffers {@code a} and {@code
+   * b} element-wise using the context {@code context}. The buffers are
+   * almost equal if they have the same number of remaining elements and each
+   * pair of elements is almost equal. </p>
+   *
+   * <p> The buffers are read using absolute indexing, and so the positions
+   * and limits of the buffers are not modified. The buffers may be direct
+   * buffers, including views of memory-mapped files, in which case no data
+   * is copied onto the heap. </p>
+   *
+   * @param context The equality context
+   * @param a       The left buffer
+   * @param b       The right buffer
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   *
+   * @see #almostEqual(ContextRelativeImmutable, double, double)
+   */
+
+  public static boolean almostEqualBuffers(
+    final ContextRelativeImmutable context,
+    final DoubleBuffer a,
+    final DoubleBuffer b)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+
+    if (a.remaining() != b.remaining()) {
+      return false;
+    }
+
+    return almostEqualBufferRange(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      a,
+      a.position(),
+      b,
+      b.position(),
+      a.remaining());
+  }
+
+  /**
+   * <p> Compare {@code length} elements of the buffers {@code a} and
+   * {@code b}, starting at the absolute indices {@code a_offset} and
+   * {@code b_offset} respectively, using the context {@code context}. The
+   * positions of the buffers are not used or modified. </p>
+   *
+   * @param context  The equality context
+   * @param a        The left buffer
+   * @param a_offset The starting index in {@code a}
+   * @param b        The right buffer
+   * @param b_offset The starting index in {@code b}
+   * @param length   The number of elements to compare
+   *
+   * @return {@code true} if the given ranges are almost equal
+   *
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   * @see #almostEqual(ContextRelativeImmutable, double, double)
+   */
+
+  public static boolean almostEqualBuffers(
+    final ContextRelativeImmutable context,
+    final DoubleBuffer a,
+    final int a_offset,
+    final DoubleBuffer b,
+    final int b_offset,
+    final int length)
+    throws IndexOutOfBoundsException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.checkFromIndexSize(a_offset, length, a.limit());
+    Objects.checkFromIndexSize(b_offset, length, b.limit());
+
+    return almostEqualBufferRange(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      a,
+      a_offset,
+      b,
+      b_offset,
+      length);
+  }
+
+  /**
+   * <p> Compare the arrays {@code a} and {@code b} element-wise using the
+   * context {@code context}, and accumulate the results into {@code
+   * report}. </p>
+   *
+   * <p> Every pair of elements is compared, even after a mismatch has been
+   * found. If the arrays have different lengths, the elements past the end of
+   * the shorter array are counted as mismatches. The comparison is performed
+   * in a single pass and does not allocate. </p>
+   *
+   * @param context The equality context
+   * @param a       The left array
+   * @param b       The right array
+   * @param report  The report
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   *
+   * @see #almostEqualArrays(ContextRelative, double[], double[])
+   */
+
+  public static boolean compareArrays(
+    final ContextRelative context,
+    final double[] a,
+    final double[] b,
+    final AlmostEqualReport report)
+  {
+    Objects.requireNonNull(context, "Context");
+    return compareArraysRaw(
+      context.getMaxAbsoluteDifference(),
+      context.getMaxRelativeDifference(),
+      a,
+      b,
+      report);
+  }
+
+  /**
+   * <p> Compare {@code length} elements of the arrays {@code a} and
+   * {@code b}, starting at {@code a_offset} and {@code b_offset}
+   * respectively, and accumulate the results into {@code report}.
+   * Mismatching indices are recorded relative to the start of the ranges.
+   * </p>
+   *
+   * @param context  The equality context
+   * @param a        The left array
+   * @param a_offset The starting offset in {@code a}
+   * @param b        The right array
+   * @param b_offset The starting offset in {@code b}
+   * @param length   The number of elements to compare
+   * @param report   The report
+   *
+   * @return {@code true} if the given ranges are almost equal
+   *
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   * @see #compareArrays(ContextRelative, double[], double[], AlmostEqualReport)
+   */
+
+  public static boolean compareArrays(
+    final ContextRelative context,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length,
+    final AlmostEqualReport report)
+    throws IndexOutOfBoundsException
+  {
+    Objects.requireNonNull(context, "Context");
+    return compareArraysRaw(
+      context.getMaxAbsoluteDifference(),
+      context.getMaxRelativeDifference(),
+      a,
+      a_offset,
+      b,
+      b_offset,
+      length,
+      report);
+  }
+
+  /**
+   * <p> Compare the arrays {@code a} and {@code b} element-wise using the
+   * context {@code context}, and accumulate the results into {@code
+   * report}. </p>
+   *
+   * <p> Every pair of elements is compared, even after a mismatch has been
+   * found. If the arrays have different lengths, the elements past the end of
+   * the shorter array are counted as mismatches. The comparison is performed
+   * in a single pass and does not allocate. </p>
+   *
+   * @param context The equality context
+   * @param a       The left array
+   * @param b       The right array
+   * @param report  The report
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   *
+   * @see #almostEqualArrays(ContextRelativeImmutable, double[], double[])
+   */
+
+  public static boolean compareArrays(
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final double[] b,
+    final AlmostEqualReport report)
+  {
+    Objects.requireNonNull(context, "Context");
+    return compareArraysRaw(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      a,
+      b,
+      report);
+  }
+
+  /**
+   * <p> Compare {@code length} elements of the arrays {@code a} and
+   * {@code b}, starting at {@code a_offset} and {@code b_offset}
+   * respectively, and accumulate the results into {@code report}.
+   * Mismatching indices are recorded relative to the start of the ranges.
+   * </p>
+   *
+   * @param context  The equality context
+   * @param a        The left array
+   * @param a_offset The starting offset in {@code a}
+   * @param b        The right array
+   * @param b_offset The starting offset in {@code b}
+   * @param length   The number of elements to compare
+   * @param report   The report
+   *
+   * @return {@code true} if the given ranges are almost equal
+   *
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   * @see #compareArrays(ContextRelativeImmutable, double[], double[],
+   * AlmostEqualReport)
+   */
+
+  public static boolean compareArrays(
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length,
+    final AlmostEqualReport report)
+    throws IndexOutOfBoundsException
+  {
+    Objects.requireNonNull(context, "Context");
+    return compareArraysRaw(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      a,
+      a_offset,
+      b,
+      b_offset,
+      length,
+      report);
+  }
+
+  private static boolean compareArraysRaw(
+    final double max_abs,
+    final double max_rel,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length,
+    final AlmostEqualReport report)
+  {
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.requireNonNull(report, "Report");
+    Objects.checkFromIndexSize(a_offset, length, a.length);
+    Objects.checkFromIndexSize(b_offset, length, b.length);
+
+    return compareRange(
+      max_abs, max_rel, a, a_offset, b, b_offset, length, report);
+  }
+
+  private static boolean compareArraysRaw(
+    final double max_abs,
+    final double max_rel,
+    final double[] a,
+    final double[] b,
+    final AlmostEqualReport report)
+  {
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.requireNonNull(report, "Report");
+
+    final int length = Math.min(a.length, b.length);
+    final boolean ok =
+      compareRange(max_abs, max_rel, a, 0, b, 0, length, report);
+
+    final int extra = Math.max(a.length, b.length) - length;
+    if (extra > 0) {
+      report.recordMismatches(length, extra);
+      return false;
+    }
+    return ok;
+  }
+
+  private static boolean almostEqualRange(
+    final double max_abs,
+    final double max_rel,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length)
+  {
+    for (int base = 0; base < length; base += BLOCK_SIZE) {
+      final int end = Math.min(length, base + BLOCK_SIZE);
+
+      boolean ok = true;
+      for (int index = base; index < end; ++index) {
+        ok &= almostEqualUnchecked(
+          max_abs,
+          max_rel,
+          a[a_offset + index],
+          b[b_offset + index]);
+      }
+
+      if (!ok) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean almostEqualBufferRange(
+    final double max_abs,
+    final double max_rel,
+    final DoubleBuffer a,
+    final int a_offset,
+    final DoubleBuffer b,
+    final int b_offset,
+    final int length)
+  {
+    for (int base = 0; base < length; base += BLOCK_SIZE) {
+      final int end = Math.min(length, base + BLOCK_SIZE);
+
+      boolean ok = true;
+      for (int index = base; index < end; ++index) {
+        ok &= almostEqualUnchecked(
+          max_abs,
+          max_rel,
+          a.get(a_offset + index),
+          b.get(b_offset + index));
+      }
+
+      if (!ok) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Find the index of the first pair of elements in the given ranges that are
+   * not almost equal.
+   *
+   * @return The index relative to the start of the ranges, or {@code -1} if
+   * all elements are almost equal
+   */
+
+  static int mismatchRange(
+    final double max_abs,
+    final double max_rel,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length)
+  {
+    for (int base = 0; base < length; base += BLOCK_SIZE) {
+      final int end = Math.min(length, base + BLOCK_SIZE);
+
+      boolean ok = true;
+      for (int index = base; index < end; ++index) {
+        ok &= almostEqualUnchecked(
+          max_abs,
+          max_rel,
+          a[a_offset + index],
+          b[b_offset + index]);
+      }
+
+      if (!ok) {
+        for (int index = base; index < end; ++index) {
+          if (!almostEqualUnchecked(
+            max_abs,
+            max_rel,
+            a[a_offset + index],
+            b[b_offset + index])) {
+            return index;
+          }
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compare {@code length} elements of the arrays {@code a} and {@code b},
+   * starting at {@code a_offset} and {@code b_offset}, and accumulate the
+   * results into {@code report}. Mismatching indices are recorded relative to
+   * the start of the ranges.
+   */
+
+  private static boolean compareRange(
+    final double max_abs,
+    final double max_rel,
+    final double[] a,
+    final int a_offset,
+    final double[] b,
+    final int b_offset,
+    final int length,
+    final AlmostEqualReport report)
+  {
+    double max_diff = 0.0;
+    double max_ratio = 0.0;
+    long max_ulps = 0L;
+    boolean all = true;
+
+    for (int index = 0; index < length; ++index) {
+      final double x = a[a_offset + index];
+      final double y = b[b_offset + index];
+      final double diff = Math.abs(x - y);
+      final double ratio = ratioOf(x, y, diff);
+
+      if (diff > max_diff) {
+        max_diff = diff;
+      }
+      if (ratio > max_ratio) {
+        max_ratio = ratio;
+      }
+      max_ulps = Math.max(max_ulps, ulpDistanceOrZero(x, y));
+
+      if (!almostEqualUnchecked(max_abs, max_rel, x, y)) {
+        report.recordMismatch((long) index);
+        all = false;
+      }
+    }
+
+    report.recordTotals((long) length, max_diff, max_ratio, max_ulps);
+    return all;
+  }
+
+  /**
+   * Compare {@code length} elements of the buffers {@code a} and {@code
+   * b}, starting at the absolute indices {@code a_offset} and {@code
+   * b_offset}, and accumulate the results into {@code report}. Mismatching
+   * indices are recorded as {@code base} plus the index relative to the start
+   * of the ranges, so that callers comparing a long sequence in pieces can
+   * record indices relative to the start of the whole sequence. The loop is
+   * the same as that of {@link #compareRange}, reading from buffers.
+   */
+
+  static boolean compareBufferRange(
+    final ContextRelativeImmutable context,
+    final DoubleBuffer a,
+    final int a_offset,
+    final DoubleBuffer b,
+    final int b_offset,
+    final int length,
+    final long base,
+    final AlmostEqualReport report)
+  {
+    final double max_abs = context.maxAbsoluteDifference();
+    final double max_rel = context.maxRelativeDifference();
+
+    double max_diff = 0.0;
+    double max_ratio = 0.0;
+    long max_ulps = 0L;
+    boolean all = true;
+
+    for (int index = 0; index < length; ++index) {
+      final double x = a.get(a_offset + index);
+      final double y = b.get(b_offset + index);
+      final double diff = Math.abs(x - y);
+      final double ratio = ratioOf(x, y, diff);
+
+      if (diff > max_diff) {
+        max_diff = diff;
+      }
+      if (ratio > max_ratio) {
+        max_ratio = ratio;
+      }
+      max_ulps = Math.max(max_ulps, ulpDistanceOrZero(x, y));
+
+      if (!almostEqualUnchecked(max_abs, max_rel, x, y)) {
+        report.recordMismatch(base + (long) index);
+        all = false;
+      }
+    }
+
+    report.recordTotals((long) length, max_diff, max_ratio, max_ulps);
+    return all;
+  }
+
+  /**
+   * @return The absolute difference {@code diff} of {@code x} and {@code y}
+   * relative to the larger of their magnitudes, or {@code 0} if both are zero
+   */
+
+  private static double ratioOf(
+    final double x,
+    final double y,
+    final double diff)
+  {
+    final double m = Math.max(Math.abs(x), Math.abs(y));
+    return m == 0.0 ? 0.0 : diff / m;
+  }
+
+  /**
+   * @return The distance in units in the last place between {@code x} and
+   * {@code y}, or {@code 0} if either is {@code NaN}
+   */
+
+  private static long ulpDistanceOrZero(
+    final double x,
+    final double y)
+  {
+    if (Double.isNaN(x) || Double.isNaN(y)) {
+      return 0L;
+    }
+    return ulpDistance(x, y);
+  }
+
+  /**
+   * Map the bits of {@code x} onto a {@code long} such that the ordering of
+   * the integers matches the ordering of the floating point values, and
+   * adjacent representable values map to adjacent integers. Both zeroes map
+   * to {@code 0}.
+   */
+
+  static long orderedBits(
+    final double x)
+  {
+    final long bits = Double.doubleToRawLongBits(x);
+    final long sign = bits >> 63;
+    return (bits ^ (sign & Long.MAX_VALUE)) - sign;
+  }
+
+  /**
+   * The inverse of {@link #orderedBits(double)}. Both zeroes map back to
+   * {@code 0.0}.
+   */
+
+  static double fromOrderedBits(
+    final long k)
+  {
+    final long sign = k >> 63;
+    return Double.longBitsToDouble((k + sign) ^ (sign & Long.MAX_VALUE));
+  }
+
+  /**
+   * <p> Calculate the distance between {@code x} and {@code y} in units in
+   * the last place. This is the number of steps between adjacent
+   * representable values needed to get from {@code x} to {@code y}.
+   * Distances are measured correctly across zero, and {@code -0.0} and
+   * {@code 0.0} are at a distance of {@code 0}. The largest finite value and
+   * the infinity of the same sign are at a distance of {@code 1}. </p>
+   *
+   * <p> The result is unspecified if either value is {@code NaN}. </p>
+   *
+   * @param x The left parameter
+   * @param y The right parameter
+   *
+   * @return The number of representable values between {@code x} and {@code
+   * y}, saturated to {@link Long#MAX_VALUE}
+   */
+
+  public static long ulpDistance(
+    final double x,
+    final double y)
+  {
+    final long d = ulpDistanceUnsigned(x, y);
+    return d < 0L ? Long.MAX_VALUE : d;
+  }
+
+  /**
+   * @return The ULP distance between {@code x} and {@code y} as an unsigned
+   * integer
+   */
+
+  private static long ulpDistanceUnsigned(
+    final double x,
+    final double y)
+  {
+    final long kx = orderedBits(x);
+    final long ky = orderedBits(y);
+    return Math.max(kx, ky) - Math.min(kx, ky);
+  }
+
+  /**
+   * A branch-free equivalent of {@link #almostEqual(ContextRelative, double,
+   * double)}.
+   */
+
+  private static boolean almostEqualUnchecked(
+    final double max_abs,
+    final double max_rel,
+    final double x,
+    final double y)
+  {
+    final double diff = Math.abs(x - y);
+    final double m = Math.max(Math.abs(x), Math.abs(y));
+    final boolean infinite = (x == y) & Double.isInfinite(x);
+    return infinite | (diff <= max_abs) | (diff <= m * max_rel);
+  }
+
   /**
    * The necessary context for floating point comparisons.
    */
@@ -146,6 +1119,17 @@ public final class AlmostEqualDouble
       this.max_relative_diff = max;
     }
 
+    /**
+     * @return An immutable copy of the current context
+     */
+
+    public ContextRelativeImmutable toImmutable()
+    {
+      return new ContextRelativeImmutable(
+        this.max_absolute_diff,
+        this.max_relative_diff);
+    }
+
     @Override
     public String toString()
     {
@@ -160,4 +1144,78 @@ public final class AlmostEqualDouble
       return text;
     }
   }
+
+  /**
+   * <p> An immutable context for floating point comparisons. </p>
+   *
+   * <p> Unlike {@link ContextRelative}, values of this type can be safely
+   * shared between threads, and a context stored in a {@code static final}
+   * field can be treated as a constant by the JIT compiler. </p>
+   *
+   * @param maxAbsoluteDifference The maximum absolute difference
+   * @param maxRelativeDifference The maximum relative difference
+   */
+
+  @EqualityStructural
+  public record ContextRelativeImmutable(
+    double maxAbsoluteDifference,
+    double maxRelativeDifference)
+  {
+    /**
+     * Construct an immutable equality context.
+     *
+     * @param max_absolute_diff The maximum absolute difference
+     * @param max_relative_diff The maximum relative difference
+     *
+     * @return An immutable equality context
+     */
+
+    public static ContextRelativeImmutable of(
+      final double max_absolute_diff,
+      final double max_relative_diff)
+    {
+      return new ContextRelativeImmutable(
+        max_absolute_diff,
+        max_relative_diff);
+    }
+  }
+
+  /**
+   * <p> An immutable context for floating point comparisons in units in the
+   * last place. </p>
+   *
+   * @param maxULPDistance The maximum distance in units in the last place
+   */
+
+  @EqualityStructural
+  public record ContextULP(
+    long maxULPDistance)
+  {
+    /**
+     * An immutable context for floating point comparisons in units in the
+     * last place.
+     */
+
+    public ContextULP
+    {
+      if (maxULPDistance < 0L) {
+        throw new IllegalArgumentException(
+          "Maximum ULP distance must be non-negative");
+      }
+    }
+
+    /**
+     * Construct a ULP equality context.
+     *
+     * @param max_ulp_distance The maximum distance in units in the last place
+     *
+     * @return A ULP equality context
+     */
+
+    public static ContextULP of(
+      final long max_ulp_distance)
+    {
+      return new ContextULP(max_ulp_distance);
+    }
+  }
 }
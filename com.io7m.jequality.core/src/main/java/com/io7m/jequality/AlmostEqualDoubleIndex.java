@@ -0,0 +1,387 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * <p> An immutable index over a set of {@code double} values that can find
+ * every stored value that is almost equal to a query value in {@code O(log n
+ * + k)} time, where {@code k} is the number of results. </p>
+ *
+ * <p> The values are held as a sorted array of integers whose ordering
+ * matches the ordering of the values (the raw bits with the sign fixed up,
+ * as used by {@link AlmostEqualDouble#ulpDistance(double, double)}). For a
+ * finite query value {@code x}, the stored values that are almost equal to
+ * {@code x} form a window around the position of {@code x} in the array. The
+ * bounds of the window are found by binary searching on each side of {@code
+ * x} with exactly the predicate used by {@link
+ * AlmostEqualDouble#almostEqual(ContextRelativeImmutable, double, double)},
+ * and the edges of the window are then checked element by element, so that
+ * the results are those of a linear scan with that function. The predicate
+ * is only monotone on each side of {@code x} if the maximum relative
+ * difference is less than {@code 1.0}, and so queries with larger relative
+ * differences are rejected. </p>
+ *
+ * <p> Infinities are handled separately from the window: note that if the
+ * maximum relative difference is positive, {@link
+ * AlmostEqualDouble#almostEqual(ContextRelativeImmutable, double, double)}
+ * considers infinities to be almost equal to all finite values (and to each
+ * other), and so queries on such contexts return the stored infinities along
+ * with the window, and queries for infinities return every stored value. The
+ * index preserves this behaviour rather than correcting it. </p>
+ *
+ * <p> {@code NaN} values are rejected, and {@code -0.0} is stored (and
+ * returned) as {@code 0.0}. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualDoubleIndex
+{
+  private static final long KEY_NEGATIVE_INFINITY =
+    AlmostEqualDouble.orderedBits(Double.NEGATIVE_INFINITY);
+  private static final long KEY_POSITIVE_INFINITY =
+    AlmostEqualDouble.orderedBits(Double.POSITIVE_INFINITY);
+
+  private final long[] keys;
+  private final int finite_lo;
+  private final int finite_hi;
+
+  private AlmostEqualDoubleIndex(
+    final long[] in_keys)
+  {
+    this.keys = in_keys;
+    this.finite_lo =
+      lowerBound(in_keys, 0, in_keys.length, KEY_NEGATIVE_INFINITY + 1L);
+    this.finite_hi =
+      lowerBound(in_keys, 0, in_keys.length, KEY_POSITIVE_INFINITY);
+  }
+
+  /**
+   * Create an index over the given values. The array is copied.
+   *
+   * @param values The values
+   *
+   * @return A new index
+   *
+   * @throws IllegalArgumentException If any of the values are {@code NaN}
+   */
+
+  public static AlmostEqualDoubleIndex of(
+    final double... values)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(values, "Values");
+
+    final long[] keys = new long[values.length];
+    for (int index = 0; index < values.length; ++index) {
+      final double value = values[index];
+      if (Double.isNaN(value)) {
+        throw new IllegalArgumentException(
+          String.format("Value at index %d is NaN", Integer.valueOf(index)));
+      }
+      keys[index] = AlmostEqualDouble.orderedBits(value);
+    }
+    Arrays.sort(keys);
+    return new AlmostEqualDoubleIndex(keys);
+  }
+
+  private static int lowerBound(
+    final long[] keys,
+    final int lo,
+    final int hi,
+    final long key)
+  {
+    int low = lo;
+    int high = hi;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (keys[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static void checkContext(
+    final ContextRelativeImmutable context)
+  {
+    Objects.requireNonNull(context, "Context");
+    if (!(context.maxRelativeDifference() < 1.0)) {
+      throw new IllegalArgumentException(
+        "Maximum relative difference must be less than 1.0");
+    }
+  }
+
+  /**
+   * @return The number of values in the index
+   */
+
+  public int size()
+  {
+    return this.keys.length;
+  }
+
+  /**
+   * @param index The index of the value in ascending order
+   *
+   * @return The value at the given index
+   *
+   * @throws IndexOutOfBoundsException If {@code index} is out of range
+   */
+
+  public double value(
+    final int index)
+    throws IndexOutOfBoundsException
+  {
+    return AlmostEqualDouble.fromOrderedBits(
+      this.keys[Objects.checkIndex(index, this.keys.length)]);
+  }
+
+  /**
+   * @param context The equality context
+   * @param x       The query value
+   *
+   * @return {@code true} if any stored value is almost equal to {@code x}
+   *
+   * @throws IllegalArgumentException If the maximum relative difference of
+   *                                  the context is not less than {@code
+   *                                  1.0}
+   */
+
+  public boolean contains(
+    final ContextRelativeImmutable context,
+    final double x)
+    throws IllegalArgumentException
+  {
+    return this.count(context, x) > 0;
+  }
+
+  /**
+   * @param context The equality context
+   * @param x       The query value
+   *
+   * @return The number of stored values that are almost equal to {@code x}
+   *
+   * @throws IllegalArgumentException If the maximum relative difference of
+   *                                  the context is not less than {@code
+   *                                  1.0}
+   */
+
+  public int count(
+    final ContextRelativeImmutable context,
+    final double x)
+    throws IllegalArgumentException
+  {
+    checkContext(context);
+    final long window = this.window(context, x);
+    return this.infinitiesBelow(context, x)
+      + (int) (window >>> 32) - (int) window
+      + this.infinitiesAbove(context, x);
+  }
+
+  /**
+   * Pass every stored value that is almost equal to {@code x} to {@code
+   * consumer}, in ascending order.
+   *
+   * @param context  The equality context
+   * @param x        The query value
+   * @param consumer A consumer that receives each value
+   *
+   * @throws IllegalArgumentException If the maximum relative difference of
+   *                                  the context is not less than {@code
+   *                                  1.0}
+   */
+
+  public void forEach(
+    final ContextRelativeImmutable context,
+    final double x,
+    final DoubleConsumer consumer)
+    throws IllegalArgumentException
+  {
+    checkContext(context);
+    Objects.requireNonNull(consumer, "Consumer");
+
+    final long window = this.window(context, x);
+    this.forEachIn(0, this.infinitiesBelow(context, x), consumer);
+    this.forEachIn((int) window, (int) (window >>> 32), consumer);
+    this.forEachIn(
+      this.finite_hi,
+      this.finite_hi + this.infinitiesAbove(context, x),
+      consumer);
+  }
+
+  private void forEachIn(
+    final int lo,
+    final int hi,
+    final DoubleConsumer consumer)
+  {
+    for (int index = lo; index < hi; ++index) {
+      consumer.accept(AlmostEqualDouble.fromOrderedBits(this.keys[index]));
+    }
+  }
+
+  private boolean equalAt(
+    final ContextRelativeImmutable context,
+    final double x,
+    final int index)
+  {
+    return AlmostEqualDouble.almostEqualScalar(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      x,
+      AlmostEqualDouble.fromOrderedBits(this.keys[index]));
+  }
+
+  private int infinitiesBelow(
+    final ContextRelativeImmutable context,
+    final double x)
+  {
+    if (this.finite_lo > 0 && this.equalAt(context, x, 0)) {
+      return this.finite_lo;
+    }
+    return 0;
+  }
+
+  private int infinitiesAbove(
+    final ContextRelativeImmutable context,
+    final double x)
+  {
+    if (this.finite_hi < this.keys.length
+      && this.equalAt(context, x, this.finite_hi)) {
+      return this.keys.length - this.finite_hi;
+    }
+    return 0;
+  }
+
+  /**
+   * Find the window of finite values that are almost equal to {@code x}.
+   *
+   * @return The window {@code [lo, hi)} packed as {@code (hi << 32) | lo}
+   */
+
+  private long window(
+    final ContextRelativeImmutable context,
+    final double x)
+  {
+    if (this.finite_lo == this.finite_hi) {
+      return 0L;
+    }
+
+    /*
+     * Every finite value is the same (infinite) distance from an infinite
+     * query value, and so either all of them are almost equal to it, or none
+     * are.
+     */
+
+    if (Double.isInfinite(x)) {
+      if (this.equalAt(context, x, this.finite_lo)) {
+        return pack(this.finite_lo, this.finite_hi);
+      }
+      return 0L;
+    }
+
+    final int position = lowerBound(
+      this.keys,
+      this.finite_lo,
+      this.finite_hi,
+      AlmostEqualDouble.orderedBits(x));
+    int lo = this.firstEqual(context, x, this.finite_lo, position);
+    int hi = this.firstUnequal(context, x, position, this.finite_hi);
+
+    while (lo > this.finite_lo && this.equalAt(context, x, lo - 1)) {
+      --lo;
+    }
+    while (hi < this.finite_hi && this.equalAt(context, x, hi)) {
+      ++hi;
+    }
+    return pack(lo, hi);
+  }
+
+  private static long pack(
+    final int lo,
+    final int hi)
+  {
+    return ((long) hi << 32) | (lo & 0xffff_ffffL);
+  }
+
+  /**
+   * Find the first index in {@code [lo, hi)} that is almost equal to {@code
+   * x}, given that every index in the range is below {@code x}.
+   */
+
+  private int firstEqual(
+    final ContextRelativeImmutable context,
+    final double x,
+    final int lo,
+    final int hi)
+  {
+    int low = lo;
+    int high = hi;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (this.equalAt(context, x, mid)) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Find the first index in {@code [lo, hi)} that is not almost equal to
+   * {@code x}, given that every index in the range is at or above {@code x}.
+   */
+
+  private int firstUnequal(
+    final ContextRelativeImmutable context,
+    final double x,
+    final int lo,
+    final int hi)
+  {
+    int low = lo;
+    int high = hi;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (this.equalAt(context, x, mid)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder builder = new StringBuilder();
+    builder.append("[AlmostEqualDoubleIndex [Size ");
+    builder.append(this.keys.length);
+    builder.append("]]");
+    return builder.toString();
+  }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ObjDoubleConsumer;
+
+/**
+ * <p> A mutable map with {@code double} keys in which keys that are almost
+ * equal are considered to be the same key. </p>
+ *
+ * <p> Keys are almost equal if they are identical or if the absolute
+ * difference between them is no greater than the maximum absolute difference
+ * of the context given at construction. The relative difference of the
+ * context is not used: Relative tolerances cannot be expressed as a fixed
+ * grid of cells. The first key inserted for a given value is retained as the
+ * representative key, and later keys that are almost equal to it update the
+ * value associated with the representative. </p>
+ *
+ * <p> The map is implemented as an open-addressing hash table over primitive
+ * arrays, and so keys are never boxed. Each key is assigned to a cell of the
+ * grid {@code floor(key / max_absolute_diff)}; two keys that are almost equal
+ * must be in the same cell or in adjacent cells, and so lookups examine at
+ * most three cells. Note that "almost equal" is not transitive, and so the
+ * result of inserting a sequence of keys can depend on the order in which
+ * they are inserted. </p>
+ *
+ * <p> Maps are not thread-safe. {@code NaN} keys are rejected. </p>
+ *
+ * @param <V> The type of values
+ */
+
+@EqualityReference
+public final class AlmostEqualDoubleMap<V>
+{
+  private final AlmostEqualDoubleTable table;
+  private Object[] values;
+
+  /**
+   * Construct a new empty map.
+   *
+   * @param context The equality context
+   *
+   * @throws IllegalArgumentException If the maximum absolute difference of
+   *                                  the context is not positive and finite
+   */
+
+  public AlmostEqualDoubleMap(
+    final ContextRelativeImmutable context)
+    throws IllegalArgumentException
+  {
+    this.table = new AlmostEqualDoubleTable(context);
+    this.values = new Object[this.table.capacity()];
+  }
+
+  /**
+   * Construct a new empty map.
+   *
+   * @param context  The equality context
+   * @param expected The expected number of keys
+   *
+   * @throws IllegalArgumentException If the maximum absolute difference of
+   *                                  the context is not positive and finite
+   */
+
+  public AlmostEqualDoubleMap(
+    final ContextRelativeImmutable context,
+    final int expected)
+    throws IllegalArgumentException
+  {
+    this.table = new AlmostEqualDoubleTable(context, expected);
+    this.values = new Object[this.table.capacity()];
+  }
+
+  /**
+   * @return The number of keys in the map
+   */
+
+  public int size()
+  {
+    return this.table.size();
+  }
+
+  /**
+   * @return {@code true} if the map is empty
+   */
+
+  public boolean isEmpty()
+  {
+    return this.table.size() == 0;
+  }
+
+  /**
+   * Remove all keys from the map.
+   */
+
+  public void clear()
+  {
+    this.table.clear();
+    Arrays.fill(this.values, null);
+  }
+
+  /**
+   * @param key The key
+   *
+   * @return {@code true} if the map contains a key almost equal to {@code
+   * key}
+   */
+
+  public boolean containsKey(
+    final double key)
+  {
+    return this.table.find(key) >= 0;
+  }
+
+  /**
+   * @param key The key
+   *
+   * @return The value associated with a key almost equal to {@code key}, or
+   * {@code null} if there is no such key
+   */
+
+  @SuppressWarnings("unchecked")
+  public V get(
+    final double key)
+  {
+    final int slot = this.table.find(key);
+    return slot >= 0 ? (V) this.values[slot] : null;
+  }
+
+  /**
+   * Find the representative key that is almost equal to {@code key}.
+   *
+   * @param key       The key
+   * @param otherwise The value returned if no key is almost equal to {@code
+   *                  key}
+   *
+   * @return The representative key, or {@code otherwise}
+   */
+
+  public double getKey(
+    final double key,
+    final double otherwise)
+  {
+    final int slot = this.table.find(key);
+    return slot >= 0 ? this.table.keyAt(slot) : otherwise;
+  }
+
+  /**
+   * Associate {@code value} with {@code key}. If the map already contains a
+   * key almost equal to {@code key}, the value of that key is replaced and
+   * the existing representative key is retained.
+   *
+   * @param key   The key
+   * @param value The value
+   *
+   * @return The previous value, or {@code null} if the key was not present
+   *
+   * @throws IllegalArgumentException If {@code key} is {@code NaN}
+   */
+
+  @SuppressWarnings("unchecked")
+  public V put(
+    final double key,
+    final V value)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(value, "Value");
+
+    final int slot = this.putIfAbsentSlot(key, value);
+    if (slot >= 0) {
+      final V previous = (V) this.values[slot];
+      this.values[slot] = value;
+      return previous;
+    }
+    return null;
+  }
+
+  /**
+   * Associate {@code value} with {@code key} if the map does not already
+   * contain a key almost equal to {@code key}. The table is searched only
+   * once, whether or not the key is inserted.
+   *
+   * @param key   The key
+   * @param value The value
+   *
+   * @return The value associated with the existing key, or {@code null} if
+   * {@code key} was inserted
+   *
+   * @throws IllegalArgumentException If {@code key} is {@code NaN}
+   */
+
+  @SuppressWarnings("unchecked")
+  public V putIfAbsent(
+    final double key,
+    final V value)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(value, "Value");
+
+    final int slot = this.putIfAbsentSlot(key, value);
+    return slot >= 0 ? (V) this.values[slot] : null;
+  }
+
+  /**
+   * Iterate over the entries of the map.
+   *
+   * @param consumer A consumer that receives each value and representative
+   *                 key
+   */
+
+  @SuppressWarnings("unchecked")
+  public void forEach(
+    final ObjDoubleConsumer<? super V> consumer)
+  {
+    Objects.requireNonNull(consumer, "Consumer");
+
+    for (int index = 0; index < this.values.length; ++index) {
+      if (this.table.isOccupied(index)) {
+        consumer.accept((V) this.values[index], this.table.keyAt(index));
+      }
+    }
+  }
+
+  /**
+   * Find a key almost equal to {@code key}, inserting {@code key} if there is
+   * none. The cell of {@code key} is probed first, and the free slot at the
+   * end of its probe sequence is used for the insertion unless the table must
+   * grow.
+   *
+   * @return The slot of the existing key, or {@code -1} if {@code key} was
+   * inserted
+   */
+
+  private int putIfAbsentSlot(
+    final double key,
+    final Object value)
+  {
+    AlmostEqualDoubleTable.checkKey(key);
+
+    final long cell = this.table.cellOf(key);
+    final int slot = this.table.probe(cell, key);
+    if (slot >= 0) {
+      return slot;
+    }
+
+    if (this.table.isFull()) {
+      this.grow();
+      this.values[this.table.insert(cell, key)] = value;
+    } else {
+      final int free = -(slot + 1);
+      this.table.insertAt(free, cell, key);
+      this.values[free] = value;
+    }
+    return -1;
+  }
+
+  private void grow()
+  {
+    final Object[] old_values = this.values;
+    final int[] moves = this.table.grow();
+
+    this.values = new Object[this.table.capacity()];
+    for (int index = 0; index < moves.length; ++index) {
+      final int moved = moves[index];
+      if (moved >= 0) {
+        this.values[moved] = old_values[index];
+      }
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder builder = new StringBuilder();
+    builder.append("[AlmostEqualDoubleMap [Absolute ");
+    builder.append(this.table.maxAbsoluteDifference());
+    builder.append("] [Size ");
+    builder.append(this.table.size());
+    builder.append("]]");
+    return builder.toString();
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p> Parallel bulk comparisons of very large arrays. </p>
+ *
+ * <p> Arrays are split recursively into ranges that are compared on the
+ * threads of a {@link ForkJoinPool} using the same rules as {@link
+ * AlmostEqualDouble#almostEqual(ContextRelativeImmutable, double, double)}.
+ * When a mismatch is found, ranges that begin after the mismatch are
+ * skipped. Ranges that begin before the mismatch are always compared, and so
+ * the reported index is always the lowest mismatching index, regardless of
+ * scheduling. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualDoubleParallel
+{
+  /**
+   * The number of elements below which ranges are compared sequentially.
+   */
+
+  private static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+  private AlmostEqualDoubleParallel()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Compare the arrays {@code a} and {@code b} element-wise in parallel
+   * using the common fork/join pool.
+   *
+   * @param context The equality context
+   * @param a       The left array
+   * @param b       The right array
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   *
+   * @see #mismatch(ForkJoinPool, ContextRelativeImmutable, double[], double[])
+   */
+
+  public static boolean almostEqualArrays(
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final double[] b)
+  {
+    return mismatch(ForkJoinPool.commonPool(), context, a, b) == -1;
+  }
+
+  /**
+   * <p> Find the lowest index at which the arrays {@code a} and {@code b}
+   * are not almost equal, comparing ranges of the arrays in parallel on the
+   * given pool. </p>
+   *
+   * <p> If the arrays have different lengths but the shorter array is almost
+   * equal to a prefix of the longer array, the length of the shorter array is
+   * returned. This mirrors {@link
+   * java.util.Arrays#mismatch(double[], double[])}.
+   * </p>
+   *
+   * @param pool    The fork/join pool
+   * @param context The equality context
+   * @param a       The left array
+   * @param b       The right array
+   *
+   * @return The lowest mismatching index, or {@code -1} if the arrays are
+   * almost equal
+   */
+
+  public static int mismatch(
+    final ForkJoinPool pool,
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final double[] b)
+  {
+    Objects.requireNonNull(pool, "Pool");
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+
+    final int length = Math.min(a.length, b.length);
+    final double max_abs = context.maxAbsoluteDifference();
+    final double max_rel = context.maxRelativeDifference();
+
+    final int index;
+    if (length <= SEQUENTIAL_THRESHOLD) {
+      index = AlmostEqualDouble.mismatchRange(
+        max_abs, max_rel, a, 0, b, 0, length);
+    } else {
+      final AtomicInteger lowest = new AtomicInteger(Integer.MAX_VALUE);
+      pool.invoke(new MismatchTask(max_abs, max_rel, a, b, lowest, 0, length));
+      final int found = lowest.get();
+      index = found == Integer.MAX_VALUE ? -1 : found;
+    }
+
+    if (index >= 0) {
+      return index;
+    }
+    if (a.length != b.length) {
+      return length;
+    }
+    return -1;
+  }
+
+  private static final class MismatchTask extends RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final double max_abs;
+    private final double max_rel;
+    private final double[] a;
+    private final double[] b;
+    private final AtomicInteger lowest;
+    private final int from;
+    private final int to;
+
+    MismatchTask(
+      final double in_max_abs,
+      final double in_max_rel,
+      final double[] in_a,
+      final double[] in_b,
+      final AtomicInteger in_lowest,
+      final int in_from,
+      final int in_to)
+    {
+      this.max_abs = in_max_abs;
+      this.max_rel = in_max_rel;
+      this.a = in_a;
+      this.b = in_b;
+      this.lowest = in_lowest;
+      this.from = in_from;
+      this.to = in_to;
+    }
+
+    @Override
+    protected void compute()
+    {
+      if (this.from >= this.lowest.get()) {
+        return;
+      }
+
+      final int size = this.to - this.from;
+      if (size <= SEQUENTIAL_THRESHOLD) {
+        final int index = AlmostEqualDouble.mismatchRange(
+          this.max_abs,
+          this.max_rel,
+          this.a,
+          this.from,
+          this.b,
+          this.from,
+          size);
+        if (index >= 0) {
+          this.lowest.accumulateAndGet(this.from + index, Math::min);
+        }
+        return;
+      }
+
+      final int middle = this.from + (size >>> 1);
+      invokeAll(
+        new MismatchTask(
+          this.max_abs,
+          this.max_rel,
+          this.a,
+          this.b,
+          this.lowest,
+          this.from,
+          middle),
+        new MismatchTask(
+          this.max_abs,
+          this.max_rel,
+          this.a,
+          this.b,
+          this.lowest,
+          middle,
+          this.to)
+      );
+    }
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * <p> A mutable set of {@code double} values in which values that are almost
+ * equal are considered to be the same value. </p>
+ *
+ * <p> The set has the semantics of the keys of an {@link
+ * AlmostEqualDoubleMap}, and uses the same hash table without an array of
+ * values: Values are almost equal if they are identical or if the absolute
+ * difference between them is no greater than the maximum absolute difference
+ * of the context given at construction, and the first value added is
+ * retained as the representative of all values almost equal to it. Values
+ * are never boxed. </p>
+ *
+ * <p> Sets are not thread-safe. {@code NaN} values are rejected. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualDoubleSet
+{
+  private final AlmostEqualDoubleTable table;
+
+  /**
+   * Construct a new empty set.
+   *
+   * @param context The equality context
+   *
+   * @throws IllegalArgumentException If the maximum absolute difference of
+   *                                  the context is not positive and finite
+   */
+
+  public AlmostEqualDoubleSet(
+    final ContextRelativeImmutable context)
+    throws IllegalArgumentException
+  {
+    this.table = new AlmostEqualDoubleTable(context);
+  }
+
+  /**
+   * Construct a new empty set.
+   *
+   * @param context  The equality context
+   * @param expected The expected number of values
+   *
+   * @throws IllegalArgumentException If the maximum absolute difference of
+   *                                  the context is not positive and finite
+   */
+
+  public AlmostEqualDoubleSet(
+    final ContextRelativeImmutable context,
+    final int expected)
+    throws IllegalArgumentException
+  {
+    this.table = new AlmostEqualDoubleTable(context, expected);
+  }
+
+  /**
+   * Add a value to the set.
+   *
+   * @param value The value
+   *
+   * @return {@code true} if the set did not already contain a value almost
+   * equal to {@code value}
+   *
+   * @throws IllegalArgumentException If {@code value} is {@code NaN}
+   */
+
+  public boolean add(
+    final double value)
+    throws IllegalArgumentException
+  {
+    return this.table.add(value) < 0;
+  }
+
+  /**
+   * Add a value to the set if the set does not already contain a value
+   * almost equal to it. This can be used to deduplicate a sequence of values.
+   *
+   * @param value The value
+   *
+   * @return The representative value in the set that is almost equal to
+   * {@code value}
+   *
+   * @throws IllegalArgumentException If {@code value} is {@code NaN}
+   */
+
+  public double addOrGet(
+    final double value)
+    throws IllegalArgumentException
+  {
+    final int slot = this.table.add(value);
+    return slot >= 0 ? this.table.keyAt(slot) : value;
+  }
+
+  /**
+   * @param value The value
+   *
+   * @return {@code true} if the set contains a value almost equal to {@code
+   * value}
+   */
+
+  public boolean contains(
+    final double value)
+  {
+    return this.table.find(value) >= 0;
+  }
+
+  /**
+   * @return The number of values in the set
+   */
+
+  public int size()
+  {
+    return this.table.size();
+  }
+
+  /**
+   * @return {@code true} if the set is empty
+   */
+
+  public boolean isEmpty()
+  {
+    return this.table.size() == 0;
+  }
+
+  /**
+   * Remove all values from the set.
+   */
+
+  public void clear()
+  {
+    this.table.clear();
+  }
+
+  /**
+   * Iterate over the representative values of the set.
+   *
+   * @param consumer A consumer that receives each value
+   */
+
+  public void forEach(
+    final DoubleConsumer consumer)
+  {
+    Objects.requireNonNull(consumer, "Consumer");
+
+    final int capacity = this.table.capacity();
+    for (int index = 0; index < capacity; ++index) {
+      if (this.table.isOccupied(index)) {
+        consumer.accept(this.table.keyAt(index));
+      }
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder builder = new StringBuilder();
+    builder.append("[AlmostEqualDoubleSet [Size ");
+    builder.append(this.table.size());
+    builder.append("]]");
+    return builder.toString();
+  }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p> The open-addressing hash table of {@code double} keys shared by {@link
+ * AlmostEqualDoubleMap} and {@link AlmostEqualDoubleSet}. </p>
+ *
+ * <p> Each key is assigned to a cell of the grid {@code floor(key /
+ * max_absolute_diff)}; two keys that are almost equal must be in the same
+ * cell or in adjacent cells, and so lookups probe at most three cells. Slots
+ * are held in parallel primitive arrays of cells, keys and occupancy flags.
+ * The table holds no values: a map keeps its values in an array indexed by
+ * the slots of the table, and moves them when the table grows. </p>
+ */
+
+@EqualityReference
+final class AlmostEqualDoubleTable
+{
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private final double max_abs;
+  private long[] cells;
+  private double[] keys;
+  private boolean[] occupied;
+  private int size;
+  private int mask;
+
+  AlmostEqualDoubleTable(
+    final ContextRelativeImmutable context)
+    throws IllegalArgumentException
+  {
+    this(context, DEFAULT_CAPACITY);
+  }
+
+  AlmostEqualDoubleTable(
+    final ContextRelativeImmutable context,
+    final int expected)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(context, "Context");
+
+    final double abs = context.maxAbsoluteDifference();
+    if (!(abs > 0.0 && Double.isFinite(abs))) {
+      throw new IllegalArgumentException(
+        "Maximum absolute difference must be positive and finite");
+    }
+    if (expected < 0) {
+      throw new IllegalArgumentException(
+        "Expected size must be non-negative");
+    }
+
+    this.max_abs = abs;
+    this.allocate(capacityFor(expected));
+  }
+
+  private static int capacityFor(
+    final int expected)
+  {
+    final long wanted = Math.max((long) expected * 2L, DEFAULT_CAPACITY);
+    final long capacity = Long.highestOneBit(wanted - 1L) << 1;
+    if (capacity > (1L << 30)) {
+      throw new IllegalArgumentException("Table capacity exceeded");
+    }
+    return (int) capacity;
+  }
+
+  private static int hash(
+    final long cell)
+  {
+    final long h = cell * 0x9e3779b97f4a7c15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private void allocate(
+    final int capacity)
+  {
+    this.cells = new long[capacity];
+    this.keys = new double[capacity];
+    this.occupied = new boolean[capacity];
+    this.mask = capacity - 1;
+  }
+
+  static void checkKey(
+    final double key)
+  {
+    if (Double.isNaN(key)) {
+      throw new IllegalArgumentException("Keys must not be NaN");
+    }
+  }
+
+  double maxAbsoluteDifference()
+  {
+    return this.max_abs;
+  }
+
+  int size()
+  {
+    return this.size;
+  }
+
+  int capacity()
+  {
+    return this.keys.length;
+  }
+
+  boolean isOccupied(
+    final int slot)
+  {
+    return this.occupied[slot];
+  }
+
+  double keyAt(
+    final int slot)
+  {
+    return this.keys[slot];
+  }
+
+  void clear()
+  {
+    Arrays.fill(this.occupied, false);
+    this.size = 0;
+  }
+
+  long cellOf(
+    final double key)
+  {
+    return (long) Math.floor(key / this.max_abs);
+  }
+
+  /**
+   * @return The slot of a key almost equal to {@code key}, or {@code -1} if
+   * there is none
+   */
+
+  int find(
+    final double key)
+  {
+    if (this.size == 0 || Double.isNaN(key)) {
+      return -1;
+    }
+
+    final int slot = this.probe(this.cellOf(key), key);
+    return slot >= 0 ? slot : -1;
+  }
+
+  /**
+   * Search for a key almost equal to {@code key}, which is in the cell {@code
+   * cell}. The cell of the key is probed first, followed by the adjacent
+   * cells.
+   *
+   * @return The slot of the key if found, or {@code -(free + 1)} where {@code
+   * free} is the empty slot that ends the probe sequence of {@code cell}
+   */
+
+  int probe(
+    final long cell,
+    final double key)
+  {
+    final int slot = this.probeCell(cell, key);
+    if (slot >= 0) {
+      return slot;
+    }
+    if (cell != Long.MIN_VALUE) {
+      final int below = this.probeCell(cell - 1L, key);
+      if (below >= 0) {
+        return below;
+      }
+    }
+    if (cell != Long.MAX_VALUE) {
+      final int above = this.probeCell(cell + 1L, key);
+      if (above >= 0) {
+        return above;
+      }
+    }
+    return slot;
+  }
+
+  private int probeCell(
+    final long cell,
+    final double key)
+  {
+    int slot = hash(cell) & this.mask;
+    while (this.occupied[slot]) {
+      if (this.cells[slot] == cell) {
+        final double existing = this.keys[slot];
+        if (existing == key || Math.abs(existing - key) <= this.max_abs) {
+          return slot;
+        }
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    return -(slot + 1);
+  }
+
+  /**
+   * @return {@code true} if inserting another key requires the table to grow
+   */
+
+  boolean isFull()
+  {
+    return (this.size + 1) * 2 > this.keys.length;
+  }
+
+  /**
+   * Insert {@code key}, which is in the cell {@code cell}, into the empty
+   * slot {@code free} returned by {@link #probe(long, double)}. The table
+   * must not be full.
+   */
+
+  void insertAt(
+    final int free,
+    final long cell,
+    final double key)
+  {
+    this.store(free, cell, key);
+    ++this.size;
+  }
+
+  /**
+   * Insert {@code key}, which is in the cell {@code cell} and is not almost
+   * equal to any key in the table, at the end of the probe sequence of its
+   * cell.
+   *
+   * @return The slot of the key
+   */
+
+  int insert(
+    final long cell,
+    final double key)
+  {
+    final int slot = this.insertUnchecked(cell, key);
+    ++this.size;
+    return slot;
+  }
+
+  /**
+   * Insert {@code key} if the table does not contain a key almost equal to
+   * it, growing the table if necessary.
+   *
+   * @return The slot of the existing key, or {@code -(slot + 1)} where {@code
+   * slot} is the slot of the inserted key
+   */
+
+  int add(
+    final double key)
+  {
+    checkKey(key);
+
+    final long cell = this.cellOf(key);
+    final int slot = this.probe(cell, key);
+    if (slot >= 0) {
+      return slot;
+    }
+    if (this.isFull()) {
+      this.grow();
+      return -(this.insert(cell, key) + 1);
+    }
+    this.insertAt(-(slot + 1), cell, key);
+    return slot;
+  }
+
+  private int insertUnchecked(
+    final long cell,
+    final double key)
+  {
+    int slot = hash(cell) & this.mask;
+    while (this.occupied[slot]) {
+      slot = (slot + 1) & this.mask;
+    }
+    this.store(slot, cell, key);
+    return slot;
+  }
+
+  private void store(
+    final int slot,
+    final long cell,
+    final double key)
+  {
+    this.cells[slot] = cell;
+    this.keys[slot] = key;
+    this.occupied[slot] = true;
+  }
+
+  /**
+   * Double the capacity of the table.
+   *
+   * @return An array that gives the new slot of the key in each old slot, or
+   * {@code -1} for old slots that were empty
+   */
+
+  int[] grow()
+  {
+    final long[] old_cells = this.cells;
+    final double[] old_keys = this.keys;
+    final boolean[] old_occupied = this.occupied;
+
+    if (old_keys.length >= (1 << 30)) {
+      throw new IllegalStateException("Table capacity exceeded");
+    }
+
+    this.allocate(old_keys.length * 2);
+    final int[] moves = new int[old_keys.length];
+    for (int index = 0; index < old_keys.length; ++index) {
+      moves[index] = old_occupied[index]
+        ? this.insertUnchecked(old_cells[index], old_keys[index])
+        : -1;
+    }
+    return moves;
+  }
+}
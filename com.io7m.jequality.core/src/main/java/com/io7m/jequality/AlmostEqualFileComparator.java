@@ -0,0 +1,263 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * <p> A comparator of files of raw {@code double} or {@code float} values
+ * that uses a fixed amount of memory regardless of the sizes of the files.
+ * </p>
+ *
+ * <p> The files are read in chunks into a pair of direct buffers that are
+ * allocated when the comparator is created and are reused for every chunk of
+ * every comparison, and the chunks are compared in place with exactly the
+ * rules used by {@link
+ * AlmostEqualDouble#compareArrays(AlmostEqualDouble.ContextRelativeImmutable,
+ * double[], double[], AlmostEqualReport)} and {@link
+ * AlmostEqualFloat#compareArrays(AlmostEqualFloat.ContextRelativeImmutable,
+ * float[], float[], AlmostEqualReport)}. Mismatching indices are recorded in
+ * the report as element indices from the start of the files. The files are
+ * read rather than mapped, because a mapping is limited to {@code 2^31 - 1}
+ * bytes and is only released when the mapping is garbage collected. </p>
+ *
+ * <p> Note that if the maximum relative difference of the context is
+ * positive, infinities are considered to be almost equal to all finite
+ * values, exactly as with {@link
+ * AlmostEqualDouble#almostEqual(AlmostEqualDouble.ContextRelativeImmutable,
+ * double, double)}. </p>
+ *
+ * <p> Comparators are not thread-safe; use one comparator per thread. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualFileComparator
+{
+  private final ByteBuffer a_bytes;
+  private final ByteBuffer b_bytes;
+
+  /**
+   * Construct a new comparator.
+   *
+   * @param buffer_size The size in bytes of each of the two buffers; must be
+   *                    a positive multiple of {@code 8}
+   */
+
+  public AlmostEqualFileComparator(
+    final int buffer_size)
+  {
+    if (buffer_size <= 0 || buffer_size % Double.BYTES != 0) {
+      throw new IllegalArgumentException(
+        "Buffer size must be a positive multiple of " + Double.BYTES);
+    }
+    this.a_bytes = ByteBuffer.allocateDirect(buffer_size);
+    this.b_bytes = ByteBuffer.allocateDirect(buffer_size);
+  }
+
+  /**
+   * @return The size in bytes of each of the two buffers
+   */
+
+  public int getBufferSize()
+  {
+    return this.a_bytes.capacity();
+  }
+
+  /**
+   * <p> Compare the files {@code a} and {@code b}, each of which holds a
+   * sequence of {@code double} values in byte order {@code order}, and
+   * accumulate the results into {@code report}. </p>
+   *
+   * <p> If the files hold different numbers of values, the values past the
+   * end of the shorter file are counted as mismatches. </p>
+   *
+   * @param context The equality context
+   * @param a       The left file
+   * @param b       The right file
+   * @param order   The byte order of the values in both files
+   * @param report  The report
+   *
+   * @return {@code true} if the files are almost equal
+   *
+   * @throws IOException If either file cannot be read, or if the size of
+   *                     either file is not a multiple of {@code 8}
+   */
+
+  public boolean compareDoubles(
+    final AlmostEqualDouble.ContextRelativeImmutable context,
+    final Path a,
+    final Path b,
+    final ByteOrder order,
+    final AlmostEqualReport report)
+    throws IOException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.requireNonNull(order, "Order");
+    Objects.requireNonNull(report, "Report");
+
+    final DoubleBuffer a_view =
+      this.a_bytes.clear().order(order).asDoubleBuffer();
+    final DoubleBuffer b_view =
+      this.b_bytes.clear().order(order).asDoubleBuffer();
+    final int chunk = a_view.capacity();
+
+    try (FileChannel a_channel = FileChannel.open(a, StandardOpenOption.READ);
+         FileChannel b_channel = FileChannel.open(b, StandardOpenOption.READ)) {
+      final long a_count = elementCount(a, a_channel, Double.BYTES);
+      final long b_count = elementCount(b, b_channel, Double.BYTES);
+      final long common = Math.min(a_count, b_count);
+
+      boolean all = true;
+      for (long base = 0L; base < common; base += (long) chunk) {
+        final int length = (int) Math.min((long) chunk, common - base);
+        final long position = base * (long) Double.BYTES;
+        final int bytes = length * Double.BYTES;
+        readFully(a, a_channel, this.a_bytes, position, bytes);
+        readFully(b, b_channel, this.b_bytes, position, bytes);
+        all &= AlmostEqualDouble.compareBufferRange(
+          context, a_view, 0, b_view, 0, length, base, report);
+      }
+      return finish(a_count, b_count, report) && all;
+    }
+  }
+
+  /**
+   * <p> Compare the files {@code a} and {@code b}, each of which holds a
+   * sequence of {@code float} values in byte order {@code order}, and
+   * accumulate the results into {@code report}. </p>
+   *
+   * <p> If the files hold different numbers of values, the values past the
+   * end of the shorter file are counted as mismatches. </p>
+   *
+   * @param context The equality context
+   * @param a       The left file
+   * @param b       The right file
+   * @param order   The byte order of the values in both files
+   * @param report  The report
+   *
+   * @return {@code true} if the files are almost equal
+   *
+   * @throws IOException If either file cannot be read, or if the size of
+   *                     either file is not a multiple of {@code 4}
+   */
+
+  public boolean compareFloats(
+    final AlmostEqualFloat.ContextRelativeImmutable context,
+    final Path a,
+    final Path b,
+    final ByteOrder order,
+    final AlmostEqualReport report)
+    throws IOException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.requireNonNull(order, "Order");
+    Objects.requireNonNull(report, "Report");
+
+    final FloatBuffer a_view =
+      this.a_bytes.clear().order(order).asFloatBuffer();
+    final FloatBuffer b_view =
+      this.b_bytes.clear().order(order).asFloatBuffer();
+    final int chunk = a_view.capacity();
+
+    try (FileChannel a_channel = FileChannel.open(a, StandardOpenOption.READ);
+         FileChannel b_channel = FileChannel.open(b, StandardOpenOption.READ)) {
+      final long a_count = elementCount(a, a_channel, Float.BYTES);
+      final long b_count = elementCount(b, b_channel, Float.BYTES);
+      final long common = Math.min(a_count, b_count);
+
+      boolean all = true;
+      for (long base = 0L; base < common; base += (long) chunk) {
+        final int length = (int) Math.min((long) chunk, common - base);
+        final long position = base * (long) Float.BYTES;
+        final int bytes = length * Float.BYTES;
+        readFully(a, a_channel, this.a_bytes, position, bytes);
+        readFully(b, b_channel, this.b_bytes, position, bytes);
+        all &= AlmostEqualFloat.compareBufferRange(
+          context, a_view, 0, b_view, 0, length, base, report);
+      }
+      return finish(a_count, b_count, report) && all;
+    }
+  }
+
+  private static long elementCount(
+    final Path file,
+    final FileChannel channel,
+    final int element_size)
+    throws IOException
+  {
+    final long size = channel.size();
+    if (size % (long) element_size != 0L) {
+      throw new IOException(
+        String.format(
+          "Size of file %s (%d) is not a multiple of %d",
+          file,
+          Long.valueOf(size),
+          Integer.valueOf(element_size)));
+    }
+    return size / (long) element_size;
+  }
+
+  private static void readFully(
+    final Path file,
+    final FileChannel channel,
+    final ByteBuffer buffer,
+    final long position,
+    final int bytes)
+    throws IOException
+  {
+    buffer.clear();
+    buffer.limit(bytes);
+    while (buffer.hasRemaining()) {
+      final int read =
+        channel.read(buffer, position + (long) buffer.position());
+      if (read < 0) {
+        throw new EOFException(
+          "File " + file + " was truncated during the comparison");
+      }
+    }
+  }
+
+  private static boolean finish(
+    final long a_count,
+    final long b_count,
+    final AlmostEqualReport report)
+  {
+    final long common = Math.min(a_count, b_count);
+    final long extra = Math.max(a_count, b_count) - common;
+    if (extra > 0L) {
+      report.recordMismatches(common, extra);
+      return false;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,653 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * <p> Compact per-chunk digests of a sequence of floating point values,
+ * used to find the parts of two sequences held in different places that
+ * might not be almost equal, without moving the sequences themselves. </p>
+ *
+ * <p> The sequence is divided into chunks of a fixed size, and each value is
+ * quantized into a cell such that any two values in the same cell are almost
+ * equal under the context used to produce the fingerprints. Cells are either
+ * absolute (of width half the maximum absolute difference) or relative (the
+ * value with the low bits of the mantissa cleared, keeping enough bits that
+ * the width of the cell is within the maximum relative difference of the
+ * values in it); each value uses whichever of the two gives the larger cell,
+ * except that values far from zero always use relative cells so that the
+ * absolute cell index can be computed without significant rounding. The
+ * cells of each chunk are then hashed into a 64-bit digest. </p>
+ *
+ * <p> If two chunks have the same digest, then every pair of corresponding
+ * values is almost equal, barring a collision of the 64-bit hash. The
+ * converse does not hold: values that are almost equal may lie either side
+ * of a cell boundary, and infinities (which {@link
+ * AlmostEqualDouble#almostEqual(AlmostEqualDouble.ContextRelativeImmutable,
+ * double, double)} considers to be almost equal to all finite values if the
+ * maximum relative difference is positive) are only placed in the same cell
+ * as themselves. Chunks whose digests differ must therefore be compared in
+ * full. Chunks that contain {@code NaN} never match. See {@link
+ * #mismatchingChunks(AlmostEqualFingerprints)}. </p>
+ *
+ * <p> Fingerprints can be written to and read from byte buffers using {@link
+ * #toByteBuffer()} and {@link #fromByteBuffer(ByteBuffer)}. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualFingerprints
+{
+  private static final int MAGIC = 0x4A455150;
+  private static final int KIND_DOUBLE = 0;
+  private static final int KIND_FLOAT = 1;
+  private static final int HEADER_SIZE = 5 * Integer.BYTES + Double.BYTES;
+  private static final int DOUBLE_MANTISSA_BITS = 52;
+  private static final int FLOAT_MANTISSA_BITS = 23;
+  private static final long TAG_BITS = 0x2545F4914F6CDD1DL;
+  private static final long TAG_ABSOLUTE = 0x9E3779B97F4A7C15L;
+
+  /**
+   * Absolute cells are only used for values less than this many cell widths
+   * from zero, so that the error in the computed cell index is negligible.
+   */
+
+  private static final double ABSOLUTE_CELL_LIMIT = 0x1.0p21;
+
+  private final int kind;
+  private final int chunk_size;
+  private final int count;
+  private final int mantissa_bits;
+  private final double cell_width;
+  private final long[] digests;
+  private final long[] invalid;
+
+  private AlmostEqualFingerprints(
+    final int in_kind,
+    final int in_chunk_size,
+    final int in_count,
+    final int in_mantissa_bits,
+    final double in_cell_width,
+    final long[] in_digests,
+    final long[] in_invalid)
+  {
+    this.kind = in_kind;
+    this.chunk_size = in_chunk_size;
+    this.count = in_count;
+    this.mantissa_bits = in_mantissa_bits;
+    this.cell_width = in_cell_width;
+    this.digests = in_digests;
+    this.invalid = in_invalid;
+  }
+
+  /**
+   * Compute fingerprints of the remaining elements of {@code data}. The
+   * position and limit of the buffer are not modified.
+   *
+   * @param context    The equality context
+   * @param data       The data
+   * @param chunk_size The number of elements in each chunk
+   *
+   * @return The fingerprints
+   *
+   * @throws IllegalArgumentException If either of the tolerances of the
+   *                                  context is negative or {@code NaN}, or
+   *                                  if {@code chunk_size} is not positive
+   */
+
+  public static AlmostEqualFingerprints ofDoubles(
+    final AlmostEqualDouble.ContextRelative context,
+    final DoubleBuffer data,
+    final int chunk_size)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(context, "Context");
+    return ofDoubles(context.toImmutable(), data, chunk_size);
+  }
+
+  /**
+   * Compute fingerprints of the remaining elements of {@code data}. The
+   * position and limit of the buffer are not modified.
+   *
+   * @param context    The equality context
+   * @param data       The data
+   * @param chunk_size The number of elements in each chunk
+   *
+   * @return The fingerprints
+   *
+   * @throws IllegalArgumentException If either of the tolerances of the
+   *                                  context is negative or {@code NaN}, or
+   *                                  if {@code chunk_size} is not positive
+   */
+
+  public static AlmostEqualFingerprints ofDoubles(
+    final AlmostEqualDouble.ContextRelativeImmutable context,
+    final DoubleBuffer data,
+    final int chunk_size)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(data, "Data");
+
+    final int bits = mantissaBits(
+      context.maxRelativeDifference(), DOUBLE_MANTISSA_BITS);
+    final double width = cellWidth(
+      context.maxAbsoluteDifference(), Double.MIN_NORMAL);
+    final AlmostEqualFingerprints result = create(
+      KIND_DOUBLE, chunk_size, data.remaining(), bits, width);
+
+    final int position = data.position();
+    for (int chunk = 0; chunk < result.digests.length; ++chunk) {
+      final int start = chunk * chunk_size;
+      final int end = Math.min(result.count, start + chunk_size);
+
+      long hash = (long) (end - start);
+      boolean nan = false;
+      for (int index = start; index < end; ++index) {
+        final double x = data.get(position + index);
+        nan |= Double.isNaN(x);
+        hash = result.hashStep(hash, x, Double.MIN_NORMAL);
+      }
+      result.finishChunk(chunk, hash, nan);
+    }
+    return result;
+  }
+
+  /**
+   * Compute fingerprints of the remaining elements of {@code data}. The
+   * position and limit of the buffer are not modified.
+   *
+   * @param context    The equality context
+   * @param data       The data
+   * @param chunk_size The number of elements in each chunk
+   *
+   * @return The fingerprints
+   *
+   * @throws IllegalArgumentException If either of the tolerances of the
+   *                                  context is negative or {@code NaN}, or
+   *                                  if {@code chunk_size} is not positive
+   */
+
+  public static AlmostEqualFingerprints ofFloats(
+    final AlmostEqualFloat.ContextRelative context,
+    final FloatBuffer data,
+    final int chunk_size)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(context, "Context");
+    return ofFloats(context.toImmutable(), data, chunk_size);
+  }
+
+  /**
+   * Compute fingerprints of the remaining elements of {@code data}. The
+   * position and limit of the buffer are not modified.
+   *
+   * @param context    The equality context
+   * @param data       The data
+   * @param chunk_size The number of elements in each chunk
+   *
+   * @return The fingerprints
+   *
+   * @throws IllegalArgumentException If either of the tolerances of the
+   *                                  context is negative or {@code NaN}, or
+   *                                  if {@code chunk_size} is not positive
+   */
+
+  public static AlmostEqualFingerprints ofFloats(
+    final AlmostEqualFloat.ContextRelativeImmutable context,
+    final FloatBuffer data,
+    final int chunk_size)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(data, "Data");
+
+    final int bits = mantissaBits(
+      (double) context.maxRelativeDifference(), FLOAT_MANTISSA_BITS);
+    final double width = cellWidth(
+      (double) context.maxAbsoluteDifference(), (double) Float.MIN_NORMAL);
+    final AlmostEqualFingerprints result = create(
+      KIND_FLOAT, chunk_size, data.remaining(), bits, width);
+
+    final int position = data.position();
+    for (int chunk = 0; chunk < result.digests.length; ++chunk) {
+      final int start = chunk * chunk_size;
+      final int end = Math.min(result.count, start + chunk_size);
+
+      long hash = (long) (end - start);
+      boolean nan = false;
+      for (int index = start; index < end; ++index) {
+        final float x = data.get(position + index);
+        nan |= Float.isNaN(x);
+        hash = result.hashStep(hash, (double) x, (double) Float.MIN_NORMAL);
+      }
+      result.finishChunk(chunk, hash, nan);
+    }
+    return result;
+  }
+
+  /**
+   * Read fingerprints written by {@link #toByteBuffer()} from {@code buffer},
+   * starting at the current position. The position is advanced past the
+   * fingerprints.
+   *
+   * @param buffer The buffer
+   *
+   * @return The fingerprints
+   *
+   * @throws IllegalArgumentException If the buffer does not contain valid
+   *                                  fingerprints
+   */
+
+  public static AlmostEqualFingerprints fromByteBuffer(
+    final ByteBuffer buffer)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(buffer, "Buffer");
+
+    if (buffer.remaining() < HEADER_SIZE) {
+      throw new IllegalArgumentException("Truncated fingerprint header");
+    }
+    if (buffer.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Bad fingerprint magic number");
+    }
+
+    final int kind = buffer.getInt();
+    final int chunk_size = buffer.getInt();
+    final int count = buffer.getInt();
+    final int bits = buffer.getInt();
+    final double width = buffer.getDouble();
+    checkHeader(kind, chunk_size, count, bits, width);
+
+    final int chunks = chunkCount(count, chunk_size);
+    final long words = (long) chunks + (long) invalidWords(chunks);
+    if ((long) buffer.remaining() < words * (long) Long.BYTES) {
+      throw new IllegalArgumentException("Truncated fingerprint digests");
+    }
+
+    final AlmostEqualFingerprints result =
+      create(kind, chunk_size, count, bits, width);
+    for (int index = 0; index < result.digests.length; ++index) {
+      result.digests[index] = buffer.getLong();
+    }
+    for (int index = 0; index < result.invalid.length; ++index) {
+      result.invalid[index] = buffer.getLong();
+    }
+    return result;
+  }
+
+  private static void checkHeader(
+    final int kind,
+    final int chunk_size,
+    final int count,
+    final int bits,
+    final double width)
+  {
+    final int max_bits =
+      kind == KIND_DOUBLE ? DOUBLE_MANTISSA_BITS : FLOAT_MANTISSA_BITS;
+
+    if (kind != KIND_DOUBLE && kind != KIND_FLOAT) {
+      throw new IllegalArgumentException("Bad fingerprint kind: " + kind);
+    }
+    if (chunk_size <= 0 || count < 0) {
+      throw new IllegalArgumentException("Bad fingerprint chunk size or count");
+    }
+    if (bits < 0 || bits > max_bits) {
+      throw new IllegalArgumentException("Bad fingerprint mantissa bits");
+    }
+    if (!(width >= 0.0) || Double.isInfinite(width)) {
+      throw new IllegalArgumentException("Bad fingerprint cell width");
+    }
+  }
+
+  private static AlmostEqualFingerprints create(
+    final int kind,
+    final int chunk_size,
+    final int count,
+    final int bits,
+    final double width)
+  {
+    if (chunk_size <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive");
+    }
+
+    final int chunks = chunkCount(count, chunk_size);
+    return new AlmostEqualFingerprints(
+      kind,
+      chunk_size,
+      count,
+      bits,
+      width,
+      new long[chunks],
+      new long[invalidWords(chunks)]);
+  }
+
+  private static int chunkCount(
+    final int count,
+    final int chunk_size)
+  {
+    return (int) (((long) count + chunk_size - 1L) / chunk_size);
+  }
+
+  private static int invalidWords(
+    final int chunks)
+  {
+    return (chunks + 63) / 64;
+  }
+
+  /**
+   * The number of mantissa bits to keep so that values in the same relative
+   * cell are within {@code max_rel} of each other: the cells in the binade
+   * {@code 2^e} have width {@code 2^(e - bits)}, and {@code 2^-bits} must not
+   * exceed {@code max_rel}.
+   */
+
+  private static int mantissaBits(
+    final double max_rel,
+    final int max_bits)
+  {
+    if (!(max_rel >= 0.0)) {
+      throw new IllegalArgumentException(
+        "Maximum relative difference must be non-negative");
+    }
+    if (max_rel == 0.0) {
+      return max_bits;
+    }
+    return Math.max(0, Math.min(max_bits, -Math.getExponent(max_rel)));
+  }
+
+  /**
+   * The width of the absolute cells. Values in the same cell differ by less
+   * than the width, and the width is half of {@code max_abs} so that the
+   * rounding of the cell computation cannot push the difference past {@code
+   * max_abs}. Tolerances that are too small to give a safe cell index are
+   * treated as zero.
+   */
+
+  private static double cellWidth(
+    final double max_abs,
+    final double min_normal)
+  {
+    if (!(max_abs >= 0.0)) {
+      throw new IllegalArgumentException(
+        "Maximum absolute difference must be non-negative");
+    }
+    if (max_abs < min_normal || Double.isInfinite(max_abs)) {
+      return 0.0;
+    }
+    return max_abs * 0.5;
+  }
+
+  /**
+   * Add the cell of {@code x} to {@code hash}. The kind of cell is mixed in
+   * as a separate step before the cell itself, because the raw bits of a
+   * value and the index of an absolute cell can be equal.
+   */
+
+  private long hashStep(
+    final long hash,
+    final double x,
+    final double min_normal)
+  {
+    final double ax = Math.abs(x);
+    final boolean absolute = ax < this.cell_width * ABSOLUTE_CELL_LIMIT;
+
+    if (ax >= min_normal && ax <= Double.MAX_VALUE) {
+      final int exponent = Math.getExponent(x);
+      final double relative =
+        Math.scalb(1.0, exponent - this.mantissa_bits);
+      if (!absolute || relative >= 2.0 * this.cell_width) {
+        final long mask = -1L << (DOUBLE_MANTISSA_BITS - this.mantissa_bits);
+        return mix(
+          mix(hash ^ TAG_BITS) ^ (Double.doubleToRawLongBits(x) & mask));
+      }
+    }
+
+    if (absolute) {
+      final long cell = (long) Math.floor(x / this.cell_width);
+      return mix(mix(hash ^ TAG_ABSOLUTE) ^ cell);
+    }
+
+    return mix(mix(hash ^ TAG_BITS) ^ Double.doubleToLongBits(x + 0.0));
+  }
+
+  private void finishChunk(
+    final int chunk,
+    final long hash,
+    final boolean nan)
+  {
+    this.digests[chunk] = mix(hash);
+    if (nan) {
+      this.invalid[chunk >>> 6] |= 1L << chunk;
+    }
+  }
+
+  /**
+   * The finalizer of the MurmurHash3 64-bit hash: a bijection on {@code long}
+   * values with good avalanche behaviour.
+   */
+
+  private static long mix(
+    final long x)
+  {
+    long z = x;
+    z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+    z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+    return z ^ (z >>> 33);
+  }
+
+  /**
+   * @return The number of elements in each chunk
+   */
+
+  public int getChunkSize()
+  {
+    return this.chunk_size;
+  }
+
+  /**
+   * @return The number of chunks
+   */
+
+  public int getChunkCount()
+  {
+    return this.digests.length;
+  }
+
+  /**
+   * @return The number of elements that were fingerprinted
+   */
+
+  public int getElementCount()
+  {
+    return this.count;
+  }
+
+  /**
+   * @param chunk The chunk index
+   *
+   * @return The index of the first element of the given chunk
+   *
+   * @throws IndexOutOfBoundsException If {@code chunk} is out of range
+   */
+
+  public int getChunkOffset(
+    final int chunk)
+    throws IndexOutOfBoundsException
+  {
+    return Objects.checkIndex(chunk, this.digests.length) * this.chunk_size;
+  }
+
+  /**
+   * @param chunk The chunk index
+   *
+   * @return The number of elements in the given chunk
+   *
+   * @throws IndexOutOfBoundsException If {@code chunk} is out of range
+   */
+
+  public int getChunkLength(
+    final int chunk)
+    throws IndexOutOfBoundsException
+  {
+    final int offset = this.getChunkOffset(chunk);
+    return Math.min(this.chunk_size, this.count - offset);
+  }
+
+  /**
+   * @param chunk The chunk index
+   *
+   * @return The digest of the given chunk
+   *
+   * @throws IndexOutOfBoundsException If {@code chunk} is out of range
+   */
+
+  public long getDigest(
+    final int chunk)
+    throws IndexOutOfBoundsException
+  {
+    return this.digests[Objects.checkIndex(chunk, this.digests.length)];
+  }
+
+  /**
+   * @param chunk The chunk index
+   *
+   * @return {@code true} if the given chunk contains {@code NaN}
+   *
+   * @throws IndexOutOfBoundsException If {@code chunk} is out of range
+   */
+
+  public boolean chunkContainsNaN(
+    final int chunk)
+    throws IndexOutOfBoundsException
+  {
+    Objects.checkIndex(chunk, this.digests.length);
+    return (this.invalid[chunk >>> 6] & (1L << chunk)) != 0L;
+  }
+
+  /**
+   * <p> Determine the chunks that must be compared in full to decide whether
+   * the sequences described by this set of fingerprints and {@code other}
+   * are almost equal. The chunks that are not in the returned set are almost
+   * equal, barring a collision of the 64-bit digests. </p>
+   *
+   * <p> A chunk is in the returned set if the digests differ, if either chunk
+   * contains {@code NaN}, or if the chunks have different lengths or exist in
+   * only one of the sequences. </p>
+   *
+   * @param other The other fingerprints
+   *
+   * @return The indices of the chunks that must be compared in full
+   *
+   * @throws IllegalArgumentException If the fingerprints were produced for
+   *                                  different element types, with different
+   *                                  chunk sizes, or under different contexts
+   */
+
+  public BitSet mismatchingChunks(
+    final AlmostEqualFingerprints other)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(other, "Other");
+
+    if (this.kind != other.kind
+      || this.chunk_size != other.chunk_size
+      || this.mantissa_bits != other.mantissa_bits) {
+      throw new IllegalArgumentException(
+        "Fingerprints were produced with different types or chunk sizes");
+    }
+    if (Double.compare(this.cell_width, other.cell_width) != 0) {
+      throw new IllegalArgumentException(
+        "Fingerprints were produced under different contexts");
+    }
+
+    final int common = Math.min(this.digests.length, other.digests.length);
+    final int total = Math.max(this.digests.length, other.digests.length);
+    final BitSet result = new BitSet(total);
+    for (int chunk = 0; chunk < common; ++chunk) {
+      if (!this.chunkMatches(other, chunk)) {
+        result.set(chunk);
+      }
+    }
+    result.set(common, total);
+    return result;
+  }
+
+  private boolean chunkMatches(
+    final AlmostEqualFingerprints other,
+    final int chunk)
+  {
+    final boolean valid =
+      !this.chunkContainsNaN(chunk) && !other.chunkContainsNaN(chunk);
+    return valid
+      && this.digests[chunk] == other.digests[chunk]
+      && this.getChunkLength(chunk) == other.getChunkLength(chunk);
+  }
+
+  /**
+   * Write the fingerprints to a new big-endian byte buffer. The returned
+   * buffer's position is {@code 0} and its limit is the size of the
+   * fingerprints.
+   *
+   * @return A buffer holding the fingerprints
+   *
+   * @see #fromByteBuffer(ByteBuffer)
+   */
+
+  public ByteBuffer toByteBuffer()
+  {
+    final int words = this.digests.length + this.invalid.length;
+    final ByteBuffer buffer =
+      ByteBuffer.allocate(HEADER_SIZE + words * Long.BYTES);
+    buffer.putInt(MAGIC);
+    buffer.putInt(this.kind);
+    buffer.putInt(this.chunk_size);
+    buffer.putInt(this.count);
+    buffer.putInt(this.mantissa_bits);
+    buffer.putDouble(this.cell_width);
+    for (final long digest : this.digests) {
+      buffer.putLong(digest);
+    }
+    for (final long word : this.invalid) {
+      buffer.putLong(word);
+    }
+    return buffer.flip();
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder builder = new StringBuilder();
+    builder.append("[AlmostEqualFingerprints [Elements ");
+    builder.append(this.count);
+    builder.append("] [Chunk size ");
+    builder.append(this.chunk_size);
+    builder.append("] [Mantissa bits ");
+    builder.append(this.mantissa_bits);
+    builder.append("] [Cell width ");
+    builder.append(this.cell_width);
+    builder.append("]]");
+    return builder.toString();
+  }
+}
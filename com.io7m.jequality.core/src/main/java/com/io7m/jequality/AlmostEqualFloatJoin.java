@@ -0,0 +1,297 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.AlmostEqualFloat.ContextRelative;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelativeImmutable;
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+
+/**
+ * <p> A merge join of two sorted arrays of {@code float} values that finds
+ * every pair of elements that are almost equal, in {@code O(n + m + k)} time
+ * for arrays of lengths {@code n} and {@code m} and {@code k} matching pairs.
+ * </p>
+ *
+ * <p> If the maximum relative difference is less than {@code 1.0}, the
+ * finite elements of {@code b} that are almost equal to a finite element
+ * {@code x} of {@code a} (according to {@link
+ * AlmostEqualFloat#almostEqual(ContextRelative, float, float)}) form a
+ * window whose bounds never move backwards as {@code x} increases. The join
+ * slides the window along {@code b} as it walks along {@code a}, checking
+ * elements with the exact scalar comparison only at the edges of the window.
+ * Contexts with larger relative differences are rejected. </p>
+ *
+ * <p> Infinities are handled outside the window: note that if the maximum
+ * relative difference is positive, {@link AlmostEqualFloat#almostEqual(
+ *ContextRelative, float, float)} considers infinities to be almost equal to
+ * all finite values (and to each other), and the join reproduces this. </p>
+ *
+ * <p> Pairs are written as indices into the caller's output arrays in
+ * ascending order of the index into {@code a}, and then of the index into
+ * {@code b}. When the output arrays are full, the position of the join is
+ * saved in an {@link AlmostEqualJoinCursor}, and the next call with the same
+ * cursor continues from that position. The arrays must not be modified
+ * between calls. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualFloatJoin
+{
+  private AlmostEqualFloatJoin()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * <p> Write the next matching pairs of indices into {@code out_a} and
+   * {@code out_b}. </p>
+   *
+   * @param context The equality context
+   * @param a       The left array, sorted in ascending order
+   * @param b       The right array, sorted in ascending order
+   * @param cursor  The position of the join
+   * @param out_a   The output indices into {@code a}
+   * @param out_b   The output indices into {@code b}
+   *
+   * @return The number of pairs written; {@code 0} if and only if the join is
+   * finished
+   *
+   * @throws IllegalArgumentException If the maximum relative difference is
+   *                                  not less than {@code 1.0}, the output
+   *                                  arrays are empty, or the input arrays
+   *                                  are not sorted or contain {@code NaN}
+   */
+
+  public static int join(
+    final ContextRelative context,
+    final float[] a,
+    final float[] b,
+    final AlmostEqualJoinCursor cursor,
+    final int[] out_a,
+    final int[] out_b)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(context, "Context");
+    return joinRaw(
+      context.getMaxAbsoluteDifference(),
+      context.getMaxRelativeDifference(),
+      a,
+      b,
+      cursor,
+      out_a,
+      out_b);
+  }
+
+  /**
+   * <p> Write the next matching pairs of indices into {@code out_a} and
+   * {@code out_b}. </p>
+   *
+   * @param context The equality context
+   * @param a       The left array, sorted in ascending order
+   * @param b       The right array, sorted in ascending order
+   * @param cursor  The position of the join
+   * @param out_a   The output indices into {@code a}
+   * @param out_b   The output indices into {@code b}
+   *
+   * @return The number of pairs written; {@code 0} if and only if the join is
+   * finished
+   *
+   * @throws IllegalArgumentException If the maximum relative difference is
+   *                                  not less than {@code 1.0}, the output
+   *                                  arrays are empty, or the input arrays
+   *                                  are not sorted or contain {@code NaN}
+   * @see #join(ContextRelative, float[], float[], AlmostEqualJoinCursor,
+   * int[], int[])
+   */
+
+  public static int join(
+    final ContextRelativeImmutable context,
+    final float[] a,
+    final float[] b,
+    final AlmostEqualJoinCursor cursor,
+    final int[] out_a,
+    final int[] out_b)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(context, "Context");
+    return joinRaw(
+      context.maxAbsoluteDifference(),
+      context.maxRelativeDifference(),
+      a,
+      b,
+      cursor,
+      out_a,
+      out_b);
+  }
+
+  private static int joinRaw(
+    final float max_abs,
+    final float max_rel,
+    final float[] a,
+    final float[] b,
+    final AlmostEqualJoinCursor cursor,
+    final int[] out_a,
+    final int[] out_b)
+  {
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.requireNonNull(cursor, "Cursor");
+    Objects.requireNonNull(out_a, "Output A");
+    Objects.requireNonNull(out_b, "Output B");
+
+    if (!(max_rel < 1.0)) {
+      throw new IllegalArgumentException(
+        "Maximum relative difference must be less than 1.0");
+    }
+    final int capacity = Math.min(out_a.length, out_b.length);
+    if (capacity == 0) {
+      throw new IllegalArgumentException("Output arrays must not be empty");
+    }
+
+    if (!cursor.isStarted()) {
+      checkSorted(a, "A");
+      checkSorted(b, "B");
+      final int finite_lo = finiteStart(b);
+      cursor.start(finite_lo, finiteEnd(b, finite_lo));
+    }
+
+    int count = 0;
+    while (count < capacity && cursor.aIndex() < a.length) {
+      if (!cursor.isReady()) {
+        prepare(max_abs, max_rel, a[cursor.aIndex()], b, cursor);
+      }
+      count = cursor.emitCurrent(b.length, out_a, out_b, count, capacity);
+    }
+
+    cursor.setFinished(cursor.aIndex() >= a.length);
+    return count;
+  }
+
+  private static int finiteStart(
+    final float[] values)
+  {
+    int index = 0;
+    while (index < values.length && values[index] == Float.NEGATIVE_INFINITY) {
+      ++index;
+    }
+    return index;
+  }
+
+  private static int finiteEnd(
+    final float[] values,
+    final int start)
+  {
+    int index = values.length;
+    while (index > start && values[index - 1] == Float.POSITIVE_INFINITY) {
+      --index;
+    }
+    return index;
+  }
+
+  private static void checkSorted(
+    final float[] values,
+    final String name)
+  {
+    for (int index = 0; index < values.length; ++index) {
+      final float value = values[index];
+      if (Float.isNaN(value)) {
+        throw new IllegalArgumentException(
+          String.format(
+            "Array %s contains NaN at index %d",
+            name,
+            Integer.valueOf(index)));
+      }
+      if (index > 0 && value < values[index - 1]) {
+        throw new IllegalArgumentException(
+          String.format(
+            "Array %s is not sorted at index %d",
+            name,
+            Integer.valueOf(index)));
+      }
+    }
+  }
+
+  private static boolean matches(
+    final float max_abs,
+    final float max_rel,
+    final float x,
+    final float[] b,
+    final int index,
+    final int limit)
+  {
+    return index < limit
+      && AlmostEqualFloat.almostEqualScalar(max_abs, max_rel, x, b[index]);
+  }
+
+  /**
+   * Find the ranges of {@code b} that match {@code x}, sliding the window
+   * forward.
+   */
+
+  private static void prepare(
+    final float max_abs,
+    final float max_rel,
+    final float x,
+    final float[] b,
+    final AlmostEqualJoinCursor cursor)
+  {
+    final int finite_lo = cursor.finiteLo();
+    final int finite_hi = cursor.finiteHi();
+
+    final int negative_end =
+      matches(max_abs, max_rel, x, b, 0, finite_lo) ? finite_lo : 0;
+    final int positive_start =
+      matches(max_abs, max_rel, x, b, finite_hi, b.length)
+        ? finite_hi : b.length;
+
+    /*
+     * Every finite value is the same (infinite) distance from an infinite
+     * value, and so either all of them match, or none do. The window is
+     * only defined for finite values and is left where it is.
+     */
+
+    if (Float.isInfinite(x)) {
+      final int hi =
+        matches(max_abs, max_rel, x, b, finite_lo, finite_hi)
+          ? finite_hi : finite_lo;
+      cursor.setMatches(negative_end, finite_lo, hi, positive_start);
+      return;
+    }
+
+    int lo = cursor.windowLo();
+    while (lo < finite_hi
+      && b[lo] < x
+      && !matches(max_abs, max_rel, x, b, lo, finite_hi)) {
+      ++lo;
+    }
+
+    int hi = lo;
+    if (matches(max_abs, max_rel, x, b, lo, finite_hi)) {
+      hi = Math.max(cursor.windowHi(), lo + 1);
+      while (matches(max_abs, max_rel, x, b, hi, finite_hi)) {
+        ++hi;
+      }
+    }
+
+    cursor.setWindow(lo, hi);
+    cursor.setMatches(negative_end, lo, hi, positive_start);
+  }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+/**
+ * <p> The position of a join performed by {@link AlmostEqualDoubleJoin} or
+ * {@link AlmostEqualFloatJoin}. </p>
+ *
+ * <p> A join writes as many matching pairs as fit into the caller's output
+ * arrays, and records its position in the cursor so that the next call
+ * continues where the previous call stopped. A cursor can be {@link
+ * #reset()} and reused for any number of joins, and so joins do not
+ * allocate. Cursors are not thread-safe. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualJoinCursor
+{
+  private boolean started;
+  private boolean ready;
+  private boolean finished;
+  private int a_index;
+  private int b_next;
+  private int b_finite_lo;
+  private int b_finite_hi;
+  private int window_lo;
+  private int window_hi;
+  private int negative_end;
+  private int match_lo;
+  private int match_hi;
+  private int positive_start;
+
+  /**
+   * Construct a new cursor positioned at the start of a join.
+   */
+
+  public AlmostEqualJoinCursor()
+  {
+    this.reset();
+  }
+
+  /**
+   * Reset the cursor to the start of a join.
+   */
+
+  public void reset()
+  {
+    this.started = false;
+    this.ready = false;
+    this.finished = false;
+    this.a_index = 0;
+    this.b_next = 0;
+    this.b_finite_lo = 0;
+    this.b_finite_hi = 0;
+    this.window_lo = 0;
+    this.window_hi = 0;
+    this.negative_end = 0;
+    this.match_lo = 0;
+    this.match_hi = 0;
+    this.positive_start = 0;
+  }
+
+  /**
+   * @return {@code true} if the join has produced all of its pairs
+   */
+
+  public boolean isFinished()
+  {
+    return this.finished;
+  }
+
+  boolean isStarted()
+  {
+    return this.started;
+  }
+
+  boolean isReady()
+  {
+    return this.ready;
+  }
+
+  int aIndex()
+  {
+    return this.a_index;
+  }
+
+  int finiteLo()
+  {
+    return this.b_finite_lo;
+  }
+
+  int finiteHi()
+  {
+    return this.b_finite_hi;
+  }
+
+  int windowLo()
+  {
+    return this.window_lo;
+  }
+
+  int windowHi()
+  {
+    return this.window_hi;
+  }
+
+  /**
+   * Start a join, given the range {@code [finite_lo, finite_hi)} of finite
+   * values in {@code b}.
+   */
+
+  void start(
+    final int finite_lo,
+    final int finite_hi)
+  {
+    this.b_finite_lo = finite_lo;
+    this.b_finite_hi = finite_hi;
+    this.window_lo = finite_lo;
+    this.window_hi = finite_lo;
+    this.started = true;
+  }
+
+  void setWindow(
+    final int lo,
+    final int hi)
+  {
+    this.window_lo = lo;
+    this.window_hi = hi;
+  }
+
+  /**
+   * Set the ranges of {@code b} that match the current element of {@code
+   * a}: {@code [0, negative_end)}, {@code [lo, hi)}, and {@code
+   * [positive_start, b.length)}.
+   */
+
+  void setMatches(
+    final int in_negative_end,
+    final int lo,
+    final int hi,
+    final int in_positive_start)
+  {
+    this.negative_end = in_negative_end;
+    this.match_lo = lo;
+    this.match_hi = hi;
+    this.positive_start = in_positive_start;
+    this.ready = true;
+  }
+
+  void setFinished(
+    final boolean in_finished)
+  {
+    this.finished = in_finished;
+  }
+
+  /**
+   * Emit the pairs {@code (a_index, j)} for {@code j} in {@code [lo, hi)}
+   * that have not already been emitted, stopping when the output is full.
+   *
+   * @return The new number of pairs in the output
+   */
+
+  int emit(
+    final int lo,
+    final int hi,
+    final int[] out_a,
+    final int[] out_b,
+    final int count,
+    final int capacity)
+  {
+    if (lo >= hi || count >= capacity) {
+      return count;
+    }
+
+    int j = Math.max(this.b_next, lo);
+    int c = count;
+    while (j < hi && c < capacity) {
+      out_a[c] = this.a_index;
+      out_b[c] = j;
+      ++c;
+      ++j;
+    }
+    this.b_next = j;
+    return c;
+  }
+
+  /**
+   * Emit the pairs for the current element of {@code a}.
+   *
+   * @return The new number of pairs in the output
+   */
+
+  int emitCurrent(
+    final int b_length,
+    final int[] out_a,
+    final int[] out_b,
+    final int count,
+    final int capacity)
+  {
+    int c = count;
+    c = this.emit(0, this.negative_end, out_a, out_b, c, capacity);
+    c = this.emit(this.match_lo, this.match_hi, out_a, out_b, c, capacity);
+    c = this.emit(this.positive_start, b_length, out_a, out_b, c, capacity);
+    if (c < capacity) {
+      this.ready = false;
+      this.b_next = 0;
+      ++this.a_index;
+    }
+    return c;
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder builder = new StringBuilder();
+    builder.append("[AlmostEqualJoinCursor [A ");
+    builder.append(this.a_index);
+    builder.append("] [B ");
+    builder.append(this.b_next);
+    builder.append("]]");
+    return builder.toString();
+  }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p> A report of the differences between two sequences of floating point
+ * numbers. </p>
+ *
+ * <p> A report is filled in by the bulk comparison functions such as {@link
+ * AlmostEqualDouble#compareArrays(AlmostEqualDouble.ContextRelativeImmutable,
+ * double[], double[], AlmostEqualReport)}. The comparison functions do not
+ * reset the report, and so the results of several comparisons can be
+ * accumulated into a single report. Reports allocate all of their storage
+ * when they are created, and so a report can be reused indefinitely without
+ * allocating. Reports are not thread-safe. </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualReport
+{
+  private final long[] indices;
+  private int index_count;
+  private long mismatches;
+  private long compared;
+  private double max_absolute_diff;
+  private double max_relative_diff;
+  private long max_ulp_distance;
+
+  /**
+   * Construct a new empty report.
+   *
+   * @param max_indices The maximum number of mismatching indices that will be
+   *                    recorded
+   */
+
+  public AlmostEqualReport(
+    final int max_indices)
+  {
+    if (max_indices < 0) {
+      throw new IllegalArgumentException(
+        "Maximum index count must be non-negative");
+    }
+    this.indices = new long[max_indices];
+  }
+
+  /**
+   * Reset the report to its initial empty state.
+   */
+
+  public void reset()
+  {
+    this.index_count = 0;
+    this.mismatches = 0L;
+    this.compared = 0L;
+    this.max_absolute_diff = 0.0;
+    this.max_relative_diff = 0.0;
+    this.max_ulp_distance = 0L;
+  }
+
+  /**
+   * @return The number of pairs of elements compared
+   */
+
+  public long getComparedCount()
+  {
+    return this.compared;
+  }
+
+  /**
+   * @return The number of pairs of elements that were not almost equal
+   */
+
+  public long getMismatchCount()
+  {
+    return this.mismatches;
+  }
+
+  /**
+   * @return The number of mismatching indices recorded; at most the maximum
+   * index count given at construction
+   */
+
+  public int getMismatchIndexCount()
+  {
+    return this.index_count;
+  }
+
+  /**
+   * @param index The index of the recorded mismatch, in the range {@code [0,
+   *              getMismatchIndexCount())}
+   *
+   * @return The element index of the given recorded mismatch
+   *
+   * @throws IndexOutOfBoundsException If {@code index} is out of range
+   */
+
+  public long getMismatchIndex(
+    final int index)
+    throws IndexOutOfBoundsException
+  {
+    return this.indices[Objects.checkIndex(index, this.index_count)];
+  }
+
+  /**
+   * @return The largest absolute difference {@code abs(x - y)} seen over all
+   * pairs of elements, excluding pairs for which the difference is undefined
+   */
+
+  public double getMaxAbsoluteDifference()
+  {
+    return this.max_absolute_diff;
+  }
+
+  /**
+   * @return The largest relative difference {@code abs(x - y) / max(abs(x),
+   * abs(y))} seen over all pairs of elements, excluding pairs for which the
+   * difference is undefined
+   */
+
+  public double getMaxRelativeDifference()
+  {
+    return this.max_relative_diff;
+  }
+
+  /**
+   * @return The largest distance in units in the last place seen over all
+   * pairs of elements, excluding pairs that contain {@code NaN}
+   */
+
+  public long getMaxULPDistance()
+  {
+    return this.max_ulp_distance;
+  }
+
+  void recordMismatch(
+    final long index)
+  {
+    if (this.index_count < this.indices.length) {
+      this.indices[this.index_count] = index;
+      ++this.index_count;
+    }
+    ++this.mismatches;
+  }
+
+  void recordMismatches(
+    final long first,
+    final long count)
+  {
+    final long recorded =
+      Math.min(count, (long) (this.indices.length - this.index_count));
+    for (long index = 0L; index < recorded; ++index) {
+      this.indices[this.index_count] = first + index;
+      ++this.index_count;
+    }
+    this.mismatches += count;
+    this.compared += count;
+  }
+
+  void recordTotals(
+    final long in_compared,
+    final double in_max_absolute_diff,
+    final double in_max_relative_diff,
+    final long in_max_ulp_distance)
+  {
+    this.compared += in_compared;
+    this.max_absolute_diff =
+      Math.max(this.max_absolute_diff, in_max_absolute_diff);
+    this.max_relative_diff =
+      Math.max(this.max_relative_diff, in_max_relative_diff);
+    this.max_ulp_distance =
+      Math.max(this.max_ulp_distance, in_max_ulp_distance);
+  }
+
+  @Override
+  public String toString()
+  {
+    final StringBuilder builder = new StringBuilder();
+    builder.append("[AlmostEqualReport [Compared ");
+    builder.append(this.compared);
+    builder.append("] [Mismatches ");
+    builder.append(this.mismatches);
+    builder.append("] [Indices ");
+    builder.append(
+      Arrays.toString(Arrays.copyOf(this.indices, this.index_count)));
+    builder.append("] [Absolute ");
+    builder.append(this.max_absolute_diff);
+    builder.append("] [Relative ");
+    builder.append(this.max_relative_diff);
+    builder.append("] [ULP ");
+    builder.append(this.max_ulp_distance);
+    builder.append("]]");
+    return builder.toString();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+/**
+ * A set of pairs of objects, compared by identity. The set is an open
+ * addressing table with linear probing, and does not allocate per entry.
+ */
+
+@EqualityReference
+final class IdentityPairSet
+{
+  private static final int INITIAL_CAPACITY = 64;
+
+  private Object[] lefts;
+  private Object[] rights;
+  private int size;
+
+  IdentityPairSet()
+  {
+    this.lefts = new Object[INITIAL_CAPACITY];
+    this.rights = new Object[INITIAL_CAPACITY];
+    this.size = 0;
+  }
+
+  private static int hash(
+    final Object left,
+    final Object right)
+  {
+    final int h =
+      System.identityHashCode(left) * 31 + System.identityHashCode(right);
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Add the pair {@code (left, right)} to the set.
+   *
+   * @param left  The left object
+   * @param right The right object
+   *
+   * @return {@code true} if the pair was not already present
+   */
+
+  boolean add(
+    final Object left,
+    final Object right)
+  {
+    final int mask = this.lefts.length - 1;
+    int index = hash(left, right) & mask;
+    while (true) {
+      final Object existing = this.lefts[index];
+      if (existing == null) {
+        break;
+      }
+      if (existing == left && this.rights[index] == right) {
+        return false;
+      }
+      index = (index + 1) & mask;
+    }
+
+    this.lefts[index] = left;
+    this.rights[index] = right;
+    this.size = this.size + 1;
+    if (this.size * 2 > this.lefts.length) {
+      this.grow();
+    }
+    return true;
+  }
+
+  private void grow()
+  {
+    final Object[] old_lefts = this.lefts;
+    final Object[] old_rights = this.rights;
+    final int capacity = old_lefts.length * 2;
+    final int mask = capacity - 1;
+
+    this.lefts = new Object[capacity];
+    this.rights = new Object[capacity];
+
+    for (int old = 0; old < old_lefts.length; ++old) {
+      final Object left = old_lefts[old];
+      if (left != null) {
+        final Object right = old_rights[old];
+        int index = hash(left, right) & mask;
+        while (this.lefts[index] != null) {
+          index = (index + 1) & mask;
+        }
+        this.lefts[index] = left;
+        this.rights[index] = right;
+      }
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * <p> The template for compiled structural comparators. </p>
+ *
+ * <p> This class is never initialized under its own name. {@link
+ * StructuralEquality} defines its class file again as a hidden class for each
+ * compared class, passing the composed method handles as the class data. The
+ * handles are held in {@code static final} fields, and so the JIT treats them
+ * as constants and can inline through them as it would through hand-written
+ * code. </p>
+ */
+
+@EqualityReference
+final class StructuralComparatorTemplate implements StructuralComparatorType
+{
+  private static final MethodHandle EQUALS;
+  private static final MethodHandle PRIMITIVE_EQUALS;
+  private static final MethodHandle HASH;
+
+  static {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      EQUALS = MethodHandles.classDataAt(
+        lookup, "_", MethodHandle.class, 0);
+      PRIMITIVE_EQUALS = MethodHandles.classDataAt(
+        lookup, "_", MethodHandle.class, 1);
+      HASH = MethodHandles.classDataAt(
+        lookup, "_", MethodHandle.class, 2);
+    } catch (final IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  StructuralComparatorTemplate()
+  {
+
+  }
+
+  @Override
+  public boolean equalsFields(
+    final Object a,
+    final Object b)
+  {
+    try {
+      return (boolean) EQUALS.invokeExact(a, b);
+    } catch (final RuntimeException | Error e) {
+      throw e;
+    } catch (final Throwable e) {
+      throw new UnreachableCodeException(e);
+    }
+  }
+
+  @Override
+  public boolean equalsPrimitives(
+    final Object a,
+    final Object b)
+  {
+    try {
+      return (boolean) PRIMITIVE_EQUALS.invokeExact(a, b);
+    } catch (final RuntimeException | Error e) {
+      throw e;
+    } catch (final Throwable e) {
+      throw new UnreachableCodeException(e);
+    }
+  }
+
+  @Override
+  public int hashFields(
+    final Object a)
+  {
+    try {
+      return (int) HASH.invokeExact(a);
+    } catch (final RuntimeException | Error e) {
+      throw e;
+    } catch (final Throwable e) {
+      throw new UnreachableCodeException(e);
+    }
+  }
+}
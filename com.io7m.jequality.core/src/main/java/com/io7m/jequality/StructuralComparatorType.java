@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality;
+
+/**
+ * The compiled comparisons of a single class, as used by {@link
+ * StructuralEquality}.
+ */
+
+interface StructuralComparatorType
+{
+  /**
+   * @param a The left value
+   * @param b The right value
+   *
+   * @return {@code true} if all fields of {@code a} and {@code b} are equal
+   */
+
+  boolean equalsFields(
+    Object a,
+    Object b);
+
+  /**
+   * @param a The left value
+   * @param b The right value
+   *
+   * @return {@code true} if all primitive fields of {@code a} and {@code b}
+   * are equal
+   */
+
+  boolean equalsPrimitives(
+    Object a,
+    Object b);
+
+  /**
+   * @param a The value
+   *
+   * @return The hash code of the fields of {@code a}
+   */
+
+  int hashFields(Object a);
+}
@@ -0,0 +1,746 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality;
+
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.jequality.annotations.EqualityStructural;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p> Structural equality for classes annotated with {@link
+ * EqualityStructural} that do not (or cannot) implement {@code equals} and
+ * {@code hashCode} themselves. </p>
+ *
+ * <p> The first time a class is compared, a comparator is compiled from
+ * method handles that read each of the non-static, non-synthetic fields
+ * declared by the class and its superclasses (excluding {@link Object}). The
+ * comparator is stored with the class by the {@link ClassValue} mechanism,
+ * and subsequent comparisons do not use reflection. </p>
+ *
+ * <p> Fields of primitive types are compared before fields of reference
+ * types. {@code float} and {@code double} fields are compared by the bit
+ * patterns given by {@link Float#floatToIntBits(float)} and {@link
+ * Double#doubleToLongBits(double)}, matching {@link Float#equals(Object)} and
+ * {@link Double#equals(Object)}. Arrays are compared by content, and other
+ * references are compared with their own {@code equals} methods. Hash codes
+ * combine the fields in declaration order, superclass fields first. </p>
+ *
+ * <p> The composed method handles of each class are bound as constants in a
+ * hidden class that is defined for each compared class, so that the JIT can
+ * inline the whole comparison into the caller. </p>
+ *
+ * <p> Fields are read with {@link MethodHandles#privateLookupIn(Class,
+ * MethodHandles.Lookup)}, and so classes in named modules must open their
+ * packages to this module. </p>
+ */
+
+@EqualityReference
+public final class StructuralEquality
+{
+  private static final MethodHandle EQUALS_BOOLEAN;
+  private static final MethodHandle EQUALS_INT;
+  private static final MethodHandle EQUALS_LONG;
+  private static final MethodHandle EQUALS_FLOAT;
+  private static final MethodHandle EQUALS_DOUBLE;
+  private static final MethodHandle EQUALS_OBJECT;
+  private static final MethodHandle EQUALS_OBJECT_ARRAY;
+  private static final MethodHandle HASH_BOOLEAN;
+  private static final MethodHandle HASH_INT;
+  private static final MethodHandle HASH_LONG;
+  private static final MethodHandle HASH_FLOAT;
+  private static final MethodHandle HASH_DOUBLE;
+  private static final MethodHandle HASH_OBJECT;
+  private static final MethodHandle HASH_OBJECT_ARRAY;
+  private static final MethodHandle HASH_COMBINE;
+
+  private static final ClassValue<Comparator> COMPARATORS =
+    new ClassValue<>()
+    {
+      @Override
+      protected Comparator computeValue(
+        final Class<?> type)
+      {
+        return Comparator.compile(type);
+      }
+    };
+
+  static {
+    try {
+      final MethodHandles.Lookup lookup = MethodHandles.lookup();
+      final Class<?> self = StructuralEquality.class;
+      final MethodType int_hash = MethodType.methodType(int.class, int.class);
+
+      EQUALS_BOOLEAN = lookup.findStatic(
+        self, "equalsBoolean", equalsType(boolean.class));
+      EQUALS_INT = lookup.findStatic(
+        self, "equalsInt", equalsType(int.class));
+      EQUALS_LONG = lookup.findStatic(
+        self, "equalsLong", equalsType(long.class));
+      EQUALS_FLOAT = lookup.findStatic(
+        self, "equalsFloat", equalsType(float.class));
+      EQUALS_DOUBLE = lookup.findStatic(
+        self, "equalsDouble", equalsType(double.class));
+      EQUALS_OBJECT = lookup.findStatic(
+        Objects.class, "equals", equalsType(Object.class));
+      EQUALS_OBJECT_ARRAY = lookup.findStatic(
+        Arrays.class, "deepEquals", equalsType(Object[].class));
+
+      HASH_BOOLEAN = lookup.findStatic(
+        Boolean.class, "hashCode", int_hash.changeParameterType(
+          0, boolean.class));
+      HASH_INT = lookup.findStatic(Integer.class, "hashCode", int_hash);
+      HASH_LONG = lookup.findStatic(
+        Long.class, "hashCode", int_hash.changeParameterType(0, long.class));
+      HASH_FLOAT = lookup.findStatic(
+        Float.class, "hashCode", int_hash.changeParameterType(0, float.class));
+      HASH_DOUBLE = lookup.findStatic(
+        Double.class, "hashCode", int_hash.changeParameterType(
+          0, double.class));
+      HASH_OBJECT = lookup.findStatic(
+        Objects.class, "hashCode", int_hash.changeParameterType(
+          0, Object.class));
+      HASH_OBJECT_ARRAY = lookup.findStatic(
+        Arrays.class, "deepHashCode", int_hash.changeParameterType(
+          0, Object[].class));
+      HASH_COMBINE = lookup.findStatic(
+        self, "hashCombine", MethodType.methodType(
+          int.class, int.class, int.class));
+    } catch (final NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private StructuralEquality()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static MethodType equalsType(
+    final Class<?> type)
+  {
+    return MethodType.methodType(boolean.class, type, type);
+  }
+
+  /**
+   * Determine whether {@code a} and {@code b} are structurally equal. The
+   * values are equal if they are the same reference, or if they are
+   * instances of exactly the same class and all of their fields are equal.
+   *
+   * @param a The left value
+   * @param b The right value
+   *
+   * @return {@code true} if {@code a} and {@code b} are structurally equal
+   *
+   * @throws IllegalArgumentException If the class of the values is not
+   *                                  annotated with {@link EqualityStructural}
+   *                                  or its fields cannot be accessed
+   */
+
+  public static boolean equals(
+    final Object a,
+    final Object b)
+  {
+    if (a == b) {
+      return true;
+    }
+    if (a == null || b == null) {
+      return false;
+    }
+
+    final Class<?> type = a.getClass();
+    if (type != b.getClass()) {
+      return false;
+    }
+    return COMPARATORS.get(type).equals(a, b);
+  }
+
+  /**
+   * Compute a structural hash code for {@code a}, consistent with {@link
+   * #equals(Object, Object)}.
+   *
+   * @param a The value
+   *
+   * @return A hash code, or {@code 0} if {@code a} is {@code null}
+   *
+   * @throws IllegalArgumentException If the class of the value is not
+   *                                  annotated with {@link EqualityStructural}
+   *                                  or its fields cannot be accessed
+   */
+
+  public static int hashCode(
+    final Object a)
+  {
+    if (a == null) {
+      return 0;
+    }
+    return COMPARATORS.get(a.getClass()).hashCode(a);
+  }
+
+  /**
+   * <p> Determine whether {@code a} and {@code b} are deeply structurally
+   * equal. </p>
+   *
+   * <p> Unlike {@link #equals(Object, Object)}, reference fields of values
+   * whose classes are annotated with {@link EqualityStructural}, and the
+   * elements of arrays of reference types, are compared by this function
+   * rather than by their own {@code equals} methods. Other values are
+   * compared with {@link Objects#deepEquals(Object, Object)}. Annotated
+   * classes do not need to implement {@code equals} at all. </p>
+   *
+   * <p> The object graphs are traversed with an explicit work stack rather
+   * than by recursion, and so arbitrarily deep graphs (such as linked lists
+   * of millions of nodes) can be compared without exhausting the thread
+   * stack. Each pair of objects is compared at most once: pairs are recorded
+   * in an identity-keyed table, so shared substructure is not compared
+   * repeatedly, and cycles terminate. A pair that is encountered again while
+   * it is still being compared is assumed to be equal; two cyclic graphs are
+   * therefore equal if no difference can be found by following them (for
+   * example, a ring of one node is equal to a ring of two nodes that hold the
+   * same values). </p>
+   *
+   * @param a The left value
+   * @param b The right value
+   *
+   * @return {@code true} if {@code a} and {@code b} are deeply equal
+   *
+   * @throws IllegalArgumentException If the fields of an annotated class
+   *                                  cannot be accessed
+   */
+
+  public static boolean deepEquals(
+    final Object a,
+    final Object b)
+  {
+    final DeepWalk walk = new DeepWalk();
+    walk.push(a, b);
+    while (!walk.isEmpty()) {
+      if (!walk.step()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean equalsBoolean(
+    final boolean x,
+    final boolean y)
+  {
+    return x == y;
+  }
+
+  private static boolean equalsInt(
+    final int x,
+    final int y)
+  {
+    return x == y;
+  }
+
+  private static boolean equalsLong(
+    final long x,
+    final long y)
+  {
+    return x == y;
+  }
+
+  private static boolean equalsFloat(
+    final float x,
+    final float y)
+  {
+    return Float.floatToIntBits(x) == Float.floatToIntBits(y);
+  }
+
+  private static boolean equalsDouble(
+    final double x,
+    final double y)
+  {
+    return Double.doubleToLongBits(x) == Double.doubleToLongBits(y);
+  }
+
+  private static int hashCombine(
+    final int result,
+    final int hash)
+  {
+    return (31 * result) + hash;
+  }
+
+  /**
+   * The state of a deep comparison: a stack of pairs of objects that remain
+   * to be compared, and the set of pairs that have already been compared.
+   */
+
+  private static final class DeepWalk
+  {
+    private final IdentityPairSet visited;
+    private Object[] stack;
+    private int size;
+
+    DeepWalk()
+    {
+      this.visited = new IdentityPairSet();
+      this.stack = new Object[32];
+      this.size = 0;
+    }
+
+    boolean isEmpty()
+    {
+      return this.size == 0;
+    }
+
+    void push(
+      final Object x,
+      final Object y)
+    {
+      this.stack[this.size] = x;
+      this.stack[this.size + 1] = y;
+      this.size = this.size + 2;
+    }
+
+    private void reserve(
+      final int pairs)
+    {
+      final long required = (long) this.size + (long) pairs * 2L;
+      if (required > this.stack.length) {
+        final long grown = Math.max(required, (long) this.stack.length * 2L);
+        if (grown > Integer.MAX_VALUE - 8) {
+          throw new OutOfMemoryError("Work stack too large");
+        }
+        this.stack = Arrays.copyOf(this.stack, (int) grown);
+      }
+    }
+
+    /**
+     * Compare the pair on the top of the stack, pushing any pairs that must
+     * be compared in turn.
+     *
+     * @return {@code false} if the pair is known to be unequal
+     */
+
+    boolean step()
+    {
+      this.size = this.size - 2;
+      final Object x = this.stack[this.size];
+      final Object y = this.stack[this.size + 1];
+      this.stack[this.size] = null;
+      this.stack[this.size + 1] = null;
+
+      if (x == y) {
+        return true;
+      }
+      if (x == null || y == null) {
+        return false;
+      }
+
+      final Class<?> type = x.getClass();
+      if (type != y.getClass()) {
+        return false;
+      }
+      if (type.isArray() && !type.getComponentType().isPrimitive()) {
+        return this.stepArray((Object[]) x, (Object[]) y);
+      }
+      return this.stepObject(COMPARATORS.get(type), x, y);
+    }
+
+    private boolean stepArray(
+      final Object[] xs,
+      final Object[] ys)
+    {
+      if (xs.length != ys.length) {
+        return false;
+      }
+      if (this.visited.add(xs, ys)) {
+        this.reserve(xs.length);
+        for (int index = xs.length - 1; index >= 0; --index) {
+          this.push(xs[index], ys[index]);
+        }
+      }
+      return true;
+    }
+
+    private boolean stepObject(
+      final Comparator comparator,
+      final Object x,
+      final Object y)
+    {
+      if (!comparator.isStructural()) {
+        return Objects.deepEquals(x, y);
+      }
+
+      comparator.check();
+      if (this.visited.add(x, y)) {
+        if (!comparator.equalsPrimitives(x, y)) {
+          return false;
+        }
+        final int count = comparator.referenceCount();
+        this.reserve(count);
+        for (int index = count - 1; index >= 0; --index) {
+          this.push(
+            comparator.reference(index, x),
+            comparator.reference(index, y));
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * The compiled comparator for a single class.
+   */
+
+  private static final class Comparator
+  {
+    private static final MethodType EQUALS_TYPE =
+      MethodType.methodType(boolean.class, Object.class, Object.class);
+    private static final MethodType HASH_TYPE =
+      MethodType.methodType(int.class, Object.class);
+
+    private static final MethodType GETTER_TYPE =
+      MethodType.methodType(Object.class, Object.class);
+
+    private static final byte[] TEMPLATE = loadTemplate();
+
+    private final StructuralComparatorType compiled;
+    private final MethodHandle[] reference_getters;
+    private final IllegalArgumentException error;
+    private final boolean structural;
+
+    private Comparator(
+      final boolean in_structural,
+      final StructuralComparatorType in_compiled,
+      final MethodHandle[] in_reference_getters,
+      final IllegalArgumentException in_error)
+    {
+      this.compiled = in_compiled;
+      this.reference_getters = in_reference_getters;
+      this.error = in_error;
+      this.structural = in_structural;
+    }
+
+    private static Comparator failed(
+      final boolean structural,
+      final IllegalArgumentException error)
+    {
+      return new Comparator(structural, null, null, error);
+    }
+
+    private static byte[] loadTemplate()
+    {
+      final Class<?> template = StructuralComparatorTemplate.class;
+      final String name = template.getSimpleName() + ".class";
+      try (InputStream stream = template.getResourceAsStream(name)) {
+        return stream.readAllBytes();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /**
+     * Define a new hidden class from {@link StructuralComparatorTemplate} that
+     * holds the given method handles as constants.
+     */
+
+    private static StructuralComparatorType define(
+      final MethodHandle equals,
+      final MethodHandle primitive_equals,
+      final MethodHandle hash)
+    {
+      try {
+        final MethodHandles.Lookup lookup =
+          MethodHandles.lookup().defineHiddenClassWithClassData(
+            TEMPLATE, List.of(equals, primitive_equals, hash), true);
+        return (StructuralComparatorType) lookup.findConstructor(
+          lookup.lookupClass(),
+          MethodType.methodType(void.class)).invoke();
+      } catch (final RuntimeException | Error e) {
+        throw e;
+      } catch (final Throwable e) {
+        throw new UnreachableCodeException(e);
+      }
+    }
+
+    static Comparator compile(
+      final Class<?> type)
+    {
+      if (!type.isAnnotationPresent(EqualityStructural.class)) {
+        return failed(
+          false,
+          new IllegalArgumentException(
+            String.format(
+              "Class %s is not annotated with @%s",
+              type.getName(),
+              EqualityStructural.class.getSimpleName())));
+      }
+
+      try {
+        final List<Field> fields = fieldsOf(type);
+
+        final List<MethodHandle> primitives = new ArrayList<>();
+        final List<MethodHandle> references = new ArrayList<>();
+        final List<MethodHandle> getters = new ArrayList<>();
+        MethodHandle hash =
+          MethodHandles.dropArguments(
+            MethodHandles.constant(int.class, Integer.valueOf(1)),
+            0,
+            Object.class);
+
+        for (final Field field : fields) {
+          final MethodHandle getter =
+            MethodHandles.privateLookupIn(
+              field.getDeclaringClass(), MethodHandles.lookup())
+              .unreflectGetter(field);
+          final Class<?> field_type = field.getType();
+
+          final MethodHandle field_equals =
+            MethodHandles.filterArguments(
+              equalityFor(field_type).asType(equalsType(field_type)),
+              0,
+              getter,
+              getter).asType(EQUALS_TYPE);
+
+          if (field_type.isPrimitive()) {
+            primitives.add(field_equals);
+          } else {
+            references.add(field_equals);
+            getters.add(getter.asType(GETTER_TYPE));
+          }
+
+          final MethodHandle field_hash =
+            MethodHandles.filterReturnValue(
+              getter,
+              hashFor(field_type).asType(
+                MethodType.methodType(int.class, field_type)))
+              .asType(HASH_TYPE);
+
+          hash = MethodHandles.foldArguments(
+            MethodHandles.filterArguments(HASH_COMBINE, 1, field_hash),
+            hash);
+        }
+
+        final List<MethodHandle> ordered = new ArrayList<>(primitives);
+        ordered.addAll(references);
+
+        return new Comparator(
+          true,
+          define(conjunction(ordered), conjunction(primitives), hash),
+          getters.toArray(new MethodHandle[0]),
+          null);
+      } catch (final IllegalAccessException e) {
+        return failed(
+          true,
+          new IllegalArgumentException(
+            String.format(
+              "The fields of class %s are not accessible: %s",
+              type.getName(),
+              e.getMessage()),
+            e));
+      }
+    }
+
+    /**
+     * Combine the given comparisons into a single short-circuiting
+     * comparison that is {@code true} if all of the comparisons are
+     * {@code true}.
+     */
+
+    private static MethodHandle conjunction(
+      final List<MethodHandle> comparisons)
+    {
+      MethodHandle result =
+        MethodHandles.dropArguments(
+          MethodHandles.constant(boolean.class, Boolean.TRUE),
+          0,
+          Object.class,
+          Object.class);
+      final MethodHandle unequal =
+        MethodHandles.dropArguments(
+          MethodHandles.constant(boolean.class, Boolean.FALSE),
+          0,
+          Object.class,
+          Object.class);
+
+      for (int index = comparisons.size() - 1; index >= 0; --index) {
+        result = MethodHandles.guardWithTest(
+          comparisons.get(index), result, unequal);
+      }
+      return result;
+    }
+
+    private static List<Field> fieldsOf(
+      final Class<?> type)
+    {
+      final List<Class<?>> hierarchy = new ArrayList<>();
+      for (Class<?> c = type; c != null && c != Object.class;
+           c = c.getSuperclass()) {
+        hierarchy.add(0, c);
+      }
+
+      final List<Field> fields = new ArrayList<>();
+      for (final Class<?> c : hierarchy) {
+        for (final Field field : c.getDeclaredFields()) {
+          final int modifiers = field.getModifiers();
+          if (!Modifier.isStatic(modifiers) && !field.isSynthetic()) {
+            fields.add(field);
+          }
+        }
+      }
+      return fields;
+    }
+
+    private static MethodHandle equalityFor(
+      final Class<?> type)
+      throws IllegalAccessException
+    {
+      if (type == boolean.class) {
+        return EQUALS_BOOLEAN;
+      }
+      if (type == long.class) {
+        return EQUALS_LONG;
+      }
+      if (type == float.class) {
+        return EQUALS_FLOAT;
+      }
+      if (type == double.class) {
+        return EQUALS_DOUBLE;
+      }
+      if (type.isPrimitive()) {
+        return EQUALS_INT;
+      }
+      if (type.isArray()) {
+        final Class<?> component = type.getComponentType();
+        if (!component.isPrimitive()) {
+          return EQUALS_OBJECT_ARRAY;
+        }
+        return findArrays("equals", boolean.class, type);
+      }
+      return EQUALS_OBJECT;
+    }
+
+    private static MethodHandle hashFor(
+      final Class<?> type)
+      throws IllegalAccessException
+    {
+      if (type == boolean.class) {
+        return HASH_BOOLEAN;
+      }
+      if (type == long.class) {
+        return HASH_LONG;
+      }
+      if (type == float.class) {
+        return HASH_FLOAT;
+      }
+      if (type == double.class) {
+        return HASH_DOUBLE;
+      }
+      if (type.isPrimitive()) {
+        return HASH_INT;
+      }
+      if (type.isArray()) {
+        final Class<?> component = type.getComponentType();
+        if (!component.isPrimitive()) {
+          return HASH_OBJECT_ARRAY;
+        }
+        return findArrays("hashCode", int.class, type);
+      }
+      return HASH_OBJECT;
+    }
+
+    private static MethodHandle findArrays(
+      final String name,
+      final Class<?> return_type,
+      final Class<?> array_type)
+      throws IllegalAccessException
+    {
+      final MethodType method_type =
+        "equals".equals(name)
+          ? MethodType.methodType(return_type, array_type, array_type)
+          : MethodType.methodType(return_type, array_type);
+
+      try {
+        return MethodHandles.publicLookup()
+          .findStatic(Arrays.class, name, method_type);
+      } catch (final NoSuchMethodException e) {
+        throw new UnreachableCodeException(e);
+      }
+    }
+
+    boolean equals(
+      final Object a,
+      final Object b)
+    {
+      this.check();
+      return this.compiled.equalsFields(a, b);
+    }
+
+    boolean isStructural()
+    {
+      return this.structural;
+    }
+
+    boolean equalsPrimitives(
+      final Object a,
+      final Object b)
+    {
+      return this.compiled.equalsPrimitives(a, b);
+    }
+
+    int referenceCount()
+    {
+      return this.reference_getters.length;
+    }
+
+    Object reference(
+      final int index,
+      final Object a)
+    {
+      try {
+        return (Object) this.reference_getters[index].invokeExact(a);
+      } catch (final RuntimeException | Error e) {
+        throw e;
+      } catch (final Throwable e) {
+        throw new UnreachableCodeException(e);
+      }
+    }
+
+    int hashCode(
+      final Object a)
+    {
+      this.check();
+      return this.compiled.hashFields(a);
+    }
+
+    private void check()
+    {
+      if (this.error != null) {
+        throw new IllegalArgumentException(
+          this.error.getMessage(), this.error);
+      }
+    }
+  }
+}
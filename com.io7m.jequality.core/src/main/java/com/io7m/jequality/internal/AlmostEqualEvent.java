@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.internal;
+
+import com.io7m.jequality.annotations.EqualityReference;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A scalar almost-equality comparison.
+ */
+
+@EqualityReference
+@Name("com.io7m.jequality.AlmostEqual")
+@Label("Almost Equal")
+@Description("A scalar floating point almost-equality comparison")
+@Category("jequality")
+@Enabled(false)
+@StackTrace(false)
+public final class AlmostEqualEvent extends Event
+{
+  @Label("Precision")
+  @Description("The floating point type compared")
+  private String precision;
+
+  @Label("Path")
+  @Description("The path by which the comparison reached its result")
+  private String path;
+
+  @Label("X")
+  private double x;
+
+  @Label("Y")
+  private double y;
+
+  /**
+   * Construct an event.
+   */
+
+  public AlmostEqualEvent()
+  {
+
+  }
+
+  /**
+   * Set the values compared.
+   *
+   * @param in_precision The floating point type compared
+   * @param in_path      The comparison path
+   * @param in_x         The left value
+   * @param in_y         The right value
+   */
+
+  public void setComparison(
+    final String in_precision,
+    final String in_path,
+    final double in_x,
+    final double in_y)
+  {
+    this.precision = in_precision;
+    this.path = in_path;
+    this.x = in_x;
+    this.y = in_y;
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.internal;
+
+import com.io7m.jequality.metrics.AlmostEqualPath;
+import com.io7m.jequality.metrics.EqualityMetrics;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p> The hooks through which the rest of the library reports comparisons
+ * and validations. </p>
+ *
+ * <p> Callers check {@link #isAlmostEqualActive()} or {@link
+ * #isValidationActive()} before doing any extra work. When the counters are
+ * disabled, {@link #METRICS_ENABLED} is a constant {@code false}. Whether a
+ * flight recording has enabled the events is read from a single event
+ * instance of each type that is created once, and so the checks do not
+ * allocate. </p>
+ */
+
+public final class Instrumentation
+{
+  /**
+   * {@code true} if the counters are enabled.
+   */
+
+  public static final boolean METRICS_ENABLED =
+    Boolean.getBoolean(EqualityMetrics.ENABLED_PROPERTY);
+
+  private static final LongAdder[] DOUBLE_COMPARISONS = adders();
+  private static final LongAdder[] FLOAT_COMPARISONS = adders();
+  private static final LongAdder VALIDATIONS = new LongAdder();
+  private static final LongAdder VALIDATION_NANOS = new LongAdder();
+
+  /*
+   * Event instances used only to ask whether the event types are enabled.
+   * Event.isEnabled() reads only the state of the event type, and so the
+   * instances can be shared between threads. They are never committed.
+   */
+
+  private static final AlmostEqualEvent ALMOST_EQUAL_ENABLED =
+    new AlmostEqualEvent();
+  private static final ValidationEvent VALIDATION_ENABLED =
+    new ValidationEvent();
+
+  private Instrumentation()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static LongAdder[] adders()
+  {
+    final LongAdder[] results = new LongAdder[AlmostEqualPath.values().length];
+    for (int index = 0; index < results.length; ++index) {
+      results[index] = new LongAdder();
+    }
+    return results;
+  }
+
+  /**
+   * @return {@code true} if scalar comparisons should be reported
+   */
+
+  public static boolean isAlmostEqualActive()
+  {
+    return METRICS_ENABLED || ALMOST_EQUAL_ENABLED.isEnabled();
+  }
+
+  /**
+   * @return {@code true} if validations should be reported
+   */
+
+  public static boolean isValidationActive()
+  {
+    return METRICS_ENABLED || VALIDATION_ENABLED.isEnabled();
+  }
+
+  /**
+   * @param path The comparison path
+   *
+   * @return The number of {@code double} comparisons that took {@code path}
+   */
+
+  public static long doubleComparisons(
+    final AlmostEqualPath path)
+  {
+    return DOUBLE_COMPARISONS[path.ordinal()].sum();
+  }
+
+  /**
+   * @param path The comparison path
+   *
+   * @return The number of {@code float} comparisons that took {@code path}
+   */
+
+  public static long floatComparisons(
+    final AlmostEqualPath path)
+  {
+    return FLOAT_COMPARISONS[path.ordinal()].sum();
+  }
+
+  /**
+   * @return The number of classes examined by the validator
+   */
+
+  public static long validations()
+  {
+    return VALIDATIONS.sum();
+  }
+
+  /**
+   * @return The time spent examining classes by the validator, in
+   * nanoseconds
+   */
+
+  public static long validationNanos()
+  {
+    return VALIDATION_NANOS.sum();
+  }
+
+  /**
+   * Reset all counters to zero.
+   */
+
+  public static void reset()
+  {
+    for (int index = 0; index < DOUBLE_COMPARISONS.length; ++index) {
+      DOUBLE_COMPARISONS[index].reset();
+      FLOAT_COMPARISONS[index].reset();
+    }
+    VALIDATIONS.reset();
+    VALIDATION_NANOS.reset();
+  }
+
+  /**
+   * Report a {@code double} comparison.
+   *
+   * @param path The comparison path
+   * @param x    The left value
+   * @param y    The right value
+   */
+
+  public static void almostEqualDouble(
+    final AlmostEqualPath path,
+    final double x,
+    final double y)
+  {
+    if (METRICS_ENABLED) {
+      DOUBLE_COMPARISONS[path.ordinal()].increment();
+    }
+    almostEqualEvent("double", path, x, y);
+  }
+
+  /**
+   * Report a {@code float} comparison.
+   *
+   * @param path The comparison path
+   * @param x    The left value
+   * @param y    The right value
+   */
+
+  public static void almostEqualFloat(
+    final AlmostEqualPath path,
+    final float x,
+    final float y)
+  {
+    if (METRICS_ENABLED) {
+      FLOAT_COMPARISONS[path.ordinal()].increment();
+    }
+    almostEqualEvent("float", path, x, y);
+  }
+
+  private static void almostEqualEvent(
+    final String precision,
+    final AlmostEqualPath path,
+    final double x,
+    final double y)
+  {
+    final AlmostEqualEvent event = new AlmostEqualEvent();
+    if (event.shouldCommit()) {
+      event.setComparison(precision, path.name(), x, y);
+      event.commit();
+    }
+  }
+
+  /**
+   * Report the start of the examination of a class.
+   *
+   * @param type The class
+   *
+   * @return A validation in progress
+   */
+
+  public static Validation validationStart(
+    final Class<?> type)
+  {
+    final ValidationEvent event = new ValidationEvent();
+    event.begin();
+    return new Validation(type, event, System.nanoTime());
+  }
+
+  /**
+   * The examination of a class that is in progress.
+   */
+
+  public static final class Validation
+  {
+    private final Class<?> type;
+    private final ValidationEvent event;
+    private final long time_start;
+
+    private Validation(
+      final Class<?> in_type,
+      final ValidationEvent in_event,
+      final long in_time_start)
+    {
+      this.type = in_type;
+      this.event = in_event;
+      this.time_start = in_time_start;
+    }
+
+    /**
+     * Report the end of the examination of the class.
+     */
+
+    public void end()
+    {
+      if (METRICS_ENABLED) {
+        VALIDATIONS.increment();
+        VALIDATION_NANOS.add(System.nanoTime() - this.time_start);
+      }
+
+      this.event.end();
+      if (this.event.shouldCommit()) {
+        this.event.setClassName(this.type.getName());
+        this.event.commit();
+      }
+    }
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.internal;
+
+import com.io7m.jequality.annotations.EqualityReference;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The examination of a class by the equality validator.
+ */
+
+@EqualityReference
+@Name("com.io7m.jequality.Validation")
+@Label("Equality Validation")
+@Description("The examination of a class by the equality validator")
+@Category("jequality")
+@Enabled(false)
+@StackTrace(false)
+public final class ValidationEvent extends Event
+{
+  @Label("Class")
+  @Description("The name of the class examined")
+  private String className;
+
+  /**
+   * Construct an event.
+   */
+
+  public ValidationEvent()
+  {
+
+  }
+
+  /**
+   * @param in_class_name The name of the class examined
+   */
+
+  public void setClassName(
+    final String in_class_name)
+  {
+    this.className = in_class_name;
+  }
+}
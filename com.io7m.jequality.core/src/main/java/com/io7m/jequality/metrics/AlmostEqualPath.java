@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.metrics;
+
+/**
+ * The path by which a scalar almost-equality comparison reached its result.
+ */
+
+public enum AlmostEqualPath
+{
+  /**
+   * The values were equal infinities.
+   */
+
+  ALMOST_EQUAL_INFINITY,
+
+  /**
+   * The values were within the maximum absolute difference.
+   */
+
+  ALMOST_EQUAL_ABSOLUTE,
+
+  /**
+   * The values were within the maximum relative difference.
+   */
+
+  ALMOST_EQUAL_RELATIVE,
+
+  /**
+   * The values were within the maximum ULP distance.
+   */
+
+  ALMOST_EQUAL_ULP,
+
+  /**
+   * The values were not almost equal.
+   */
+
+  NOT_ALMOST_EQUAL
+}
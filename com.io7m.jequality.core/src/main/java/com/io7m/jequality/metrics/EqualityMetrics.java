@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.metrics;
+
+import com.io7m.jequality.internal.Instrumentation;
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+
+/**
+ * <p> Counters for the scalar comparisons performed by {@link
+ * com.io7m.jequality.AlmostEqualDouble} and {@link
+ * com.io7m.jequality.AlmostEqualFloat}, and for the classes examined by
+ * {@link com.io7m.jequality.validator.EqualityValidator}. </p>
+ *
+ * <p> The counters are disabled by default, and are only updated if the
+ * system property {@link #ENABLED_PROPERTY} is {@code true} when this library
+ * is first used. The property is read once, and so disabled counters cost
+ * nothing after compilation. The counters are striped {@link
+ * java.util.concurrent.atomic.LongAdder} instances and can be updated from
+ * many threads without contention. </p>
+ *
+ * <p> Bulk comparisons of arrays and buffers are not counted. The same
+ * information is also available as JDK Flight Recorder events named {@code
+ * com.io7m.jequality.AlmostEqual} and {@code com.io7m.jequality.Validation},
+ * which are disabled by default and must be enabled explicitly in a recording
+ * configuration. </p>
+ */
+
+public final class EqualityMetrics
+{
+  /**
+   * The system property that enables the counters.
+   */
+
+  public static final String ENABLED_PROPERTY = "com.io7m.jequality.metrics";
+
+  private EqualityMetrics()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * @return {@code true} if the counters are enabled
+   */
+
+  public static boolean isEnabled()
+  {
+    return Instrumentation.METRICS_ENABLED;
+  }
+
+  /**
+   * @param path The comparison path
+   *
+   * @return The number of {@code double} comparisons that took {@code path}
+   */
+
+  public static long almostEqualDoubleCount(
+    final AlmostEqualPath path)
+  {
+    Objects.requireNonNull(path, "Path");
+    return Instrumentation.doubleComparisons(path);
+  }
+
+  /**
+   * @param path The comparison path
+   *
+   * @return The number of {@code float} comparisons that took {@code path}
+   */
+
+  public static long almostEqualFloatCount(
+    final AlmostEqualPath path)
+  {
+    Objects.requireNonNull(path, "Path");
+    return Instrumentation.floatComparisons(path);
+  }
+
+  /**
+   * @return The number of classes that have been examined by the validator
+   */
+
+  public static long validationCount()
+  {
+    return Instrumentation.validations();
+  }
+
+  /**
+   * @return The total time spent examining classes in the validator, in
+   * nanoseconds
+   */
+
+  public static long validationNanos()
+  {
+    return Instrumentation.validationNanos();
+  }
+
+  /**
+   * Reset all counters to zero. Updates that happen concurrently with a
+   * reset may or may not be lost.
+   */
+
+  public static void reset()
+  {
+    Instrumentation.reset();
+  }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * <p> A minimal class file parser. Only the constant pool, the method table
+ * and the class-level {@code RuntimeVisibleAnnotations} attribute are
+ * examined; everything else is skipped. </p>
+ */
+
+final class ClassFileParser
+{
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_STATIC = 0x0008;
+  private static final int ACC_INTERFACE = 0x0200;
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_INTEGER = 3;
+  private static final int CONSTANT_FLOAT = 4;
+  private static final int CONSTANT_LONG = 5;
+  private static final int CONSTANT_DOUBLE = 6;
+  private static final int CONSTANT_CLASS = 7;
+  private static final int CONSTANT_STRING = 8;
+  private static final int CONSTANT_FIELDREF = 9;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_INTERFACE_METHODREF = 11;
+  private static final int CONSTANT_NAME_AND_TYPE = 12;
+  private static final int CONSTANT_METHOD_HANDLE = 15;
+  private static final int CONSTANT_METHOD_TYPE = 16;
+  private static final int CONSTANT_DYNAMIC = 17;
+  private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+  private static final int CONSTANT_MODULE = 19;
+  private static final int CONSTANT_PACKAGE = 20;
+
+  private static final String REFERENCE_DESCRIPTOR =
+    "Lcom/io7m/jequality/annotations/EqualityReference;";
+  private static final String STRUCTURAL_DESCRIPTOR =
+    "Lcom/io7m/jequality/annotations/EqualityStructural;";
+
+  private static final int DECLARES_EQUALS = 0b01;
+  private static final int DECLARES_HASHCODE = 0b10;
+  private static final int ANNOTATED_REFERENCE = 0b01;
+  private static final int ANNOTATED_STRUCTURAL = 0b10;
+
+  private ClassFileParser()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Parse the given class file. The declaring classes in the returned summary
+   * only reflect methods declared in the class itself.
+   *
+   * @param data The class file
+   *
+   * @return A summary of the class
+   *
+   * @throws IOException If the class file is malformed
+   */
+
+  static ClassFileSummary parse(
+    final byte[] data)
+    throws IOException
+  {
+    final DataInputStream input =
+      new DataInputStream(new ByteArrayInputStream(data));
+
+    if (input.readInt() != MAGIC) {
+      throw new IOException("Not a class file: Bad magic number");
+    }
+    input.skipNBytes(4L);
+
+    final ConstantPool pool = readConstantPool(input);
+
+    final int access = input.readUnsignedShort();
+    final String name = pool.className(input.readUnsignedShort());
+    final int super_index = input.readUnsignedShort();
+    final String super_name =
+      super_index == 0 ? null : pool.className(super_index);
+
+    input.skipNBytes(2L * input.readUnsignedShort());
+
+    final int field_count = input.readUnsignedShort();
+    for (int index = 0; index < field_count; ++index) {
+      input.skipNBytes(6L);
+      skipAttributes(input);
+    }
+
+    final int methods = readMethods(input, pool);
+    final int annotations = readAnnotations(input, pool);
+
+    return new ClassFileSummary(
+      name,
+      super_name,
+      (access & ACC_INTERFACE) != 0,
+      (annotations & ANNOTATED_REFERENCE) != 0,
+      (annotations & ANNOTATED_STRUCTURAL) != 0,
+      (methods & DECLARES_EQUALS) != 0 ? name : null,
+      (methods & DECLARES_HASHCODE) != 0 ? name : null);
+  }
+
+  private static ConstantPool readConstantPool(
+    final DataInputStream input)
+    throws IOException
+  {
+    final int count = input.readUnsignedShort();
+    final ConstantPool pool = new ConstantPool(count);
+
+    int index = 1;
+    while (index < count) {
+      final int tag = input.readUnsignedByte();
+      switch (tag) {
+        case CONSTANT_UTF8 -> pool.setUTF8(index, input.readUTF());
+        case CONSTANT_CLASS -> pool.setClass(index, input.readUnsignedShort());
+        case CONSTANT_STRING,
+          CONSTANT_METHOD_TYPE,
+          CONSTANT_MODULE,
+          CONSTANT_PACKAGE -> input.skipNBytes(2L);
+        case CONSTANT_METHOD_HANDLE -> input.skipNBytes(3L);
+        case CONSTANT_INTEGER,
+          CONSTANT_FLOAT,
+          CONSTANT_FIELDREF,
+          CONSTANT_METHODREF,
+          CONSTANT_INTERFACE_METHODREF,
+          CONSTANT_NAME_AND_TYPE,
+          CONSTANT_DYNAMIC,
+          CONSTANT_INVOKE_DYNAMIC -> input.skipNBytes(4L);
+        case CONSTANT_LONG, CONSTANT_DOUBLE -> input.skipNBytes(8L);
+        default -> throw new IOException(
+          String.format("Unrecognized constant pool tag %d", tag));
+      }
+
+      /*
+       * Long and double constants occupy two entries.
+       */
+
+      index += (tag == CONSTANT_LONG || tag == CONSTANT_DOUBLE) ? 2 : 1;
+    }
+    return pool;
+  }
+
+  private static int readMethods(
+    final DataInputStream input,
+    final ConstantPool pool)
+    throws IOException
+  {
+    int declared = 0;
+
+    final int count = input.readUnsignedShort();
+    for (int index = 0; index < count; ++index) {
+      final int access = input.readUnsignedShort();
+      final String name = pool.utf8(input.readUnsignedShort());
+      final String descriptor = pool.utf8(input.readUnsignedShort());
+      skipAttributes(input);
+
+      final boolean visible =
+        (access & ACC_PUBLIC) != 0 && (access & ACC_STATIC) == 0;
+
+      if (visible
+        && "equals".equals(name)
+        && "(Ljava/lang/Object;)Z".equals(descriptor)) {
+        declared |= DECLARES_EQUALS;
+      }
+      if (visible
+        && "hashCode".equals(name)
+        && "()I".equals(descriptor)) {
+        declared |= DECLARES_HASHCODE;
+      }
+    }
+    return declared;
+  }
+
+  private static int readAnnotations(
+    final DataInputStream input,
+    final ConstantPool pool)
+    throws IOException
+  {
+    int annotated = 0;
+
+    final int count = input.readUnsignedShort();
+    for (int index = 0; index < count; ++index) {
+      final String name = pool.utf8(input.readUnsignedShort());
+      final long length = Integer.toUnsignedLong(input.readInt());
+
+      if (!"RuntimeVisibleAnnotations".equals(name)) {
+        input.skipNBytes(length);
+        continue;
+      }
+
+      final int annotation_count = input.readUnsignedShort();
+      for (int a = 0; a < annotation_count; ++a) {
+        final String type = pool.utf8(input.readUnsignedShort());
+        if (REFERENCE_DESCRIPTOR.equals(type)) {
+          annotated |= ANNOTATED_REFERENCE;
+        }
+        if (STRUCTURAL_DESCRIPTOR.equals(type)) {
+          annotated |= ANNOTATED_STRUCTURAL;
+        }
+        skipAnnotationElements(input);
+      }
+    }
+    return annotated;
+  }
+
+  private static void skipAttributes(
+    final DataInputStream input)
+    throws IOException
+  {
+    final int count = input.readUnsignedShort();
+    for (int index = 0; index < count; ++index) {
+      input.skipNBytes(2L);
+      input.skipNBytes(Integer.toUnsignedLong(input.readInt()));
+    }
+  }
+
+  private static void skipAnnotationElements(
+    final DataInputStream input)
+    throws IOException
+  {
+    final int pairs = input.readUnsignedShort();
+    for (int index = 0; index < pairs; ++index) {
+      input.skipNBytes(2L);
+      skipElementValue(input);
+    }
+  }
+
+  private static void skipElementValue(
+    final DataInputStream input)
+    throws IOException
+  {
+    final int tag = input.readUnsignedByte();
+    switch (tag) {
+      case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' ->
+        input.skipNBytes(2L);
+      case 'e' -> input.skipNBytes(4L);
+      case '@' -> {
+        input.skipNBytes(2L);
+        skipAnnotationElements(input);
+      }
+      case '[' -> {
+        final int count = input.readUnsignedShort();
+        for (int index = 0; index < count; ++index) {
+          skipElementValue(input);
+        }
+      }
+      default -> throw new IOException(
+        String.format("Unrecognized element value tag %d", tag));
+    }
+  }
+
+  private static final class ConstantPool
+  {
+    private final String[] utf8;
+    private final int[] classes;
+
+    ConstantPool(
+      final int count)
+    {
+      this.utf8 = new String[count];
+      this.classes = new int[count];
+    }
+
+    void setUTF8(
+      final int index,
+      final String text)
+    {
+      this.utf8[index] = text;
+    }
+
+    void setClass(
+      final int index,
+      final int name_index)
+    {
+      this.classes[index] = name_index;
+    }
+
+    String utf8(
+      final int index)
+      throws IOException
+    {
+      if (index <= 0 || index >= this.utf8.length || this.utf8[index] == null) {
+        throw new IOException(
+          String.format("Constant pool index %d is not a UTF-8 string", index));
+      }
+      return this.utf8[index];
+    }
+
+    String className(
+      final int index)
+      throws IOException
+    {
+      if (index <= 0 || index >= this.classes.length) {
+        throw new IOException(
+          String.format("Constant pool index %d is not a class", index));
+      }
+      return this.utf8(this.classes[index]).replace('/', '.');
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * A source of class files, used by {@link ClassFileValidator} to read classes
+ * without loading them.
+ */
+
+@FunctionalInterface
+public interface ClassFileSourceType
+{
+  /**
+   * Return a source that reads class files as resources of the given class
+   * loader. Classes are not loaded by the class loader.
+   *
+   * @param loader The class loader
+   *
+   * @return A class file source
+   */
+
+  static ClassFileSourceType ofClassLoader(
+    final ClassLoader loader)
+  {
+    Objects.requireNonNull(loader, "Loader");
+    return name -> loader.getResourceAsStream(
+      name.replace('.', '/') + ".class");
+  }
+
+  /**
+   * Open the class file for the class with the given binary name (such as
+   * {@code java.util.Map$Entry}).
+   *
+   * @param name The binary name of the class
+   *
+   * @return A stream of the class file, or {@code null} if no such class file
+   * exists
+   *
+   * @throws IOException On I/O errors
+   */
+
+  InputStream open(String name)
+    throws IOException;
+}
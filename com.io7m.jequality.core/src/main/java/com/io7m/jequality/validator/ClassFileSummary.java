@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+/**
+ * The facts about a single class file that are relevant to validation. The
+ * declaring classes of {@code equals} and {@code hashCode} are binary class
+ * names, or {@code null} if the methods could not be found (as is the case
+ * for interfaces that do not redeclare them).
+ *
+ * @param name             The binary name of the class
+ * @param superName        The binary name of the superclass, if any
+ * @param isInterface      {@code true} if the class is an interface
+ * @param reference        {@code true} if the class is annotated with
+ *                         {@link com.io7m.jequality.annotations.EqualityReference}
+ * @param structural       {@code true} if the class is annotated with
+ *                         {@link com.io7m.jequality.annotations.EqualityStructural}
+ * @param equalsDeclarer   The class that declares {@code equals}
+ * @param hashCodeDeclarer The class that declares {@code hashCode}
+ */
+
+record ClassFileSummary(
+  String name,
+  String superName,
+  boolean isInterface,
+  boolean reference,
+  boolean structural,
+  String equalsDeclarer,
+  String hashCodeDeclarer)
+{
+  /**
+   * Resolve the inherited declarations of this class against the resolved
+   * summary of its superclass.
+   *
+   * @param parent The resolved superclass summary, or {@code null}
+   *
+   * @return A resolved summary
+   */
+
+  ClassFileSummary inherit(
+    final ClassFileSummary parent)
+  {
+    if (parent == null) {
+      return this;
+    }
+
+    return new ClassFileSummary(
+      this.name,
+      this.superName,
+      this.isInterface,
+      this.reference,
+      this.structural,
+      this.equalsDeclarer != null
+        ? this.equalsDeclarer : parent.equalsDeclarer,
+      this.hashCodeDeclarer != null
+        ? this.hashCodeDeclarer : parent.hashCodeDeclarer);
+  }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p> A validator that applies the same rules as {@link EqualityValidator},
+ * but reads class files directly instead of examining loaded classes. Classes
+ * are never loaded, linked, or initialized. </p>
+ *
+ * <p> The declarations of {@code equals} and {@code hashCode} are resolved
+ * through the superclass chain, reading each superclass from the given
+ * {@link ClassFileSourceType}. A summary of each class read from the source
+ * is kept for the lifetime of the validator, and so each class file is parsed
+ * at most once (modulo races between threads) regardless of how many
+ * subclasses are validated. Class files given directly to {@link
+ * #validateClassFile(byte[], AnnotationRequirement, boolean)} are not
+ * retained. Instances are safe to use from multiple threads. </p>
+ *
+ * <p> As with {@link Class#getMethod(String, Class[])}, the methods of
+ * {@link Object} are not considered to be members of interfaces. Unlike
+ * {@link Class#getMethod(String, Class[])}, {@code equals} and {@code
+ * hashCode} methods redeclared by superinterfaces of an interface are not
+ * considered. </p>
+ */
+
+@EqualityReference
+public final class ClassFileValidator
+{
+  private final ClassFileSourceType source;
+  private final ConcurrentHashMap<String, ClassFileSummary> summaries;
+
+  /**
+   * Construct a validator.
+   *
+   * @param in_source The source of class files
+   */
+
+  public ClassFileValidator(
+    final ClassFileSourceType in_source)
+  {
+    this.source = Objects.requireNonNull(in_source, "Source");
+    this.summaries = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Validate the class with the given binary name according to the
+   * annotation requirements.
+   *
+   * @param name           The binary name of the class
+   * @param requirement    The annotation requirements
+   * @param check_hashcode {@code true} if {@code hashCode} methods should be
+   *                       checked for consistency
+   *
+   * @return The validation result
+   *
+   * @throws IOException On errors reading the class or any of its
+   *                     superclasses
+   * @see EqualityValidator#validateClass(Class, AnnotationRequirement,
+   * boolean)
+   */
+
+  public ValidatorResult validateClass(
+    final String name,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+    throws IOException
+  {
+    Objects.requireNonNull(name, "Name");
+    Objects.requireNonNull(requirement, "Requirement");
+
+    return validateSummary(this.summaryOf(name), requirement, check_hashcode);
+  }
+
+  /**
+   * Validate the given class file according to the annotation requirements.
+   * The superclasses of the class are read from the class file source.
+   *
+   * @param data           The class file
+   * @param requirement    The annotation requirements
+   * @param check_hashcode {@code true} if {@code hashCode} methods should be
+   *                       checked for consistency
+   *
+   * @return The validation result
+   *
+   * @throws IOException On errors reading the class or any of its
+   *                     superclasses
+   */
+
+  public ValidatorResult validateClassFile(
+    final byte[] data,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+    throws IOException
+  {
+    Objects.requireNonNull(data, "Data");
+    Objects.requireNonNull(requirement, "Requirement");
+
+    final ClassFileSummary local = ClassFileParser.parse(data);
+    final ClassFileSummary resolved =
+      local.inherit(this.parentSummaryOf(local));
+    return validateSummary(resolved, requirement, check_hashcode);
+  }
+
+  private ClassFileSummary parentSummaryOf(
+    final ClassFileSummary local)
+    throws IOException
+  {
+    if (local.isInterface() || local.superName() == null) {
+      return null;
+    }
+    return this.summaryOf(local.superName());
+  }
+
+  private ClassFileSummary resolve(
+    final ClassFileSummary local,
+    final ClassFileSummary parent)
+  {
+    final ClassFileSummary resolved = local.inherit(parent);
+    final ClassFileSummary existing =
+      this.summaries.putIfAbsent(resolved.name(), resolved);
+    return existing != null ? existing : resolved;
+  }
+
+  /**
+   * Find or compute the resolved summary of the given class. The superclass
+   * chain is read iteratively up to the first class with a known summary,
+   * and the summaries are then resolved from the top of the chain down.
+   */
+
+  private ClassFileSummary summaryOf(
+    final String name)
+    throws IOException
+  {
+    final ClassFileSummary known = this.summaries.get(name);
+    if (known != null) {
+      return known;
+    }
+
+    final Deque<ClassFileSummary> pending = new ArrayDeque<>();
+    ClassFileSummary parent = null;
+    String current = name;
+
+    while (current != null) {
+      final ClassFileSummary existing = this.summaries.get(current);
+      if (existing != null) {
+        parent = existing;
+        break;
+      }
+
+      final ClassFileSummary local = ClassFileParser.parse(this.read(current));
+      pending.push(local);
+      current = local.isInterface() ? null : local.superName();
+    }
+
+    while (!pending.isEmpty()) {
+      parent = this.resolve(pending.pop(), parent);
+    }
+    return parent;
+  }
+
+  private byte[] read(
+    final String name)
+    throws IOException
+  {
+    try (InputStream stream = this.source.open(name)) {
+      if (stream == null) {
+        throw new FileNotFoundException(
+          String.format("No class file for class %s", name));
+      }
+      return stream.readAllBytes();
+    }
+  }
+
+  private static ValidatorResult validateSummary(
+    final ClassFileSummary summary,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+  {
+    if (summary.reference()) {
+      return validateReferenceEquality(summary, check_hashcode);
+    }
+    if (summary.structural()) {
+      return validateStructuralEquality(summary, check_hashcode);
+    }
+    if (requirement == AnnotationRequirement.ANNOTATIONS_REQUIRED) {
+      return ValidatorResult.VALIDATION_ERROR_WANTED_ANNOTATIONS;
+    }
+    return ValidatorResult.VALIDATION_OK;
+  }
+
+  private static boolean isObject(
+    final String name)
+  {
+    return "java.lang.Object".equals(name);
+  }
+
+  private static ValidatorResult validateReferenceEquality(
+    final ClassFileSummary summary,
+    final boolean check_hashcode)
+  {
+    if (!isObject(summary.equalsDeclarer())) {
+      return ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY;
+    }
+    if (check_hashcode && !isObject(summary.hashCodeDeclarer())) {
+      return ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE;
+    }
+    return ValidatorResult.VALIDATION_OK;
+  }
+
+  private static ValidatorResult validateStructuralEquality(
+    final ClassFileSummary summary,
+    final boolean check_hashcode)
+  {
+    final String equals_class = summary.equalsDeclarer();
+    if (equals_class == null || isObject(equals_class)) {
+      return ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY;
+    }
+
+    final String hashcode_class = summary.hashCodeDeclarer();
+    if (check_hashcode && (hashcode_class == null || isObject(hashcode_class))) {
+      return ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE;
+    }
+    return ValidatorResult.VALIDATION_OK;
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+/**
+ * The ways in which a class can break the contract of {@link
+ * Object#equals(Object)} and {@link Object#hashCode()}.
+ */
+
+public enum ContractViolation
+{
+  /**
+   * {@code x.equals(null)} returned {@code true}.
+   */
+
+  CONTRACT_ERROR_EQUALS_NULL,
+
+  /**
+   * {@code x.equals(y)} but {@code x.hashCode() != y.hashCode()}.
+   */
+
+  CONTRACT_ERROR_INCONSISTENT_HASHCODE,
+
+  /**
+   * {@code x.equals(x)} returned {@code false}.
+   */
+
+  CONTRACT_ERROR_NOT_REFLEXIVE,
+
+  /**
+   * {@code x.equals(y)} and {@code y.equals(x)} returned different results.
+   */
+
+  CONTRACT_ERROR_NOT_SYMMETRIC,
+
+  /**
+   * {@code x.equals(y)} and {@code y.equals(z)}, but not {@code
+   * x.equals(z)}.
+   */
+
+  CONTRACT_ERROR_NOT_TRANSITIVE
+}
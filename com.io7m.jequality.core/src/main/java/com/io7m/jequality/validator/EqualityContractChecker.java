@@ -0,0 +1,365 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * <p> A checker that tests whether the {@code equals} and {@code hashCode}
+ * methods of a set of instances actually obey the contract given by {@link
+ * Object#equals(Object)}, as opposed to {@link EqualityValidator}, which only
+ * examines where the methods are declared. </p>
+ *
+ * <p> Every instance is compared with every other instance (and with itself
+ * and {@code null}) in parallel on a fork/join pool, each task computing the
+ * results for one instance. The results are held as a bit matrix, and so
+ * {@code n} instances require {@code n * n / 8} bytes. The matrix is then
+ * checked for reflexivity, symmetry, transitivity, and consistency with the
+ * hash codes of the instances. Transitivity is checked by comparing the row of
+ * each instance with the row of the first instance to which it is equal,
+ * which takes {@code n * n / 64} word operations rather than the {@code n *
+ * n * n} comparisons of the naive check. </p>
+ *
+ * <p> Exceptions raised by {@code equals} or {@code hashCode} are propagated
+ * to the caller. </p>
+ */
+
+public final class EqualityContractChecker
+{
+  /**
+   * The maximum number of instances that can be checked at once.
+   */
+
+  public static final int MAX_INSTANCES = 1 << 16;
+
+  private EqualityContractChecker()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Check the given instances in parallel using the common fork/join pool.
+   *
+   * @param instances           The instances
+   * @param max_counterexamples The maximum number of counterexamples that
+   *                            will be recorded
+   *
+   * @return A report of the violations found
+   *
+   * @see #checkInstances(ForkJoinPool, List, int)
+   */
+
+  public static EqualityContractReport checkInstances(
+    final List<?> instances,
+    final int max_counterexamples)
+  {
+    return checkInstances(
+      ForkJoinPool.commonPool(), instances, max_counterexamples);
+  }
+
+  /**
+   * Check the given instances in parallel on the given pool. Counterexamples
+   * refer to instances by their indices in {@code instances}.
+   *
+   * @param pool                The fork/join pool
+   * @param instances           The instances
+   * @param max_counterexamples The maximum number of counterexamples that
+   *                            will be recorded
+   *
+   * @return A report of the violations found
+   *
+   * @throws IllegalArgumentException If there are more than {@link
+   *                                  #MAX_INSTANCES} instances, or {@code
+   *                                  max_counterexamples} is negative
+   */
+
+  public static EqualityContractReport checkInstances(
+    final ForkJoinPool pool,
+    final List<?> instances,
+    final int max_counterexamples)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(pool, "Pool");
+    Objects.requireNonNull(instances, "Instances");
+    checkLimits(instances.size(), max_counterexamples);
+
+    final Object[] values = instances.toArray();
+    for (final Object value : values) {
+      Objects.requireNonNull(value, "Instance");
+    }
+
+    final Check check = new Check(values, max_counterexamples);
+    return pool.submit(check::run).join();
+  }
+
+  /**
+   * Generate {@code count} instances in parallel on the given pool by
+   * calling {@code generator} with each index in {@code [0, count)}, and then
+   * check the instances as if by {@link #checkInstances(ForkJoinPool, List,
+   * int)}.
+   *
+   * @param pool                The fork/join pool
+   * @param generator           The instance generator
+   * @param count               The number of instances
+   * @param max_counterexamples The maximum number of counterexamples that
+   *                            will be recorded
+   * @param <T>                 The type of instances
+   *
+   * @return A report of the violations found
+   *
+   * @throws IllegalArgumentException If {@code count} is negative or greater
+   *                                  than {@link #MAX_INSTANCES}, or {@code
+   *                                  max_counterexamples} is negative
+   */
+
+  public static <T> EqualityContractReport checkGenerated(
+    final ForkJoinPool pool,
+    final IntFunction<? extends T> generator,
+    final int count,
+    final int max_counterexamples)
+    throws IllegalArgumentException
+  {
+    Objects.requireNonNull(pool, "Pool");
+    Objects.requireNonNull(generator, "Generator");
+    checkLimits(count, max_counterexamples);
+
+    final Object[] values =
+      pool.submit(() -> IntStream.range(0, count)
+        .parallel()
+        .mapToObj(generator)
+        .toArray())
+        .join();
+
+    return checkInstances(pool, Arrays.asList(values), max_counterexamples);
+  }
+
+  private static void checkLimits(
+    final int count,
+    final int max_counterexamples)
+  {
+    if (count < 0 || count > MAX_INSTANCES) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Instance count %d must be in the range [0, %d]",
+          Integer.valueOf(count),
+          Integer.valueOf(MAX_INSTANCES)));
+    }
+    if (max_counterexamples < 0) {
+      throw new IllegalArgumentException(
+        "Maximum counterexample count must be non-negative");
+    }
+  }
+
+  /**
+   * The counterexamples found for a single instance.
+   */
+
+  private static final class RowResult
+  {
+    private final List<EqualityContractCounterexample> found;
+    private final int max;
+    private long violations;
+
+    RowResult(
+      final int in_max)
+    {
+      this.max = in_max;
+      this.found = new ArrayList<>();
+      this.violations = 0L;
+    }
+
+    void add(
+      final ContractViolation violation,
+      final int x,
+      final int y,
+      final int z)
+    {
+      this.violations = this.violations + 1L;
+      if (this.found.size() < this.max) {
+        this.found.add(new EqualityContractCounterexample(violation, x, y, z));
+      }
+    }
+  }
+
+  private static final class Check
+  {
+    private final Object[] values;
+    private final int max;
+    private final int words;
+    private int[] hashes;
+    private long[][] rows;
+
+    Check(
+      final Object[] in_values,
+      final int in_max)
+    {
+      this.values = in_values;
+      this.max = in_max;
+      this.words = (in_values.length + 63) >>> 6;
+    }
+
+    private static boolean bit(
+      final long[] row,
+      final int index)
+    {
+      return (row[index >>> 6] & (1L << index)) != 0L;
+    }
+
+    private static int first(
+      final long[] row)
+    {
+      for (int word = 0; word < row.length; ++word) {
+        if (row[word] != 0L) {
+          return (word << 6) + Long.numberOfTrailingZeros(row[word]);
+        }
+      }
+      return -1;
+    }
+
+    EqualityContractReport run()
+    {
+      final int count = this.values.length;
+
+      this.hashes = IntStream.range(0, count)
+        .parallel()
+        .map(index -> this.values[index].hashCode())
+        .toArray();
+      this.rows = IntStream.range(0, count)
+        .parallel()
+        .mapToObj(this::compareRow)
+        .toArray(long[][]::new);
+
+      final List<RowResult> results = IntStream.range(0, count)
+        .parallel()
+        .mapToObj(this::checkRow)
+        .collect(Collectors.toList());
+
+      final List<EqualityContractCounterexample> found = new ArrayList<>();
+      long violations = 0L;
+      for (final RowResult result : results) {
+        violations += result.violations;
+        final List<EqualityContractCounterexample> row_found = result.found;
+        for (final EqualityContractCounterexample e : row_found) {
+          if (found.size() < this.max) {
+            found.add(e);
+          }
+        }
+      }
+
+      return new EqualityContractReport(
+        count, (long) count * (long) count, violations, found);
+    }
+
+    private long[] compareRow(
+      final int x)
+    {
+      final Object value = this.values[x];
+      final long[] row = new long[this.words];
+      for (int y = 0; y < this.values.length; ++y) {
+        if (value.equals(this.values[y])) {
+          row[y >>> 6] |= 1L << y;
+        }
+      }
+      return row;
+    }
+
+    private RowResult checkRow(
+      final int x)
+    {
+      final RowResult result = new RowResult(this.max);
+      final long[] row = this.rows[x];
+
+      if (this.values[x].equals(null)) {
+        result.add(ContractViolation.CONTRACT_ERROR_EQUALS_NULL, x, -1, -1);
+      }
+      if (!bit(row, x)) {
+        result.add(ContractViolation.CONTRACT_ERROR_NOT_REFLEXIVE, x, -1, -1);
+      }
+
+      this.checkPairs(result, x);
+      this.checkTransitive(result, x);
+      return result;
+    }
+
+    private void checkPairs(
+      final RowResult result,
+      final int x)
+    {
+      final long[] row = this.rows[x];
+      for (int y = x + 1; y < this.values.length; ++y) {
+        final boolean xy = bit(row, y);
+        final boolean yx = bit(this.rows[y], x);
+        if (xy != yx) {
+          result.add(ContractViolation.CONTRACT_ERROR_NOT_SYMMETRIC, x, y, -1);
+        }
+        if ((xy || yx) && this.hashes[x] != this.hashes[y]) {
+          result.add(
+            ContractViolation.CONTRACT_ERROR_INCONSISTENT_HASHCODE, x, y, -1);
+        }
+      }
+    }
+
+    /**
+     * If {@code equals} is an equivalence relation, then every instance has
+     * exactly the same row as the first instance to which it is equal. Any
+     * index at which the rows differ yields a counterexample.
+     */
+
+    private void checkTransitive(
+      final RowResult result,
+      final int x)
+    {
+      final long[] row = this.rows[x];
+      final int first = first(row);
+      if (first < 0 || first == x) {
+        return;
+      }
+
+      final long[] first_row = this.rows[first];
+      final boolean first_x = bit(first_row, x);
+      for (int word = 0; word < this.words; ++word) {
+        long missing = first_row[word] & ~row[word];
+        while (missing != 0L) {
+          final int z = (word << 6) + Long.numberOfTrailingZeros(missing);
+          result.add(
+            ContractViolation.CONTRACT_ERROR_NOT_TRANSITIVE, x, first, z);
+          missing &= missing - 1L;
+        }
+
+        if (first_x) {
+          long extra = row[word] & ~first_row[word];
+          while (extra != 0L) {
+            final int z = (word << 6) + Long.numberOfTrailingZeros(extra);
+            result.add(
+              ContractViolation.CONTRACT_ERROR_NOT_TRANSITIVE, first, x, z);
+            extra &= extra - 1L;
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+import java.util.Objects;
+
+/**
+ * A counterexample to the equality contract. The instances involved are
+ * identified by their indices in the checked sequence of instances; indices
+ * that are not relevant to the kind of violation are {@code -1}.
+ *
+ * @param violation The kind of violation
+ * @param x         The index of the first instance
+ * @param y         The index of the second instance, or {@code -1}
+ * @param z         The index of the third instance, or {@code -1}
+ */
+
+@EqualityStructural
+public record EqualityContractCounterexample(
+  ContractViolation violation,
+  int x,
+  int y,
+  int z)
+{
+  /**
+   * A counterexample to the equality contract.
+   */
+
+  public EqualityContractCounterexample
+  {
+    Objects.requireNonNull(violation, "Violation");
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of checking the equality contract over a set of instances.
+ *
+ * @param instances       The number of instances checked
+ * @param pairs           The number of ordered pairs of instances compared
+ * @param violations      The total number of violations found
+ * @param counterexamples The recorded counterexamples; at most the maximum
+ *                        number requested, in order of the index of their
+ *                        first instance
+ */
+
+@EqualityStructural
+public record EqualityContractReport(
+  int instances,
+  long pairs,
+  long violations,
+  List<EqualityContractCounterexample> counterexamples)
+{
+  /**
+   * The result of checking the equality contract over a set of instances.
+   */
+
+  public EqualityContractReport
+  {
+    counterexamples =
+      List.copyOf(Objects.requireNonNull(counterexamples, "Counterexamples"));
+  }
+
+  /**
+   * @return {@code true} if no violations were found
+   */
+
+  public boolean isSuccessful()
+  {
+    return this.violations == 0L;
+  }
+}
@@ -18,10 +18,22 @@ package com.io7m.jequality.validator;
 
 import com.io7m.jequality.annotations.EqualityReference;
 import com.io7m.jequality.annotations.EqualityStructural;
+import com.io7m.jequality.internal.Instrumentation;
 import com.io7m.junreachable.UnreachableCodeException;
 
-import java.lang.reflect.Method;
+import java.io.IOException;
+import java.lang.module.ModuleReader;
+import java.lang.module.ResolvedModule;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p> A validator that examines a class and tries to determine whether the
@@ -39,13 +51,63 @@ import java.util.Objects;
 
 public final class EqualityValidator
 {
+  /**
+   * The results of validating each class, for every combination of
+   * annotation requirement and hash code checking. The results are stored
+   * with the class itself by the {@link ClassValue} mechanism, and so they
+   * do not prevent the class from being unloaded.
+   */
+
+  private static final ClassValue<ValidatorResult[]> RESULTS =
+    new ClassValue<>()
+    {
+      @Override
+      protected ValidatorResult[] computeValue(
+        final Class<?> type)
+      {
+        return validateClassAll(type);
+      }
+    };
+
   private EqualityValidator()
   {
     throw new UnreachableCodeException();
   }
 
+  private static ValidatorResult[] validateClassAll(
+    final Class<?> type)
+  {
+    final Instrumentation.Validation validation =
+      Instrumentation.validationStart(type);
+    final AnnotationRequirement[] requirements =
+      AnnotationRequirement.values();
+    final ValidatorResult[] results =
+      new ValidatorResult[requirements.length * 2];
+
+    for (final AnnotationRequirement requirement : requirements) {
+      results[resultIndex(requirement, false)] =
+        validateClassUncached(type, requirement, false);
+      results[resultIndex(requirement, true)] =
+        validateClassUncached(type, requirement, true);
+    }
+    validation.end();
+    return results;
+  }
+
+  private static int resultIndex(
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+  {
+    return (requirement.ordinal() * 2) + (check_hashcode ? 1 : 0);
+  }
+
   /**
-   * Validate the given class according to the annotation requirements.
+   * <p> Validate the given class according to the annotation requirements.
+   * </p>
+   *
+   * <p> The class is examined once, the first time it is validated. The
+   * results are cached for the lifetime of the class, and so subsequent
+   * validations of the same class do not allocate. </p>
    *
    * @param c              The class
    * @param requirement    The annotation requirements
@@ -63,6 +125,222 @@ public final class EqualityValidator
     Objects.requireNonNull(c, "Class");
     Objects.requireNonNull(requirement, "Requirement");
 
+    return RESULTS.get(c)[resultIndex(requirement, check_hashcode)];
+  }
+
+  /**
+   * Validate the given classes in parallel using the common fork/join pool.
+   *
+   * @param classes        The classes
+   * @param requirement    The annotation requirements
+   * @param check_hashcode {@code true} if {@code hashCode} methods should be
+   *                       checked for consistency
+   *
+   * @return The result for each class, in iteration order
+   *
+   * @see #validateClasses(ForkJoinPool, Iterable, AnnotationRequirement,
+   * boolean)
+   */
+
+  public static Map<Class<?>, ValidatorResult> validateClasses(
+    final Iterable<? extends Class<?>> classes,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+  {
+    return validateClasses(
+      ForkJoinPool.commonPool(), classes, requirement, check_hashcode);
+  }
+
+  /**
+   * <p> Validate the given classes in parallel on the given pool. </p>
+   *
+   * <p> Each class is validated as if by {@link #validateClass(Class,
+   * AnnotationRequirement, boolean)}, and so classes that have already been
+   * validated are not examined again. Classes that appear more than once are
+   * reported once. </p>
+   *
+   * @param pool           The fork/join pool
+   * @param classes        The classes
+   * @param requirement    The annotation requirements
+   * @param check_hashcode {@code true} if {@code hashCode} methods should be
+   *                       checked for consistency
+   *
+   * @return The result for each class, in iteration order
+   */
+
+  public static Map<Class<?>, ValidatorResult> validateClasses(
+    final ForkJoinPool pool,
+    final Iterable<? extends Class<?>> classes,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+  {
+    Objects.requireNonNull(pool, "Pool");
+    Objects.requireNonNull(classes, "Classes");
+    Objects.requireNonNull(requirement, "Requirement");
+
+    final List<Class<?>> list = new ArrayList<>();
+    for (final Class<?> c : classes) {
+      list.add(Objects.requireNonNull(c, "Class"));
+    }
+
+    final Map<Class<?>, ValidatorResult> results =
+      pool.submit(() -> list.parallelStream()
+        .collect(Collectors.toMap(
+          Function.identity(),
+          c -> validateClass(c, requirement, check_hashcode),
+          (x, y) -> x,
+          LinkedHashMap::new)))
+        .join();
+
+    return Collections.unmodifiableMap(results);
+  }
+
+  /**
+   * <p> Validate every class in the given named module in parallel using the
+   * common fork/join pool. </p>
+   *
+   * <p> The classes are listed from the contents of the module and are loaded
+   * without being initialized. The {@code module-info} and {@code
+   * package-info} classes are not validated. </p>
+   *
+   * @param module         The module
+   * @param requirement    The annotation requirements
+   * @param check_hashcode {@code true} if {@code hashCode} methods should be
+   *                       checked for consistency
+   *
+   * @return The result for each class
+   *
+   * @throws IOException              On errors reading the module contents
+   * @throws IllegalArgumentException If the module is not a named module
+   */
+
+  public static Map<Class<?>, ValidatorResult> validateModule(
+    final Module module,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+    throws IOException
+  {
+    return validateClasses(
+      classesOf(module, null), requirement, check_hashcode);
+  }
+
+  /**
+   * <p> Validate every class in the given package of the given named module
+   * in parallel using the common fork/join pool. Classes in subpackages are
+   * not included. </p>
+   *
+   * @param module         The module
+   * @param package_name   The fully qualified package name
+   * @param requirement    The annotation requirements
+   * @param check_hashcode {@code true} if {@code hashCode} methods should be
+   *                       checked for consistency
+   *
+   * @return The result for each class
+   *
+   * @throws IOException              On errors reading the module contents
+   * @throws IllegalArgumentException If the module is not a named module, or
+   *                                  does not contain the package
+   * @see #validateModule(Module, AnnotationRequirement, boolean)
+   */
+
+  public static Map<Class<?>, ValidatorResult> validatePackage(
+    final Module module,
+    final String package_name,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+    throws IOException
+  {
+    Objects.requireNonNull(package_name, "Package");
+
+    if (!Objects.requireNonNull(module, "Module")
+      .getPackages().contains(package_name)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Module %s does not contain package %s",
+          module.getName(),
+          package_name));
+    }
+
+    return validateClasses(
+      classesOf(module, package_name), requirement, check_hashcode);
+  }
+
+  /**
+   * List the classes of the given module, optionally restricted to a single
+   * package.
+   */
+
+  private static List<Class<?>> classesOf(
+    final Module module,
+    final String package_name)
+    throws IOException
+  {
+    Objects.requireNonNull(module, "Module");
+
+    if (!module.isNamed() || module.getLayer() == null) {
+      throw new IllegalArgumentException(
+        String.format("Module %s is not a named module", module));
+    }
+
+    final ResolvedModule resolved =
+      module.getLayer()
+        .configuration()
+        .findModule(module.getName())
+        .orElseThrow(() -> new IllegalArgumentException(
+          String.format("Module %s is not resolved", module.getName())));
+
+    final List<String> names;
+    try (ModuleReader reader = resolved.reference().open()) {
+      try (Stream<String> resources = reader.list()) {
+        names = resources.filter(EqualityValidator::isClassFile)
+          .map(EqualityValidator::binaryNameOf)
+          .filter(name -> isInPackage(name, package_name))
+          .collect(Collectors.toList());
+      }
+    }
+
+    final List<Class<?>> classes = new ArrayList<>(names.size());
+    for (final String name : names) {
+      final Class<?> c = Class.forName(module, name);
+      if (c != null) {
+        classes.add(c);
+      }
+    }
+    return classes;
+  }
+
+  private static boolean isClassFile(
+    final String resource)
+  {
+    return resource.endsWith(".class")
+      && !resource.endsWith("module-info.class")
+      && !resource.endsWith("package-info.class");
+  }
+
+  private static String binaryNameOf(
+    final String resource)
+  {
+    return resource.substring(0, resource.length() - ".class".length())
+      .replace('/', '.');
+  }
+
+  private static boolean isInPackage(
+    final String name,
+    final String package_name)
+  {
+    if (package_name == null) {
+      return true;
+    }
+    final int dot = name.lastIndexOf('.');
+    final String name_package = dot < 0 ? "" : name.substring(0, dot);
+    return name_package.equals(package_name);
+  }
+
+  private static ValidatorResult validateClassUncached(
+    final Class<?> c,
+    final AnnotationRequirement requirement,
+    final boolean check_hashcode)
+  {
     final EqualityReference er = c.getAnnotation(EqualityReference.class);
     if (er != null) {
       return validateClassReferenceEquality(c, check_hashcode);
@@ -80,35 +358,39 @@ public final class EqualityValidator
     return ValidatorResult.VALIDATION_OK;
   }
 
+  /**
+   * Find the class that declares the public method {@code name} with the
+   * given parameter types, as seen from {@code c}.
+   *
+   * @return The declaring class, or {@code null} if there is no such method
+   */
+
+  private static Class<?> declaringClassOf(
+    final Class<?> c,
+    final String name,
+    final Class<?>... parameters)
+  {
+    try {
+      return c.getMethod(name, parameters).getDeclaringClass();
+    } catch (final NoSuchMethodException e) {
+      return null;
+    }
+  }
+
   private static ValidatorResult validateClassReferenceEquality(
     final Class<?> c,
     final boolean check_hashcode)
   {
-    boolean equals_ok = false;
-    boolean hashcode_ok = false;
+    final Class<?> equals_class =
+      declaringClassOf(c, "equals", Object.class);
 
-    final Method[] ms = c.getMethods();
-    for (final Method m : ms) {
-      if (Objects.equals("equals", m.getName())) {
-        if (Objects.equals(m.getDeclaringClass(), Object.class)) {
-          equals_ok = true;
-        }
-      }
-      if (Objects.equals("hashCode", m.getName())) {
-        if (check_hashcode) {
-          if (Objects.equals(m.getDeclaringClass(), Object.class)) {
-            hashcode_ok = true;
-          }
-        }
-      }
-    }
-
-    if (!equals_ok) {
+    if (!Objects.equals(equals_class, Object.class)) {
       return ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY;
     }
 
     if (check_hashcode) {
-      if (!hashcode_ok) {
+      final Class<?> hashcode_class = declaringClassOf(c, "hashCode");
+      if (!Objects.equals(hashcode_class, Object.class)) {
         return ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE;
       }
     }
@@ -120,31 +402,17 @@ public final class EqualityValidator
     final Class<?> c,
     final boolean check_hashcode)
   {
-    boolean equals_ok = false;
-    boolean hashcode_ok = false;
-
-    final Method[] ms = c.getMethods();
-    for (final Method m : ms) {
-      if (Objects.equals("equals", m.getName())) {
-        if (!Objects.equals(m.getDeclaringClass(), Object.class)) {
-          equals_ok = true;
-        }
-      }
-      if (Objects.equals("hashCode", m.getName())) {
-        if (check_hashcode) {
-          if (!Objects.equals(m.getDeclaringClass(), Object.class)) {
-            hashcode_ok = true;
-          }
-        }
-      }
-    }
+    final Class<?> equals_class =
+      declaringClassOf(c, "equals", Object.class);
 
-    if (!equals_ok) {
+    if (equals_class == null || Objects.equals(equals_class, Object.class)) {
       return ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY;
     }
 
     if (check_hashcode) {
-      if (!hashcode_ok) {
+      final Class<?> hashcode_class = declaringClassOf(c, "hashCode");
+      if (hashcode_class == null
+        || Objects.equals(hashcode_class, Object.class)) {
         return ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE;
       }
     }
@@ -0,0 +1,248 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p> An analyzer that estimates how well the {@code hashCode} method of a
+ * class distributes a set of sample instances. A class can pass {@link
+ * EqualityValidator} and still make a poor hash table key if its hash codes
+ * cluster. </p>
+ *
+ * <p> Instances are first deduplicated: they are sorted by hash code, and
+ * {@code equals} is called only between instances with equal hash codes. The
+ * first of each set of equal instances is kept, in sample order. The analyzer
+ * then reports the number of hash collisions between distinct instances, the
+ * occupancy of the buckets of hash tables of every power-of-two size from
+ * {@code 16} up to the capacity that {@link java.util.HashMap} would choose
+ * for the instances, the bias of each bit of the hash codes, and an estimate
+ * of avalanche. The estimate of avalanche assumes that consecutive samples
+ * are small perturbations of each other (for example, instances generated
+ * from consecutive integers), and measures the fraction of hash code bits
+ * that change between them. </p>
+ */
+
+public final class HashCodeAnalyzer
+{
+  private static final int MIN_BUCKETS = 16;
+
+  private HashCodeAnalyzer()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Analyze the hash codes of the given sample instances.
+   *
+   * @param instances The sample instances
+   *
+   * @return A report of the hash code distribution
+   */
+
+  public static HashCodeReport analyze(
+    final List<?> instances)
+  {
+    Objects.requireNonNull(instances, "Instances");
+
+    final Object[] values = instances.toArray();
+    final int[] sample_hashes = new int[values.length];
+    for (int index = 0; index < values.length; ++index) {
+      sample_hashes[index] =
+        Objects.requireNonNull(values[index], "Instance").hashCode();
+    }
+
+    final boolean[] duplicate = duplicates(values, sample_hashes);
+    int count = 0;
+    for (final boolean d : duplicate) {
+      count += d ? 0 : 1;
+    }
+
+    final int[] hashes = new int[count];
+    int output = 0;
+    for (int index = 0; index < values.length; ++index) {
+      if (!duplicate[index]) {
+        hashes[output] = sample_hashes[index];
+        ++output;
+      }
+    }
+
+    return new HashCodeReport(
+      count,
+      collisions(hashes),
+      buckets(hashes),
+      maxBitBias(hashes),
+      avalanche(hashes));
+  }
+
+  /**
+   * Find the instances that are equal to an earlier instance. The instances
+   * are sorted by hash code (with the original index as the low half of each
+   * sort key), and {@code equals} is only called on instances within runs of
+   * equal hash codes.
+   *
+   * @return An array marking the instances that are duplicates
+   */
+
+  private static boolean[] duplicates(
+    final Object[] values,
+    final int[] hashes)
+  {
+    final long[] order = new long[values.length];
+    for (int index = 0; index < values.length; ++index) {
+      order[index] = ((long) hashes[index] << 32) | (long) index;
+    }
+    Arrays.sort(order);
+
+    final boolean[] duplicate = new boolean[values.length];
+    int start = 0;
+    while (start < order.length) {
+      final long hash = order[start] >> 32;
+      int end = start + 1;
+      while (end < order.length && order[end] >> 32 == hash) {
+        ++end;
+      }
+      markDuplicates(values, order, start, end, duplicate);
+      start = end;
+    }
+    return duplicate;
+  }
+
+  private static void markDuplicates(
+    final Object[] values,
+    final long[] order,
+    final int start,
+    final int end,
+    final boolean[] duplicate)
+  {
+    for (int current = start + 1; current < end; ++current) {
+      final Object value = values[(int) order[current]];
+      for (int earlier = start; earlier < current; ++earlier) {
+        final int index = (int) order[earlier];
+        if (!duplicate[index] && value.equals(values[index])) {
+          duplicate[(int) order[current]] = true;
+          break;
+        }
+      }
+    }
+  }
+
+  private static int collisions(
+    final int[] hashes)
+  {
+    if (hashes.length == 0) {
+      return 0;
+    }
+
+    final int[] sorted = hashes.clone();
+    Arrays.sort(sorted);
+    int result = 0;
+    for (int index = 1; index < sorted.length; ++index) {
+      if (sorted[index] == sorted[index - 1]) {
+        ++result;
+      }
+    }
+    return result;
+  }
+
+  private static List<HashCodeBucketStatistics> buckets(
+    final int[] hashes)
+  {
+    final long wanted = (long) Math.ceil(hashes.length / 0.75);
+    final List<HashCodeBucketStatistics> results = new ArrayList<>();
+    long size = MIN_BUCKETS;
+    while (true) {
+      results.add(bucketsAt(hashes, (int) size));
+      if (size >= wanted || size >= (1 << 30)) {
+        break;
+      }
+      size *= 2L;
+    }
+    return results;
+  }
+
+  private static HashCodeBucketStatistics bucketsAt(
+    final int[] hashes,
+    final int size)
+  {
+    final int[] occupancy = new int[size];
+    final int mask = size - 1;
+    for (final int hash : hashes) {
+      ++occupancy[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    final double mean = (double) hashes.length / (double) size;
+    double sum = 0.0;
+    int maximum = 0;
+    for (final int entries : occupancy) {
+      final double delta = (double) entries - mean;
+      sum += delta * delta;
+      maximum = Math.max(maximum, entries);
+    }
+
+    final double p = 1.0 / (double) size;
+    return new HashCodeBucketStatistics(
+      size,
+      mean,
+      sum / (double) size,
+      (double) hashes.length * p * (1.0 - p),
+      maximum);
+  }
+
+  private static double maxBitBias(
+    final int[] hashes)
+  {
+    if (hashes.length == 0) {
+      return 0.0;
+    }
+
+    final int[] ones = new int[Integer.SIZE];
+    for (final int hash : hashes) {
+      for (int bit = 0; bit < Integer.SIZE; ++bit) {
+        ones[bit] += (hash >>> bit) & 1;
+      }
+    }
+
+    double result = 0.0;
+    for (final int bit_ones : ones) {
+      final double fraction = (double) bit_ones / (double) hashes.length;
+      result = Math.max(result, Math.abs(fraction - 0.5));
+    }
+    return result;
+  }
+
+  private static double avalanche(
+    final int[] hashes)
+  {
+    if (hashes.length < 2) {
+      return 0.0;
+    }
+
+    long changed = 0L;
+    for (int index = 1; index < hashes.length; ++index) {
+      changed += Integer.bitCount(hashes[index] ^ hashes[index - 1]);
+    }
+    return (double) changed
+      / ((double) (hashes.length - 1) * (double) Integer.SIZE);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+/**
+ * The occupancy of the buckets of a hash table of a given size, with hash
+ * codes spread and masked in the same way as {@link java.util.HashMap}.
+ *
+ * @param buckets          The number of buckets
+ * @param mean             The mean number of entries per bucket
+ * @param variance         The variance of the number of entries per bucket
+ * @param expectedVariance The variance expected of uniformly distributed
+ *                         hash codes
+ * @param maximum          The largest number of entries in any bucket
+ */
+
+@EqualityStructural
+public record HashCodeBucketStatistics(
+  int buckets,
+  double mean,
+  double variance,
+  double expectedVariance,
+  int maximum)
+{
+  /**
+   * @return The ratio of the observed variance to the expected variance;
+   * values much larger than {@code 1.0} indicate clustering
+   */
+
+  public double dispersion()
+  {
+    if (this.expectedVariance == 0.0) {
+      return this.variance == 0.0 ? 1.0 : Double.POSITIVE_INFINITY;
+    }
+    return this.variance / this.expectedVariance;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.validator;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of analyzing the hash codes of a set of sample instances.
+ *
+ * @param instances  The number of distinct (by {@code equals}) instances
+ * @param collisions The number of distinct instances whose hash code was
+ *                   already taken by another distinct instance
+ * @param buckets    The bucket statistics at each table size
+ * @param maxBitBias The largest deviation from {@code 0.5} of the fraction of
+ *                   hash codes with any single bit set
+ * @param avalanche  The mean fraction of hash code bits that differ between
+ *                   consecutive distinct instances; ideally {@code 0.5}
+ */
+
+@EqualityStructural
+public record HashCodeReport(
+  int instances,
+  int collisions,
+  List<HashCodeBucketStatistics> buckets,
+  double maxBitBias,
+  double avalanche)
+{
+  /**
+   * The largest tolerated collision rate for {@link #isSuitableAsKey()}.
+   */
+
+  public static final double MAX_COLLISION_RATE = 0.01;
+
+  /**
+   * The largest tolerated dispersion for {@link #isSuitableAsKey()}.
+   */
+
+  public static final double MAX_DISPERSION = 2.0;
+
+  /**
+   * The result of analyzing the hash codes of a set of sample instances.
+   */
+
+  public HashCodeReport
+  {
+    buckets = List.copyOf(Objects.requireNonNull(buckets, "Buckets"));
+  }
+
+  /**
+   * @return The fraction of distinct instances that collided
+   */
+
+  public double collisionRate()
+  {
+    if (this.instances == 0) {
+      return 0.0;
+    }
+    return (double) this.collisions / (double) this.instances;
+  }
+
+  /**
+   * @return The largest dispersion of any of the table sizes
+   */
+
+  public double maxDispersion()
+  {
+    double result = 0.0;
+    for (final HashCodeBucketStatistics b : this.buckets) {
+      result = Math.max(result, b.dispersion());
+    }
+    return result;
+  }
+
+  /**
+   * @return {@code true} if the collision rate is at most {@link
+   * #MAX_COLLISION_RATE} and the dispersion at every table size is at most
+   * {@link #MAX_DISPERSION}
+   */
+
+  public boolean isSuitableAsKey()
+  {
+    return this.collisionRate() <= MAX_COLLISION_RATE
+      && this.maxDispersion() <= MAX_DISPERSION;
+  }
+}
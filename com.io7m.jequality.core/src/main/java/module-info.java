@@ -20,8 +20,10 @@ module com.io7m.jequality.core
   requires static org.osgi.annotation.versioning;
 
   requires com.io7m.junreachable.core;
+  requires jdk.jfr;
 
   exports com.io7m.jequality;
   exports com.io7m.jequality.annotations;
+  exports com.io7m.jequality.metrics;
   exports com.io7m.jequality.validator;
 }
\ No newline at end of file
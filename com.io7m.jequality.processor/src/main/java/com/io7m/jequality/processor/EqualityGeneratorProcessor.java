@@ -0,0 +1,480 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.processor;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p> An annotation processor that generates {@code equals} and {@code
+ * hashCode} helpers for classes annotated with {@link
+ * com.io7m.jequality.annotations.EqualityStructural}. </p>
+ *
+ * <p> Generation is disabled unless the {@value #OPTION_GENERATE} option is
+ * set to {@code true}. For an annotated class {@code C}, a package-private
+ * class {@code CEquality} is generated in the same package (nested classes
+ * use the names of the enclosing classes separated by underscores, such as
+ * {@code Outer_InnerEquality}) with the following methods: </p>
+ *
+ * <ul>
+ *   <li>{@code static boolean equals(C self, Object other)}</li>
+ *   <li>{@code static int hashCode(C self)}</li>
+ * </ul>
+ *
+ * <p> The helpers compare every non-static field declared by the class (or
+ * every component, for records). Superclass fields are not compared. Fields of
+ * primitive types are compared before fields of reference types, as they are
+ * cheaper to compare. {@code float} and {@code double} fields are compared by
+ * their bit patterns as given by {@link Float#floatToIntBits(float)} and
+ * {@link Double#doubleToLongBits(double)}, matching {@link Float#equals(Object)}
+ * and {@link Double#equals(Object)}: {@code NaN} is equal to itself, and
+ * {@code 0.0} is not equal to {@code -0.0}. Arrays are compared by content.
+ * Neither helper allocates. </p>
+ *
+ * <p> The generated code accesses non-private fields directly. A {@code
+ * private} field {@code f} is read through a non-private, non-static accessor
+ * method of the same class that takes no arguments and returns the type of
+ * the field, named {@code f()}, {@code getF()}, or (for {@code boolean}
+ * fields) {@code isF()}. Record components are read through their accessor
+ * methods. Private fields without accessors are reported as errors. </p>
+ */
+
+@EqualityReference
+@SupportedAnnotationTypes("com.io7m.jequality.annotations.EqualityStructural")
+@SupportedOptions(EqualityGeneratorProcessor.OPTION_GENERATE)
+public final class EqualityGeneratorProcessor extends AbstractProcessor
+{
+  /**
+   * The option that enables generation.
+   */
+
+  public static final String OPTION_GENERATE =
+    "com.io7m.jequality.generate";
+
+  private boolean enabled;
+
+  /**
+   * Construct a processor.
+   */
+
+  public EqualityGeneratorProcessor()
+  {
+    this.enabled = false;
+  }
+
+  @Override
+  public synchronized void init(
+    final ProcessingEnvironment env)
+  {
+    super.init(env);
+
+    final String text = env.getOptions().get(OPTION_GENERATE);
+    this.enabled = text != null && Boolean.parseBoolean(text.trim());
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion()
+  {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(
+    final Set<? extends TypeElement> annotations,
+    final RoundEnvironment round)
+  {
+    if (!this.enabled) {
+      return false;
+    }
+
+    for (final TypeElement annotation : annotations) {
+      final Set<TypeElement> types =
+        ElementFilter.typesIn(round.getElementsAnnotatedWith(annotation));
+      for (final TypeElement type : types) {
+        if (type.getKind().isClass()) {
+          this.generate(type);
+        }
+      }
+    }
+    return false;
+  }
+
+  private void generate(
+    final TypeElement type)
+  {
+    final List<Member> members = this.membersOf(type);
+    if (members == null) {
+      return;
+    }
+
+    final PackageElement package_element =
+      this.processingEnv.getElementUtils().getPackageOf(type);
+    final String package_name =
+      package_element.getQualifiedName().toString();
+    final String helper = helperNameOf(type);
+    final String qualified =
+      package_name.isEmpty() ? helper : package_name + "." + helper;
+
+    try (Writer writer =
+           this.processingEnv.getFiler()
+             .createSourceFile(qualified, type)
+             .openWriter();
+         PrintWriter output = new PrintWriter(writer)) {
+      writeHelper(output, package_name, helper, type, members);
+    } catch (final IOException e) {
+      this.processingEnv.getMessager().printMessage(
+        Diagnostic.Kind.ERROR,
+        String.format("Unable to write %s: %s", qualified, e.getMessage()),
+        type);
+    }
+  }
+
+  private static String helperNameOf(
+    final TypeElement type)
+  {
+    final StringBuilder name = new StringBuilder(64);
+    Element current = type;
+    while (current instanceof TypeElement) {
+      if (name.length() > 0) {
+        name.insert(0, '_');
+      }
+      name.insert(0, current.getSimpleName());
+      current = current.getEnclosingElement();
+    }
+    name.append("Equality");
+    return name.toString();
+  }
+
+  /**
+   * Determine the members compared by the helpers, reporting errors for
+   * members that cannot be accessed.
+   *
+   * @return The members, or {@code null} on errors
+   */
+
+  private List<Member> membersOf(
+    final TypeElement type)
+  {
+    if (type.getModifiers().contains(Modifier.PRIVATE)) {
+      this.processingEnv.getMessager().printMessage(
+        Diagnostic.Kind.ERROR,
+        "Equality helpers cannot be generated for private classes",
+        type);
+      return null;
+    }
+
+    final List<Member> primitives = new ArrayList<>();
+    final List<Member> references = new ArrayList<>();
+
+    if (type.getKind() == ElementKind.RECORD) {
+      final List<? extends RecordComponentElement> components =
+        type.getRecordComponents();
+      for (final RecordComponentElement component : components) {
+        addMember(
+          primitives,
+          references,
+          component.getSimpleName() + "()",
+          component.asType());
+      }
+    } else {
+      boolean failed = false;
+      final List<VariableElement> fields =
+        ElementFilter.fieldsIn(type.getEnclosedElements());
+      for (final VariableElement field : fields) {
+        final Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.STATIC)) {
+          continue;
+        }
+
+        final String access;
+        if (modifiers.contains(Modifier.PRIVATE)) {
+          access = this.accessorOf(type, field);
+          if (access == null) {
+            this.processingEnv.getMessager().printMessage(
+              Diagnostic.Kind.ERROR,
+              "Equality helpers cannot access private fields that do not "
+                + "have non-private accessor methods",
+              field);
+            failed = true;
+            continue;
+          }
+        } else {
+          access = field.getSimpleName().toString();
+        }
+        addMember(primitives, references, access, field.asType());
+      }
+      if (failed) {
+        return null;
+      }
+    }
+
+    final List<Member> members = new ArrayList<>(primitives);
+    members.addAll(references);
+    return members;
+  }
+
+  /**
+   * Find an accessor method for the private field {@code field}.
+   *
+   * @return An expression that calls the accessor, or {@code null} if there
+   * is no usable accessor
+   */
+
+  private String accessorOf(
+    final TypeElement type,
+    final VariableElement field)
+  {
+    final String name = field.getSimpleName().toString();
+    final String suffix =
+      Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    final TypeMirror field_type = field.asType();
+
+    final List<String> names = new ArrayList<>(3);
+    names.add(name);
+    names.add("get" + suffix);
+    if (field_type.getKind() == TypeKind.BOOLEAN) {
+      names.add("is" + suffix);
+    }
+
+    final Types types = this.processingEnv.getTypeUtils();
+    final List<ExecutableElement> methods =
+      ElementFilter.methodsIn(type.getEnclosedElements());
+    for (final String candidate : names) {
+      for (final ExecutableElement method : methods) {
+        if (method.getSimpleName().contentEquals(candidate)
+          && isAccessor(method)
+          && types.isSameType(method.getReturnType(), field_type)) {
+          return candidate + "()";
+        }
+      }
+    }
+    return null;
+  }
+
+  private static boolean isAccessor(
+    final ExecutableElement method)
+  {
+    final Set<Modifier> modifiers = method.getModifiers();
+    return method.getParameters().isEmpty()
+      && !modifiers.contains(Modifier.PRIVATE)
+      && !modifiers.contains(Modifier.STATIC);
+  }
+
+  private static void addMember(
+    final List<Member> primitives,
+    final List<Member> references,
+    final String access,
+    final TypeMirror type)
+  {
+    final Member member = new Member(access, type, primitives.size()
+      + references.size());
+    if (type.getKind().isPrimitive()) {
+      primitives.add(member);
+    } else {
+      references.add(member);
+    }
+  }
+
+  private static void writeHelper(
+    final PrintWriter output,
+    final String package_name,
+    final String helper,
+    final TypeElement type,
+    final List<Member> members)
+  {
+    final String target = targetTypeOf(type);
+
+    if (!package_name.isEmpty()) {
+      output.printf("package %s;%n%n", package_name);
+    }
+
+    output.println("/**");
+    output.printf(
+      " * Equality functions for {@link %s}.%n",
+      type.getQualifiedName());
+    output.println(" *");
+    output.printf(
+      " * Generated by %s. Do not edit.%n",
+      EqualityGeneratorProcessor.class.getName());
+    output.println(" */");
+    output.println();
+    output.printf("final class %s%n", helper);
+    output.println("{");
+    output.printf("  private %s()%n", helper);
+    output.println("  {");
+    output.println("    throw new AssertionError();");
+    output.println("  }");
+    output.println();
+
+    output.println("  static boolean equals(");
+    output.printf("    final %s self,%n", target);
+    output.println("    final java.lang.Object other)");
+    output.println("  {");
+    output.println("    if (self == other) {");
+    output.println("      return true;");
+    output.println("    }");
+    output.println(
+      "    if (other == null || self.getClass() != other.getClass()) {");
+    output.println("      return false;");
+    output.println("    }");
+    output.println();
+    output.printf("    final %s that = (%s) other;%n", target, target);
+
+    if (members.isEmpty()) {
+      output.println("    return true;");
+    } else {
+      for (int index = 0; index < members.size(); ++index) {
+        output.print(index == 0 ? "    return " : "      && ");
+        output.print(equalsExpression(members.get(index)));
+        output.println(index + 1 == members.size() ? ";" : "");
+      }
+    }
+    output.println("  }");
+    output.println();
+
+    /*
+     * The hash code is computed in declaration order, regardless of the
+     * order in which fields are compared.
+     */
+
+    final List<Member> declared = new ArrayList<>(members);
+    declared.sort((x, y) -> Integer.compare(x.order(), y.order()));
+
+    output.println("  static int hashCode(");
+    output.printf("    final %s self)%n", target);
+    output.println("  {");
+    output.println("    int result = 1;");
+    for (final Member member : declared) {
+      output.printf(
+        "    result = (31 * result) + %s;%n",
+        hashExpression(member));
+    }
+    output.println("    return result;");
+    output.println("  }");
+    output.println("}");
+  }
+
+  private static String targetTypeOf(
+    final TypeElement type)
+  {
+    final int parameters = type.getTypeParameters().size();
+    if (parameters == 0) {
+      return type.getQualifiedName().toString();
+    }
+
+    final StringBuilder text = new StringBuilder(64);
+    text.append(type.getQualifiedName());
+    text.append('<');
+    for (int index = 0; index < parameters; ++index) {
+      text.append(index == 0 ? "?" : ", ?");
+    }
+    text.append('>');
+    return text.toString();
+  }
+
+  private static String equalsExpression(
+    final Member member)
+  {
+    final String x = "self." + member.access();
+    final String y = "that." + member.access();
+
+    return switch (member.type().getKind()) {
+      case FLOAT -> String.format(
+        "java.lang.Float.floatToIntBits(%s) "
+          + "== java.lang.Float.floatToIntBits(%s)", x, y);
+      case DOUBLE -> String.format(
+        "java.lang.Double.doubleToLongBits(%s) "
+          + "== java.lang.Double.doubleToLongBits(%s)", x, y);
+      case BOOLEAN, BYTE, CHAR, SHORT, INT, LONG -> x + " == " + y;
+      case ARRAY -> String.format(
+        "java.util.Arrays.%s(%s, %s)",
+        isPrimitiveArray(member.type()) ? "equals" : "deepEquals", x, y);
+      default -> String.format("java.util.Objects.equals(%s, %s)", x, y);
+    };
+  }
+
+  private static String hashExpression(
+    final Member member)
+  {
+    final String x = "self." + member.access();
+
+    return switch (member.type().getKind()) {
+      case BOOLEAN -> "java.lang.Boolean.hashCode(" + x + ")";
+      case BYTE -> "java.lang.Byte.hashCode(" + x + ")";
+      case CHAR -> "java.lang.Character.hashCode(" + x + ")";
+      case SHORT -> "java.lang.Short.hashCode(" + x + ")";
+      case INT -> "java.lang.Integer.hashCode(" + x + ")";
+      case LONG -> "java.lang.Long.hashCode(" + x + ")";
+      case FLOAT -> "java.lang.Float.hashCode(" + x + ")";
+      case DOUBLE -> "java.lang.Double.hashCode(" + x + ")";
+      case ARRAY -> String.format(
+        "java.util.Arrays.%s(%s)",
+        isPrimitiveArray(member.type()) ? "hashCode" : "deepHashCode", x);
+      default -> "java.util.Objects.hashCode(" + x + ")";
+    };
+  }
+
+  private static boolean isPrimitiveArray(
+    final TypeMirror type)
+  {
+    return type.getKind() == TypeKind.ARRAY
+      && ((ArrayType) type).getComponentType().getKind().isPrimitive();
+  }
+
+  /**
+   * A compared member.
+   *
+   * @param access The expression that reads the member from an instance
+   * @param type   The type of the member
+   * @param order  The declaration order of the member
+   */
+
+  private record Member(
+    String access,
+    TypeMirror type,
+    int order)
+  {
+
+  }
+}
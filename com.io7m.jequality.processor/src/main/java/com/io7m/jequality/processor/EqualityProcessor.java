@@ -0,0 +1,393 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.processor;
+
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.jequality.annotations.EqualityStructural;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.ValidatorResult;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p> An annotation processor that applies the rules of {@link
+ * com.io7m.jequality.validator.EqualityValidator} at compile time. </p>
+ *
+ * <p> Every class, enum, and record type being compiled (including member
+ * types) is examined, and a compilation error is reported for each type that
+ * would not be given {@link ValidatorResult#VALIDATION_OK} by the validator.
+ * Interfaces, annotation types, and local classes are not examined. </p>
+ *
+ * <p> The processor accepts the following options: </p>
+ *
+ * <ul>
+ *   <li>{@value #OPTION_REQUIREMENT}: The name of an {@link
+ *   AnnotationRequirement} value. Defaults to {@link
+ *   AnnotationRequirement#ANNOTATIONS_OPTIONAL}.</li>
+ *   <li>{@value #OPTION_CHECK_HASHCODE}: {@code true} if {@code hashCode}
+ *   methods should be checked for consistency. Defaults to {@code
+ *   true}.</li>
+ * </ul>
+ */
+
+@EqualityReference
+@SupportedAnnotationTypes("*")
+@SupportedOptions({
+  EqualityProcessor.OPTION_REQUIREMENT,
+  EqualityProcessor.OPTION_CHECK_HASHCODE,
+})
+public final class EqualityProcessor extends AbstractProcessor
+{
+  /**
+   * The option that specifies the annotation requirement.
+   */
+
+  public static final String OPTION_REQUIREMENT =
+    "com.io7m.jequality.requirement";
+
+  /**
+   * The option that specifies whether {@code hashCode} methods are checked.
+   */
+
+  public static final String OPTION_CHECK_HASHCODE =
+    "com.io7m.jequality.checkHashCode";
+
+  private final List<String> deferred;
+  private AnnotationRequirement requirement;
+  private boolean check_hashcode;
+
+  /**
+   * Construct a processor.
+   */
+
+  public EqualityProcessor()
+  {
+    this.deferred = new ArrayList<>();
+    this.requirement = AnnotationRequirement.ANNOTATIONS_OPTIONAL;
+    this.check_hashcode = true;
+  }
+
+  @Override
+  public synchronized void init(
+    final ProcessingEnvironment env)
+  {
+    super.init(env);
+
+    final Map<String, String> options = env.getOptions();
+    final Messager messager = env.getMessager();
+
+    final String requirement_text = options.get(OPTION_REQUIREMENT);
+    if (requirement_text != null) {
+      try {
+        this.requirement = AnnotationRequirement.valueOf(
+          requirement_text.trim().toUpperCase(Locale.ROOT));
+      } catch (final IllegalArgumentException e) {
+        messager.printMessage(
+          Diagnostic.Kind.ERROR,
+          String.format(
+            "Unrecognized value for %s: %s (expected one of %s)",
+            OPTION_REQUIREMENT,
+            requirement_text,
+            List.of(AnnotationRequirement.values())));
+      }
+    }
+
+    final String check_text = options.get(OPTION_CHECK_HASHCODE);
+    if (check_text != null) {
+      this.check_hashcode = Boolean.parseBoolean(check_text.trim());
+    }
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion()
+  {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(
+    final Set<? extends TypeElement> annotations,
+    final RoundEnvironment round)
+  {
+    final List<TypeElement> types = new ArrayList<>();
+    for (final String name : this.deferred) {
+      final TypeElement type =
+        this.processingEnv.getElementUtils().getTypeElement(name);
+      if (type != null) {
+        types.add(type);
+      }
+    }
+    this.deferred.clear();
+
+    final Set<TypeElement> roots =
+      ElementFilter.typesIn(round.getRootElements());
+    for (final TypeElement type : roots) {
+      collectTypes(type, types);
+    }
+
+    for (final TypeElement type : types) {
+      this.checkType(type, round.processingOver());
+    }
+    return false;
+  }
+
+  private static void collectTypes(
+    final TypeElement type,
+    final List<TypeElement> types)
+  {
+    types.add(type);
+    final List<TypeElement> members =
+      ElementFilter.typesIn(type.getEnclosedElements());
+    for (final TypeElement member : members) {
+      collectTypes(member, types);
+    }
+  }
+
+  private void checkType(
+    final TypeElement type,
+    final boolean last_round)
+  {
+    if (!type.getKind().isClass()) {
+      return;
+    }
+
+    try {
+      this.report(type, this.validate(type));
+    } catch (final UnresolvedTypeException e) {
+      if (!last_round) {
+        this.deferred.add(type.getQualifiedName().toString());
+      }
+    }
+  }
+
+  private void report(
+    final TypeElement type,
+    final Result result)
+  {
+    if (result.result() == ValidatorResult.VALIDATION_OK) {
+      return;
+    }
+
+    final String message = switch (result.result()) {
+      case VALIDATION_ERROR_WANTED_ANNOTATIONS -> String.format(
+        "%s: %s is annotated with neither @%s nor @%s",
+        result.result(),
+        type.getQualifiedName(),
+        EqualityReference.class.getSimpleName(),
+        EqualityStructural.class.getSimpleName());
+      case VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY -> String.format(
+        "%s: %s is annotated with @%s, but equals is declared in %s",
+        result.result(),
+        type.getQualifiedName(),
+        EqualityReference.class.getSimpleName(),
+        result.declarer().getQualifiedName());
+      case VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY -> String.format(
+        "%s: %s is annotated with @%s, but does not override equals",
+        result.result(),
+        type.getQualifiedName(),
+        EqualityStructural.class.getSimpleName());
+      case VALIDATION_ERROR_INCONSISTENT_HASHCODE -> String.format(
+        "%s: %s has a hashCode method (declared in %s) that is inconsistent "
+          + "with its equality annotation",
+        result.result(),
+        type.getQualifiedName(),
+        result.declarer().getQualifiedName());
+      case VALIDATION_OK -> "";
+    };
+
+    this.processingEnv.getMessager()
+      .printMessage(Diagnostic.Kind.ERROR, message, type);
+  }
+
+  private Result validate(
+    final TypeElement type)
+    throws UnresolvedTypeException
+  {
+    if (type.getAnnotation(EqualityReference.class) != null) {
+      return this.validateReferenceEquality(type);
+    }
+    if (type.getAnnotation(EqualityStructural.class) != null) {
+      return this.validateStructuralEquality(type);
+    }
+    if (this.requirement == AnnotationRequirement.ANNOTATIONS_REQUIRED) {
+      return new Result(ValidatorResult.VALIDATION_ERROR_WANTED_ANNOTATIONS,
+                        type);
+    }
+    return new Result(ValidatorResult.VALIDATION_OK, type);
+  }
+
+  private Result validateReferenceEquality(
+    final TypeElement type)
+    throws UnresolvedTypeException
+  {
+    final TypeElement equals_class = this.declaringClassOf(type, true);
+    if (!isObject(equals_class)) {
+      return new Result(
+        ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY,
+        equals_class);
+    }
+
+    if (this.check_hashcode) {
+      final TypeElement hashcode_class = this.declaringClassOf(type, false);
+      if (!isObject(hashcode_class)) {
+        return new Result(
+          ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE,
+          hashcode_class);
+      }
+    }
+
+    return new Result(ValidatorResult.VALIDATION_OK, type);
+  }
+
+  private Result validateStructuralEquality(
+    final TypeElement type)
+    throws UnresolvedTypeException
+  {
+    final TypeElement equals_class = this.declaringClassOf(type, true);
+    if (isObject(equals_class)) {
+      return new Result(
+        ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY,
+        equals_class);
+    }
+
+    if (this.check_hashcode) {
+      final TypeElement hashcode_class = this.declaringClassOf(type, false);
+      if (isObject(hashcode_class)) {
+        return new Result(
+          ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE,
+          hashcode_class);
+      }
+    }
+
+    return new Result(ValidatorResult.VALIDATION_OK, type);
+  }
+
+  private static boolean isObject(
+    final TypeElement type)
+  {
+    return type.getQualifiedName().contentEquals("java.lang.Object");
+  }
+
+  /**
+   * Find the class that declares the public {@code equals(Object)} method
+   * (if {@code equals} is {@code true}) or the public {@code hashCode()}
+   * method of the given type. This is the compile-time equivalent of
+   * {@code Class.getMethod(...).getDeclaringClass()}: the type and each of
+   * its superclasses are searched in order.
+   */
+
+  private TypeElement declaringClassOf(
+    final TypeElement type,
+    final boolean equals)
+    throws UnresolvedTypeException
+  {
+    TypeElement current = type;
+    while (true) {
+      final List<ExecutableElement> methods =
+        ElementFilter.methodsIn(current.getEnclosedElements());
+      for (final ExecutableElement method : methods) {
+        if (this.isEqualityMethod(method, equals)) {
+          return current;
+        }
+      }
+
+      final TypeMirror superclass = current.getSuperclass();
+      if (superclass.getKind() == TypeKind.ERROR) {
+        throw new UnresolvedTypeException();
+      }
+      if (superclass.getKind() == TypeKind.NONE) {
+        return current;
+      }
+      current = (TypeElement)
+        this.processingEnv.getTypeUtils().asElement(superclass);
+    }
+  }
+
+  private boolean isEqualityMethod(
+    final ExecutableElement method,
+    final boolean equals)
+  {
+    final Set<Modifier> modifiers = method.getModifiers();
+    if (!modifiers.contains(Modifier.PUBLIC)
+      || modifiers.contains(Modifier.STATIC)) {
+      return false;
+    }
+
+    if (!equals) {
+      return method.getSimpleName().contentEquals("hashCode")
+        && method.getParameters().isEmpty();
+    }
+
+    if (!method.getSimpleName().contentEquals("equals")
+      || method.getParameters().size() != 1) {
+      return false;
+    }
+
+    final Element parameter =
+      this.processingEnv.getTypeUtils()
+        .asElement(method.getParameters().get(0).asType());
+
+    return parameter instanceof TypeElement
+      && isObject((TypeElement) parameter);
+  }
+
+  /**
+   * The result of validating a type, and the class that declares the method
+   * responsible for the result.
+   */
+
+  private record Result(
+    ValidatorResult result,
+    TypeElement declarer)
+  {
+
+  }
+
+  /**
+   * Raised when a supertype of a type cannot (yet) be resolved.
+   */
+
+  private static final class UnresolvedTypeException extends Exception
+  {
+    private static final long serialVersionUID = 1L;
+
+    UnresolvedTypeException()
+    {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualDoubleIndex;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.DoubleStream;
+
+@SuppressWarnings("static-method") public final class AlmostEqualDoubleIndexTest
+{
+  private static final ContextRelativeImmutable[] CONTEXTS = {
+    ContextRelativeImmutable.of(0.0, 0.0),
+    ContextRelativeImmutable.of(0.001, 0.0),
+    ContextRelativeImmutable.of(0.0, 0.01),
+    ContextRelativeImmutable.of(0.001, 0.1),
+    ContextRelativeImmutable.of(0.5, 0.9),
+  };
+
+  private static double[] values(
+    final Random random,
+    final int count)
+  {
+    final double[] values = new double[count];
+    for (int index = 0; index < count; ++index) {
+      switch (random.nextInt(6)) {
+        case 0 -> values[index] = random.nextGaussian();
+        case 1 -> values[index] = random.nextInt(100) * 0.0005;
+        case 2 -> values[index] = (random.nextDouble() - 0.5) * 1.0e6;
+        case 3 -> values[index] = random.nextBoolean() ? 0.0 : -0.0;
+        case 4 -> values[index] = random.nextInt(20) - 10.0;
+        default -> values[index] = random.nextDouble() * Double.MIN_NORMAL;
+      }
+    }
+    return values;
+  }
+
+  private static double[] expected(
+    final ContextRelativeImmutable context,
+    final double[] values,
+    final double x)
+  {
+    return DoubleStream.of(values)
+      .filter(y -> AlmostEqualDouble.almostEqual(context, x, y))
+      .map(y -> y + 0.0)
+      .sorted()
+      .toArray();
+  }
+
+  private static double[] found(
+    final AlmostEqualDoubleIndex index,
+    final ContextRelativeImmutable context,
+    final double x)
+  {
+    final DoubleStream.Builder builder = DoubleStream.builder();
+    index.forEach(context, x, builder);
+    return builder.build().toArray();
+  }
+
+  private static void checkAgainstScan(
+    final double[] values,
+    final double[] queries)
+  {
+    final AlmostEqualDoubleIndex index = AlmostEqualDoubleIndex.of(values);
+    for (final ContextRelativeImmutable context : CONTEXTS) {
+      for (final double x : queries) {
+        final double[] expected = expected(context, values, x);
+        Assert.assertArrayEquals(
+          context + " " + x, expected, found(index, context, x), 0.0);
+        Assert.assertEquals(expected.length, index.count(context, x));
+        Assert.assertEquals(
+          expected.length > 0, index.contains(context, x));
+      }
+    }
+  }
+
+  @Test public void testAgainstScan()
+  {
+    final Random random = new Random(0x5eedL);
+    final double[] values = values(random, 10000);
+    final double[] queries = new double[1000];
+    for (int index = 0; index < queries.length; ++index) {
+      queries[index] = random.nextBoolean()
+        ? values[random.nextInt(values.length)]
+        : values(random, 1)[0] + random.nextGaussian() * 0.001;
+    }
+    checkAgainstScan(values, queries);
+  }
+
+  @Test public void testEmpty()
+  {
+    final AlmostEqualDoubleIndex index = AlmostEqualDoubleIndex.of();
+    Assert.assertEquals(0, index.size());
+    Assert.assertEquals(0, index.count(CONTEXTS[3], 1.0));
+    Assert.assertFalse(index.contains(CONTEXTS[3], Double.POSITIVE_INFINITY));
+  }
+
+  @Test public void testEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        AlmostEqualDoubleIndex.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @Test public void testInfinities()
+  {
+    final double[] values = {
+      Double.NEGATIVE_INFINITY,
+      Double.NEGATIVE_INFINITY,
+      -1.0,
+      0.0,
+      1.0,
+      Double.MAX_VALUE,
+      Double.POSITIVE_INFINITY,
+    };
+    final double[] queries = {
+      Double.NEGATIVE_INFINITY,
+      -Double.MAX_VALUE,
+      -1.0,
+      -0.0,
+      1.0,
+      Double.MAX_VALUE,
+      Double.POSITIVE_INFINITY,
+    };
+    checkAgainstScan(values, queries);
+
+    final AlmostEqualDoubleIndex index = AlmostEqualDoubleIndex.of(values);
+    Assert.assertEquals(
+      1, index.count(CONTEXTS[1], Double.POSITIVE_INFINITY));
+    Assert.assertEquals(
+      2, index.count(CONTEXTS[1], Double.NEGATIVE_INFINITY));
+    Assert.assertEquals(4, index.count(CONTEXTS[2], 1.0));
+    Assert.assertEquals(7, index.count(CONTEXTS[2], Double.NEGATIVE_INFINITY));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaN()
+  {
+    AlmostEqualDoubleIndex.of(1.0, Double.NaN);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRelativeTooLarge()
+  {
+    AlmostEqualDoubleIndex.of(1.0)
+      .count(ContextRelativeImmutable.of(0.0, 1.0), 1.0);
+  }
+
+  @Test public void testValues()
+  {
+    final AlmostEqualDoubleIndex index =
+      AlmostEqualDoubleIndex.of(3.0, -0.0, -2.0, Double.NEGATIVE_INFINITY);
+    Assert.assertEquals(4, index.size());
+    Assert.assertEquals(Double.NEGATIVE_INFINITY, index.value(0), 0.0);
+    Assert.assertEquals(-2.0, index.value(1), 0.0);
+    Assert.assertEquals(
+      Double.doubleToRawLongBits(0.0),
+      Double.doubleToRawLongBits(index.value(2)));
+    Assert.assertEquals(3.0, index.value(3), 0.0);
+    Assert.assertTrue(index.toString().contains("Size 4"));
+    Assert.assertTrue(Arrays.equals(
+      new double[]{-2.0, 0.0},
+      found(index, ContextRelativeImmutable.of(2.0, 0.0), -1.0)));
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualDouble.ContextRelative;
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualDoubleJoin;
+import com.io7m.jequality.AlmostEqualJoinCursor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@SuppressWarnings("static-method") public final class AlmostEqualDoubleJoinTest
+{
+  private static final ContextRelativeImmutable[] CONTEXTS = {
+    ContextRelativeImmutable.of(0.0, 0.0),
+    ContextRelativeImmutable.of(0.01, 0.0),
+    ContextRelativeImmutable.of(0.0, 0.05),
+    ContextRelativeImmutable.of(0.01, 0.1),
+    ContextRelativeImmutable.of(0.5, 0.9),
+  };
+
+  private static double[] values(
+    final Random random,
+    final int count)
+  {
+    final double[] values = new double[count];
+    for (int index = 0; index < count; ++index) {
+      switch (random.nextInt(8)) {
+        case 0 -> values[index] = Double.NEGATIVE_INFINITY;
+        case 1 -> values[index] = Double.POSITIVE_INFINITY;
+        case 2 -> values[index] = random.nextBoolean() ? 0.0 : -0.0;
+        case 3 -> values[index] = random.nextInt(20) - 10.0;
+        default -> values[index] = random.nextGaussian() * 10.0;
+      }
+    }
+    Arrays.sort(values);
+    return values;
+  }
+
+  private static List<String> expected(
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final double[] b)
+  {
+    final List<String> results = new ArrayList<>();
+    for (int i = 0; i < a.length; ++i) {
+      for (int j = 0; j < b.length; ++j) {
+        if (AlmostEqualDouble.almostEqual(context, a[i], b[j])) {
+          results.add(i + " " + j);
+        }
+      }
+    }
+    return results;
+  }
+
+  private static List<String> joined(
+    final ContextRelativeImmutable context,
+    final double[] a,
+    final double[] b,
+    final AlmostEqualJoinCursor cursor,
+    final int capacity)
+  {
+    final int[] out_a = new int[capacity];
+    final int[] out_b = new int[capacity];
+    final List<String> results = new ArrayList<>();
+    while (true) {
+      final int count =
+        AlmostEqualDoubleJoin.join(context, a, b, cursor, out_a, out_b);
+      if (count == 0) {
+        Assert.assertTrue(cursor.isFinished());
+        return results;
+      }
+      for (int index = 0; index < count; ++index) {
+        results.add(out_a[index] + " " + out_b[index]);
+      }
+    }
+  }
+
+  @Test public void testAgainstPairwise()
+  {
+    final Random random = new Random(0x5eedL);
+    final AlmostEqualJoinCursor cursor = new AlmostEqualJoinCursor();
+    for (int trial = 0; trial < 200; ++trial) {
+      final double[] a = values(random, random.nextInt(60));
+      final double[] b = values(random, random.nextInt(60));
+      for (final ContextRelativeImmutable context : CONTEXTS) {
+        final int capacity = 1 + random.nextInt(16);
+        cursor.reset();
+        Assert.assertEquals(
+          context + " " + Arrays.toString(a) + " " + Arrays.toString(b),
+          expected(context, a, b),
+          joined(context, a, b, cursor, capacity));
+      }
+    }
+  }
+
+  @Test public void testMutableContext()
+  {
+    final ContextRelative context = new ContextRelative();
+    context.setMaxAbsoluteDifference(0.1);
+    context.setMaxRelativeDifference(0.0);
+
+    final double[] a = {1.0, 2.0, 3.0};
+    final double[] b = {0.95, 1.05, 2.5, 3.05};
+    final int[] out_a = new int[8];
+    final int[] out_b = new int[8];
+    final AlmostEqualJoinCursor cursor = new AlmostEqualJoinCursor();
+
+    Assert.assertEquals(
+      3, AlmostEqualDoubleJoin.join(context, a, b, cursor, out_a, out_b));
+    Assert.assertArrayEquals(
+      new int[]{0, 0, 2}, Arrays.copyOf(out_a, 3));
+    Assert.assertArrayEquals(
+      new int[]{0, 1, 3}, Arrays.copyOf(out_b, 3));
+    Assert.assertTrue(cursor.isFinished());
+    Assert.assertEquals(
+      0, AlmostEqualDoubleJoin.join(context, a, b, cursor, out_a, out_b));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaN()
+  {
+    AlmostEqualDoubleJoin.join(
+      CONTEXTS[1],
+      new double[]{1.0, Double.NaN},
+      new double[]{1.0},
+      new AlmostEqualJoinCursor(),
+      new int[1],
+      new int[1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutputEmpty()
+  {
+    AlmostEqualDoubleJoin.join(
+      CONTEXTS[1],
+      new double[]{1.0},
+      new double[]{1.0},
+      new AlmostEqualJoinCursor(),
+      new int[0],
+      new int[1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRelativeTooLarge()
+  {
+    AlmostEqualDoubleJoin.join(
+      ContextRelativeImmutable.of(0.0, 1.0),
+      new double[]{1.0},
+      new double[]{1.0},
+      new AlmostEqualJoinCursor(),
+      new int[1],
+      new int[1]);
+  }
+
+  @Test public void testSingleRun()
+  {
+    final Random random = new Random(0x1234L);
+    final double[] a = new double[100000];
+    final double[] b = new double[100000];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = index + (random.nextDouble() * 0.002 - 0.001);
+      b[index] = index + (random.nextDouble() * 0.002 - 0.001);
+    }
+
+    final int[] out_a = new int[a.length];
+    final int[] out_b = new int[a.length];
+    final int count = AlmostEqualDoubleJoin.join(
+      CONTEXTS[1], a, b, new AlmostEqualJoinCursor(), out_a, out_b);
+
+    Assert.assertEquals(a.length, count);
+    for (int index = 0; index < count; ++index) {
+      Assert.assertEquals(index, out_a[index]);
+      Assert.assertEquals(index, out_b[index]);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsorted()
+  {
+    AlmostEqualDoubleJoin.join(
+      CONTEXTS[1],
+      new double[]{1.0},
+      new double[]{2.0, 1.0},
+      new AlmostEqualJoinCursor(),
+      new int[1],
+      new int[1]);
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualDoubleMap;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public final class AlmostEqualDoubleMapTest
+{
+  private static final ContextRelativeImmutable CONTEXT =
+    ContextRelativeImmutable.of(0.01, 0.0);
+
+  @SuppressWarnings("static-method") @Test public void testAgreesScalar()
+  {
+    final Random random = new Random(0x30L);
+    final AlmostEqualDoubleMap<Integer> map =
+      new AlmostEqualDoubleMap<>(CONTEXT);
+    final List<Double> keys = new ArrayList<>();
+
+    for (int index = 0; index < 10000; ++index) {
+      final double key = Math.floor(random.nextDouble() * 10000.0) / 100.0;
+      final double probe = key + ((random.nextDouble() - 0.5) * 0.03);
+
+      boolean expected = false;
+      for (final Double existing : keys) {
+        if (AlmostEqualDouble.almostEqual(CONTEXT, existing, probe)) {
+          expected = true;
+          break;
+        }
+      }
+
+      Assert.assertEquals(expected, map.containsKey(probe));
+      if (!expected) {
+        Assert.assertNull(map.put(probe, Integer.valueOf(index)));
+        keys.add(Double.valueOf(probe));
+      }
+    }
+
+    Assert.assertEquals((long) keys.size(), (long) map.size());
+  }
+
+  @SuppressWarnings("static-method") @Test public void testCellBoundaries()
+  {
+    final AlmostEqualDoubleMap<String> map =
+      new AlmostEqualDoubleMap<>(CONTEXT);
+
+    Assert.assertNull(map.put(0.0099, "a"));
+    Assert.assertTrue(map.containsKey(0.0101));
+    Assert.assertTrue(map.containsKey(0.0));
+    Assert.assertTrue(map.containsKey(-0.0));
+    Assert.assertFalse(map.containsKey(-0.0011));
+    Assert.assertFalse(map.containsKey(0.0201));
+    Assert.assertEquals("a", map.put(0.0101, "b"));
+    Assert.assertEquals("b", map.get(0.0099));
+    Assert.assertEquals(0.0099, map.getKey(0.0101, -1.0), 0.0);
+    Assert.assertEquals(-1.0, map.getKey(1.0, -1.0), 0.0);
+    Assert.assertNull(map.get(1.0));
+    Assert.assertEquals(1L, (long) map.size());
+  }
+
+  @SuppressWarnings("static-method") @Test public void testClear()
+  {
+    final AlmostEqualDoubleMap<String> map =
+      new AlmostEqualDoubleMap<>(CONTEXT, 1000);
+
+    for (int index = 0; index < 1000; ++index) {
+      map.put((double) index, Integer.toString(index));
+    }
+    Assert.assertEquals(1000L, (long) map.size());
+    Assert.assertFalse(map.isEmpty());
+
+    final int[] count = new int[1];
+    map.forEach((value, key) -> {
+      Assert.assertEquals(Integer.toString((int) key), value);
+      ++count[0];
+    });
+    Assert.assertEquals(1000L, (long) count[0]);
+
+    map.clear();
+    Assert.assertTrue(map.isEmpty());
+    Assert.assertFalse(map.containsKey(10.0));
+    Assert.assertTrue(map.toString().contains("Size 0"));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        AlmostEqualDoubleMap.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testGrow()
+  {
+    final AlmostEqualDoubleMap<Integer> map =
+      new AlmostEqualDoubleMap<>(CONTEXT);
+    for (int index = 0; index < 100000; ++index) {
+      Assert.assertNull(map.put(index * 0.1, Integer.valueOf(index)));
+    }
+
+    Assert.assertEquals(100000L, (long) map.size());
+    for (int index = 0; index < 100000; ++index) {
+      Assert.assertEquals(
+        Integer.valueOf(index), map.get((index * 0.1) + 0.005));
+    }
+
+    final int[] count = new int[1];
+    map.forEach((value, key) -> {
+      Assert.assertEquals(value.intValue() * 0.1, key, 0.0);
+      ++count[0];
+    });
+    Assert.assertEquals(100000L, (long) count[0]);
+  }
+
+  @SuppressWarnings("static-method") @Test public void testInfinities()
+  {
+    final AlmostEqualDoubleMap<String> map =
+      new AlmostEqualDoubleMap<>(CONTEXT);
+
+    map.put(Double.POSITIVE_INFINITY, "p");
+    map.put(Double.MAX_VALUE, "m");
+    map.put(Double.NEGATIVE_INFINITY, "n");
+    map.put(-Double.MAX_VALUE, "o");
+
+    Assert.assertEquals(4L, (long) map.size());
+    Assert.assertEquals("p", map.get(Double.POSITIVE_INFINITY));
+    Assert.assertEquals("m", map.get(Double.MAX_VALUE));
+    Assert.assertEquals("n", map.get(Double.NEGATIVE_INFINITY));
+    Assert.assertEquals("o", map.get(-Double.MAX_VALUE));
+    Assert.assertFalse(map.containsKey(Double.NaN));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @SuppressWarnings("static-method") public void testNaN()
+  {
+    new AlmostEqualDoubleMap<String>(CONTEXT).put(Double.NaN, "x");
+  }
+
+  @SuppressWarnings("static-method") @Test public void testPutIfAbsent()
+  {
+    final AlmostEqualDoubleMap<String> map =
+      new AlmostEqualDoubleMap<>(CONTEXT, 1);
+
+    for (int index = 0; index < 100; ++index) {
+      Assert.assertNull(map.putIfAbsent((double) index, "x" + index));
+    }
+    Assert.assertEquals(100, map.size());
+
+    for (int index = 0; index < 100; ++index) {
+      Assert.assertEquals(
+        "x" + index, map.putIfAbsent((double) index + 0.005, "y"));
+      Assert.assertEquals(
+        "x" + index, map.putIfAbsent((double) index - 0.005, "y"));
+    }
+    Assert.assertEquals(100, map.size());
+    Assert.assertEquals("x42", map.get(42.0));
+    Assert.assertEquals(42.0, map.getKey(42.009, -1.0), 0.0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @SuppressWarnings("static-method") public void testZeroTolerance()
+  {
+    new AlmostEqualDoubleMap<String>(ContextRelativeImmutable.of(0.0, 1.0));
+  }
+}
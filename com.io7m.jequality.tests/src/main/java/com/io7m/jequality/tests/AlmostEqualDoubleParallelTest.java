@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualDoubleParallel;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public final class AlmostEqualDoubleParallelTest
+{
+  private static final ContextRelativeImmutable CONTEXT =
+    ContextRelativeImmutable.of(0.001, 0.0001);
+
+  private static double[] values(
+    final int size)
+  {
+    final Random random = new Random(0x20L);
+    final double[] a = new double[size];
+    for (int index = 0; index < size; ++index) {
+      a[index] = random.nextDouble();
+    }
+    return a;
+  }
+
+  @SuppressWarnings("static-method") @Test public void testEqual()
+  {
+    final double[] a = values(1_000_000);
+    final double[] b = a.clone();
+
+    Assert.assertEquals(
+      -1L,
+      (long) AlmostEqualDoubleParallel.mismatch(
+        ForkJoinPool.commonPool(), CONTEXT, a, b));
+    Assert.assertTrue(AlmostEqualDoubleParallel.almostEqualArrays(CONTEXT, a, b));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        AlmostEqualDoubleParallel.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testLengths()
+  {
+    final ForkJoinPool pool = ForkJoinPool.commonPool();
+    final double[] a = values(1_000_000);
+    final double[] b = new double[500_000];
+    System.arraycopy(a, 0, b, 0, b.length);
+
+    Assert.assertEquals(
+      500_000L, (long) AlmostEqualDoubleParallel.mismatch(pool, CONTEXT, a, b));
+    Assert.assertEquals(
+      500_000L, (long) AlmostEqualDoubleParallel.mismatch(pool, CONTEXT, b, a));
+    Assert.assertEquals(
+      -1L,
+      (long) AlmostEqualDoubleParallel.mismatch(
+        pool, CONTEXT, new double[0], new double[0]));
+    Assert.assertFalse(AlmostEqualDoubleParallel.almostEqualArrays(CONTEXT, a, b));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testLowestIndex()
+  {
+    final ForkJoinPool pool = new ForkJoinPool(8);
+    try {
+      final double[] a = values(1_000_000);
+      final Random random = new Random(0x21L);
+
+      for (int iteration = 0; iteration < 20; ++iteration) {
+        final double[] b = a.clone();
+        int lowest = Integer.MAX_VALUE;
+        for (int count = 0; count < 5; ++count) {
+          final int index = random.nextInt(b.length);
+          b[index] += 1.0;
+          lowest = Math.min(lowest, index);
+        }
+
+        Assert.assertEquals(
+          (long) lowest,
+          (long) AlmostEqualDoubleParallel.mismatch(pool, CONTEXT, a, b));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @SuppressWarnings("static-method") @Test public void testSmall()
+  {
+    final double[] a = values(100);
+    final double[] b = a.clone();
+    b[37] = Double.NaN;
+    b[90] = Double.NaN;
+
+    Assert.assertEquals(
+      37L,
+      (long) AlmostEqualDoubleParallel.mismatch(
+        ForkJoinPool.commonPool(), CONTEXT, a, b));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualDoubleSet;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class AlmostEqualDoubleSetTest
+{
+  private static final ContextRelativeImmutable CONTEXT =
+    ContextRelativeImmutable.of(0.001, 0.0);
+
+  @SuppressWarnings("static-method") @Test public void testDeduplicate()
+  {
+    final AlmostEqualDoubleSet set = new AlmostEqualDoubleSet(CONTEXT, 4);
+
+    Assert.assertTrue(set.add(1.0));
+    Assert.assertFalse(set.add(1.0005));
+    Assert.assertFalse(set.add(0.9995));
+    Assert.assertTrue(set.add(1.0015));
+    Assert.assertEquals(1.0, set.addOrGet(1.0004), 0.0);
+    Assert.assertEquals(2.0, set.addOrGet(2.0), 0.0);
+    Assert.assertTrue(set.contains(2.0009));
+    Assert.assertFalse(set.contains(2.0011));
+    Assert.assertEquals(3L, (long) set.size());
+
+    final double[] sum = new double[1];
+    set.forEach(x -> sum[0] += x);
+    Assert.assertEquals(4.0015, sum[0], 0.0000001);
+
+    Assert.assertTrue(set.toString().contains("Size 3"));
+    set.clear();
+    Assert.assertTrue(set.isEmpty());
+  }
+
+  @SuppressWarnings("static-method") @Test public void testEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        AlmostEqualDoubleSet.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testGrow()
+  {
+    final AlmostEqualDoubleSet set = new AlmostEqualDoubleSet(CONTEXT);
+    for (int index = 0; index < 100000; ++index) {
+      Assert.assertTrue(set.add(index * 0.0011));
+    }
+    for (int index = 0; index < 100000; ++index) {
+      Assert.assertTrue(set.contains((index * 0.0011) + 0.0009));
+      Assert.assertFalse(set.add((index * 0.0011) - 0.0009));
+      Assert.assertEquals(
+        index * 0.0011, set.addOrGet((index * 0.0011) + 0.00001), 0.0);
+    }
+    Assert.assertEquals(100000L, (long) set.size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @SuppressWarnings("static-method") public void testNaN()
+  {
+    new AlmostEqualDoubleSet(CONTEXT).add(Double.NaN);
+  }
+}
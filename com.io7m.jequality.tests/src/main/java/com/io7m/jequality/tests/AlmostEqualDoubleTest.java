@@ -21,16 +21,168 @@ import org.junit.Test;
 
 import com.io7m.jequality.AlmostEqualDouble;
 import com.io7m.jequality.AlmostEqualDouble.ContextRelative;
+import com.io7m.jequality.AlmostEqualDouble.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualDouble.ContextULP;
 import com.io7m.jequality.validator.AnnotationRequirement;
 import com.io7m.jequality.validator.EqualityValidator;
 import com.io7m.jequality.validator.ValidatorResult;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+
 public class AlmostEqualDoubleTest
 {
   private static final int TEST_GRANULARITY = 1000000;
 
   private static final int TEST_ITERATIONS  = 1000;
 
+  @SuppressWarnings("static-method") @Test public void testArrays()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.001);
+    cr.setMaxRelativeDifference(0.0001);
+
+    final double[] a = new double[1000];
+    final double[] b = new double[1000];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = (double) index;
+      b[index] = (double) index + 0.0001;
+    }
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqualArrays(cr, a, b));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualArrays(cr, b, a));
+
+    b[999] = 1.0;
+    Assert.assertFalse(AlmostEqualDouble.almostEqualArrays(cr, a, b));
+    b[999] = 999.0;
+    Assert.assertTrue(AlmostEqualDouble.almostEqualArrays(cr, a, b));
+    b[0] = 1.0;
+    Assert.assertFalse(AlmostEqualDouble.almostEqualArrays(cr, a, b));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysAgreesScalar()
+  {
+    final double[] values = {
+      0.0,
+      -0.0,
+      1.0,
+      -1.0,
+      1.1,
+      Double.MIN_VALUE,
+      Double.MAX_VALUE,
+      Double.POSITIVE_INFINITY,
+      Double.NEGATIVE_INFINITY,
+      Double.NaN,
+    };
+
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.01);
+    cr.setMaxRelativeDifference(0.2);
+
+    for (final double x : values) {
+      for (final double y : values) {
+        Assert.assertEquals(
+          AlmostEqualDouble.almostEqual(cr, x, y),
+          AlmostEqualDouble.almostEqualArrays(
+            cr, new double[]{x}, new double[]{y}));
+      }
+    }
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysInfinities()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqualArrays(
+      cr,
+      new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY},
+      new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}));
+    Assert.assertFalse(AlmostEqualDouble.almostEqualArrays(
+      cr,
+      new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY},
+      new double[]{Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY}));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysLength()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqualArrays(
+      cr, new double[0], new double[0]));
+    Assert.assertFalse(AlmostEqualDouble.almostEqualArrays(
+      cr, new double[1], new double[2]));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysOffsets()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    final double[] a = {9.0, 1.0, 2.0, 3.0};
+    final double[] b = {1.0, 2.0, 3.0};
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqualArrays(cr, a, 1, b, 0, 3));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualArrays(cr, a, 1, b, 0, 0));
+    Assert.assertFalse(AlmostEqualDouble.almostEqualArrays(cr, a, 0, b, 0, 3));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testArraysOffsetsBounds()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    AlmostEqualDouble.almostEqualArrays(cr, new double[4], 2, new double[4], 0, 3);
+  }
+
+  @SuppressWarnings("static-method") @Test public void testBuffers()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.001);
+    cr.setMaxRelativeDifference(0.0001);
+    final ContextRelativeImmutable ci = cr.toImmutable();
+
+    final DoubleBuffer a =
+      ByteBuffer.allocateDirect(1000 * 8)
+        .order(ByteOrder.nativeOrder())
+        .asDoubleBuffer();
+    final DoubleBuffer b = DoubleBuffer.allocate(1000);
+    for (int index = 0; index < 1000; ++index) {
+      a.put(index, (double) index);
+      b.put(index, (double) index + 0.0001);
+    }
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(cr, a, b));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(ci, a, b));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(cr, a, 1, b, 1, 999));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(ci, a, 1, b, 1, 999));
+    Assert.assertEquals(0L, (long) a.position());
+    Assert.assertEquals(0L, (long) b.position());
+
+    b.put(999, 1.0);
+    Assert.assertFalse(AlmostEqualDouble.almostEqualBuffers(cr, a, b));
+    Assert.assertFalse(AlmostEqualDouble.almostEqualBuffers(ci, a, b));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(cr, a, 0, b, 0, 999));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(ci, a, 0, b, 0, 999));
+
+    a.position(1);
+    Assert.assertFalse(AlmostEqualDouble.almostEqualBuffers(cr, a, b));
+    Assert.assertFalse(AlmostEqualDouble.almostEqualBuffers(ci, a, b));
+    a.position(999);
+    b.position(999);
+    Assert.assertFalse(AlmostEqualDouble.almostEqualBuffers(cr, a, b));
+    b.put(999, 999.0);
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(cr, a, b));
+    Assert.assertTrue(AlmostEqualDouble.almostEqualBuffers(ci, a, b));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testBuffersOffsetsBounds()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    final DoubleBuffer a = DoubleBuffer.allocate(4);
+    final DoubleBuffer b = DoubleBuffer.allocate(4);
+    a.limit(3);
+    AlmostEqualDouble.almostEqualBuffers(cr, a, 1, b, 0, 3);
+  }
+
   @SuppressWarnings("static-method") @Test public void testCloseRandom()
   {
     for (int index = 0; index < AlmostEqualDoubleTest.TEST_ITERATIONS; ++index) {
@@ -62,6 +214,65 @@ public class AlmostEqualDoubleTest
         true));
   }
 
+  @SuppressWarnings("static-method") @Test public void testImmutable()
+  {
+    final double[] values = {
+      0.0,
+      1.0,
+      1.1,
+      -1.0,
+      Double.MIN_VALUE,
+      Double.MAX_VALUE,
+      Double.POSITIVE_INFINITY,
+      Double.NEGATIVE_INFINITY,
+      Double.NaN,
+    };
+
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.01);
+    cr.setMaxRelativeDifference(0.2);
+
+    final ContextRelativeImmutable ci = cr.toImmutable();
+    Assert.assertEquals(ContextRelativeImmutable.of(0.01, 0.2), ci);
+
+    for (final double x : values) {
+      for (final double y : values) {
+        Assert.assertEquals(
+          AlmostEqualDouble.almostEqual(cr, x, y),
+          AlmostEqualDouble.almostEqual(ci, x, y));
+        Assert.assertEquals(
+          AlmostEqualDouble.almostEqualArrays(
+            cr, new double[]{x}, new double[]{y}),
+          AlmostEqualDouble.almostEqualArrays(
+            ci, new double[]{x}, new double[]{y}));
+        Assert.assertEquals(
+          AlmostEqualDouble.almostEqualArrays(
+            cr, new double[]{1.0, x}, 1, new double[]{y}, 0, 1),
+          AlmostEqualDouble.almostEqualArrays(
+            ci, new double[]{1.0, x}, 1, new double[]{y}, 0, 1));
+      }
+    }
+
+    Assert.assertFalse(AlmostEqualDouble.almostEqualArrays(
+      ci, new double[1], new double[2]));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testImmutableEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        ContextRelativeImmutable.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testImmutableOffsetsBounds()
+  {
+    final ContextRelativeImmutable ci = ContextRelativeImmutable.of(0, 0);
+    AlmostEqualDouble.almostEqualArrays(ci, new double[4], 2, new double[4], 0, 3);
+  }
+
   @SuppressWarnings("static-method") @Test public void testInfinities()
   {
     final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
@@ -180,6 +391,63 @@ public class AlmostEqualDoubleTest
     Assert.assertTrue(s3.equals(s0));
   }
 
+  @SuppressWarnings("static-method") @Test public void testULP()
+  {
+    final ContextULP c0 = ContextULP.of(0L);
+    final ContextULP c2 = ContextULP.of(2L);
+
+    final double x = 1.0;
+    final double x1 = Math.nextUp(x);
+    final double x2 = Math.nextUp(x1);
+    final double x3 = Math.nextUp(x2);
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(c0, x, x));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(c0, x, x1));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(c2, x, x2));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(c2, x2, x));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(c2, x, x3));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(c2, x3, x));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(c2, x, -x));
+
+    Assert.assertEquals(0L, AlmostEqualDouble.ulpDistance(0.0, -0.0));
+    Assert.assertEquals(
+      2L, AlmostEqualDouble.ulpDistance(-Double.MIN_VALUE, Double.MIN_VALUE));
+    Assert.assertEquals(
+      1L, AlmostEqualDouble.ulpDistance(Double.MAX_VALUE, Double.POSITIVE_INFINITY));
+    Assert.assertEquals(
+      AlmostEqualDouble.ulpDistance(-x, x),
+      AlmostEqualDouble.ulpDistance(x, -x));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(c2, 0.0, -0.0));
+    Assert.assertTrue(
+      AlmostEqualDouble.almostEqual(c2, -Double.MIN_VALUE, Double.MIN_VALUE));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(
+      c0, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY));
+    final long infinities = AlmostEqualDouble.ulpDistance(
+      Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(
+      ContextULP.of(infinities - 1L),
+      Double.NEGATIVE_INFINITY,
+      Double.POSITIVE_INFINITY));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(c2, Double.NaN, Double.NaN));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(c2, Double.NaN, x));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(c2, x, Double.NaN));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testULPEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        ContextULP.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @SuppressWarnings("static-method") public void testULPNegative()
+  {
+    ContextULP.of(-1L);
+  }
+
   @SuppressWarnings("static-method") @Test public void testZero()
   {
     final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualDouble.ContextRelative;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import com.io7m.jequality.vector.AlmostEqualDoubleVector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class AlmostEqualDoubleVectorTest
+{
+  private static ContextRelative context()
+  {
+    final ContextRelative cr = new AlmostEqualDouble.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.001);
+    cr.setMaxRelativeDifference(0.0001);
+    return cr;
+  }
+
+  @SuppressWarnings("static-method") @Test public void testAgreesScalar()
+  {
+    final double[] values = {
+      0.0,
+      -0.0,
+      1.0,
+      -1.0,
+      1.0001,
+      Double.MIN_VALUE,
+      Double.MAX_VALUE,
+      Double.POSITIVE_INFINITY,
+      Double.NEGATIVE_INFINITY,
+      Double.NaN,
+    };
+
+    final ContextRelative cr = context();
+    final double[] a = new double[values.length * values.length];
+    final double[] b = new double[values.length * values.length];
+    for (int x = 0; x < values.length; ++x) {
+      for (int y = 0; y < values.length; ++y) {
+        a[(x * values.length) + y] = values[x];
+        b[(x * values.length) + y] = values[y];
+      }
+    }
+
+    for (int index = 0; index < a.length; ++index) {
+      final double[] aa = new double[a.length];
+      final double[] bb = new double[b.length];
+      aa[index] = a[index];
+      bb[index] = b[index];
+
+      Assert.assertEquals(
+        AlmostEqualDouble.almostEqualArrays(cr, aa, bb),
+        AlmostEqualDoubleVector.almostEqualArrays(cr, aa, bb));
+    }
+  }
+
+  @SuppressWarnings("static-method") @Test public void testEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        AlmostEqualDoubleVector.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testLength()
+  {
+    final ContextRelative cr = context();
+    Assert.assertTrue(AlmostEqualDoubleVector.almostEqualArrays(
+      cr, new double[0], new double[0]));
+    Assert.assertFalse(AlmostEqualDoubleVector.almostEqualArrays(
+      cr, new double[1], new double[2]));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testOffsetsBounds()
+  {
+    AlmostEqualDoubleVector.almostEqualArrays(
+      context(), new double[4], 2, new double[4], 0, 3);
+  }
+
+  @SuppressWarnings("static-method") @Test public void testRandom()
+  {
+    final Random random = new Random(0x10L);
+    final ContextRelative cr = context();
+
+    for (int length = 0; length < 300; ++length) {
+      final double[] a = new double[length + 3];
+      final double[] b = new double[length];
+      for (int index = 0; index < length; ++index) {
+        a[index + 3] = random.nextDouble() * 1000.0;
+        b[index] = a[index + 3];
+      }
+
+      Assert.assertTrue(
+        AlmostEqualDoubleVector.almostEqualArrays(cr, a, 3, b, 0, length));
+
+      for (int index = 0; index < length; ++index) {
+        final double saved = b[index];
+        b[index] = saved + 1.0;
+        Assert.assertFalse(
+          AlmostEqualDoubleVector.almostEqualArrays(cr, a, 3, b, 0, length));
+        b[index] = saved;
+      }
+    }
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualFileComparator;
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.AlmostEqualReport;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@SuppressWarnings("static-method") public final class AlmostEqualFileComparatorTest
+{
+  private static final AlmostEqualDouble.ContextRelativeImmutable CONTEXT_D =
+    AlmostEqualDouble.ContextRelativeImmutable.of(0.001, 0.0001);
+
+  private static final AlmostEqualFloat.ContextRelativeImmutable CONTEXT_F =
+    AlmostEqualFloat.ContextRelativeImmutable.of(0.001f, 0.0001f);
+
+  private final List<Path> files = new ArrayList<>();
+
+  private Path writeDoubles(
+    final double[] values,
+    final ByteOrder order)
+    throws IOException
+  {
+    final ByteBuffer buffer =
+      ByteBuffer.allocate(values.length * Double.BYTES).order(order);
+    buffer.asDoubleBuffer().put(values);
+    final Path file = Files.createTempFile("jequality-doubles", ".bin");
+    this.files.add(file);
+    Files.write(file, buffer.array());
+    return file;
+  }
+
+  private Path writeFloats(
+    final float[] values,
+    final ByteOrder order)
+    throws IOException
+  {
+    final ByteBuffer buffer =
+      ByteBuffer.allocate(values.length * Float.BYTES).order(order);
+    buffer.asFloatBuffer().put(values);
+    final Path file = Files.createTempFile("jequality-floats", ".bin");
+    this.files.add(file);
+    Files.write(file, buffer.array());
+    return file;
+  }
+
+  private static double[] randomDoubles(
+    final Random random,
+    final int count)
+  {
+    final double[] values = new double[count];
+    for (int index = 0; index < count; ++index) {
+      values[index] = random.nextGaussian() * 100.0;
+    }
+    return values;
+  }
+
+  private static void assertReportsEqual(
+    final AlmostEqualReport expected,
+    final AlmostEqualReport received)
+  {
+    Assert.assertEquals(expected.toString(), received.toString());
+  }
+
+  @After public void tearDown()
+    throws IOException
+  {
+    for (final Path file : this.files) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBufferSizeInvalid()
+  {
+    new AlmostEqualFileComparator(12);
+  }
+
+  @Test public void testDoubles()
+    throws IOException
+  {
+    final Random random = new Random(0x5eedL);
+    final double[] a = randomDoubles(random, 1001);
+    final double[] b = a.clone();
+    b[0] = b[0] + 1.0;
+    b[31] = Math.nextUp(b[31]);
+    b[517] = b[517] * 2.0;
+    b[1000] = Double.NaN;
+
+    final AlmostEqualFileComparator comparator =
+      new AlmostEqualFileComparator(8 * Double.BYTES);
+
+    for (final ByteOrder order : new ByteOrder[]{
+      ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      final AlmostEqualReport expected = new AlmostEqualReport(8);
+      Assert.assertFalse(
+        AlmostEqualDouble.compareArrays(CONTEXT_D, a, b, expected));
+
+      final AlmostEqualReport received = new AlmostEqualReport(8);
+      Assert.assertFalse(
+        comparator.compareDoubles(
+          CONTEXT_D,
+          this.writeDoubles(a, order),
+          this.writeDoubles(b, order),
+          order,
+          received));
+
+      assertReportsEqual(expected, received);
+      Assert.assertEquals(3L, received.getMismatchCount());
+      Assert.assertEquals(517L, received.getMismatchIndex(1));
+      Assert.assertEquals(1000L, received.getMismatchIndex(2));
+    }
+  }
+
+  @Test public void testDoublesEqual()
+    throws IOException
+  {
+    final double[] a = randomDoubles(new Random(0x5eedL), 100);
+    final AlmostEqualReport report = new AlmostEqualReport(8);
+    final AlmostEqualFileComparator comparator =
+      new AlmostEqualFileComparator(1 << 16);
+
+    Assert.assertTrue(
+      comparator.compareDoubles(
+        CONTEXT_D,
+        this.writeDoubles(a, ByteOrder.BIG_ENDIAN),
+        this.writeDoubles(a, ByteOrder.BIG_ENDIAN),
+        ByteOrder.BIG_ENDIAN,
+        report));
+    Assert.assertEquals(100L, report.getComparedCount());
+    Assert.assertEquals(0L, report.getMismatchCount());
+  }
+
+  @Test public void testDoublesLengths()
+    throws IOException
+  {
+    final double[] a = randomDoubles(new Random(0x5eedL), 20);
+    final double[] b = new double[17];
+    System.arraycopy(a, 0, b, 0, b.length);
+
+    final AlmostEqualReport report = new AlmostEqualReport(8);
+    final AlmostEqualFileComparator comparator =
+      new AlmostEqualFileComparator(4 * Double.BYTES);
+
+    Assert.assertFalse(
+      comparator.compareDoubles(
+        CONTEXT_D,
+        this.writeDoubles(a, ByteOrder.LITTLE_ENDIAN),
+        this.writeDoubles(b, ByteOrder.LITTLE_ENDIAN),
+        ByteOrder.LITTLE_ENDIAN,
+        report));
+    Assert.assertEquals(20L, report.getComparedCount());
+    Assert.assertEquals(3L, report.getMismatchCount());
+    Assert.assertEquals(17L, report.getMismatchIndex(0));
+    Assert.assertEquals(19L, report.getMismatchIndex(2));
+  }
+
+  @Test(expected = IOException.class)
+  public void testDoublesSizeInvalid()
+    throws IOException
+  {
+    final Path a = this.writeFloats(new float[3], ByteOrder.BIG_ENDIAN);
+    new AlmostEqualFileComparator(64).compareDoubles(
+      CONTEXT_D, a, a, ByteOrder.BIG_ENDIAN, new AlmostEqualReport(0));
+  }
+
+  @Test public void testFloats()
+    throws IOException
+  {
+    final Random random = new Random(0x5eedL);
+    final float[] a = new float[999];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = (float) (random.nextGaussian() * 100.0);
+    }
+    final float[] b = a.clone();
+    b[3] = b[3] + 1.0f;
+    b[64] = Math.nextUp(b[64]);
+    b[998] = Float.POSITIVE_INFINITY;
+
+    final AlmostEqualFileComparator comparator =
+      new AlmostEqualFileComparator(5 * Double.BYTES);
+
+    for (final ByteOrder order : new ByteOrder[]{
+      ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      final AlmostEqualReport expected = new AlmostEqualReport(8);
+      Assert.assertFalse(
+        AlmostEqualFloat.compareArrays(CONTEXT_F, a, b, expected));
+
+      final AlmostEqualReport received = new AlmostEqualReport(8);
+      Assert.assertFalse(
+        comparator.compareFloats(
+          CONTEXT_F,
+          this.writeFloats(a, order),
+          this.writeFloats(b, order),
+          order,
+          received));
+
+      /*
+       * The infinity at 998 is almost equal to the finite value, as with
+       * the scalar comparison.
+       */
+
+      assertReportsEqual(expected, received);
+      Assert.assertEquals(1L, received.getMismatchCount());
+      Assert.assertEquals(3L, received.getMismatchIndex(0));
+    }
+  }
+
+  @Test public void testFloatsByteOrder()
+    throws IOException
+  {
+    final float[] a = {1.0f, 2.0f, 3.0f};
+    final AlmostEqualReport report = new AlmostEqualReport(8);
+
+    Assert.assertFalse(
+      new AlmostEqualFileComparator(8).compareFloats(
+        CONTEXT_F,
+        this.writeFloats(a, ByteOrder.BIG_ENDIAN),
+        this.writeFloats(a, ByteOrder.LITTLE_ENDIAN),
+        ByteOrder.BIG_ENDIAN,
+        report));
+    Assert.assertEquals(3L, report.getMismatchCount());
+  }
+}
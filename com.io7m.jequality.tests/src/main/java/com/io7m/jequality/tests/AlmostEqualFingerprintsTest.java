@@ -0,0 +1,373 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualFingerprints;
+import com.io7m.jequality.AlmostEqualFloat;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.util.BitSet;
+import java.util.Random;
+
+@SuppressWarnings("static-method") public final class AlmostEqualFingerprintsTest
+{
+  private static final AlmostEqualDouble.ContextRelativeImmutable CONTEXT_D =
+    AlmostEqualDouble.ContextRelativeImmutable.of(0.001, 0.0001);
+
+  private static final AlmostEqualDouble.ContextRelativeImmutable[] CONTEXTS_D =
+    {
+      CONTEXT_D,
+      AlmostEqualDouble.ContextRelativeImmutable.of(0.0, 0.0),
+      AlmostEqualDouble.ContextRelativeImmutable.of(0.01, 0.0),
+      AlmostEqualDouble.ContextRelativeImmutable.of(0.0, 0.001),
+      AlmostEqualDouble.ContextRelativeImmutable.of(1.0e6, 0.0),
+      AlmostEqualDouble.ContextRelativeImmutable.of(1.0e-3, 0.5),
+      AlmostEqualDouble.ContextRelativeImmutable.of(1.0e-300, 2.0),
+    };
+
+  private static final AlmostEqualFloat.ContextRelativeImmutable[] CONTEXTS_F =
+    {
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.001f, 0.0001f),
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.0f, 0.0f),
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.01f, 0.0f),
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.0f, 0.001f),
+      AlmostEqualFloat.ContextRelativeImmutable.of(1.0e6f, 0.0f),
+      AlmostEqualFloat.ContextRelativeImmutable.of(1.0e-3f, 0.5f),
+    };
+
+  private static double randomValue(
+    final Random random)
+  {
+    switch (random.nextInt(16)) {
+      case 0:
+        return 0.0;
+      case 1:
+        return -0.0;
+      case 2:
+        return Double.MIN_VALUE * (double) random.nextInt(1000);
+      case 3:
+        return random.nextBoolean()
+          ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+      default:
+        return random.nextGaussian()
+          * Math.pow(10.0, (double) (random.nextInt(17) - 8));
+    }
+  }
+
+  private static double perturb(
+    final Random random,
+    final double x,
+    final double max_abs,
+    final double max_rel)
+  {
+    switch (random.nextInt(4)) {
+      case 0:
+        return x;
+      case 1:
+        return Math.nextUp(x);
+      case 2:
+        return x + (random.nextDouble() * 2.0 - 1.0) * max_abs * 1.5;
+      default:
+        return x + x * (random.nextDouble() * 2.0 - 1.0) * max_rel * 1.5;
+    }
+  }
+
+  private static DoubleBuffer randomDoubles(
+    final Random random,
+    final int count)
+  {
+    final DoubleBuffer data = DoubleBuffer.allocate(count);
+    for (int index = 0; index < count; ++index) {
+      data.put(index, random.nextGaussian() * 100.0);
+    }
+    return data;
+  }
+
+  @Test public void testChunkLayout()
+  {
+    final AlmostEqualFingerprints f = AlmostEqualFingerprints.ofDoubles(
+      CONTEXT_D, DoubleBuffer.allocate(10).position(1), 4);
+
+    Assert.assertEquals(9, f.getElementCount());
+    Assert.assertEquals(4, f.getChunkSize());
+    Assert.assertEquals(3, f.getChunkCount());
+    Assert.assertEquals(8, f.getChunkOffset(2));
+    Assert.assertEquals(4, f.getChunkLength(1));
+    Assert.assertEquals(1, f.getChunkLength(2));
+    Assert.assertTrue(f.toString().contains("Elements 9"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testChunkSizeInvalid()
+  {
+    AlmostEqualFingerprints.ofDoubles(CONTEXT_D, DoubleBuffer.allocate(1), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testContextInvalid()
+  {
+    AlmostEqualFingerprints.ofDoubles(
+      AlmostEqualDouble.ContextRelativeImmutable.of(-1.0, 0.0),
+      DoubleBuffer.allocate(1),
+      1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIncompatibleChunkSizes()
+  {
+    final DoubleBuffer data = DoubleBuffer.allocate(16);
+    AlmostEqualFingerprints.ofDoubles(CONTEXT_D, data, 4)
+      .mismatchingChunks(AlmostEqualFingerprints.ofDoubles(CONTEXT_D, data, 8));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIncompatibleContexts()
+  {
+    final DoubleBuffer data = DoubleBuffer.allocate(16);
+    AlmostEqualFingerprints.ofDoubles(CONTEXT_D, data, 4)
+      .mismatchingChunks(AlmostEqualFingerprints.ofDoubles(
+        AlmostEqualDouble.ContextRelativeImmutable.of(0.5, 0.0001), data, 4));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIncompatibleTypes()
+  {
+    AlmostEqualFingerprints.ofDoubles(CONTEXT_D, DoubleBuffer.allocate(4), 4)
+      .mismatchingChunks(AlmostEqualFingerprints.ofFloats(
+        AlmostEqualFloat.ContextRelativeImmutable.of(0.001f, 0.0001f),
+        FloatBuffer.allocate(4),
+        4));
+  }
+
+  @Test public void testLengths()
+  {
+    final DoubleBuffer a = randomDoubles(new Random(0x5eedL), 20);
+    final DoubleBuffer b = a.duplicate().limit(13);
+
+    final BitSet mismatches =
+      AlmostEqualFingerprints.ofDoubles(CONTEXT_D, a, 4)
+        .mismatchingChunks(AlmostEqualFingerprints.ofDoubles(CONTEXT_D, b, 4));
+
+    final BitSet expected = new BitSet();
+    expected.set(3, 5);
+    Assert.assertEquals(expected, mismatches);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedMagic()
+  {
+    AlmostEqualFingerprints.fromByteBuffer(ByteBuffer.allocate(64));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedHuge()
+  {
+    final ByteBuffer bytes =
+      AlmostEqualFingerprints.ofDoubles(CONTEXT_D, DoubleBuffer.allocate(1), 1)
+        .toByteBuffer();
+    bytes.putInt(8, 1);
+    bytes.putInt(12, Integer.MAX_VALUE);
+    AlmostEqualFingerprints.fromByteBuffer(bytes);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformedTruncated()
+  {
+    final ByteBuffer bytes =
+      AlmostEqualFingerprints.ofDoubles(CONTEXT_D, DoubleBuffer.allocate(64), 4)
+        .toByteBuffer();
+    AlmostEqualFingerprints.fromByteBuffer(bytes.limit(bytes.limit() - 1));
+  }
+
+  @Test public void testMutableContext()
+  {
+    final AlmostEqualDouble.ContextRelative context =
+      new AlmostEqualDouble.ContextRelative();
+    context.setMaxAbsoluteDifference(0.001);
+    context.setMaxRelativeDifference(0.0001);
+
+    final DoubleBuffer data = randomDoubles(new Random(0x5eedL), 64);
+    Assert.assertEquals(
+      AlmostEqualFingerprints.ofDoubles(CONTEXT_D, data, 8).getDigest(3),
+      AlmostEqualFingerprints.ofDoubles(context, data, 8).getDigest(3));
+  }
+
+  @Test public void testNaN()
+  {
+    final DoubleBuffer a = DoubleBuffer.allocate(8);
+    a.put(5, Double.NaN);
+
+    final AlmostEqualFingerprints f =
+      AlmostEqualFingerprints.ofDoubles(CONTEXT_D, a, 4);
+    Assert.assertFalse(f.chunkContainsNaN(0));
+    Assert.assertTrue(f.chunkContainsNaN(1));
+
+    final BitSet expected = new BitSet();
+    expected.set(1);
+    Assert.assertEquals(expected, f.mismatchingChunks(f));
+  }
+
+  /**
+   * Two sequences held by different parties are compared by sending only
+   * the fingerprints of one of them, and then only the chunks whose digests
+   * differ.
+   */
+
+  @Test public void testRemoteComparison()
+  {
+    final Random random = new Random(0x5eedL);
+    final DoubleBuffer local = randomDoubles(random, 10_000);
+    final DoubleBuffer remote = ByteBuffer.allocateDirect(10_000 * 8)
+      .asDoubleBuffer();
+    for (int index = 0; index < local.capacity(); ++index) {
+      remote.put(index, Math.nextUp(local.get(index)));
+    }
+    remote.put(4321, remote.get(4321) + 1.0);
+
+    final ByteBuffer wire =
+      AlmostEqualFingerprints.ofDoubles(CONTEXT_D, remote, 256).toByteBuffer();
+    final ByteBuffer received = ByteBuffer.allocate(wire.remaining());
+    received.put(wire).flip();
+
+    final AlmostEqualFingerprints remote_f =
+      AlmostEqualFingerprints.fromByteBuffer(received);
+    final AlmostEqualFingerprints local_f =
+      AlmostEqualFingerprints.ofDoubles(CONTEXT_D, local, 256);
+    Assert.assertEquals(0, received.remaining());
+
+    final BitSet mismatches = local_f.mismatchingChunks(remote_f);
+    Assert.assertEquals(1, mismatches.cardinality());
+    Assert.assertTrue(mismatches.get(4321 / 256));
+
+    final int chunk = mismatches.nextSetBit(0);
+    Assert.assertFalse(
+      AlmostEqualDouble.almostEqualBuffers(
+        CONTEXT_D,
+        local,
+        local_f.getChunkOffset(chunk),
+        remote,
+        local_f.getChunkOffset(chunk),
+        local_f.getChunkLength(chunk)));
+  }
+
+  @Test public void testRoundTrip()
+  {
+    final AlmostEqualFingerprints f = AlmostEqualFingerprints.ofFloats(
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.001f, 0.0001f),
+      FloatBuffer.wrap(new float[]{1.0f, Float.NaN, 3.0f, 4.0f, 5.0f}),
+      2);
+    final AlmostEqualFingerprints g =
+      AlmostEqualFingerprints.fromByteBuffer(f.toByteBuffer());
+
+    Assert.assertEquals(f.toString(), g.toString());
+    for (int chunk = 0; chunk < f.getChunkCount(); ++chunk) {
+      Assert.assertEquals(f.getDigest(chunk), g.getDigest(chunk));
+      Assert.assertEquals(f.chunkContainsNaN(chunk), g.chunkContainsNaN(chunk));
+    }
+  }
+
+  /**
+   * Chunks that are not reported as mismatching must be almost equal.
+   */
+
+  @Test public void testSoundDoubles()
+  {
+    final AlmostEqualDouble.ContextRelativeImmutable tiny =
+      AlmostEqualDouble.ContextRelativeImmutable.of(0x1.0p-599, 0.0);
+    final double[] bits = {Double.longBitsToDouble(0x9E3779B97F4A7C15L)};
+    final double[] zero = {0.0};
+    Assert.assertFalse(AlmostEqualDouble.almostEqualArrays(tiny, bits, zero));
+    Assert.assertFalse(
+      AlmostEqualFingerprints.ofDoubles(tiny, DoubleBuffer.wrap(bits), 1)
+        .mismatchingChunks(
+          AlmostEqualFingerprints.ofDoubles(tiny, DoubleBuffer.wrap(zero), 1))
+        .isEmpty());
+
+    final Random random = new Random(0x5eedL);
+    int matched = 0;
+
+    for (int trial = 0; trial < 2000; ++trial) {
+      final AlmostEqualDouble.ContextRelativeImmutable context =
+        CONTEXTS_D[trial % CONTEXTS_D.length];
+      final double[] a = new double[4];
+      final double[] b = new double[4];
+      for (int index = 0; index < a.length; ++index) {
+        a[index] = randomValue(random);
+        b[index] = perturb(
+          random,
+          a[index],
+          context.maxAbsoluteDifference(),
+          context.maxRelativeDifference());
+      }
+
+      final boolean accepted =
+        AlmostEqualFingerprints.ofDoubles(context, DoubleBuffer.wrap(a), 4)
+          .mismatchingChunks(
+            AlmostEqualFingerprints.ofDoubles(context, DoubleBuffer.wrap(b), 4))
+          .isEmpty();
+      if (accepted) {
+        ++matched;
+        Assert.assertTrue(
+          AlmostEqualDouble.almostEqualArrays(context, a, b));
+      }
+    }
+    Assert.assertTrue(matched > 100);
+  }
+
+  /**
+   * Chunks that are not reported as mismatching must be almost equal.
+   */
+
+  @Test public void testSoundFloats()
+  {
+    final Random random = new Random(0x5eedL);
+    int matched = 0;
+
+    for (int trial = 0; trial < 2000; ++trial) {
+      final AlmostEqualFloat.ContextRelativeImmutable context =
+        CONTEXTS_F[trial % CONTEXTS_F.length];
+      final float[] a = new float[4];
+      final float[] b = new float[4];
+      for (int index = 0; index < a.length; ++index) {
+        a[index] = (float) randomValue(random);
+        b[index] = (float) perturb(
+          random,
+          (double) a[index],
+          (double) context.maxAbsoluteDifference(),
+          (double) context.maxRelativeDifference());
+      }
+
+      final boolean accepted =
+        AlmostEqualFingerprints.ofFloats(context, FloatBuffer.wrap(a), 4)
+          .mismatchingChunks(
+            AlmostEqualFingerprints.ofFloats(context, FloatBuffer.wrap(b), 4))
+          .isEmpty();
+      if (accepted) {
+        ++matched;
+        Assert.assertTrue(
+          AlmostEqualFloat.almostEqualArrays(context, a, b));
+      }
+    }
+    Assert.assertTrue(matched > 100);
+  }
+}
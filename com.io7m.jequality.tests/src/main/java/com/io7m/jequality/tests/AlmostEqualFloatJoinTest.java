@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelative;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualFloatJoin;
+import com.io7m.jequality.AlmostEqualJoinCursor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+@SuppressWarnings("static-method") public final class AlmostEqualFloatJoinTest
+{
+  private static final ContextRelativeImmutable[] CONTEXTS = {
+    ContextRelativeImmutable.of(0.0f, 0.0f),
+    ContextRelativeImmutable.of(0.01f, 0.0f),
+    ContextRelativeImmutable.of(0.0f, 0.05f),
+    ContextRelativeImmutable.of(0.01f, 0.1f),
+    ContextRelativeImmutable.of(0.5f, 0.9f),
+  };
+
+  private static float[] values(
+    final Random random,
+    final int count)
+  {
+    final float[] values = new float[count];
+    for (int index = 0; index < count; ++index) {
+      switch (random.nextInt(8)) {
+        case 0 -> values[index] = Float.NEGATIVE_INFINITY;
+        case 1 -> values[index] = Float.POSITIVE_INFINITY;
+        case 2 -> values[index] = random.nextBoolean() ? 0.0f : -0.0f;
+        case 3 -> values[index] = random.nextInt(20) - 10.0f;
+        default -> values[index] = (float) random.nextGaussian() * 10.0f;
+      }
+    }
+    Arrays.sort(values);
+    return values;
+  }
+
+  private static List<String> expected(
+    final ContextRelativeImmutable context,
+    final float[] a,
+    final float[] b)
+  {
+    final List<String> results = new ArrayList<>();
+    for (int i = 0; i < a.length; ++i) {
+      for (int j = 0; j < b.length; ++j) {
+        if (AlmostEqualFloat.almostEqual(context, a[i], b[j])) {
+          results.add(i + " " + j);
+        }
+      }
+    }
+    return results;
+  }
+
+  private static List<String> joined(
+    final ContextRelativeImmutable context,
+    final float[] a,
+    final float[] b,
+    final AlmostEqualJoinCursor cursor,
+    final int capacity)
+  {
+    final int[] out_a = new int[capacity];
+    final int[] out_b = new int[capacity];
+    final List<String> results = new ArrayList<>();
+    while (true) {
+      final int count =
+        AlmostEqualFloatJoin.join(context, a, b, cursor, out_a, out_b);
+      if (count == 0) {
+        Assert.assertTrue(cursor.isFinished());
+        return results;
+      }
+      for (int index = 0; index < count; ++index) {
+        results.add(out_a[index] + " " + out_b[index]);
+      }
+    }
+  }
+
+  @Test public void testAgainstPairwise()
+  {
+    final Random random = new Random(0x5eedL);
+    final AlmostEqualJoinCursor cursor = new AlmostEqualJoinCursor();
+    for (int trial = 0; trial < 200; ++trial) {
+      final float[] a = values(random, random.nextInt(60));
+      final float[] b = values(random, random.nextInt(60));
+      for (final ContextRelativeImmutable context : CONTEXTS) {
+        final int capacity = 1 + random.nextInt(16);
+        cursor.reset();
+        Assert.assertEquals(
+          context + " " + Arrays.toString(a) + " " + Arrays.toString(b),
+          expected(context, a, b),
+          joined(context, a, b, cursor, capacity));
+      }
+    }
+  }
+
+  @Test public void testMutableContext()
+  {
+    final ContextRelative context = new ContextRelative();
+    context.setMaxAbsoluteDifference(0.1f);
+    context.setMaxRelativeDifference(0.0f);
+
+    final float[] a = {1.0f, 2.0f, 3.0f};
+    final float[] b = {0.95f, 1.05f, 2.5f, 3.05f};
+    final int[] out_a = new int[8];
+    final int[] out_b = new int[8];
+    final AlmostEqualJoinCursor cursor = new AlmostEqualJoinCursor();
+
+    Assert.assertEquals(
+      3, AlmostEqualFloatJoin.join(context, a, b, cursor, out_a, out_b));
+    Assert.assertArrayEquals(
+      new int[]{0, 0, 2}, Arrays.copyOf(out_a, 3));
+    Assert.assertArrayEquals(
+      new int[]{0, 1, 3}, Arrays.copyOf(out_b, 3));
+    Assert.assertTrue(cursor.isFinished());
+    Assert.assertEquals(
+      0, AlmostEqualFloatJoin.join(context, a, b, cursor, out_a, out_b));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNaN()
+  {
+    AlmostEqualFloatJoin.join(
+      CONTEXTS[1],
+      new float[]{1.0f, Float.NaN},
+      new float[]{1.0f},
+      new AlmostEqualJoinCursor(),
+      new int[1],
+      new int[1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutputEmpty()
+  {
+    AlmostEqualFloatJoin.join(
+      CONTEXTS[1],
+      new float[]{1.0f},
+      new float[]{1.0f},
+      new AlmostEqualJoinCursor(),
+      new int[0],
+      new int[1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRelativeTooLarge()
+  {
+    AlmostEqualFloatJoin.join(
+      ContextRelativeImmutable.of(0.0f, 1.0f),
+      new float[]{1.0f},
+      new float[]{1.0f},
+      new AlmostEqualJoinCursor(),
+      new int[1],
+      new int[1]);
+  }
+
+  @Test public void testSingleRun()
+  {
+    final Random random = new Random(0x1234L);
+    final float[] a = new float[1000];
+    final float[] b = new float[1000];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = index + (random.nextFloat() * 0.002f - 0.001f);
+      b[index] = index + (random.nextFloat() * 0.002f - 0.001f);
+    }
+
+    final int[] out_a = new int[a.length];
+    final int[] out_b = new int[a.length];
+    final int count = AlmostEqualFloatJoin.join(
+      CONTEXTS[1], a, b, new AlmostEqualJoinCursor(), out_a, out_b);
+
+    Assert.assertEquals(a.length, count);
+    for (int index = 0; index < count; ++index) {
+      Assert.assertEquals(index, out_a[index]);
+      Assert.assertEquals(index, out_b[index]);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsorted()
+  {
+    AlmostEqualFloatJoin.join(
+      CONTEXTS[1],
+      new float[]{1.0f},
+      new float[]{2.0f, 1.0f},
+      new AlmostEqualJoinCursor(),
+      new int[1],
+      new int[1]);
+  }
+}
@@ -21,16 +21,168 @@ import org.junit.Test;
 
 import com.io7m.jequality.AlmostEqualFloat;
 import com.io7m.jequality.AlmostEqualFloat.ContextRelative;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelativeImmutable;
+import com.io7m.jequality.AlmostEqualFloat.ContextULP;
 import com.io7m.jequality.validator.AnnotationRequirement;
 import com.io7m.jequality.validator.EqualityValidator;
 import com.io7m.jequality.validator.ValidatorResult;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
 public class AlmostEqualFloatTest
 {
   private static final int TEST_GRANULARITY = 10000;
 
   private static final int TEST_ITERATIONS  = 1000;
 
+  @SuppressWarnings("static-method") @Test public void testArrays()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.001f);
+    cr.setMaxRelativeDifference(0.0001f);
+
+    final float[] a = new float[1000];
+    final float[] b = new float[1000];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = (float) index;
+      b[index] = (float) index + 0.0001f;
+    }
+
+    Assert.assertTrue(AlmostEqualFloat.almostEqualArrays(cr, a, b));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualArrays(cr, b, a));
+
+    b[999] = 1.0f;
+    Assert.assertFalse(AlmostEqualFloat.almostEqualArrays(cr, a, b));
+    b[999] = 999.0f;
+    Assert.assertTrue(AlmostEqualFloat.almostEqualArrays(cr, a, b));
+    b[0] = 1.0f;
+    Assert.assertFalse(AlmostEqualFloat.almostEqualArrays(cr, a, b));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysAgreesScalar()
+  {
+    final float[] values = {
+      0.0f,
+      -0.0f,
+      1.0f,
+      -1.0f,
+      1.1f,
+      Float.MIN_VALUE,
+      Float.MAX_VALUE,
+      Float.POSITIVE_INFINITY,
+      Float.NEGATIVE_INFINITY,
+      Float.NaN,
+    };
+
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.01f);
+    cr.setMaxRelativeDifference(0.2f);
+
+    for (final float x : values) {
+      for (final float y : values) {
+        Assert.assertEquals(
+          AlmostEqualFloat.almostEqual(cr, x, y),
+          AlmostEqualFloat.almostEqualArrays(
+            cr, new float[]{x}, new float[]{y}));
+      }
+    }
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysInfinities()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+
+    Assert.assertTrue(AlmostEqualFloat.almostEqualArrays(
+      cr,
+      new float[]{Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY},
+      new float[]{Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY}));
+    Assert.assertFalse(AlmostEqualFloat.almostEqualArrays(
+      cr,
+      new float[]{Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY},
+      new float[]{Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY}));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysLength()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+
+    Assert.assertTrue(AlmostEqualFloat.almostEqualArrays(
+      cr, new float[0], new float[0]));
+    Assert.assertFalse(AlmostEqualFloat.almostEqualArrays(
+      cr, new float[1], new float[2]));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testArraysOffsets()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    final float[] a = {9.0f, 1.0f, 2.0f, 3.0f};
+    final float[] b = {1.0f, 2.0f, 3.0f};
+
+    Assert.assertTrue(AlmostEqualFloat.almostEqualArrays(cr, a, 1, b, 0, 3));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualArrays(cr, a, 1, b, 0, 0));
+    Assert.assertFalse(AlmostEqualFloat.almostEqualArrays(cr, a, 0, b, 0, 3));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testArraysOffsetsBounds()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    AlmostEqualFloat.almostEqualArrays(cr, new float[4], 2, new float[4], 0, 3);
+  }
+
+  @SuppressWarnings("static-method") @Test public void testBuffers()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.001f);
+    cr.setMaxRelativeDifference(0.0001f);
+    final ContextRelativeImmutable ci = cr.toImmutable();
+
+    final FloatBuffer a =
+      ByteBuffer.allocateDirect(1000 * 4)
+        .order(ByteOrder.nativeOrder())
+        .asFloatBuffer();
+    final FloatBuffer b = FloatBuffer.allocate(1000);
+    for (int index = 0; index < 1000; ++index) {
+      a.put(index, (float) index);
+      b.put(index, (float) index + 0.0001f);
+    }
+
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(cr, a, b));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(ci, a, b));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(cr, a, 1, b, 1, 999));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(ci, a, 1, b, 1, 999));
+    Assert.assertEquals(0L, (long) a.position());
+    Assert.assertEquals(0L, (long) b.position());
+
+    b.put(999, 1.0f);
+    Assert.assertFalse(AlmostEqualFloat.almostEqualBuffers(cr, a, b));
+    Assert.assertFalse(AlmostEqualFloat.almostEqualBuffers(ci, a, b));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(cr, a, 0, b, 0, 999));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(ci, a, 0, b, 0, 999));
+
+    a.position(1);
+    Assert.assertFalse(AlmostEqualFloat.almostEqualBuffers(cr, a, b));
+    Assert.assertFalse(AlmostEqualFloat.almostEqualBuffers(ci, a, b));
+    a.position(999);
+    b.position(999);
+    Assert.assertFalse(AlmostEqualFloat.almostEqualBuffers(cr, a, b));
+    b.put(999, 999.0f);
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(cr, a, b));
+    Assert.assertTrue(AlmostEqualFloat.almostEqualBuffers(ci, a, b));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testBuffersOffsetsBounds()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    final FloatBuffer a = FloatBuffer.allocate(4);
+    final FloatBuffer b = FloatBuffer.allocate(4);
+    a.limit(3);
+    AlmostEqualFloat.almostEqualBuffers(cr, a, 1, b, 0, 3);
+  }
+
   @SuppressWarnings("static-method") @Test public void testCloseRandom()
   {
     for (int index = 0; index < AlmostEqualFloatTest.TEST_ITERATIONS; ++index) {
@@ -62,6 +214,65 @@ public class AlmostEqualFloatTest
         true));
   }
 
+  @SuppressWarnings("static-method") @Test public void testImmutable()
+  {
+    final float[] values = {
+      0.0f,
+      1.0f,
+      1.1f,
+      -1.0f,
+      Float.MIN_VALUE,
+      Float.MAX_VALUE,
+      Float.POSITIVE_INFINITY,
+      Float.NEGATIVE_INFINITY,
+      Float.NaN,
+    };
+
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.01f);
+    cr.setMaxRelativeDifference(0.2f);
+
+    final ContextRelativeImmutable ci = cr.toImmutable();
+    Assert.assertEquals(ContextRelativeImmutable.of(0.01f, 0.2f), ci);
+
+    for (final float x : values) {
+      for (final float y : values) {
+        Assert.assertEquals(
+          AlmostEqualFloat.almostEqual(cr, x, y),
+          AlmostEqualFloat.almostEqual(ci, x, y));
+        Assert.assertEquals(
+          AlmostEqualFloat.almostEqualArrays(
+            cr, new float[]{x}, new float[]{y}),
+          AlmostEqualFloat.almostEqualArrays(
+            ci, new float[]{x}, new float[]{y}));
+        Assert.assertEquals(
+          AlmostEqualFloat.almostEqualArrays(
+            cr, new float[]{1.0f, x}, 1, new float[]{y}, 0, 1),
+          AlmostEqualFloat.almostEqualArrays(
+            ci, new float[]{1.0f, x}, 1, new float[]{y}, 0, 1));
+      }
+    }
+
+    Assert.assertFalse(AlmostEqualFloat.almostEqualArrays(
+      ci, new float[1], new float[2]));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testImmutableEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        ContextRelativeImmutable.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testImmutableOffsetsBounds()
+  {
+    final ContextRelativeImmutable ci = ContextRelativeImmutable.of(0, 0);
+    AlmostEqualFloat.almostEqualArrays(ci, new float[4], 2, new float[4], 0, 3);
+  }
+
   @SuppressWarnings("static-method") @Test public void testInfinities()
   {
     final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
@@ -180,6 +391,63 @@ public class AlmostEqualFloatTest
     Assert.assertTrue(s3.equals(s0));
   }
 
+  @SuppressWarnings("static-method") @Test public void testULP()
+  {
+    final ContextULP c0 = ContextULP.of(0L);
+    final ContextULP c2 = ContextULP.of(2L);
+
+    final float x = 1.0f;
+    final float x1 = Math.nextUp(x);
+    final float x2 = Math.nextUp(x1);
+    final float x3 = Math.nextUp(x2);
+
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(c0, x, x));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(c0, x, x1));
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(c2, x, x2));
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(c2, x2, x));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(c2, x, x3));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(c2, x3, x));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(c2, x, -x));
+
+    Assert.assertEquals(0L, AlmostEqualFloat.ulpDistance(0.0f, -0.0f));
+    Assert.assertEquals(
+      2L, AlmostEqualFloat.ulpDistance(-Float.MIN_VALUE, Float.MIN_VALUE));
+    Assert.assertEquals(
+      1L, AlmostEqualFloat.ulpDistance(Float.MAX_VALUE, Float.POSITIVE_INFINITY));
+    Assert.assertEquals(
+      AlmostEqualFloat.ulpDistance(-x, x),
+      AlmostEqualFloat.ulpDistance(x, -x));
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(c2, 0.0f, -0.0f));
+    Assert.assertTrue(
+      AlmostEqualFloat.almostEqual(c2, -Float.MIN_VALUE, Float.MIN_VALUE));
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(
+      c0, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY));
+    final long infinities = AlmostEqualFloat.ulpDistance(
+      Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(
+      ContextULP.of(infinities - 1L),
+      Float.NEGATIVE_INFINITY,
+      Float.POSITIVE_INFINITY));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(c2, Float.NaN, Float.NaN));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(c2, Float.NaN, x));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(c2, x, Float.NaN));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testULPEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        ContextULP.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @SuppressWarnings("static-method") public void testULPNegative()
+  {
+    ContextULP.of(-1L);
+  }
+
   @SuppressWarnings("static-method") @Test public void testZero()
   {
     final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
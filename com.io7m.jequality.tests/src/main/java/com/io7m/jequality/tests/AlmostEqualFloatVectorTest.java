@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelative;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import com.io7m.jequality.vector.AlmostEqualFloatVector;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class AlmostEqualFloatVectorTest
+{
+  private static ContextRelative context()
+  {
+    final ContextRelative cr = new AlmostEqualFloat.ContextRelative();
+    cr.setMaxAbsoluteDifference(0.001f);
+    cr.setMaxRelativeDifference(0.0001f);
+    return cr;
+  }
+
+  @SuppressWarnings("static-method") @Test public void testAgreesScalar()
+  {
+    final float[] values = {
+      0.0f,
+      -0.0f,
+      1.0f,
+      -1.0f,
+      1.0001f,
+      Float.MIN_VALUE,
+      Float.MAX_VALUE,
+      Float.POSITIVE_INFINITY,
+      Float.NEGATIVE_INFINITY,
+      Float.NaN,
+    };
+
+    final ContextRelative cr = context();
+    final float[] a = new float[values.length * values.length];
+    final float[] b = new float[values.length * values.length];
+    for (int x = 0; x < values.length; ++x) {
+      for (int y = 0; y < values.length; ++y) {
+        a[(x * values.length) + y] = values[x];
+        b[(x * values.length) + y] = values[y];
+      }
+    }
+
+    for (int index = 0; index < a.length; ++index) {
+      final float[] aa = new float[a.length];
+      final float[] bb = new float[b.length];
+      aa[index] = a[index];
+      bb[index] = b[index];
+
+      Assert.assertEquals(
+        AlmostEqualFloat.almostEqualArrays(cr, aa, bb),
+        AlmostEqualFloatVector.almostEqualArrays(cr, aa, bb));
+    }
+  }
+
+  @SuppressWarnings("static-method") @Test public void testEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        AlmostEqualFloatVector.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testLength()
+  {
+    final ContextRelative cr = context();
+    Assert.assertTrue(AlmostEqualFloatVector.almostEqualArrays(
+      cr, new float[0], new float[0]));
+    Assert.assertFalse(AlmostEqualFloatVector.almostEqualArrays(
+      cr, new float[1], new float[2]));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testOffsetsBounds()
+  {
+    AlmostEqualFloatVector.almostEqualArrays(
+      context(), new float[4], 2, new float[4], 0, 3);
+  }
+
+  @SuppressWarnings("static-method") @Test public void testRandom()
+  {
+    final Random random = new Random(0x10L);
+    final ContextRelative cr = context();
+
+    for (int length = 0; length < 300; ++length) {
+      final float[] a = new float[length + 3];
+      final float[] b = new float[length];
+      for (int index = 0; index < length; ++index) {
+        a[index + 3] = random.nextFloat() * 1000.0f;
+        b[index] = a[index + 3];
+      }
+
+      Assert.assertTrue(
+        AlmostEqualFloatVector.almostEqualArrays(cr, a, 3, b, 0, length));
+
+      for (int index = 0; index < length; ++index) {
+        final float saved = b[index];
+        b[index] = saved + 1.0f;
+        Assert.assertFalse(
+          AlmostEqualFloatVector.almostEqualArrays(cr, a, 3, b, 0, length));
+        b[index] = saved;
+      }
+    }
+  }
+}
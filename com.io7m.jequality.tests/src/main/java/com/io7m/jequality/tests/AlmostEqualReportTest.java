@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.AlmostEqualReport;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class AlmostEqualReportTest
+{
+  private static final AlmostEqualDouble.ContextRelativeImmutable CONTEXT_D =
+    AlmostEqualDouble.ContextRelativeImmutable.of(0.001, 0.0001);
+
+  private static final AlmostEqualFloat.ContextRelativeImmutable CONTEXT_F =
+    AlmostEqualFloat.ContextRelativeImmutable.of(0.001f, 0.0001f);
+
+  @SuppressWarnings("static-method") @Test public void testDouble()
+  {
+    final double[] a = new double[1000];
+    final double[] b = new double[1000];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = (double) index;
+      b[index] = (double) index;
+    }
+    b[10] = 12.0;
+    b[20] = 10.0;
+    b[30] = Math.nextUp(30.0);
+    b[40] = 40.0005;
+
+    final AlmostEqualReport report = new AlmostEqualReport(1);
+    Assert.assertFalse(
+      AlmostEqualDouble.compareArrays(CONTEXT_D, a, b, report));
+
+    Assert.assertEquals(1000L, report.getComparedCount());
+    Assert.assertEquals(2L, report.getMismatchCount());
+    Assert.assertEquals(1L, (long) report.getMismatchIndexCount());
+    Assert.assertEquals(10L, report.getMismatchIndex(0));
+    Assert.assertEquals(10.0, report.getMaxAbsoluteDifference(), 0.0);
+    Assert.assertEquals(0.5, report.getMaxRelativeDifference(), 0.0);
+    Assert.assertTrue(report.getMaxULPDistance() > 1L);
+    Assert.assertTrue(report.toString().contains("Mismatches 2"));
+
+    report.reset();
+    b[10] = 10.0;
+    b[20] = 20.0;
+    Assert.assertTrue(
+      AlmostEqualDouble.compareArrays(CONTEXT_D, a, b, report));
+    Assert.assertEquals(0L, report.getMismatchCount());
+    Assert.assertEquals(0L, (long) report.getMismatchIndexCount());
+    Assert.assertEquals(0.0005, report.getMaxAbsoluteDifference(), 0.0000001);
+  }
+
+  @SuppressWarnings("static-method") @Test public void testDoubleLengths()
+  {
+    final AlmostEqualReport report = new AlmostEqualReport(10);
+    Assert.assertFalse(AlmostEqualDouble.compareArrays(
+      CONTEXT_D, new double[2], new double[5], report));
+
+    Assert.assertEquals(5L, report.getComparedCount());
+    Assert.assertEquals(3L, report.getMismatchCount());
+    Assert.assertEquals(3L, (long) report.getMismatchIndexCount());
+    Assert.assertEquals(2L, report.getMismatchIndex(0));
+    Assert.assertEquals(3L, report.getMismatchIndex(1));
+    Assert.assertEquals(4L, report.getMismatchIndex(2));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testDoubleMutable()
+  {
+    final AlmostEqualDouble.ContextRelative context =
+      new AlmostEqualDouble.ContextRelative();
+    context.setMaxAbsoluteDifference(0.001);
+    context.setMaxRelativeDifference(0.0001);
+
+    final double[] a = {1.0, 2.0, 3.0, 4.0, 5.0};
+    final double[] b = {1.0, 2.5, 3.0, 4.0005, 6.0};
+
+    final AlmostEqualReport mutable = new AlmostEqualReport(10);
+    final AlmostEqualReport immutable = new AlmostEqualReport(10);
+    Assert.assertFalse(
+      AlmostEqualDouble.compareArrays(context, a, b, mutable));
+    Assert.assertFalse(
+      AlmostEqualDouble.compareArrays(CONTEXT_D, a, b, immutable));
+    Assert.assertEquals(immutable.toString(), mutable.toString());
+    Assert.assertEquals(2L, mutable.getMismatchCount());
+
+    Assert.assertTrue(
+      AlmostEqualDouble.compareArrays(context, a, 2, b, 2, 2, mutable));
+    Assert.assertTrue(
+      AlmostEqualDouble.compareArrays(CONTEXT_D, a, 2, b, 2, 2, immutable));
+    Assert.assertEquals(immutable.toString(), mutable.toString());
+    Assert.assertEquals(7L, mutable.getComparedCount());
+  }
+
+  @SuppressWarnings("static-method") @Test public void testDoubleOffsets()
+  {
+    final AlmostEqualReport report = new AlmostEqualReport(10);
+    final double[] a = {9.0, 1.0, 2.0, 3.0};
+    final double[] b = {1.0, 2.0, 4.0};
+
+    Assert.assertFalse(AlmostEqualDouble.compareArrays(
+      CONTEXT_D, a, 1, b, 0, 3, report));
+    Assert.assertEquals(1L, report.getMismatchCount());
+    Assert.assertEquals(2L, report.getMismatchIndex(0));
+
+    Assert.assertTrue(AlmostEqualDouble.compareArrays(
+      CONTEXT_D, a, 1, b, 0, 2, report));
+    Assert.assertEquals(5L, report.getComparedCount());
+    Assert.assertEquals(1L, report.getMismatchCount());
+  }
+
+  @SuppressWarnings("static-method") @Test public void testDoubleSpecial()
+  {
+    final AlmostEqualReport report = new AlmostEqualReport(10);
+    final double[] a = {
+      Double.POSITIVE_INFINITY,
+      Double.NaN,
+      -0.0,
+      -Double.MIN_VALUE,
+    };
+    final double[] b = {
+      Double.POSITIVE_INFINITY,
+      1.0,
+      0.0,
+      Double.MIN_VALUE,
+    };
+
+    Assert.assertFalse(
+      AlmostEqualDouble.compareArrays(CONTEXT_D, a, b, report));
+    Assert.assertEquals(1L, report.getMismatchCount());
+    Assert.assertEquals(1L, report.getMismatchIndex(0));
+    Assert.assertEquals(2L, report.getMaxULPDistance());
+    Assert.assertEquals(2.0, report.getMaxRelativeDifference(), 0.0);
+  }
+
+  @SuppressWarnings("static-method") @Test public void testDoubleULPSaturates()
+  {
+    final AlmostEqualReport report = new AlmostEqualReport(10);
+    AlmostEqualDouble.compareArrays(
+      CONTEXT_D,
+      new double[]{Double.NEGATIVE_INFINITY},
+      new double[]{Double.POSITIVE_INFINITY},
+      report);
+    Assert.assertEquals(Long.MAX_VALUE, report.getMaxULPDistance());
+  }
+
+  @SuppressWarnings("static-method") @Test public void testEquality()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        AlmostEqualReport.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @SuppressWarnings("static-method") @Test public void testFloat()
+  {
+    final float[] a = {1.0f, 2.0f, 3.0f, 4.0f};
+    final float[] b = {1.0f, 2.5f, Math.nextUp(3.0f), 4.0f};
+
+    final AlmostEqualReport report = new AlmostEqualReport(4);
+    Assert.assertFalse(
+      AlmostEqualFloat.compareArrays(CONTEXT_F, a, b, report));
+    Assert.assertEquals(1L, report.getMismatchCount());
+    Assert.assertEquals(1L, report.getMismatchIndex(0));
+    Assert.assertEquals(0.5, report.getMaxAbsoluteDifference(), 0.0);
+    Assert.assertEquals(0.2, report.getMaxRelativeDifference(), 0.000001);
+    Assert.assertEquals(
+      (long) Float.floatToRawIntBits(2.5f) - Float.floatToRawIntBits(2.0f),
+      report.getMaxULPDistance());
+
+    Assert.assertTrue(AlmostEqualFloat.compareArrays(
+      CONTEXT_F, a, 2, b, 2, 2, report));
+    Assert.assertFalse(AlmostEqualFloat.compareArrays(
+      CONTEXT_F, new float[1], new float[3], report));
+    Assert.assertEquals(3L, report.getMismatchCount());
+    Assert.assertEquals(
+      (long) Float.floatToRawIntBits(Float.POSITIVE_INFINITY) * 2L,
+      ulpsFloatInfinities());
+  }
+
+  @SuppressWarnings("static-method") @Test public void testFloatMutable()
+  {
+    final AlmostEqualFloat.ContextRelative context =
+      new AlmostEqualFloat.ContextRelative();
+    context.setMaxAbsoluteDifference(0.001f);
+    context.setMaxRelativeDifference(0.0001f);
+
+    final float[] a = {1.0f, 2.0f, 3.0f, 4.0f};
+    final float[] b = {1.0f, 2.5f, Math.nextUp(3.0f), 4.0f};
+
+    final AlmostEqualReport mutable = new AlmostEqualReport(4);
+    final AlmostEqualReport immutable = new AlmostEqualReport(4);
+    Assert.assertFalse(
+      AlmostEqualFloat.compareArrays(context, a, b, mutable));
+    Assert.assertFalse(
+      AlmostEqualFloat.compareArrays(CONTEXT_F, a, b, immutable));
+    Assert.assertEquals(immutable.toString(), mutable.toString());
+    Assert.assertEquals(1L, mutable.getMismatchIndex(0));
+
+    Assert.assertTrue(
+      AlmostEqualFloat.compareArrays(context, a, 2, b, 2, 2, mutable));
+    Assert.assertTrue(
+      AlmostEqualFloat.compareArrays(CONTEXT_F, a, 2, b, 2, 2, immutable));
+    Assert.assertEquals(immutable.toString(), mutable.toString());
+    Assert.assertEquals(6L, mutable.getComparedCount());
+  }
+
+  private static long ulpsFloatInfinities()
+  {
+    final AlmostEqualReport report = new AlmostEqualReport(0);
+    AlmostEqualFloat.compareArrays(
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.001f, 0.0f),
+      new float[]{Float.NEGATIVE_INFINITY},
+      new float[]{Float.POSITIVE_INFINITY},
+      report);
+    Assert.assertEquals(1L, report.getMismatchCount());
+    Assert.assertEquals(0L, (long) report.getMismatchIndexCount());
+    return report.getMaxULPDistance();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  @SuppressWarnings("static-method") public void testNegativeIndices()
+  {
+    new AlmostEqualReport(-1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  @SuppressWarnings("static-method") public void testIndexBounds()
+  {
+    new AlmostEqualReport(4).getMismatchIndex(0);
+  }
+}
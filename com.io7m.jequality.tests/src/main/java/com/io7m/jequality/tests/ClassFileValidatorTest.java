@@ -0,0 +1,194 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.ClassFileSourceType;
+import com.io7m.jequality.validator.ClassFileValidator;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@SuppressWarnings("static-method") public final class ClassFileValidatorTest
+{
+  static final AtomicBoolean INITIALIZED = new AtomicBoolean(false);
+
+  private static final List<Class<?>> CLASSES = List.of(
+    RefEquality.class,
+    RefEqualityHashCodeInconsistent.class,
+    RefEqualityOverload.class,
+    RefEqualitySubCorrect.class,
+    RefEqualitySubIncorrect.class,
+    RefEqualitySuper.class,
+    RefEqualityWrong.class,
+    StructuralEquality.class,
+    StructuralEqualityHashCodeInconsistent.class,
+    StructuralEqualityOverloadOnly.class,
+    StructuralEqualitySub.class,
+    StructuralEqualitySuper.class,
+    StructuralEqualityWrong.class,
+    Unannotated.class,
+    Object.class,
+    String.class,
+    Integer.class,
+    java.util.ArrayList.class,
+    java.util.List.class,
+    java.util.RandomAccess.class,
+    java.time.DayOfWeek.class,
+    java.util.Map.Entry.class);
+
+  private static ClassFileSourceType source()
+  {
+    return ClassFileSourceType.ofClassLoader(
+      ClassFileValidatorTest.class.getClassLoader());
+  }
+
+  @Test public void testAgreesWithValidator()
+    throws IOException
+  {
+    final ClassFileValidator validator = new ClassFileValidator(source());
+
+    for (final AnnotationRequirement requirement :
+      AnnotationRequirement.values()) {
+      for (final boolean check : new boolean[]{false, true}) {
+        for (final Class<?> c : CLASSES) {
+          Assert.assertEquals(
+            String.format("%s %s %s", c, requirement, check),
+            EqualityValidator.validateClass(c, requirement, check),
+            validator.validateClass(c.getName(), requirement, check));
+        }
+      }
+    }
+  }
+
+  @Test public void testClassFile()
+    throws IOException
+  {
+    final ClassFileValidator validator = new ClassFileValidator(source());
+
+    final byte[] data;
+    try (InputStream stream = source().open(RefEqualityWrong.class.getName())) {
+      data = stream.readAllBytes();
+    }
+
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY,
+      validator.validateClassFile(
+        data,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
+  @Test(expected = IOException.class)
+  public void testClassFileMalformed()
+    throws IOException
+  {
+    new ClassFileValidator(source()).validateClassFile(
+      new byte[]{0x0, 0x1, 0x2, 0x3, 0x4, 0x5, 0x6, 0x7},
+      AnnotationRequirement.ANNOTATIONS_REQUIRED,
+      true);
+  }
+
+  @Test(expected = IOException.class)
+  public void testClassFileTruncated()
+    throws IOException
+  {
+    final byte[] data;
+    try (InputStream stream = source().open(RefEqualityWrong.class.getName())) {
+      data = stream.readAllBytes();
+    }
+
+    final byte[] truncated = new byte[data.length / 2];
+    System.arraycopy(data, 0, truncated, 0, truncated.length);
+
+    new ClassFileValidator(source()).validateClassFile(
+      truncated,
+      AnnotationRequirement.ANNOTATIONS_REQUIRED,
+      true);
+  }
+
+  @Test(expected = FileNotFoundException.class)
+  public void testMissing()
+    throws IOException
+  {
+    new ClassFileValidator(source()).validateClass(
+      "com.io7m.jequality.tests.DoesNotExist",
+      AnnotationRequirement.ANNOTATIONS_REQUIRED,
+      true);
+  }
+
+  @Test public void testNotInitialized()
+    throws IOException
+  {
+    final ClassFileValidator validator = new ClassFileValidator(source());
+
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_OK,
+      validator.validateClass(
+        "com.io7m.jequality.tests.StructuralEqualityInitializer",
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+    Assert.assertFalse(INITIALIZED.get());
+  }
+
+  @Test public void testSummariesShared()
+    throws IOException
+  {
+    final ClassFileSourceType base = source();
+    final List<String> opened = new ArrayList<>();
+    final ClassFileValidator validator = new ClassFileValidator(name -> {
+      opened.add(name);
+      return base.open(name);
+    });
+
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_OK,
+      validator.validateClass(
+        RefEqualitySubCorrect.class.getName(),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY,
+      validator.validateClass(
+        RefEqualitySubIncorrect.class.getName(),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY,
+      validator.validateClass(
+        RefEqualitySubIncorrect.class.getName(),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        false));
+
+    Assert.assertEquals(
+      List.of(
+        RefEqualitySubCorrect.class.getName(),
+        RefEqualitySuper.class.getName(),
+        Object.class.getName(),
+        RefEqualitySubIncorrect.class.getName()),
+      opened);
+  }
+}
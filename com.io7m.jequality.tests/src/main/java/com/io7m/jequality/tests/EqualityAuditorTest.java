@@ -0,0 +1,343 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.auditor.EqualityAuditListenerType;
+import com.io7m.jequality.auditor.EqualityAuditSummary;
+import com.io7m.jequality.auditor.EqualityAuditor;
+import com.io7m.jequality.auditor.EqualityAuditorMain;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.ClassFileSourceType;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+@SuppressWarnings("static-method") public final class EqualityAuditorTest
+{
+  private final List<Path> files = new ArrayList<>();
+
+  private static ClassFileSourceType dependencies()
+  {
+    return ClassFileSourceType.ofClassLoader(
+      EqualityAuditorTest.class.getClassLoader());
+  }
+
+  private static ClassFileSourceType platform()
+  {
+    return ClassFileSourceType.ofClassLoader(
+      ClassLoader.getPlatformClassLoader());
+  }
+
+  private static Path classDirectory()
+    throws URISyntaxException
+  {
+    return Paths.get(
+      RefEquality.class.getProtectionDomain()
+        .getCodeSource()
+        .getLocation()
+        .toURI());
+  }
+
+  private Path jarOf(
+    final Class<?>... classes)
+    throws IOException
+  {
+    final Path jar = Files.createTempFile("jequality-auditor", ".jar");
+    this.files.add(jar);
+    try (OutputStream output = Files.newOutputStream(jar);
+         JarOutputStream jar_output = new JarOutputStream(output)) {
+      jar_output.putNextEntry(new JarEntry("META-INF/versions/11/x/Y.class"));
+      jar_output.write(new byte[]{0x0, 0x1, 0x2, 0x3});
+      jar_output.closeEntry();
+
+      for (final Class<?> c : classes) {
+        final String name = c.getName().replace('.', '/') + ".class";
+        jar_output.putNextEntry(new JarEntry(name));
+        try (InputStream input =
+               EqualityAuditorTest.class.getClassLoader()
+                 .getResourceAsStream(name)) {
+          input.transferTo(jar_output);
+        }
+        jar_output.closeEntry();
+      }
+    }
+    return jar;
+  }
+
+  @After public void tearDown()
+    throws IOException
+  {
+    for (final Path file : this.files) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test public void testDirectoryAgreesWithValidator()
+    throws Exception
+  {
+    final Collecting listener = new Collecting();
+    final EqualityAuditSummary summary =
+      EqualityAuditor.audit(
+        classDirectory(),
+        dependencies(),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true,
+        4,
+        listener);
+
+    Assert.assertEquals(Map.of(), listener.errors);
+    Assert.assertEquals(summary.classes(), listener.results.size());
+    Assert.assertTrue(listener.results.containsKey(RefEquality.class.getName()));
+
+    long failed = 0L;
+    final ClassLoader loader = EqualityAuditorTest.class.getClassLoader();
+    for (final Map.Entry<String, ValidatorResult> e :
+      listener.results.entrySet()) {
+      final Class<?> c = Class.forName(e.getKey(), false, loader);
+      final ValidatorResult expected =
+        EqualityValidator.validateClass(
+          c, AnnotationRequirement.ANNOTATIONS_REQUIRED, true);
+      Assert.assertEquals(e.getKey(), expected, e.getValue());
+      if (expected != ValidatorResult.VALIDATION_OK) {
+        ++failed;
+      }
+    }
+    Assert.assertEquals(failed, summary.failed());
+    Assert.assertFalse(summary.isSuccessful());
+  }
+
+  @Test public void testJar()
+    throws Exception
+  {
+    final Path jar = this.jarOf(
+      RefEquality.class,
+      RefEqualitySuper.class,
+      RefEqualitySubIncorrect.class,
+      StructuralEqualityWrong.class);
+
+    final Collecting listener = new Collecting();
+    final EqualityAuditSummary summary =
+      EqualityAuditor.audit(
+        jar,
+        platform(),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true,
+        2,
+        listener);
+
+    Assert.assertEquals(new EqualityAuditSummary(4L, 2L, 0L), summary);
+    Assert.assertEquals(
+      Map.of(
+        RefEquality.class.getName(),
+        ValidatorResult.VALIDATION_OK,
+        RefEqualitySuper.class.getName(),
+        ValidatorResult.VALIDATION_OK,
+        RefEqualitySubIncorrect.class.getName(),
+        ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY,
+        StructuralEqualityWrong.class.getName(),
+        ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY),
+      listener.results);
+  }
+
+  @Test public void testJarMissingSuperclass()
+    throws Exception
+  {
+    final Path jar = this.jarOf(RefEqualitySubCorrect.class);
+
+    final Collecting listener = new Collecting();
+    final EqualityAuditSummary summary =
+      EqualityAuditor.audit(
+        jar,
+        dependencies(),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true,
+        1,
+        listener);
+
+    Assert.assertEquals(new EqualityAuditSummary(1L, 0L, 0L), summary);
+
+    final Collecting isolated = new Collecting();
+    final EqualityAuditSummary isolated_summary =
+      EqualityAuditor.audit(
+        jar,
+        platform(),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true,
+        1,
+        isolated);
+
+    Assert.assertEquals(
+      new EqualityAuditSummary(1L, 0L, 1L), isolated_summary);
+    Assert.assertTrue(
+      isolated.errors.containsKey(RefEqualitySubCorrect.class.getName()));
+  }
+
+  @Test public void testJarUncheckedError()
+    throws Exception
+  {
+    final Path jar =
+      this.jarOf(RefEquality.class, RefEqualitySubCorrect.class);
+
+    final Collecting listener = new Collecting();
+    final EqualityAuditSummary summary =
+      EqualityAuditor.audit(
+        jar,
+        name -> {
+          if ("java.lang.Object".equals(name)) {
+            return platform().open(name);
+          }
+          throw new IllegalStateException(name);
+        },
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true,
+        2,
+        listener);
+
+    Assert.assertEquals(new EqualityAuditSummary(2L, 0L, 1L), summary);
+    Assert.assertEquals(
+      Map.of(RefEquality.class.getName(), ValidatorResult.VALIDATION_OK),
+      listener.results);
+    Assert.assertTrue(
+      listener.errors.get(RefEqualitySubCorrect.class.getName())
+        instanceof IllegalStateException);
+  }
+
+  @Test public void testMain()
+    throws Exception
+  {
+    final Path jar = this.jarOf(
+      RefEquality.class,
+      RefEqualityWrong.class,
+      Unannotated.class);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    final int code = EqualityAuditorMain.run(
+      new String[]{"--threads", "2", jar.toString()},
+      new PrintStream(out, true, StandardCharsets.UTF_8),
+      new PrintStream(err, true, StandardCharsets.UTF_8));
+
+    Assert.assertEquals(1, code);
+    Assert.assertEquals(
+      List.of(
+        ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY
+          + " " + RefEqualityWrong.class.getName()),
+      out.toString(StandardCharsets.UTF_8).lines().toList());
+    Assert.assertTrue(
+      err.toString(StandardCharsets.UTF_8)
+        .contains("3 classes, 1 failed, 0 errors"));
+  }
+
+  @Test public void testMainRequireAnnotations()
+    throws Exception
+  {
+    final Path jar = this.jarOf(RefEquality.class, Unannotated.class);
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final int code = EqualityAuditorMain.run(
+      new String[]{"--require-annotations", "--verbose", jar.toString()},
+      new PrintStream(out, true, StandardCharsets.UTF_8),
+      new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+
+    Assert.assertEquals(1, code);
+    Assert.assertEquals(
+      List.of(
+        ValidatorResult.VALIDATION_ERROR_WANTED_ANNOTATIONS
+          + " " + Unannotated.class.getName(),
+        ValidatorResult.VALIDATION_OK
+          + " " + RefEquality.class.getName()),
+      out.toString(StandardCharsets.UTF_8).lines().sorted().toList());
+  }
+
+  @Test public void testMainUsage()
+  {
+    final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    Assert.assertEquals(
+      2,
+      EqualityAuditorMain.run(
+        new String[]{"--threads", "x", "a.jar"},
+        new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8),
+        new PrintStream(err, true, StandardCharsets.UTF_8)));
+    Assert.assertTrue(err.toString(StandardCharsets.UTF_8).contains("usage"));
+    Assert.assertEquals(
+      2,
+      EqualityAuditorMain.run(
+        new String[]{},
+        new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8),
+        new PrintStream(err, true, StandardCharsets.UTF_8)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testThreadsInvalid()
+    throws Exception
+  {
+    EqualityAuditor.audit(
+      classDirectory(),
+      dependencies(),
+      AnnotationRequirement.ANNOTATIONS_REQUIRED,
+      true,
+      0,
+      new Collecting());
+  }
+
+  private static final class Collecting implements EqualityAuditListenerType
+  {
+    private final Map<String, ValidatorResult> results;
+    private final Map<String, Exception> errors;
+
+    Collecting()
+    {
+      this.results = new ConcurrentHashMap<>();
+      this.errors = new ConcurrentHashMap<>();
+    }
+
+    @Override public void onResult(
+      final String name,
+      final ValidatorResult result)
+    {
+      Assert.assertNull(this.results.put(name, result));
+    }
+
+    @Override public void onError(
+      final String name,
+      final Exception error)
+    {
+      Assert.assertNull(this.errors.put(name, error));
+    }
+  }
+}
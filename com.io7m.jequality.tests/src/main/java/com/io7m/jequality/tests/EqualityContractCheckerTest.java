@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+import com.io7m.jequality.validator.ContractViolation;
+import com.io7m.jequality.validator.EqualityContractChecker;
+import com.io7m.jequality.validator.EqualityContractCounterexample;
+import com.io7m.jequality.validator.EqualityContractReport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+@SuppressWarnings("static-method") public final class EqualityContractCheckerTest
+{
+  /**
+   * A value whose {@code equals} behaviour is selected by {@code mode}.
+   */
+
+  @EqualityStructural
+  private static final class Value
+  {
+    private final int mode;
+    private final int value;
+
+    Value(
+      final int in_mode,
+      final int in_value)
+    {
+      this.mode = in_mode;
+      this.value = in_value;
+    }
+
+    @Override
+    public boolean equals(
+      final Object other)
+    {
+      if (other == null) {
+        return this.mode == 1;
+      }
+      if (this.getClass() != other.getClass()) {
+        return false;
+      }
+      final Value v = (Value) other;
+      return switch (this.mode) {
+        case 2 -> false;
+        case 3 -> this.value <= v.value;
+        case 4 -> Math.abs(this.value - v.value) <= 1;
+        default -> this.value == v.value;
+      };
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return switch (this.mode) {
+        case 4 -> 0;
+        case 5 -> System.identityHashCode(this);
+        default -> this.value;
+      };
+    }
+  }
+
+  private static EqualityContractReport check(
+    final int mode,
+    final int... values)
+  {
+    final Value[] instances = new Value[values.length];
+    for (int index = 0; index < values.length; ++index) {
+      instances[index] = new Value(mode, values[index]);
+    }
+    return EqualityContractChecker.checkInstances(List.of(instances), 100);
+  }
+
+  private static void assertViolations(
+    final EqualityContractReport report,
+    final ContractViolation violation)
+  {
+    Assert.assertFalse(report.isSuccessful());
+    Assert.assertEquals(report.violations(), report.counterexamples().size());
+    for (final EqualityContractCounterexample e : report.counterexamples()) {
+      Assert.assertEquals(violation, e.violation());
+    }
+  }
+
+  @Test public void testCorrect()
+  {
+    final EqualityContractReport report = check(0, 1, 2, 3, 1, 2, 3);
+    Assert.assertTrue(report.isSuccessful());
+    Assert.assertEquals(6, report.instances());
+    Assert.assertEquals(36L, report.pairs());
+    Assert.assertEquals(List.of(), report.counterexamples());
+  }
+
+  @Test public void testEmpty()
+  {
+    final EqualityContractReport report = check(0);
+    Assert.assertTrue(report.isSuccessful());
+    Assert.assertEquals(0L, report.pairs());
+  }
+
+  @Test public void testEqualsNull()
+  {
+    final EqualityContractReport report = check(1, 1, 2);
+    assertViolations(report, ContractViolation.CONTRACT_ERROR_EQUALS_NULL);
+    Assert.assertEquals(
+      new EqualityContractCounterexample(
+        ContractViolation.CONTRACT_ERROR_EQUALS_NULL, 0, -1, -1),
+      report.counterexamples().get(0));
+    Assert.assertEquals(2L, report.violations());
+  }
+
+  @Test public void testGenerated()
+  {
+    final EqualityContractReport report =
+      EqualityContractChecker.checkGenerated(
+        ForkJoinPool.commonPool(),
+        index -> new Value(0, index % 100),
+        2000,
+        10);
+    Assert.assertTrue(report.isSuccessful());
+    Assert.assertEquals(4_000_000L, report.pairs());
+  }
+
+  @Test public void testGeneratedViolations()
+  {
+    final EqualityContractReport report =
+      EqualityContractChecker.checkGenerated(
+        ForkJoinPool.commonPool(),
+        index -> new Value(5, index % 10),
+        1000,
+        10);
+    Assert.assertFalse(report.isSuccessful());
+    Assert.assertEquals(10, report.counterexamples().size());
+    Assert.assertTrue(report.violations() > 10L);
+  }
+
+  @Test public void testInconsistentHashCode()
+  {
+    final EqualityContractReport report = check(5, 1, 1, 2);
+    assertViolations(
+      report, ContractViolation.CONTRACT_ERROR_INCONSISTENT_HASHCODE);
+    Assert.assertEquals(
+      List.of(new EqualityContractCounterexample(
+        ContractViolation.CONTRACT_ERROR_INCONSISTENT_HASHCODE, 0, 1, -1)),
+      report.counterexamples());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeCount()
+  {
+    EqualityContractChecker.checkGenerated(
+      ForkJoinPool.commonPool(), index -> new Value(0, index), -1, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeMaximum()
+  {
+    EqualityContractChecker.checkInstances(List.of(), -1);
+  }
+
+  @Test public void testNotReflexive()
+  {
+    final EqualityContractReport report = check(2, 1, 2, 3);
+    assertViolations(report, ContractViolation.CONTRACT_ERROR_NOT_REFLEXIVE);
+    Assert.assertEquals(3L, report.violations());
+  }
+
+  @Test public void testNotSymmetric()
+  {
+    final EqualityContractReport report = check(3, 1, 1, 2);
+    Assert.assertFalse(report.isSuccessful());
+    Assert.assertTrue(report.counterexamples().contains(
+      new EqualityContractCounterexample(
+        ContractViolation.CONTRACT_ERROR_NOT_SYMMETRIC, 0, 2, -1)));
+  }
+
+  @Test public void testNotTransitive()
+  {
+    final EqualityContractReport report = check(4, 1, 2, 3);
+    assertViolations(report, ContractViolation.CONTRACT_ERROR_NOT_TRANSITIVE);
+    Assert.assertTrue(report.counterexamples().contains(
+      new EqualityContractCounterexample(
+        ContractViolation.CONTRACT_ERROR_NOT_TRANSITIVE, 0, 1, 2)));
+    Assert.assertTrue(report.counterexamples().contains(
+      new EqualityContractCounterexample(
+        ContractViolation.CONTRACT_ERROR_NOT_TRANSITIVE, 2, 1, 0)));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullInstance()
+  {
+    EqualityContractChecker.checkGenerated(
+      ForkJoinPool.commonPool(), index -> null, 1, 10);
+  }
+}
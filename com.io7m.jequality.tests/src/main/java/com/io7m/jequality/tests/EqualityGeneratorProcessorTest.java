@@ -0,0 +1,356 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.processor.EqualityGeneratorProcessor;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@SuppressWarnings("static-method") public final class EqualityGeneratorProcessorTest
+{
+  private static final String GENERATE =
+    "-Acom.io7m.jequality.generate=true";
+
+  private static final String POINT =
+    "package x;\n"
+      + "@com.io7m.jequality.annotations.EqualityStructural\n"
+      + "public final class P {\n"
+      + "  static int IGNORED;\n"
+      + "  final String name;\n"
+      + "  final double d;\n"
+      + "  final float f;\n"
+      + "  final int i;\n"
+      + "  final int[] values;\n"
+      + "  final Object[] nested;\n"
+      + "  public P(String name, double d, float f, int i, int[] values,"
+      + "    Object[] nested) {\n"
+      + "    this.name = name; this.d = d; this.f = f; this.i = i;\n"
+      + "    this.values = values; this.nested = nested;\n"
+      + "  }\n"
+      + "  @Override public boolean equals(Object o) {\n"
+      + "    return PEquality.equals(this, o);\n"
+      + "  }\n"
+      + "  @Override public int hashCode() {\n"
+      + "    return PEquality.hashCode(this);\n"
+      + "  }\n"
+      + "}\n";
+
+  private static final class Compiled implements AutoCloseable
+  {
+    private final Path output;
+    private final List<String> errors;
+    private final URLClassLoader loader;
+
+    Compiled(
+      final List<String> options,
+      final String name,
+      final String text)
+      throws Exception
+    {
+      this.output = Files.createTempDirectory("jequality-generator");
+      this.errors = ProcessorCompilation.compile(
+        new EqualityGeneratorProcessor(),
+        options,
+        List.of(ProcessorCompilation.source(name, text)),
+        this.output);
+      this.loader = new URLClassLoader(
+        new URL[]{this.output.toUri().toURL()},
+        EqualityGeneratorProcessorTest.class.getClassLoader());
+    }
+
+    Object create(
+      final String name,
+      final Class<?>[] types,
+      final Object... arguments)
+      throws Exception
+    {
+      return this.loader.loadClass(name)
+        .getConstructor(types)
+        .newInstance(arguments);
+    }
+
+    @Override
+    public void close()
+      throws Exception
+    {
+      this.loader.close();
+    }
+  }
+
+  private static Object point(
+    final Compiled compiled,
+    final String name,
+    final double d,
+    final float f,
+    final int i,
+    final int[] values,
+    final Object[] nested)
+    throws Exception
+  {
+    return compiled.create(
+      "x.P",
+      new Class<?>[]{
+        String.class,
+        double.class,
+        float.class,
+        int.class,
+        int[].class,
+        Object[].class,
+      },
+      name,
+      Double.valueOf(d),
+      Float.valueOf(f),
+      Integer.valueOf(i),
+      values,
+      nested);
+  }
+
+  private static void assertEqualObjects(
+    final Object x,
+    final Object y)
+  {
+    Assert.assertEquals(x, y);
+    Assert.assertEquals(y, x);
+    Assert.assertEquals(x.hashCode(), y.hashCode());
+  }
+
+  @Test public void testDisabled()
+    throws Exception
+  {
+    try (Compiled compiled = new Compiled(
+      List.of(),
+      "x.Q",
+      "package x; @com.io7m.jequality.annotations.EqualityStructural "
+        + "public final class Q { final int x = 0; }")) {
+      Assert.assertEquals(List.of(), compiled.errors);
+      Assert.assertFalse(
+        Files.exists(compiled.output.resolve("x/QEquality.java")));
+    }
+  }
+
+  @Test public void testFields()
+    throws Exception
+  {
+    try (Compiled compiled = new Compiled(List.of(GENERATE), "x.P", POINT)) {
+      Assert.assertEquals(List.of(), compiled.errors);
+
+      final Object p0 = point(
+        compiled, "a", Double.NaN, 1.0f, 1, new int[]{1, 2},
+        new Object[]{new int[]{3}});
+      final Object p1 = point(
+        compiled, "a", Double.NaN, 1.0f, 1, new int[]{1, 2},
+        new Object[]{new int[]{3}});
+
+      assertEqualObjects(p0, p0);
+      assertEqualObjects(p0, p1);
+      Assert.assertNotEquals(p0, null);
+      Assert.assertNotEquals(p0, "a");
+
+      Assert.assertNotEquals(p0, point(
+        compiled, "b", Double.NaN, 1.0f, 1, new int[]{1, 2},
+        new Object[]{new int[]{3}}));
+      Assert.assertNotEquals(p0, point(
+        compiled, "a", 0.0, 1.0f, 1, new int[]{1, 2},
+        new Object[]{new int[]{3}}));
+      Assert.assertNotEquals(p0, point(
+        compiled, "a", Double.NaN, 2.0f, 1, new int[]{1, 2},
+        new Object[]{new int[]{3}}));
+      Assert.assertNotEquals(p0, point(
+        compiled, "a", Double.NaN, 1.0f, 2, new int[]{1, 2},
+        new Object[]{new int[]{3}}));
+      Assert.assertNotEquals(p0, point(
+        compiled, "a", Double.NaN, 1.0f, 1, new int[]{1, 3},
+        new Object[]{new int[]{3}}));
+      Assert.assertNotEquals(p0, point(
+        compiled, "a", Double.NaN, 1.0f, 1, new int[]{1, 2},
+        new Object[]{new int[]{4}}));
+
+      Assert.assertNotEquals(
+        point(compiled, null, 0.0, 0.0f, 0, null, null),
+        point(compiled, null, -0.0, 0.0f, 0, null, null));
+      Assert.assertNotEquals(
+        point(compiled, null, 0.0, 0.0f, 0, null, null),
+        point(compiled, null, 0.0, -0.0f, 0, null, null));
+      assertEqualObjects(
+        point(compiled, null, 0.0, Float.NaN, 0, null, null),
+        point(compiled, null, 0.0, Float.NaN, 0, null, null));
+
+      Assert.assertEquals(
+        ValidatorResult.VALIDATION_OK,
+        EqualityValidator.validateClass(
+          p0.getClass(), AnnotationRequirement.ANNOTATIONS_REQUIRED, true));
+    }
+  }
+
+  @Test public void testGeneric()
+    throws Exception
+  {
+    try (Compiled compiled = new Compiled(
+      List.of(GENERATE),
+      "x.B",
+      "package x; @com.io7m.jequality.annotations.EqualityStructural "
+        + "public final class B<T, U> {\n"
+        + "  final T value;\n"
+        + "  public B(Object value) { this.value = (T) value; }\n"
+        + "  @Override public boolean equals(Object o) {\n"
+        + "    return BEquality.equals(this, o);\n"
+        + "  }\n"
+        + "  @Override public int hashCode() {\n"
+        + "    return BEquality.hashCode(this);\n"
+        + "  }\n"
+        + "}\n")) {
+      Assert.assertEquals(List.of(), compiled.errors);
+
+      final Class<?>[] types = {Object.class};
+      assertEqualObjects(
+        compiled.create("x.B", types, "a"),
+        compiled.create("x.B", types, "a"));
+      Assert.assertNotEquals(
+        compiled.create("x.B", types, "a"),
+        compiled.create("x.B", types, "b"));
+    }
+  }
+
+  @Test public void testNested()
+    throws Exception
+  {
+    try (Compiled compiled = new Compiled(
+      List.of(GENERATE),
+      "x.O",
+      "package x; public final class O {\n"
+        + "  @com.io7m.jequality.annotations.EqualityStructural\n"
+        + "  public static final class I {\n"
+        + "    final long v;\n"
+        + "    public I(long v) { this.v = v; }\n"
+        + "    @Override public boolean equals(Object o) {\n"
+        + "      return O_IEquality.equals(this, o);\n"
+        + "    }\n"
+        + "    @Override public int hashCode() {\n"
+        + "      return O_IEquality.hashCode(this);\n"
+        + "    }\n"
+        + "  }\n"
+        + "}\n")) {
+      Assert.assertEquals(List.of(), compiled.errors);
+
+      final Class<?>[] types = {long.class};
+      assertEqualObjects(
+        compiled.create("x.O$I", types, Long.valueOf(3L)),
+        compiled.create("x.O$I", types, Long.valueOf(3L)));
+      Assert.assertNotEquals(
+        compiled.create("x.O$I", types, Long.valueOf(3L)),
+        compiled.create("x.O$I", types, Long.valueOf(4L)));
+    }
+  }
+
+  @Test public void testPrivateField()
+    throws Exception
+  {
+    try (Compiled compiled = new Compiled(
+      List.of(GENERATE),
+      "x.Q",
+      "package x; @com.io7m.jequality.annotations.EqualityStructural "
+        + "public final class Q {\n"
+        + "  private final int x = 0;\n"
+        + "  private int x() { return this.x; }\n"
+        + "  public long getX() { return 0L; }\n"
+        + "}\n")) {
+      Assert.assertEquals(1, compiled.errors.size());
+      Assert.assertTrue(compiled.errors.get(0).contains("private fields"));
+    }
+  }
+
+  @Test public void testPrivateFieldAccessors()
+    throws Exception
+  {
+    try (Compiled compiled = new Compiled(
+      List.of(GENERATE),
+      "x.A",
+      "package x; @com.io7m.jequality.annotations.EqualityStructural "
+        + "public final class A {\n"
+        + "  private final double x;\n"
+        + "  private final String name;\n"
+        + "  private final boolean flag;\n"
+        + "  public A(double x, String name, boolean flag) {\n"
+        + "    this.x = x; this.name = name; this.flag = flag;\n"
+        + "  }\n"
+        + "  public double x() { return this.x; }\n"
+        + "  public String getName() { return this.name; }\n"
+        + "  boolean isFlag() { return this.flag; }\n"
+        + "  @Override public boolean equals(Object o) {\n"
+        + "    return AEquality.equals(this, o);\n"
+        + "  }\n"
+        + "  @Override public int hashCode() {\n"
+        + "    return AEquality.hashCode(this);\n"
+        + "  }\n"
+        + "}\n")) {
+      Assert.assertEquals(List.of(), compiled.errors);
+
+      final Class<?>[] types = {double.class, String.class, boolean.class};
+      final Object a0 = compiled.create(
+        "x.A", types, Double.valueOf(Double.NaN), "a", Boolean.TRUE);
+
+      assertEqualObjects(a0, compiled.create(
+        "x.A", types, Double.valueOf(Double.NaN), "a", Boolean.TRUE));
+      Assert.assertNotEquals(a0, compiled.create(
+        "x.A", types, Double.valueOf(1.0), "a", Boolean.TRUE));
+      Assert.assertNotEquals(a0, compiled.create(
+        "x.A", types, Double.valueOf(Double.NaN), "b", Boolean.TRUE));
+      Assert.assertNotEquals(a0, compiled.create(
+        "x.A", types, Double.valueOf(Double.NaN), "a", Boolean.FALSE));
+    }
+  }
+
+  @Test public void testRecord()
+    throws Exception
+  {
+    try (Compiled compiled = new Compiled(
+      List.of(GENERATE),
+      "x.R",
+      "package x; @com.io7m.jequality.annotations.EqualityStructural "
+        + "public record R(double x, String s) {\n"
+        + "  @Override public boolean equals(Object o) {\n"
+        + "    return REquality.equals(this, o);\n"
+        + "  }\n"
+        + "  @Override public int hashCode() {\n"
+        + "    return REquality.hashCode(this);\n"
+        + "  }\n"
+        + "}\n")) {
+      Assert.assertEquals(List.of(), compiled.errors);
+
+      final Class<?>[] types = {double.class, String.class};
+      assertEqualObjects(
+        compiled.create("x.R", types, Double.valueOf(Double.NaN), "a"),
+        compiled.create("x.R", types, Double.valueOf(Double.NaN), "a"));
+      Assert.assertNotEquals(
+        compiled.create("x.R", types, Double.valueOf(0.0), "a"),
+        compiled.create("x.R", types, Double.valueOf(-0.0), "a"));
+      Assert.assertNotEquals(
+        compiled.create("x.R", types, Double.valueOf(1.0), "a"),
+        compiled.create("x.R", types, Double.valueOf(1.0), "b"));
+    }
+  }
+}
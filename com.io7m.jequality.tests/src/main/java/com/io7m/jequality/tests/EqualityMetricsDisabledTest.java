@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.jequality.metrics.AlmostEqualPath;
+import com.io7m.jequality.metrics.EqualityMetrics;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The tests are run without {@link EqualityMetrics#ENABLED_PROPERTY} set.
+ */
+
+@SuppressWarnings("static-method") public final class EqualityMetricsDisabledTest
+{
+  @EqualityReference
+  private static final class Fresh
+  {
+
+  }
+
+  @Test public void testDisabled()
+  {
+    Assert.assertFalse(EqualityMetrics.isEnabled());
+
+    final AlmostEqualDouble.ContextRelative context_d =
+      new AlmostEqualDouble.ContextRelative();
+    context_d.setMaxAbsoluteDifference(0.5);
+    final AlmostEqualFloat.ContextRelativeImmutable context_f =
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.5f, 0.1f);
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(context_d, 1.0, 1.25));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(context_d, 1.0, 2.0));
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(context_f, 1.0f, 1.25f));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(
+      AlmostEqualDouble.ContextULP.of(1L), 1.0, Math.nextUp(1.0)));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_OK,
+      EqualityValidator.validateClass(
+        Fresh.class, AnnotationRequirement.ANNOTATIONS_REQUIRED, true));
+
+    for (final AlmostEqualPath path : AlmostEqualPath.values()) {
+      Assert.assertEquals(0L, EqualityMetrics.almostEqualDoubleCount(path));
+      Assert.assertEquals(0L, EqualityMetrics.almostEqualFloatCount(path));
+    }
+    Assert.assertEquals(0L, EqualityMetrics.validationCount());
+    Assert.assertEquals(0L, EqualityMetrics.validationNanos());
+  }
+}
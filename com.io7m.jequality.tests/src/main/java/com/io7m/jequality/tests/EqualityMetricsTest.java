@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.AlmostEqualDouble;
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.jequality.metrics.AlmostEqualPath;
+import com.io7m.jequality.metrics.EqualityMetrics;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The tests are run in a separate execution with {@link
+ * EqualityMetrics#ENABLED_PROPERTY} set; see {@link
+ * EqualityMetricsDisabledTest} for the default.
+ */
+
+@SuppressWarnings("static-method") public final class EqualityMetricsTest
+{
+  @EqualityReference
+  private static final class Fresh
+  {
+
+  }
+
+  @EqualityReference
+  private static final class FreshRecorded
+  {
+
+  }
+
+  private static long doubles(
+    final AlmostEqualPath path)
+  {
+    return EqualityMetrics.almostEqualDoubleCount(path);
+  }
+
+  private static long floats(
+    final AlmostEqualPath path)
+  {
+    return EqualityMetrics.almostEqualFloatCount(path);
+  }
+
+  @Test public void testDoublePaths()
+  {
+    final AlmostEqualDouble.ContextRelative context =
+      new AlmostEqualDouble.ContextRelative();
+    context.setMaxAbsoluteDifference(0.5);
+    context.setMaxRelativeDifference(0.1);
+
+    final long inf = doubles(AlmostEqualPath.ALMOST_EQUAL_INFINITY);
+    final long abs = doubles(AlmostEqualPath.ALMOST_EQUAL_ABSOLUTE);
+    final long rel = doubles(AlmostEqualPath.ALMOST_EQUAL_RELATIVE);
+    final long ulp = doubles(AlmostEqualPath.ALMOST_EQUAL_ULP);
+    final long not = doubles(AlmostEqualPath.NOT_ALMOST_EQUAL);
+
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(
+      context, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(context, 1.0, 1.25));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(context, 100.0, 105.0));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(context, 1.0, 2.0));
+    Assert.assertFalse(AlmostEqualDouble.almostEqual(context, Double.NaN, 1.0));
+    Assert.assertTrue(AlmostEqualDouble.almostEqual(
+      AlmostEqualDouble.ContextULP.of(1L), 1.0, Math.nextUp(1.0)));
+
+    Assert.assertTrue(EqualityMetrics.isEnabled());
+    Assert.assertEquals(
+      inf + 1L, doubles(AlmostEqualPath.ALMOST_EQUAL_INFINITY));
+    Assert.assertEquals(
+      abs + 1L, doubles(AlmostEqualPath.ALMOST_EQUAL_ABSOLUTE));
+    Assert.assertEquals(
+      rel + 1L, doubles(AlmostEqualPath.ALMOST_EQUAL_RELATIVE));
+    Assert.assertEquals(
+      ulp + 1L, doubles(AlmostEqualPath.ALMOST_EQUAL_ULP));
+    Assert.assertEquals(
+      not + 2L, doubles(AlmostEqualPath.NOT_ALMOST_EQUAL));
+  }
+
+  @Test public void testFloatPaths()
+  {
+    final AlmostEqualFloat.ContextRelativeImmutable context =
+      AlmostEqualFloat.ContextRelativeImmutable.of(0.5f, 0.1f);
+
+    final long inf = floats(AlmostEqualPath.ALMOST_EQUAL_INFINITY);
+    final long abs = floats(AlmostEqualPath.ALMOST_EQUAL_ABSOLUTE);
+    final long rel = floats(AlmostEqualPath.ALMOST_EQUAL_RELATIVE);
+    final long not = floats(AlmostEqualPath.NOT_ALMOST_EQUAL);
+
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(
+      context, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY));
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(context, 1.0f, 1.25f));
+    Assert.assertTrue(AlmostEqualFloat.almostEqual(context, 100.0f, 105.0f));
+    Assert.assertFalse(AlmostEqualFloat.almostEqual(context, 1.0f, 2.0f));
+
+    Assert.assertEquals(
+      inf + 1L, floats(AlmostEqualPath.ALMOST_EQUAL_INFINITY));
+    Assert.assertEquals(
+      abs + 1L, floats(AlmostEqualPath.ALMOST_EQUAL_ABSOLUTE));
+    Assert.assertEquals(
+      rel + 1L, floats(AlmostEqualPath.ALMOST_EQUAL_RELATIVE));
+    Assert.assertEquals(
+      not + 1L, floats(AlmostEqualPath.NOT_ALMOST_EQUAL));
+  }
+
+  @Test public void testFlightRecorder()
+    throws IOException
+  {
+    final Path file = Files.createTempFile("jequality", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("com.io7m.jequality.AlmostEqual");
+      recording.enable("com.io7m.jequality.Validation");
+      recording.start();
+
+      AlmostEqualDouble.almostEqual(
+        AlmostEqualDouble.ContextRelativeImmutable.of(0.5, 0.1), 1.0, 3.0);
+      EqualityValidator.validateClass(
+        FreshRecorded.class, AnnotationRequirement.ANNOTATIONS_REQUIRED, true);
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    Files.deleteIfExists(file);
+
+    boolean compared = false;
+    boolean validated = false;
+    for (final RecordedEvent event : events) {
+      final String name = event.getEventType().getName();
+      if ("com.io7m.jequality.AlmostEqual".equals(name)
+        && event.getDouble("y") == 3.0) {
+        Assert.assertEquals("double", event.getString("precision"));
+        Assert.assertEquals("NOT_ALMOST_EQUAL", event.getString("path"));
+        compared = true;
+      }
+      if ("com.io7m.jequality.Validation".equals(name)
+        && FreshRecorded.class.getName().equals(event.getString("className"))) {
+        validated = true;
+      }
+    }
+    Assert.assertTrue(compared);
+    Assert.assertTrue(validated);
+  }
+
+  @Test public void testValidations()
+  {
+    final long count = EqualityMetrics.validationCount();
+    final long nanos = EqualityMetrics.validationNanos();
+
+    EqualityValidator.validateClass(
+      Fresh.class, AnnotationRequirement.ANNOTATIONS_REQUIRED, true);
+    EqualityValidator.validateClass(
+      Fresh.class, AnnotationRequirement.ANNOTATIONS_OPTIONAL, false);
+
+    Assert.assertTrue(EqualityMetrics.validationCount() >= count + 1L);
+    Assert.assertTrue(EqualityMetrics.validationNanos() >= nanos);
+  }
+}
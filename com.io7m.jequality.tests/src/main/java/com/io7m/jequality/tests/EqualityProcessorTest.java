@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.processor.EqualityProcessor;
+import com.io7m.jequality.validator.AnnotationRequirement;
+import com.io7m.jequality.validator.EqualityValidator;
+import com.io7m.jequality.validator.ValidatorResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@SuppressWarnings("static-method") public final class EqualityProcessorTest
+{
+  private static final List<Class<?>> FIXTURES = List.of(
+    RefEquality.class,
+    RefEqualityHashCodeInconsistent.class,
+    RefEqualityOverload.class,
+    RefEqualitySubCorrect.class,
+    RefEqualitySubIncorrect.class,
+    RefEqualitySuper.class,
+    RefEqualityWrong.class,
+    StructuralEquality.class,
+    StructuralEqualityHashCodeInconsistent.class,
+    StructuralEqualityOverloadOnly.class,
+    StructuralEqualitySub.class,
+    StructuralEqualitySuper.class,
+    StructuralEqualityWrong.class,
+    Unannotated.class);
+
+  private static List<String> compile(
+    final List<String> options,
+    final List<JavaFileObject> sources)
+    throws IOException, URISyntaxException
+  {
+    final List<String> arguments = new ArrayList<>(options);
+    arguments.add("-proc:only");
+
+    return ProcessorCompilation.compile(
+      new EqualityProcessor(),
+      arguments,
+      sources,
+      Files.createTempDirectory("jequality-processor"));
+  }
+
+  private static List<String> compileOne(
+    final List<String> options,
+    final String name,
+    final String text)
+    throws IOException, URISyntaxException
+  {
+    return compile(
+      options, List.of(ProcessorCompilation.source(name, text)));
+  }
+
+  private static String requirement(
+    final AnnotationRequirement requirement)
+  {
+    return "-Acom.io7m.jequality.requirement=" + requirement.name();
+  }
+
+  private static String checkHashCode(
+    final boolean check)
+  {
+    return "-Acom.io7m.jequality.checkHashCode=" + check;
+  }
+
+  private static void assertSingleError(
+    final ValidatorResult expected,
+    final List<String> errors)
+  {
+    Assert.assertEquals(errors.toString(), 1, errors.size());
+    Assert.assertTrue(errors.get(0), errors.get(0).startsWith(expected.name()));
+  }
+
+  @Test public void testAgreesWithValidator()
+    throws IOException, URISyntaxException
+  {
+    final List<JavaFileObject> sources = new ArrayList<>();
+    try (StandardJavaFileManager files =
+           ToolProvider.getSystemJavaCompiler()
+             .getStandardFileManager(
+               null, Locale.ROOT, StandardCharsets.UTF_8)) {
+      for (final Class<?> c : FIXTURES) {
+        final Path path =
+          Paths.get("src/main/java")
+            .resolve(c.getName().replace('.', '/') + ".java");
+        for (final JavaFileObject file : files.getJavaFileObjects(path)) {
+          sources.add(file);
+        }
+      }
+    }
+
+    for (final AnnotationRequirement requirement :
+      AnnotationRequirement.values()) {
+      for (final boolean check : new boolean[]{false, true}) {
+        final List<String> errors = compile(
+          List.of(requirement(requirement), checkHashCode(check)), sources);
+
+        for (final Class<?> c : FIXTURES) {
+          final ValidatorResult expected =
+            EqualityValidator.validateClass(c, requirement, check);
+
+          final List<String> matching = new ArrayList<>();
+          for (final String error : errors) {
+            if (error.contains(" " + c.getName() + " ")) {
+              matching.add(error);
+            }
+          }
+
+          final String description =
+            String.format("%s %s %s %s", c, requirement, check, matching);
+          if (expected == ValidatorResult.VALIDATION_OK) {
+            Assert.assertEquals(description, List.of(), matching);
+          } else {
+            assertSingleError(expected, matching);
+          }
+        }
+      }
+    }
+  }
+
+  @Test public void testBadOption()
+    throws IOException, URISyntaxException
+  {
+    final List<String> errors = compileOne(
+      List.of("-Acom.io7m.jequality.requirement=SOMETIMES"),
+      "x.Y",
+      "package x; public final class Y { }");
+    Assert.assertEquals(1, errors.size());
+    Assert.assertTrue(errors.get(0).contains("SOMETIMES"));
+  }
+
+  @Test public void testEnumReference()
+    throws IOException, URISyntaxException
+  {
+    assertSingleError(
+      ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY,
+      compileOne(
+        List.of(),
+        "x.E",
+        "package x; @com.io7m.jequality.annotations.EqualityReference "
+          + "public enum E { A, B }"));
+  }
+
+  @Test public void testInterfaceIgnored()
+    throws IOException, URISyntaxException
+  {
+    Assert.assertEquals(
+      List.of(),
+      compileOne(
+        List.of(requirement(AnnotationRequirement.ANNOTATIONS_REQUIRED)),
+        "x.I",
+        "package x; public interface I { }"));
+  }
+
+  @Test public void testMemberTypes()
+    throws IOException, URISyntaxException
+  {
+    final List<String> errors = compileOne(
+      List.of(requirement(AnnotationRequirement.ANNOTATIONS_REQUIRED)),
+      "x.Y",
+      "package x; @com.io7m.jequality.annotations.EqualityReference "
+        + "public final class Y { static final class Z { } }");
+    assertSingleError(
+      ValidatorResult.VALIDATION_ERROR_WANTED_ANNOTATIONS, errors);
+    Assert.assertTrue(errors.get(0).contains("x.Y.Z"));
+  }
+
+  @Test public void testRecordReference()
+    throws IOException, URISyntaxException
+  {
+    assertSingleError(
+      ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY,
+      compileOne(
+        List.of(),
+        "x.R",
+        "package x; @com.io7m.jequality.annotations.EqualityReference "
+          + "public record R(int x) { }"));
+  }
+
+  @Test public void testRecordStructural()
+    throws IOException, URISyntaxException
+  {
+    Assert.assertEquals(
+      List.of(),
+      compileOne(
+        List.of(requirement(AnnotationRequirement.ANNOTATIONS_REQUIRED)),
+        "x.R",
+        "package x; @com.io7m.jequality.annotations.EqualityStructural "
+          + "public record R(int x) { }"));
+  }
+}
@@ -23,8 +23,44 @@ import com.io7m.jequality.validator.AnnotationRequirement;
 import com.io7m.jequality.validator.EqualityValidator;
 import com.io7m.jequality.validator.ValidatorResult;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 @SuppressWarnings("static-method") public final class EqualityValidatorTest
 {
+  @Test public void testCachedCombinations()
+  {
+    for (int index = 0; index < 3; ++index) {
+      Assert.assertEquals(
+        ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE,
+        EqualityValidator.validateClass(
+          RefEqualityHashCodeInconsistent.class,
+          AnnotationRequirement.ANNOTATIONS_OPTIONAL,
+          true));
+      Assert.assertEquals(
+        ValidatorResult.VALIDATION_OK,
+        EqualityValidator.validateClass(
+          RefEqualityHashCodeInconsistent.class,
+          AnnotationRequirement.ANNOTATIONS_REQUIRED,
+          false));
+      Assert.assertEquals(
+        ValidatorResult.VALIDATION_OK,
+        EqualityValidator.validateClass(
+          Unannotated.class,
+          AnnotationRequirement.ANNOTATIONS_OPTIONAL,
+          false));
+      Assert.assertEquals(
+        ValidatorResult.VALIDATION_ERROR_WANTED_ANNOTATIONS,
+        EqualityValidator.validateClass(
+          Unannotated.class,
+          AnnotationRequirement.ANNOTATIONS_REQUIRED,
+          false));
+    }
+  }
+
   @Test public void testReferenceEquality()
   {
     Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
@@ -63,6 +99,15 @@ import com.io7m.jequality.validator.ValidatorResult;
         true));
   }
 
+  @Test public void testReferenceEqualityOverload()
+  {
+    Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
+      .validateClass(
+        RefEqualityOverload.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
   @Test public void testReferenceEqualitySubCorrect()
   {
     Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
@@ -120,6 +165,16 @@ import com.io7m.jequality.validator.ValidatorResult;
         true));
   }
 
+  @Test public void testStructuralEqualityOverloadOnly()
+  {
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY,
+      EqualityValidator.validateClass(
+        StructuralEqualityOverloadOnly.class,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true));
+  }
+
   @Test public void testStructuralEqualitySuper()
   {
     Assert.assertEquals(ValidatorResult.VALIDATION_OK, EqualityValidator
@@ -147,4 +202,122 @@ import com.io7m.jequality.validator.ValidatorResult;
         AnnotationRequirement.ANNOTATIONS_REQUIRED,
         true));
   }
+
+  @Test public void testValidateClasses()
+  {
+    final Map<Class<?>, ValidatorResult> results =
+      EqualityValidator.validateClasses(
+        List.of(
+          RefEquality.class,
+          RefEqualityWrong.class,
+          StructuralEquality.class,
+          StructuralEqualityWrong.class,
+          Unannotated.class,
+          RefEquality.class),
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        true);
+
+    Assert.assertEquals(
+      List.of(
+        RefEquality.class,
+        RefEqualityWrong.class,
+        StructuralEquality.class,
+        StructuralEqualityWrong.class,
+        Unannotated.class),
+      new ArrayList<>(results.keySet()));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_OK, results.get(RefEquality.class));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_ERROR_WANTED_REFERENCE_EQUALITY,
+      results.get(RefEqualityWrong.class));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_OK, results.get(StructuralEquality.class));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_ERROR_WANTED_STRUCTURAL_EQUALITY,
+      results.get(StructuralEqualityWrong.class));
+    Assert.assertEquals(
+      ValidatorResult.VALIDATION_ERROR_WANTED_ANNOTATIONS,
+      results.get(Unannotated.class));
+  }
+
+  @Test public void testValidateClassesPool()
+  {
+    final ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      final Map<Class<?>, ValidatorResult> results =
+        EqualityValidator.validateClasses(
+          pool,
+          List.of(RefEqualityHashCodeInconsistent.class),
+          AnnotationRequirement.ANNOTATIONS_OPTIONAL,
+          true);
+      Assert.assertEquals(
+        Map.of(
+          RefEqualityHashCodeInconsistent.class,
+          ValidatorResult.VALIDATION_ERROR_INCONSISTENT_HASHCODE),
+        results);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test public void testValidateModule()
+    throws IOException
+  {
+    final Module module =
+      ModuleLayer.boot().findModule("java.logging").orElseThrow();
+
+    final Map<Class<?>, ValidatorResult> results =
+      EqualityValidator.validateModule(
+        module,
+        AnnotationRequirement.ANNOTATIONS_REQUIRED,
+        false);
+
+    Assert.assertTrue(results.containsKey(java.util.logging.Logger.class));
+    for (final Map.Entry<Class<?>, ValidatorResult> e : results.entrySet()) {
+      Assert.assertEquals(module, e.getKey().getModule());
+      Assert.assertEquals(
+        ValidatorResult.VALIDATION_ERROR_WANTED_ANNOTATIONS,
+        e.getValue());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValidateModuleUnnamed()
+    throws IOException
+  {
+    EqualityValidator.validateModule(
+      EqualityValidatorTest.class.getClassLoader().getUnnamedModule(),
+      AnnotationRequirement.ANNOTATIONS_REQUIRED,
+      false);
+  }
+
+  @Test public void testValidatePackage()
+    throws IOException
+  {
+    final Module module =
+      ModuleLayer.boot().findModule("java.logging").orElseThrow();
+
+    final Map<Class<?>, ValidatorResult> results =
+      EqualityValidator.validatePackage(
+        module,
+        "java.util.logging",
+        AnnotationRequirement.ANNOTATIONS_OPTIONAL,
+        false);
+
+    Assert.assertTrue(results.containsKey(java.util.logging.Level.class));
+    for (final Class<?> c : results.keySet()) {
+      Assert.assertEquals("java.util.logging", c.getPackageName());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValidatePackageMissing()
+    throws IOException
+  {
+    EqualityValidator.validatePackage(
+      ModuleLayer.boot().findModule("java.logging").orElseThrow(),
+      "java.util.nonexistent",
+      AnnotationRequirement.ANNOTATIONS_REQUIRED,
+      false);
+  }
 }
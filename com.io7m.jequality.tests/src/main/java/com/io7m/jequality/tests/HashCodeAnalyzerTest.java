@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.annotations.EqualityStructural;
+import com.io7m.jequality.validator.HashCodeAnalyzer;
+import com.io7m.jequality.validator.HashCodeBucketStatistics;
+import com.io7m.jequality.validator.HashCodeReport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+
+@SuppressWarnings("static-method") public final class HashCodeAnalyzerTest
+{
+  /**
+   * A value with a hash code given by a function of its value.
+   */
+
+  @EqualityStructural
+  private static final class Key
+  {
+    private final int value;
+    private final int hash;
+
+    Key(
+      final int in_value,
+      final IntUnaryOperator in_hash)
+    {
+      this.value = in_value;
+      this.hash = in_hash.applyAsInt(in_value);
+    }
+
+    @Override
+    public boolean equals(
+      final Object other)
+    {
+      return other instanceof Key && ((Key) other).value == this.value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return this.hash;
+    }
+  }
+
+  /**
+   * A value with a distinct hash code that must never be compared with
+   * {@code equals}.
+   */
+
+  @EqualityStructural
+  private static final class Uncompared
+  {
+    private final int value;
+
+    Uncompared(
+      final int in_value)
+    {
+      this.value = in_value;
+    }
+
+    @Override
+    public boolean equals(
+      final Object other)
+    {
+      throw new AssertionError("equals called");
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return mix(this.value);
+    }
+  }
+
+  private static HashCodeReport analyze(
+    final int count,
+    final IntUnaryOperator hash)
+  {
+    final List<Key> keys = new ArrayList<>(count);
+    for (int index = 0; index < count; ++index) {
+      keys.add(new Key(index, hash));
+    }
+    return HashCodeAnalyzer.analyze(keys);
+  }
+
+  private static int mix(
+    final int x)
+  {
+    return Long.hashCode(x * 0x9E3779B97F4A7C15L);
+  }
+
+  @Test public void testClustered()
+  {
+    final HashCodeReport report = analyze(1000, x -> x << 10);
+    Assert.assertEquals(0, report.collisions());
+    Assert.assertTrue(report.maxDispersion() > 10.0);
+    Assert.assertFalse(report.isSuitableAsKey());
+  }
+
+  @Test public void testCollisions()
+  {
+    final HashCodeReport report = analyze(1000, x -> x & 7);
+    Assert.assertEquals(1000, report.instances());
+    Assert.assertEquals(992, report.collisions());
+    Assert.assertEquals(0.992, report.collisionRate(), 0.0);
+    Assert.assertEquals(0.5, report.maxBitBias(), 0.0);
+    Assert.assertFalse(report.isSuitableAsKey());
+  }
+
+  @Test public void testDuplicates()
+  {
+    final List<Key> keys = new ArrayList<>();
+    for (int index = 0; index < 100; ++index) {
+      keys.add(new Key(index % 10, HashCodeAnalyzerTest::mix));
+    }
+
+    final HashCodeReport report = HashCodeAnalyzer.analyze(keys);
+    Assert.assertEquals(10, report.instances());
+    Assert.assertEquals(0, report.collisions());
+  }
+
+  @Test public void testDuplicatesColliding()
+  {
+    final List<Key> keys = new ArrayList<>();
+    for (int index = 0; index < 100; ++index) {
+      keys.add(new Key(index % 10, x -> x & 7));
+    }
+
+    final HashCodeReport report = HashCodeAnalyzer.analyze(keys);
+    Assert.assertEquals(10, report.instances());
+    Assert.assertEquals(2, report.collisions());
+  }
+
+  @Test public void testDuplicatesDistinctHashes()
+  {
+    final List<Uncompared> values = new ArrayList<>();
+    for (int index = 0; index < 1000; ++index) {
+      values.add(new Uncompared(index));
+    }
+
+    final HashCodeReport report = HashCodeAnalyzer.analyze(values);
+    Assert.assertEquals(1000, report.instances());
+    Assert.assertEquals(0, report.collisions());
+  }
+
+  @Test public void testEmpty()
+  {
+    final HashCodeReport report = HashCodeAnalyzer.analyze(List.of());
+    Assert.assertEquals(0, report.instances());
+    Assert.assertEquals(0.0, report.collisionRate(), 0.0);
+    Assert.assertEquals(1, report.buckets().size());
+    Assert.assertTrue(report.isSuitableAsKey());
+  }
+
+  @Test public void testMixed()
+  {
+    final HashCodeReport report =
+      analyze(10000, HashCodeAnalyzerTest::mix);
+    Assert.assertEquals(0, report.collisions());
+    Assert.assertTrue(report.maxBitBias() < 0.05);
+    Assert.assertEquals(0.5, report.avalanche(), 0.05);
+    Assert.assertTrue(report.maxDispersion() < 1.5);
+    Assert.assertTrue(report.isSuitableAsKey());
+
+    final List<HashCodeBucketStatistics> buckets = report.buckets();
+    Assert.assertEquals(16, buckets.get(0).buckets());
+    Assert.assertEquals(16384, buckets.get(buckets.size() - 1).buckets());
+    Assert.assertEquals(10000.0 / 16.0, buckets.get(0).mean(), 0.0);
+  }
+
+  @Test public void testSequential()
+  {
+    final HashCodeReport report = analyze(10000, x -> x);
+    Assert.assertEquals(0, report.collisions());
+    Assert.assertTrue(report.avalanche() < 0.1);
+    Assert.assertTrue(report.isSuitableAsKey());
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.annotations.EqualityReference;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Functions to run annotation processors over sources in tests.
+ */
+
+final class ProcessorCompilation
+{
+  private ProcessorCompilation()
+  {
+
+  }
+
+  /**
+   * Compile the given sources with the given processor, with the core module
+   * on the class path.
+   *
+   * @return The error messages
+   */
+
+  static List<String> compile(
+    final Processor processor,
+    final List<String> options,
+    final List<JavaFileObject> sources,
+    final Path output)
+    throws IOException, URISyntaxException
+  {
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics =
+      new DiagnosticCollector<>();
+
+    try (StandardJavaFileManager files =
+           compiler.getStandardFileManager(
+             diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+      files.setLocation(
+        StandardLocation.CLASS_OUTPUT, List.of(output.toFile()));
+      files.setLocation(
+        StandardLocation.SOURCE_OUTPUT, List.of(output.toFile()));
+      files.setLocation(
+        StandardLocation.CLASS_PATH,
+        List.of(new File(
+          EqualityReference.class.getProtectionDomain()
+            .getCodeSource()
+            .getLocation()
+            .toURI())));
+
+      final JavaCompiler.CompilationTask task =
+        compiler.getTask(null, files, diagnostics, options, null, sources);
+      task.setProcessors(List.of(processor));
+      task.call();
+    }
+
+    final List<String> errors = new ArrayList<>();
+    for (final Diagnostic<? extends JavaFileObject> diagnostic :
+      diagnostics.getDiagnostics()) {
+      if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+        errors.add(diagnostic.getMessage(Locale.ROOT));
+      }
+    }
+    return errors;
+  }
+
+  /**
+   * @return A source file with the given class name and text
+   */
+
+  static JavaFileObject source(
+    final String name,
+    final String text)
+  {
+    return new SimpleJavaFileObject(
+      URI.create("string:///" + name.replace('.', '/') + ".java"),
+      JavaFileObject.Kind.SOURCE)
+    {
+      @Override
+      public CharSequence getCharContent(
+        final boolean ignore_errors)
+      {
+        return text;
+      }
+    };
+  }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+
+package com.io7m.jequality.tests;
+
+import com.io7m.jequality.StructuralEquality;
+import com.io7m.jequality.annotations.EqualityStructural;
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("static-method") public final class StructuralEqualityTest
+{
+  @EqualityStructural
+  private static final class Point
+  {
+    private static int ignored;
+
+    private final String name;
+    private final boolean b;
+    private final byte by;
+    private final char c;
+    private final short sh;
+    private final int i;
+    private final long l;
+    private final float f;
+    private final double d;
+    private final int[] values;
+    private final Object[] nested;
+
+    Point(
+      final String in_name,
+      final int in_i,
+      final float in_f,
+      final double in_d,
+      final int[] in_values,
+      final Object[] in_nested)
+    {
+      this.name = in_name;
+      this.b = true;
+      this.by = 1;
+      this.c = 'c';
+      this.sh = 2;
+      this.i = in_i;
+      this.l = 3L;
+      this.f = in_f;
+      this.d = in_d;
+      this.values = in_values;
+      this.nested = in_nested;
+    }
+  }
+
+  @EqualityStructural
+  private static class Base
+  {
+    private final int x;
+
+    Base(
+      final int in_x)
+    {
+      this.x = in_x;
+    }
+  }
+
+  @EqualityStructural
+  private static final class Derived extends Base
+  {
+    private final int y;
+
+    Derived(
+      final int in_x,
+      final int in_y)
+    {
+      super(in_x);
+      this.y = in_y;
+    }
+  }
+
+  @EqualityStructural
+  private record Pair(
+    double x,
+    String y)
+  {
+
+  }
+
+  private static final class Unannotated
+  {
+
+  }
+
+  @EqualityStructural
+  private static final class Node
+  {
+    private final int value;
+    private Node next;
+
+    Node(
+      final int in_value,
+      final Node in_next)
+    {
+      this.value = in_value;
+      this.next = in_next;
+    }
+  }
+
+  @EqualityStructural
+  private static final class Tree
+  {
+    private final Tree left;
+    private final Tree right;
+    private final String label;
+
+    Tree(
+      final Tree in_left,
+      final Tree in_right,
+      final String in_label)
+    {
+      this.left = in_left;
+      this.right = in_right;
+      this.label = in_label;
+    }
+  }
+
+  private static Node list(
+    final int size,
+    final int last)
+  {
+    Node node = new Node(last, null);
+    for (int index = size - 2; index >= 0; --index) {
+      node = new Node(index, node);
+    }
+    return node;
+  }
+
+  private static Node ring(
+    final int... values)
+  {
+    final Node first = new Node(values[0], null);
+    Node current = first;
+    for (int index = 1; index < values.length; ++index) {
+      current.next = new Node(values[index], null);
+      current = current.next;
+    }
+    current.next = first;
+    return first;
+  }
+
+  /**
+   * A tree of the given depth in which both children of each node are the
+   * same node: 2 ^ depth paths, but only depth + 1 distinct nodes.
+   */
+
+  private static Tree shared(
+    final int depth,
+    final String leaf)
+  {
+    Tree tree = new Tree(null, null, leaf);
+    for (int index = 0; index < depth; ++index) {
+      tree = new Tree(tree, tree, "n");
+    }
+    return tree;
+  }
+
+  private static Point point(
+    final String name,
+    final int i,
+    final float f,
+    final double d)
+  {
+    return new Point(
+      name, i, f, d, new int[]{1, 2}, new Object[]{new int[]{3}, "x"});
+  }
+
+  private static void assertEqualObjects(
+    final Object x,
+    final Object y)
+  {
+    Assert.assertTrue(StructuralEquality.equals(x, y));
+    Assert.assertTrue(StructuralEquality.equals(y, x));
+    Assert.assertEquals(
+      StructuralEquality.hashCode(x), StructuralEquality.hashCode(y));
+  }
+
+  @Test public void testArrays()
+  {
+    final Point p0 = point("a", 1, 1.0f, 1.0);
+    final Point p1 = new Point(
+      "a", 1, 1.0f, 1.0, new int[]{1, 3}, new Object[]{new int[]{3}, "x"});
+    final Point p2 = new Point(
+      "a", 1, 1.0f, 1.0, new int[]{1, 2}, new Object[]{new int[]{4}, "x"});
+
+    assertEqualObjects(p0, point("a", 1, 1.0f, 1.0));
+    Assert.assertFalse(StructuralEquality.equals(p0, p1));
+    Assert.assertFalse(StructuralEquality.equals(p0, p2));
+  }
+
+  @Test public void testDeepEqualsArrays()
+  {
+    final Object[] x = {new Node(1, null), new Object[]{"a", new int[]{1}}};
+    final Object[] y = {new Node(1, null), new Object[]{"a", new int[]{1}}};
+    final Object[] z = {new Node(2, null), new Object[]{"a", new int[]{1}}};
+    final Object[] w = {new Node(1, null), new Object[]{"a", new int[]{2}}};
+
+    Assert.assertTrue(StructuralEquality.deepEquals(x, y));
+    Assert.assertFalse(StructuralEquality.deepEquals(x, z));
+    Assert.assertFalse(StructuralEquality.deepEquals(x, w));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(x, new Object[]{x[0]}));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(new Object[]{"a"}, new String[]{"a"}));
+  }
+
+  @Test public void testDeepEqualsCycles()
+  {
+    Assert.assertTrue(
+      StructuralEquality.deepEquals(ring(1, 2, 3), ring(1, 2, 3)));
+    Assert.assertTrue(StructuralEquality.deepEquals(ring(1), ring(1, 1)));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(ring(1, 2, 3), ring(1, 2, 4)));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(ring(1, 2), ring(1, 2, 1)));
+
+    final Object[] x = new Object[1];
+    x[0] = x;
+    final Object[] y = new Object[1];
+    y[0] = y;
+    Assert.assertTrue(StructuralEquality.deepEquals(x, y));
+  }
+
+  @Test public void testDeepEqualsLinkedList()
+  {
+    final int size = 1_000_000;
+    Assert.assertTrue(
+      StructuralEquality.deepEquals(list(size, -1), list(size, -1)));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(list(size, -1), list(size, -2)));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(list(size, -1), list(size - 1, -1)));
+  }
+
+  @Test public void testDeepEqualsLeaves()
+  {
+    Assert.assertTrue(StructuralEquality.deepEquals(null, null));
+    Assert.assertFalse(StructuralEquality.deepEquals(new Node(1, null), null));
+    Assert.assertFalse(StructuralEquality.deepEquals(null, new Node(1, null)));
+    Assert.assertTrue(StructuralEquality.deepEquals("a", "a"));
+    Assert.assertTrue(
+      StructuralEquality.deepEquals(new int[]{1, 2}, new int[]{1, 2}));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(new Unannotated(), new Unannotated()));
+    Assert.assertTrue(
+      StructuralEquality.deepEquals(new Pair(1.0, "x"), new Pair(1.0, "x")));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(new Base(1), new Derived(1, 0)));
+  }
+
+  @Test public void testDeepEqualsShared()
+  {
+    Assert.assertTrue(
+      StructuralEquality.deepEquals(shared(100, "x"), shared(100, "x")));
+    Assert.assertFalse(
+      StructuralEquality.deepEquals(shared(100, "x"), shared(100, "y")));
+  }
+
+  @Test public void testFields()
+  {
+    final Point p0 = point("a", 1, 1.0f, 1.0);
+
+    assertEqualObjects(p0, p0);
+    assertEqualObjects(p0, point("a", 1, 1.0f, 1.0));
+    Assert.assertFalse(StructuralEquality.equals(p0, point("b", 1, 1.0f, 1.0)));
+    Assert.assertFalse(StructuralEquality.equals(p0, point(null, 1, 1.0f, 1.0)));
+    Assert.assertFalse(StructuralEquality.equals(p0, point("a", 2, 1.0f, 1.0)));
+    Assert.assertFalse(StructuralEquality.equals(p0, point("a", 1, 2.0f, 1.0)));
+    Assert.assertFalse(StructuralEquality.equals(p0, point("a", 1, 1.0f, 2.0)));
+  }
+
+  @Test public void testFloatingPoint()
+  {
+    assertEqualObjects(
+      point("a", 1, Float.NaN, Double.NaN),
+      point("a", 1, Float.NaN, Double.NaN));
+    Assert.assertFalse(StructuralEquality.equals(
+      point("a", 1, 0.0f, 0.0),
+      point("a", 1, -0.0f, 0.0)));
+    Assert.assertFalse(StructuralEquality.equals(
+      point("a", 1, 0.0f, 0.0),
+      point("a", 1, 0.0f, -0.0)));
+  }
+
+  @Test public void testHashCode()
+  {
+    final Base base = new Base(23);
+    Assert.assertEquals(31 + 23, StructuralEquality.hashCode(base));
+
+    final Derived derived = new Derived(23, 47);
+    Assert.assertEquals(
+      (31 * (31 + 23)) + 47,
+      StructuralEquality.hashCode(derived));
+
+    final Pair pair = new Pair(1.0, "x");
+    Assert.assertEquals(
+      (31 * (31 + Double.hashCode(1.0))) + "x".hashCode(),
+      StructuralEquality.hashCode(pair));
+
+    Assert.assertEquals(0, StructuralEquality.hashCode(null));
+  }
+
+  @Test public void testNullsAndClasses()
+  {
+    Assert.assertTrue(StructuralEquality.equals(null, null));
+    Assert.assertFalse(StructuralEquality.equals(new Base(1), null));
+    Assert.assertFalse(StructuralEquality.equals(null, new Base(1)));
+    Assert.assertFalse(
+      StructuralEquality.equals(new Base(1), new Derived(1, 0)));
+  }
+
+  @Test public void testRecord()
+  {
+    assertEqualObjects(new Pair(Double.NaN, "x"), new Pair(Double.NaN, "x"));
+    Assert.assertFalse(
+      StructuralEquality.equals(new Pair(0.0, "x"), new Pair(-0.0, "x")));
+    Assert.assertFalse(
+      StructuralEquality.equals(new Pair(1.0, "x"), new Pair(1.0, "y")));
+  }
+
+  @Test public void testSuperclassFields()
+  {
+    assertEqualObjects(new Derived(1, 2), new Derived(1, 2));
+    Assert.assertFalse(
+      StructuralEquality.equals(new Derived(1, 2), new Derived(3, 2)));
+    Assert.assertFalse(
+      StructuralEquality.equals(new Derived(1, 2), new Derived(1, 3)));
+  }
+
+  @Test public void testSuperclassFieldsTopLevel()
+  {
+    assertEqualObjects(
+      new StructuralEqualityFieldsDerived(1, 2),
+      new StructuralEqualityFieldsDerived(1, 2));
+    Assert.assertNotEquals(
+      new StructuralEqualityFieldsDerived(1, 2),
+      new StructuralEqualityFieldsDerived(3, 2));
+    Assert.assertNotEquals(
+      new StructuralEqualityFieldsDerived(1, 2),
+      new StructuralEqualityFieldsDerived(1, 3));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnannotatedEquals()
+  {
+    StructuralEquality.equals(new Unannotated(), new Unannotated());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnannotatedHashCode()
+  {
+    StructuralEquality.hashCode(new Unannotated());
+  }
+}
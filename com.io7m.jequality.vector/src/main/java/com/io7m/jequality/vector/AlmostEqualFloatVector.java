@@ -0,0 +1,157 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jequality.vector;
+
+import com.io7m.jequality.AlmostEqualFloat;
+import com.io7m.jequality.AlmostEqualFloat.ContextRelative;
+import com.io7m.jequality.annotations.EqualityReference;
+import com.io7m.junreachable.UnreachableCodeException;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Objects;
+
+import static jdk.incubator.vector.VectorOperators.EQ;
+import static jdk.incubator.vector.VectorOperators.IS_INFINITE;
+import static jdk.incubator.vector.VectorOperators.LE;
+
+/**
+ * <p> Bulk floating point comparisons implemented with the Vector API. </p>
+ *
+ * <p> The functions in this class apply exactly the same rules as {@link
+ * AlmostEqualFloat#almostEqual(ContextRelative, float, float)}, but compare as
+ * many elements at a time as the preferred vector species of the current
+ * platform allows. Any elements left over after the last full vector, and all
+ * elements on platforms that do not provide vectors wider than a single lane,
+ * are compared with the scalar implementation in {@link AlmostEqualFloat}.
+ * </p>
+ */
+
+@EqualityReference
+public final class AlmostEqualFloatVector
+{
+  private static final VectorSpecies<Float> SPECIES =
+    FloatVector.SPECIES_PREFERRED;
+
+  private AlmostEqualFloatVector()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Compare the arrays {@code a} and {@code b} element-wise using the
+   * context {@code context}.
+   *
+   * @param context The equality context
+   * @param a       The left array
+   * @param b       The right array
+   *
+   * @return {@code true} if {@code a} and {@code b} are almost equal
+   *
+   * @see AlmostEqualFloat#almostEqualArrays(ContextRelative, float[], float[])
+   */
+
+  public static boolean almostEqualArrays(
+    final ContextRelative context,
+    final float[] a,
+    final float[] b)
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+
+    if (a.length != b.length) {
+      return false;
+    }
+    return almostEqualArrays(context, a, 0, b, 0, a.length);
+  }
+
+  /**
+   * Compare {@code length} elements of the arrays {@code a} and {@code
+   * b}, starting at {@code a_offset} and {@code b_offset} respectively,
+   * using the context {@code context}.
+   *
+   * @param context  The equality context
+   * @param a        The left array
+   * @param a_offset The starting offset in {@code a}
+   * @param b        The right array
+   * @param b_offset The starting offset in {@code b}
+   * @param length   The number of elements to compare
+   *
+   * @return {@code true} if the given ranges are almost equal
+   *
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   * @see AlmostEqualFloat#almostEqualArrays(ContextRelative, float[], int, float[],
+   * int, int)
+   */
+
+  public static boolean almostEqualArrays(
+    final ContextRelative context,
+    final float[] a,
+    final int a_offset,
+    final float[] b,
+    final int b_offset,
+    final int length)
+    throws IndexOutOfBoundsException
+  {
+    Objects.requireNonNull(context, "Context");
+    Objects.requireNonNull(a, "A");
+    Objects.requireNonNull(b, "B");
+    Objects.checkFromIndexSize(a_offset, length, a.length);
+    Objects.checkFromIndexSize(b_offset, length, b.length);
+
+    if (SPECIES.length() == 1) {
+      return AlmostEqualFloat.almostEqualArrays(
+        context, a, a_offset, b, b_offset, length);
+    }
+
+    final float max_abs = context.getMaxAbsoluteDifference();
+    final float max_rel = context.getMaxRelativeDifference();
+    final int bound = SPECIES.loopBound(length);
+
+    int index = 0;
+    for (; index < bound; index += SPECIES.length()) {
+      final FloatVector x =
+        FloatVector.fromArray(SPECIES, a, a_offset + index);
+      final FloatVector y =
+        FloatVector.fromArray(SPECIES, b, b_offset + index);
+
+      final FloatVector diff = x.sub(y).abs();
+      final FloatVector m = x.abs().max(y.abs());
+
+      final VectorMask<Float> infinite =
+        x.compare(EQ, y).and(x.test(IS_INFINITE));
+      final VectorMask<Float> ok =
+        diff.compare(LE, max_abs)
+          .or(diff.compare(LE, m.mul(max_rel)))
+          .or(infinite);
+
+      if (!ok.allTrue()) {
+        return false;
+      }
+    }
+
+    return AlmostEqualFloat.almostEqualArrays(
+      context,
+      a,
+      a_offset + index,
+      b,
+      b_offset + index,
+      length - index);
+  }
+}